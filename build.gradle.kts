@@ -9,13 +9,47 @@ repositories {
     mavenCentral()
 }
 
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.9.1"))
     testImplementation("org.junit.jupiter:junit-jupiter:5.9.2")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+// The optional SIMD backend uses the incubating Vector API, which has to be added to the module graph explicitly.
+// Consumers that do not add the module at run time get the scalar implementation. Vector3fStore is backed by
+// the incubating foreign memory API, which consumers of that class have to add as well.
+val vectorApiArgs = listOf("--add-modules", "jdk.incubator.vector,jdk.incubator.foreign")
+
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(vectorApiArgs)
+}
+
+tasks.withType<Javadoc>().configureEach {
+    (options as StandardJavadocDocletOptions).addStringOption("-add-modules", "jdk.incubator.vector,jdk.incubator.foreign")
 }
 
 tasks.test {
     useJUnitPlatform()
+    jvmArgs(vectorApiArgs)
+}
+
+// Runs the JMH benchmarks with the GC profiler, so that every result also reports the allocation rate.
+// Extra JMH arguments can be passed with -PjmhArgs, e.g. -PjmhArgs="Matrix4fBenchmark.inv -f 2".
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    jvmArgs(vectorApiArgs)
+    args("-prof", "gc", "-rf", "json", "-rff", layout.buildDirectory.file("jmh-result.json").get().asFile.path)
+    (project.findProperty("jmhArgs") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
 }
 
 tasks.jar {
@@ -0,0 +1,103 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the <code>cpy()</code> temporaries that the mutable API forces on callers that need to keep
+ * an operand. Run with <code>-prof gc</code>: the <code>local</code> benchmarks should report a near-zero
+ * allocation rate when escape analysis replaces the copy with scalars, while the <code>escaping</code> ones
+ * and the ones forked with <code>-XX:-DoEscapeAnalysis</code> show the real cost of every copy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CopyEscapeBenchmark {
+    private Matrix4f a = new Matrix4f(new float[]{
+            6.0f, -1.0f, -2.0f, 1.0f,
+            -2.0f, 6.0f, -2.0f, 2.0f,
+            -2.0f, 2.0f, 6.0f, 0.5f,
+            -1.0f, 0.5f, -2.0f, 6.0f
+    });
+    private Matrix4f b = new Matrix4f(new float[]{
+            5.0f, 0.25f, 1.0f, -1.0f,
+            -3.0f, 5.0f, 1.0f, 0.25f,
+            -1.0f, 2.0f, 5.0f, 0.25f,
+            -3.0f, -1.0f, 0.25f, 5.0f
+    });
+    private Matrix4f r = new Matrix4f();
+    private Vector3f u = new Vector3f(1.5f, -2.0f, 3.25f);
+    private Vector3f v = new Vector3f(-0.75f, 4.0f, 0.5f);
+    private Vector3f w = new Vector3f();
+    private Matrix4f escapedMatrix;
+    private Vector3f escapedVector;
+
+    @Benchmark
+    public float matrixCopyLocal() {
+        return a.cpy().mul(b).det();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public float matrixCopyLocalWithoutEscapeAnalysis() {
+        return a.cpy().mul(b).det();
+    }
+
+    @Benchmark
+    public void matrixCopyEscapingToBlackhole(Blackhole bh) {
+        bh.consume(a.cpy().mul(b));
+    }
+
+    @Benchmark
+    public Matrix4f matrixCopyEscapingToField() {
+        escapedMatrix = a.cpy().mul(b);
+        return escapedMatrix;
+    }
+
+    @Benchmark
+    public float matrixNoCopy() {
+        return r.set(a).mul(b).det();
+    }
+
+    @Benchmark
+    public float vectorCopyLocal() {
+        return u.cpy().crs(v).len();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public float vectorCopyLocalWithoutEscapeAnalysis() {
+        return u.cpy().crs(v).len();
+    }
+
+    @Benchmark
+    public void vectorCopyEscapingToBlackhole(Blackhole bh) {
+        bh.consume(u.cpy().crs(v));
+    }
+
+    @Benchmark
+    public Vector3f vectorCopyEscapingToField() {
+        escapedVector = u.cpy().crs(v);
+        return escapedVector;
+    }
+
+    @Benchmark
+    public float vectorNoCopy() {
+        return w.set(u).crs(v).len();
+    }
+}
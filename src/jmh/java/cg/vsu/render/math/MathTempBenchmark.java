@@ -0,0 +1,48 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.vector.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a helper computing a triangle normal with temporaries from {@link MathTemp} against the same helper
+ * allocating them with <code>cpy()</code>. The GC profiler of the <code>jmh</code> task shows the difference
+ * in allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathTempBenchmark {
+    private Vector3f a = new Vector3f(0.0f, 0.0f, 0.0f);
+    private Vector3f b = new Vector3f(1.0f, 0.0f, 0.5f);
+    private Vector3f c = new Vector3f(0.0f, 1.0f, 0.25f);
+    private Vector3f out = new Vector3f();
+
+    @Benchmark
+    public Vector3f pooled() {
+        try (MathTemp t = MathTemp.open()) {
+            Vector3f ab = t.v3().set(b).sub(a);
+            Vector3f ac = t.v3().set(c).sub(a);
+            return out.set(ab.crs(ac).nor());
+        }
+    }
+
+    @Benchmark
+    public Vector3f copies() {
+        Vector3f ab = b.cpy().sub(a);
+        Vector3f ac = c.cpy().sub(a);
+        return out.set(ab.crs(ac).nor());
+    }
+}
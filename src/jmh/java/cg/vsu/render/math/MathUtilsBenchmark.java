@@ -0,0 +1,121 @@
+package cg.vsu.render.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks comparing the exact trigonometric functions of {@link MathUtils} with the polynomial
+ * and table-driven approximations. Each invocation processes a whole array of angles, so the scores are
+ * per angle.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathUtilsBenchmark {
+    private static final int ANGLES = 1024;
+
+    private float[] angles = new float[ANGLES];
+    private float[] values = new float[ANGLES];
+    private float[] sin = new float[ANGLES];
+    private float[] cos = new float[ANGLES];
+    private float[] pair = new float[2];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < ANGLES; i++) {
+            angles[i] = i * 0.0137f - 7.0f;
+            values[i] = i * (2.0f / ANGLES) - 1.0f;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANGLES)
+    public float[] sinRad() {
+        for (int i = 0; i < ANGLES; i++) sin[i] = MathUtils.sinRad(angles[i]);
+        return sin;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANGLES)
+    public float[] sinFast() {
+        MathUtils.sinFast(angles, 0, sin, 0, ANGLES);
+        return sin;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANGLES)
+    public float[] sinLookup() {
+        for (int i = 0; i < ANGLES; i++) sin[i] = MathUtils.sinLookup(angles[i]);
+        return sin;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANGLES)
+    public float[] sinAndCosRad() {
+        for (int i = 0; i < ANGLES; i++) {
+            sin[i] = MathUtils.sinRad(angles[i]);
+            cos[i] = MathUtils.cosRad(angles[i]);
+        }
+        return cos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANGLES)
+    public float[] sinCosFast() {
+        for (int i = 0; i < ANGLES; i++) {
+            MathUtils.sinCosFast(angles[i], pair);
+            sin[i] = pair[0];
+            cos[i] = pair[1];
+        }
+        return cos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANGLES)
+    public float[] sinCosFastBulk() {
+        MathUtils.sinCosFast(angles, 0, sin, cos, 0, ANGLES);
+        return cos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANGLES)
+    public float[] atan2() {
+        for (int i = 0; i < ANGLES; i++) sin[i] = (float) Math.atan2(values[i], angles[i]);
+        return sin;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANGLES)
+    public float[] atan2Fast() {
+        for (int i = 0; i < ANGLES; i++) sin[i] = MathUtils.atan2Fast(values[i], angles[i]);
+        return sin;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANGLES)
+    public float[] acos() {
+        for (int i = 0; i < ANGLES; i++) sin[i] = (float) Math.acos(values[i]);
+        return sin;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANGLES)
+    public float[] acosFast() {
+        for (int i = 0; i < ANGLES; i++) sin[i] = MathUtils.acosFast(values[i]);
+        return sin;
+    }
+}
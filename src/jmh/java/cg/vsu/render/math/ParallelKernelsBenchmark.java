@@ -0,0 +1,78 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-threaded bulk kernels with their {@link ParallelKernels} versions running in the common
+ * pool. Scores are per call, i.e. per whole array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelKernelsBenchmark {
+    @Param({"65536", "4194304"})
+    private int size;
+
+    private ParallelKernels kernels = new ParallelKernels();
+    private Matrix4f m = new Matrix4f().setRotation(0.0f, 1.0f, 0.0f, 0.4f).translate(1.0f, 2.0f, 3.0f);
+    private float[] packed;
+    private Vector3fArray soa;
+    private Vector3f out = new Vector3f();
+
+    @Setup
+    public void setUp() {
+        packed = new float[size * 3];
+        soa = new Vector3fArray(size);
+        for (int i = 0; i < size; i++) {
+            packed[i * 3] = i * 0.5f;
+            packed[i * 3 + 1] = 1.0f - i;
+            packed[i * 3 + 2] = 2.0f;
+            soa.set(i, i * 0.5f, 1.0f - i, 2.0f);
+        }
+    }
+
+    @Benchmark
+    public float[] transformPoints() {
+        m.transformPoints(packed, 0, packed, 0, size, 3);
+        return packed;
+    }
+
+    @Benchmark
+    public float[] parallelTransformPoints() {
+        kernels.transformPoints(m, packed, 0, packed, 0, size, 3);
+        return packed;
+    }
+
+    @Benchmark
+    public Vector3fArray nor() {
+        return soa.nor();
+    }
+
+    @Benchmark
+    public Vector3fArray parallelNor() {
+        return kernels.nor(soa);
+    }
+
+    @Benchmark
+    public Vector3f parallelSum() {
+        return kernels.sum(soa, out);
+    }
+}
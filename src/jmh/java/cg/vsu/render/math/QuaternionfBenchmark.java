@@ -0,0 +1,111 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix3f;
+import cg.vsu.render.math.vector.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link Quaternionf}. Vector rotation is compared against the equivalent
+ * {@link Matrix3f} product, and the bulk slerp against slerping the same pairs one object at a time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuaternionfBenchmark {
+    private static final int BONES = 256;
+
+    private Quaternionf a = new Quaternionf(new Vector3f(1.0f, 2.0f, -2.0f).nor(), 1.2f);
+    private Quaternionf b = new Quaternionf(Vector3f.unitY(), -0.7f);
+    private Quaternionf r = new Quaternionf();
+    private Matrix3f m = new Matrix3f().set(a);
+    private Vector3f u = new Vector3f(1.5f, -2.0f, 3.25f);
+    private Vector3f v = new Vector3f();
+    private float alpha = 0.3f;
+    private float[] from = new float[BONES * 4];
+    private float[] to = new float[BONES * 4];
+    private float[] out = new float[BONES * 4];
+    private Quaternionf[] fromObjects = new Quaternionf[BONES];
+    private Quaternionf[] toObjects = new Quaternionf[BONES];
+    private Quaternionf[] outObjects = new Quaternionf[BONES];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < BONES; i++) {
+            fromObjects[i] = new Quaternionf(Vector3f.unitX(), i * 0.01f);
+            toObjects[i] = new Quaternionf(Vector3f.unitZ(), -i * 0.02f);
+            outObjects[i] = new Quaternionf();
+            from[i * 4] = fromObjects[i].x;
+            from[i * 4 + 1] = fromObjects[i].y;
+            from[i * 4 + 2] = fromObjects[i].z;
+            from[i * 4 + 3] = fromObjects[i].w;
+            to[i * 4] = toObjects[i].x;
+            to[i * 4 + 1] = toObjects[i].y;
+            to[i * 4 + 2] = toObjects[i].z;
+            to[i * 4 + 3] = toObjects[i].w;
+        }
+    }
+
+    @Benchmark
+    public Vector3f rotate() {
+        return a.rotate(v.set(u));
+    }
+
+    @Benchmark
+    public Vector3f rotateMatrix() {
+        return m.mul(v.set(u));
+    }
+
+    @Benchmark
+    public Quaternionf mul() {
+        return r.set(a).mul(b);
+    }
+
+    @Benchmark
+    public Quaternionf nlerp() {
+        return r.set(a).nlerp(b, alpha);
+    }
+
+    @Benchmark
+    public Quaternionf slerp() {
+        return r.set(a).slerp(b, alpha);
+    }
+
+    @Benchmark
+    public Matrix3f toMatrix() {
+        return m.set(a);
+    }
+
+    @Benchmark
+    public Quaternionf fromMatrix() {
+        return r.set(m);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BONES)
+    public float[] slerpPacked() {
+        Quaternionf.slerp(from, 0, to, 0, out, 0, BONES, alpha);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BONES)
+    public Quaternionf[] slerpObjects() {
+        for (int i = 0; i < BONES; i++) outObjects[i].set(fromObjects[i]).slerp(toObjects[i], alpha);
+        return outObjects;
+    }
+}
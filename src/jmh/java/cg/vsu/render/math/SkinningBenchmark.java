@@ -0,0 +1,101 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.matrix.Matrix4fArray;
+import cg.vsu.render.math.vector.Vector3fArray;
+import cg.vsu.render.math.vector.Vector4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the fused {@link Skinning} pass with blending the bone matrices through temporary {@link Matrix4f}
+ * objects. Scores are per call, i.e. per whole mesh with four influences per vertex.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkinningBenchmark {
+    private static final int BONES = 64;
+    private static final int INFLUENCES = 4;
+
+    @Param({"10000", "200000"})
+    private int vertices;
+
+    private Matrix4fArray bones = new Matrix4fArray(BONES);
+    private Matrix4f[] boneObjects = new Matrix4f[BONES];
+    private Skinning skinning;
+    private Vector3fArray outPositions;
+    private Vector3fArray outNormals;
+    private ParallelKernels kernels = new ParallelKernels();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < BONES; i++) {
+            boneObjects[i] = new Matrix4f().setRotation(0.0f, 1.0f, 0.0f, i * 0.1f).translate(i, 0.0f, 0.0f);
+            bones.set(i, boneObjects[i]);
+        }
+        Vector3fArray positions = new Vector3fArray(vertices);
+        Vector3fArray normals = new Vector3fArray(vertices);
+        int[] indices = new int[vertices * INFLUENCES];
+        float[] weights = new float[vertices * INFLUENCES];
+        for (int v = 0; v < vertices; v++) {
+            positions.set(v, random.nextFloat(), random.nextFloat(), random.nextFloat());
+            normals.set(v, 0.0f, 1.0f, 0.0f);
+            for (int j = 0; j < INFLUENCES; j++) {
+                indices[v * INFLUENCES + j] = random.nextInt(BONES);
+                weights[v * INFLUENCES + j] = 1.0f / INFLUENCES;
+            }
+        }
+        skinning = new Skinning(positions, normals, indices, weights, INFLUENCES);
+        outPositions = new Vector3fArray(vertices);
+        outNormals = new Vector3fArray(vertices);
+    }
+
+    @Benchmark
+    public Vector3fArray fused() {
+        skinning.skin(bones, outPositions, outNormals);
+        return outPositions;
+    }
+
+    @Benchmark
+    public Vector3fArray fusedParallel() {
+        kernels.skin(skinning, bones, outPositions, outNormals);
+        return outPositions;
+    }
+
+    @Benchmark
+    public Vector3fArray temporaryMatrices() {
+        for (int v = 0; v < vertices; v++) {
+            Matrix4f blended = new Matrix4f().setZero();
+            for (int j = 0; j < INFLUENCES; j++) {
+                int k = v * INFLUENCES + j;
+                blended.add(boneObjects[skinning.boneIndices[k]].cpy().mul(skinning.boneWeights[k]));
+            }
+            Vector4f p = blended.mul(new Vector4f(
+                    skinning.positions.x[v], skinning.positions.y[v], skinning.positions.z[v], 1.0f
+            ));
+            outPositions.set(v, p.x, p.y, p.z);
+            Vector4f n = blended.mul(new Vector4f(
+                    skinning.normals.x[v], skinning.normals.y[v], skinning.normals.z[v], 0.0f
+            ));
+            outNormals.set(v, n.x, n.y, n.z);
+        }
+        return outPositions;
+    }
+}
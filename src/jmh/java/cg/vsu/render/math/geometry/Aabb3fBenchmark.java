@@ -0,0 +1,77 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the transform of bounding boxes by {@link Aabb3f} (one box object, and packed boxes) with
+ * transforming the eight corners of every box by {@link Matrix4f#mul(Vector4f)}. Scores are per call,
+ * i.e. per 4096 boxes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Aabb3fBenchmark {
+    private static final int BOXES = 4096;
+
+    private Matrix4f m = new Matrix4f().setRotation(0.0f, 1.0f, 0.0f, 0.4f).translate(1.0f, 2.0f, 3.0f);
+    private Aabb3f[] boxes = new Aabb3f[BOXES];
+    private Aabb3f[] out = new Aabb3f[BOXES];
+    private float[] packed = new float[BOXES * Aabb3f.LEN];
+    private float[] packedOut = new float[BOXES * Aabb3f.LEN];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < BOXES; i++) {
+            boxes[i] = new Aabb3f(i, -1.0f, 0.0f, i + 1.0f, 1.0f, 0.5f * i);
+            out[i] = new Aabb3f();
+            boxes[i].get(packed, i * Aabb3f.LEN);
+        }
+    }
+
+    @Benchmark
+    public Aabb3f[] corners() {
+        for (int i = 0; i < BOXES; i++) {
+            Aabb3f b = boxes[i];
+            Aabb3f o = out[i].setEmpty();
+            for (int c = 0; c < 8; c++) {
+                Vector4f v = new Vector4f(
+                        (c & 1) == 0 ? b.min.x : b.max.x,
+                        (c & 2) == 0 ? b.min.y : b.max.y,
+                        (c & 4) == 0 ? b.min.z : b.max.z,
+                        1.0f
+                );
+                m.mul(v);
+                o.merge(v.x, v.y, v.z);
+            }
+        }
+        return out;
+    }
+
+    @Benchmark
+    public Aabb3f[] objects() {
+        for (int i = 0; i < BOXES; i++) boxes[i].transform(m, out[i]);
+        return out;
+    }
+
+    @Benchmark
+    public float[] packed() {
+        Aabb3f.transform(m, packed, 0, packedOut, 0, BOXES);
+        return packedOut;
+    }
+}
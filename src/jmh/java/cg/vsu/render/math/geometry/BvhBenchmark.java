@@ -0,0 +1,93 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.vector.Vector3fArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the build, the refit and the ray queries of a tree over 100000 random triangles for several maximum
+ * leaf sizes. Larger leaves make the build faster and test more triangles per leaf with the SIMD kernels of
+ * {@link Ray3f}. The node statistics that go with the timings are available from the accessors of {@link Bvh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BvhBenchmark {
+    private static final int COUNT = 100000;
+    private static final int RAYS = 256;
+
+    @Param({"2", "4", "8", "16"})
+    private int leafSize;
+
+    private Vector3fArray v0 = new Vector3fArray(COUNT);
+    private Vector3fArray v1 = new Vector3fArray(COUNT);
+    private Vector3fArray v2 = new Vector3fArray(COUNT);
+    private Ray3f[] rays = new Ray3f[RAYS];
+    private RayHit hit = new RayHit();
+    private Bvh bvh;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < COUNT; i++) {
+            float x = random.nextFloat() * 100.0f - 50.0f;
+            float y = random.nextFloat() * 100.0f - 50.0f;
+            float z = random.nextFloat() * 100.0f - 50.0f;
+            v0.set(i, x, y, z);
+            v1.set(i, x + random.nextFloat(), y, z);
+            v2.set(i, x, y + random.nextFloat(), z + random.nextFloat());
+        }
+        for (int i = 0; i < RAYS; i++) {
+            rays[i] = new Ray3f().set(
+                    random.nextFloat() * 100.0f - 50.0f, random.nextFloat() * 100.0f - 50.0f, 60.0f,
+                    random.nextFloat() * 0.2f - 0.1f, random.nextFloat() * 0.2f - 0.1f, -1.0f
+            );
+        }
+        bvh = build();
+    }
+
+    @Benchmark
+    public Bvh build() {
+        return new Bvh(v0, v1, v2, leafSize, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public Bvh refit() {
+        bvh.refit(v0, v1, v2);
+        return bvh;
+    }
+
+    @Benchmark
+    public int closest() {
+        int hits = 0;
+        for (Ray3f ray : rays) {
+            if (bvh.intersect(ray, hit.reset())) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int any() {
+        int hits = 0;
+        for (Ray3f ray : rays) {
+            if (bvh.intersectsAny(ray, 50.0f)) hits++;
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,88 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bulk culling of {@link Frustumf}: one sphere or box at a time, in bulk (SIMD when enabled),
+ * and in bulk with the last rejecting planes. About half of the objects are visible. Scores are per call,
+ * i.e. per 16384 objects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrustumfBenchmark {
+    private static final int COUNT = 16384;
+
+    private Frustumf frustum = new Frustumf(new Matrix4f().setPerspective(MathUtils.HALF_PI, 1.0f, 1.0f, 100.0f));
+    private Vector3fArray min = new Vector3fArray(COUNT);
+    private Vector3fArray max = new Vector3fArray(COUNT);
+    private float[] radii = new float[COUNT];
+    private long[] visible = new long[Frustumf.words(COUNT)];
+    private byte[] lastPlanes = new byte[COUNT];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < COUNT; i++) {
+            float x = random.nextFloat() * 200.0f - 100.0f;
+            float y = random.nextFloat() * 200.0f - 100.0f;
+            float z = random.nextFloat() * -100.0f;
+            min.set(i, x, y, z);
+            max.set(i, x + 2.0f, y + 2.0f, z + 2.0f);
+            radii[i] = 1.0f + random.nextFloat();
+        }
+        Arrays.fill(lastPlanes, (byte) -1);
+    }
+
+    @Benchmark
+    public long[] spheresOneByOne() {
+        Arrays.fill(visible, 0L);
+        for (int i = 0; i < COUNT; i++) {
+            if (frustum.intersectsSphere(min.x[i], min.y[i], min.z[i], radii[i])) visible[i >>> 6] |= 1L << i;
+        }
+        return visible;
+    }
+
+    @Benchmark
+    public long[] spheres() {
+        frustum.cullSpheres(min, radii, visible);
+        return visible;
+    }
+
+    @Benchmark
+    public long[] spheresCoherent() {
+        frustum.cullSpheres(min, radii, visible, lastPlanes);
+        return visible;
+    }
+
+    @Benchmark
+    public long[] boxes() {
+        frustum.cullAabbs(min, max, visible);
+        return visible;
+    }
+
+    @Benchmark
+    public long[] boxesCoherent() {
+        frustum.cullAabbs(min, max, visible, lastPlanes);
+        return visible;
+    }
+}
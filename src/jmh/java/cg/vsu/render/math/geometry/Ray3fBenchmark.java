@@ -0,0 +1,61 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.vector.Vector3fArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one ray against a buffer of 1024 triangles of which few are hit: the closest hit and the any-hit
+ * query, which runs over the whole buffer when nothing is hit closer than its limit. Run with and without
+ * <code>--add-modules jdk.incubator.vector</code> to compare the SIMD and scalar kernels.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Ray3fBenchmark {
+    private static final int COUNT = 1024;
+
+    private Vector3fArray v0 = new Vector3fArray(COUNT);
+    private Vector3fArray v1 = new Vector3fArray(COUNT);
+    private Vector3fArray v2 = new Vector3fArray(COUNT);
+    private Ray3f ray = new Ray3f().set(0.0f, 0.0f, 1.0f, 0.01f, 0.02f, -1.0f);
+    private RayHit hit = new RayHit();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < COUNT; i++) {
+            float x = random.nextFloat() * 100.0f - 50.0f;
+            float y = random.nextFloat() * 100.0f - 50.0f;
+            float z = -random.nextFloat() * 100.0f;
+            v0.set(i, x, y, z);
+            v1.set(i, x + random.nextFloat(), y, z);
+            v2.set(i, x, y + random.nextFloat(), z + random.nextFloat());
+        }
+    }
+
+    @Benchmark
+    public RayHit closest() {
+        ray.intersect(v0, v1, v2, hit.reset());
+        return hit;
+    }
+
+    @Benchmark
+    public boolean any() {
+        return ray.intersectsAny(v0, v1, v2, 0.5f);
+    }
+}
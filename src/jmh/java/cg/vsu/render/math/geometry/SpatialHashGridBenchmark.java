@@ -0,0 +1,95 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one simulation tick over points with about 10 neighbours each: the sequential and parallel rebuild,
+ * finding the neighbours of every point with the grid and with the quadratic loop over
+ * {@link Vector3f#dst2(float, float, float)}, and a 16-nearest query for every point.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpatialHashGridBenchmark {
+    private static final float RADIUS = 1.0f;
+
+    @Param({"4096", "65536"})
+    private int count;
+
+    private Vector3fArray points;
+    private SpatialHashGrid grid = new SpatialHashGrid(RADIUS);
+    private Vector3f p = new Vector3f();
+    private int[] indices = new int[16];
+    private float[] dst2 = new float[16];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        // A cube with a density of about 10 points in a sphere of the radius.
+        float side = (float) Math.cbrt(count * 4.19 / 10.0);
+        points = new Vector3fArray(count);
+        for (int i = 0; i < count; i++) {
+            points.set(i, random.nextFloat() * side, random.nextFloat() * side, random.nextFloat() * side);
+        }
+        grid.build(points);
+    }
+
+    @Benchmark
+    public SpatialHashGrid build() {
+        return grid.build(points);
+    }
+
+    @Benchmark
+    public SpatialHashGrid buildParallel() {
+        return grid.build(points, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int neighbours() {
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            found += grid.withinRadius(points.x[i], points.y[i], points.z[i], RADIUS, j -> { });
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int neighboursBruteForce() {
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            points.get(i, p);
+            for (int j = 0; j < count; j++) {
+                if (p.dst2(points.x[j], points.y[j], points.z[j]) <= RADIUS * RADIUS) found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int nearest() {
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            found += grid.nearest(points.x[i], points.y[i], points.z[i], Float.POSITIVE_INFINITY, indices, dst2);
+        }
+        return found;
+    }
+}
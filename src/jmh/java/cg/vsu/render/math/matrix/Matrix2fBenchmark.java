@@ -0,0 +1,143 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.vector.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for the public methods of {@link Matrix2f}. Mutating benchmarks reset the receiver with
+ * <code>set()</code> first, so that repeated invocations do not drift towards infinity or zero; the cost of that
+ * copy is included in their scores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Matrix2fBenchmark {
+    private float[] values = {
+            4.0f, -2.0f,
+            -2.0f, 4.0f
+    };
+
+    private Matrix2f a = new Matrix2f(values);
+    private Matrix2f b = new Matrix2f(new float[]{
+            3.0f, -3.0f,
+            0.25f, 3.0f
+    });
+    private Matrix2f r = new Matrix2f();
+    private Vector2f u = new Vector2f(1.5f, -2.0f);
+    private Vector2f v = new Vector2f();
+    private float scalar = 1.25f;
+    private float epsilon = 1E-3f;
+
+    @Benchmark
+    public Matrix2f cpy() {
+        return a.cpy();
+    }
+
+    @Benchmark
+    public Matrix2f setZero() {
+        return r.setZero();
+    }
+
+    @Benchmark
+    public Matrix2f setIdentity() {
+        return r.setIdentity();
+    }
+
+    @Benchmark
+    public Matrix2f setArray() {
+        return r.set(values);
+    }
+
+    @Benchmark
+    public Matrix2f setMatrix() {
+        return r.set(a);
+    }
+
+    @Benchmark
+    public Matrix2f fill() {
+        return r.fill(scalar);
+    }
+
+    @Benchmark
+    public Matrix2f tra() {
+        return r.set(a).tra();
+    }
+
+    @Benchmark
+    public float det() {
+        return a.det();
+    }
+
+    @Benchmark
+    public Matrix2f inv() {
+        return r.set(a).inv();
+    }
+
+    @Benchmark
+    public Matrix2f add() {
+        return r.set(a).add(b);
+    }
+
+    @Benchmark
+    public Matrix2f sub() {
+        return r.set(a).sub(b);
+    }
+
+    @Benchmark
+    public Matrix2f mulScalar() {
+        return r.set(a).mul(scalar);
+    }
+
+    @Benchmark
+    public Matrix2f div() {
+        return r.set(a).div(scalar);
+    }
+
+    @Benchmark
+    public Matrix2f mulMatrix() {
+        return r.set(a).mul(b);
+    }
+
+    @Benchmark
+    public Matrix2f comMul() {
+        return r.set(a).comMul(b);
+    }
+
+    @Benchmark
+    public Matrix2f comDiv() {
+        return r.set(a).comDiv(b);
+    }
+
+    @Benchmark
+    public Vector2f mulVector() {
+        return a.mul(v.set(u));
+    }
+
+    @Benchmark
+    public boolean equalsObject() {
+        return a.equals(b);
+    }
+
+    @Benchmark
+    public boolean epsEquals() {
+        return a.epsEquals(b, epsilon);
+    }
+
+    @Benchmark
+    public int hashCodeArray() {
+        return a.hashCode();
+    }
+}
@@ -0,0 +1,170 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.vector.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for the public methods of {@link Matrix3f}. Mutating benchmarks reset the receiver with
+ * <code>set()</code> first, so that repeated invocations do not drift towards infinity or zero; the cost of that
+ * copy is included in their scores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Matrix3fBenchmark {
+    private static final int POINTS = 1024;
+
+    private float[] values = {
+            5.0f, -1.0f, 2.0f,
+            0.5f, 5.0f, 1.0f,
+            -2.0f, -2.0f, 5.0f
+    };
+
+    private Matrix3f a = new Matrix3f(values);
+    private Matrix3f b = new Matrix3f(new float[]{
+            4.0f, 2.0f, -1.0f,
+            2.0f, 4.0f, 2.0f,
+            2.0f, 1.0f, 4.0f
+    });
+    private Matrix3f r = new Matrix3f();
+    private Vector3f u = new Vector3f(1.5f, -2.0f, 3.25f);
+    private Vector3f v = new Vector3f();
+    private float scalar = 1.25f;
+    private float epsilon = 1E-3f;
+    private float[] points = new float[POINTS * 2];
+    private float[] out = new float[POINTS * 2];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < points.length; i++) points[i] = i * 0.01f - 5.0f;
+    }
+
+    @Benchmark
+    public Matrix3f cpy() {
+        return a.cpy();
+    }
+
+    @Benchmark
+    public Matrix3f setZero() {
+        return r.setZero();
+    }
+
+    @Benchmark
+    public Matrix3f setIdentity() {
+        return r.setIdentity();
+    }
+
+    @Benchmark
+    public Matrix3f setArray() {
+        return r.set(values);
+    }
+
+    @Benchmark
+    public Matrix3f setMatrix() {
+        return r.set(a);
+    }
+
+    @Benchmark
+    public Matrix3f fill() {
+        return r.fill(scalar);
+    }
+
+    @Benchmark
+    public Matrix3f tra() {
+        return r.set(a).tra();
+    }
+
+    @Benchmark
+    public float det() {
+        return a.det();
+    }
+
+    @Benchmark
+    public Matrix3f inv() {
+        return r.set(a).inv();
+    }
+
+    @Benchmark
+    public Matrix3f add() {
+        return r.set(a).add(b);
+    }
+
+    @Benchmark
+    public Matrix3f sub() {
+        return r.set(a).sub(b);
+    }
+
+    @Benchmark
+    public Matrix3f mulScalar() {
+        return r.set(a).mul(scalar);
+    }
+
+    @Benchmark
+    public Matrix3f div() {
+        return r.set(a).div(scalar);
+    }
+
+    @Benchmark
+    public Matrix3f mulMatrix() {
+        return r.set(a).mul(b);
+    }
+
+    @Benchmark
+    public Matrix3f comMul() {
+        return r.set(a).comMul(b);
+    }
+
+    @Benchmark
+    public Matrix3f comDiv() {
+        return r.set(a).comDiv(b);
+    }
+
+    @Benchmark
+    public Vector3f mulVector() {
+        return a.mul(v.set(u));
+    }
+
+    @Benchmark
+    public boolean equalsObject() {
+        return a.equals(b);
+    }
+
+    @Benchmark
+    public boolean epsEquals() {
+        return a.epsEquals(b, epsilon);
+    }
+
+    @Benchmark
+    public int hashCodeArray() {
+        return a.hashCode();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public float[] transformPoints() {
+        a.transformPoints(points, 0, out, 0, POINTS, 2);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public float[] transformDirections() {
+        a.transformDirections(points, 0, out, 0, POINTS, 2);
+        return out;
+    }
+}
@@ -0,0 +1,74 @@
+package cg.vsu.render.math.matrix;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Matrix4d} with {@link Matrix4f}: the basic operations and the transform of packed float
+ * vertices, which {@link Matrix4d} computes in double precision.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Matrix4dBenchmark {
+    private static final int POINTS = 4096;
+
+    private Matrix4d d1 = new Matrix4d().setRotation(0.0, 1.0, 0.0, 0.4).translate(100000.0, 2.0, 3.0);
+    private Matrix4d d2 = new Matrix4d().setRotation(1.0, 0.0, 0.0, 0.7);
+    private Matrix4f f1 = d1.get(new Matrix4f());
+    private Matrix4f f2 = d2.get(new Matrix4f());
+    private float[] src = new float[POINTS * 3];
+    private float[] dst = new float[POINTS * 3];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < src.length; i++) {
+            src[i] = i * 0.25f;
+        }
+    }
+
+    @Benchmark
+    public Matrix4d doubleMul() {
+        return d1.cpy().mul(d2);
+    }
+
+    @Benchmark
+    public Matrix4f floatMul() {
+        return f1.cpy().mul(f2);
+    }
+
+    @Benchmark
+    public Matrix4d doubleInv() {
+        return d1.cpy().inv();
+    }
+
+    @Benchmark
+    public Matrix4f floatInv() {
+        return f1.cpy().inv();
+    }
+
+    @Benchmark
+    public float[] doubleTransformPoints() {
+        d1.transformPoints(src, 0, dst, 0, POINTS, 3);
+        return dst;
+    }
+
+    @Benchmark
+    public float[] floatTransformPoints() {
+        f1.transformPoints(src, 0, dst, 0, POINTS, 3);
+        return dst;
+    }
+}
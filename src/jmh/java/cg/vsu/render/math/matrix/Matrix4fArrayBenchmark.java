@@ -0,0 +1,85 @@
+package cg.vsu.render.math.matrix;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the batched operations of {@link Matrix4fArray} with the same operations applied to an array
+ * of {@link Matrix4f} objects. Scores are per call, i.e. per whole array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Matrix4fArrayBenchmark {
+    @Param({"64", "4096"})
+    private int size;
+
+    private Matrix4f parent = new Matrix4f().setRotation(0.0f, 1.0f, 0.0f, 0.4f).translate(1.0f, 2.0f, 3.0f);
+    private Matrix4fArray packed;
+    private Matrix4fArray packedOther;
+    private Matrix4f[] objects;
+    private Matrix4f[] objectsOther;
+    private float[] dets;
+
+    @Setup
+    public void setUp() {
+        packed = new Matrix4fArray(size);
+        packedOther = new Matrix4fArray(size);
+        objects = new Matrix4f[size];
+        objectsOther = new Matrix4f[size];
+        dets = new float[size];
+        for (int i = 0; i < size; i++) {
+            objects[i] = new Matrix4f().setRotation(1.0f, 0.0f, 0.0f, i * 0.01f).translate(i, 0.0f, 0.0f);
+            objectsOther[i] = new Matrix4f().setScale(1.0f + i * 0.001f);
+            packed.set(i, objects[i]);
+            packedOther.set(i, objectsOther[i]);
+        }
+    }
+
+    @Benchmark
+    public Matrix4fArray packedMul() {
+        return packed.mul(packedOther);
+    }
+
+    @Benchmark
+    public Matrix4f[] objectsMul() {
+        for (int i = 0; i < size; i++) objects[i].mul(objectsOther[i]);
+        return objects;
+    }
+
+    @Benchmark
+    public Matrix4fArray packedMulLeft() {
+        return packed.mulLeft(parent);
+    }
+
+    @Benchmark
+    public Matrix4f[] objectsMulLeft() {
+        for (int i = 0; i < size; i++) Matrix4f.mul(parent, objects[i], objects[i]);
+        return objects;
+    }
+
+    @Benchmark
+    public Matrix4fArray packedInv() {
+        return packed.inv();
+    }
+
+    @Benchmark
+    public float[] packedInvAndDet() {
+        packed.invAndDet(dets);
+        return dets;
+    }
+}
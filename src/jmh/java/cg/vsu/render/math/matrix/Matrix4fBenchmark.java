@@ -0,0 +1,295 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import cg.vsu.render.math.vector.Vector4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for the public methods of {@link Matrix4f}. Mutating benchmarks reset the receiver with
+ * <code>set()</code> first, so that repeated invocations do not drift towards infinity or zero; the cost of that
+ * copy is included in their scores.
+ * <p>
+ * The task adds the Vector API module, so the default forks measure the SIMD backend; the benchmarks ending with
+ * <code>Scalar</code> are forked with the backend disabled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Matrix4fBenchmark {
+    private static final int POINTS = 1024;
+
+    private float[] values = {
+            6.0f, -1.0f, -2.0f, 1.0f,
+            -2.0f, 6.0f, -2.0f, 2.0f,
+            -2.0f, 2.0f, 6.0f, 0.5f,
+            -1.0f, 0.5f, -2.0f, 6.0f
+    };
+
+    private Matrix4f a = new Matrix4f(values);
+    private Matrix4f b = new Matrix4f(new float[]{
+            5.0f, 0.25f, 1.0f, -1.0f,
+            -3.0f, 5.0f, 1.0f, 0.25f,
+            -1.0f, 2.0f, 5.0f, 0.25f,
+            -3.0f, -1.0f, 0.25f, 5.0f
+    });
+    private Matrix4f affine = new Matrix4f(new float[]{
+            2.0f, 1.0f, 0.0f, 0.0f,
+            0.0f, 3.0f, 1.0f, 0.0f,
+            1.0f, 0.0f, 2.0f, 0.0f,
+            4.0f, -2.0f, 5.0f, 1.0f
+    });
+    private Matrix4f rigid = new Matrix4f(new float[]{
+            0.0f, 1.0f, 0.0f, 0.0f,
+            -1.0f, 0.0f, 0.0f, 0.0f,
+            0.0f, 0.0f, 1.0f, 0.0f,
+            3.0f, -2.0f, 7.0f, 1.0f
+    });
+    private Matrix4f identity = new Matrix4f();
+    private Matrix4f translation = new Matrix4f().setTranslation(1.5f, -2.0f, 3.0f);
+    private Matrix4f r = new Matrix4f();
+    private Vector4f u = new Vector4f(1.5f, -2.0f, 3.25f, 1.0f);
+    private Vector4f v = new Vector4f();
+    private Vector3f eye = new Vector3f(3.0f, 4.0f, 5.0f);
+    private Vector3f target = new Vector3f(0.0f, 1.0f, -2.0f);
+    private Vector3f axis = new Vector3f(1.0f, 2.0f, -2.0f).nor();
+    private Matrix4f t = new Matrix4f();
+    private float scalar = 1.25f;
+    private float epsilon = 1E-3f;
+    private float[] points = new float[POINTS * 3];
+    private float[] out = new float[POINTS * 3];
+    private Vector3fArray pointArray = new Vector3fArray(POINTS);
+    private Vector3fArray outArray = new Vector3fArray(POINTS);
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < points.length; i++) points[i] = i * 0.01f - 5.0f;
+        for (int i = 0; i < POINTS; i++) pointArray.set(i, points[i * 3], points[i * 3 + 1], points[i * 3 + 2]);
+    }
+
+    @Benchmark
+    public Matrix4f cpy() {
+        return a.cpy();
+    }
+
+    @Benchmark
+    public Matrix4f setZero() {
+        return r.setZero();
+    }
+
+    @Benchmark
+    public Matrix4f setIdentity() {
+        return r.setIdentity();
+    }
+
+    @Benchmark
+    public Matrix4f setArray() {
+        return r.set(values);
+    }
+
+    @Benchmark
+    public Matrix4f setMatrix() {
+        return r.set(a);
+    }
+
+    @Benchmark
+    public Matrix4f fill() {
+        return r.fill(scalar);
+    }
+
+    @Benchmark
+    public Matrix4f tra() {
+        return r.set(a).tra();
+    }
+
+    @Benchmark
+    public float det() {
+        return a.det();
+    }
+
+    @Benchmark
+    public Matrix4f inv() {
+        return r.set(a).inv();
+    }
+
+    @Benchmark
+    public Matrix4f invGeneralAffine() {
+        return r.set(affine).inv();
+    }
+
+    @Benchmark
+    public Matrix4f invAffine() {
+        return r.set(affine).invAffine();
+    }
+
+    @Benchmark
+    public Matrix4f invRigid() {
+        return r.set(rigid).invRigid();
+    }
+
+    @Benchmark
+    public Matrix4f add() {
+        return r.set(a).add(b);
+    }
+
+    @Benchmark
+    public Matrix4f sub() {
+        return r.set(a).sub(b);
+    }
+
+    @Benchmark
+    public Matrix4f mulScalar() {
+        return r.set(a).mul(scalar);
+    }
+
+    @Benchmark
+    public Matrix4f div() {
+        return r.set(a).div(scalar);
+    }
+
+    @Benchmark
+    public Matrix4f mulMatrix() {
+        return r.set(a).mul(b);
+    }
+
+    @Benchmark
+    public Matrix4f mulGeneralAffine() {
+        return r.set(affine).mul(rigid);
+    }
+
+    @Benchmark
+    public Matrix4f mulAffine() {
+        return r.set(affine).mulAffine(rigid);
+    }
+
+    @Benchmark
+    public Matrix4f mulIdentity() {
+        return r.set(a).mul(identity);
+    }
+
+    @Benchmark
+    public Matrix4f mulTranslation() {
+        return r.set(translation).mul(translation);
+    }
+
+    @Benchmark
+    public Vector4f mulVectorTranslation() {
+        return translation.mul(v.set(u));
+    }
+
+    @Benchmark
+    public Matrix4f translate() {
+        return r.set(a).translate(1.5f, -2.0f, 3.0f);
+    }
+
+    @Benchmark
+    public Matrix4f translateByMul() {
+        return r.set(a).mul(t.setTranslation(1.5f, -2.0f, 3.0f).invalidateProperties());
+    }
+
+    @Benchmark
+    public Matrix4f rotate() {
+        return r.set(a).rotate(axis, 0.4f);
+    }
+
+    @Benchmark
+    public Matrix4f rotateByMul() {
+        return r.set(a).mul(t.setRotation(axis, 0.4f).invalidateProperties());
+    }
+
+    @Benchmark
+    public Matrix4f scale() {
+        return r.set(a).scale(2.0f, -1.0f, 0.5f);
+    }
+
+    @Benchmark
+    public Matrix4f viewProjection() {
+        return r.setPerspective(1.2f, 1.5f, 0.1f, 100.0f).mul(t.setLookAt(eye, target, Vector3f.unitY()));
+    }
+
+    @Benchmark
+    public Matrix4f comMul() {
+        return r.set(a).comMul(b);
+    }
+
+    @Benchmark
+    public Matrix4f comDiv() {
+        return r.set(a).comDiv(b);
+    }
+
+    @Benchmark
+    public Vector4f mulVector() {
+        return a.mul(v.set(u));
+    }
+
+    @Benchmark
+    public boolean equalsObject() {
+        return a.equals(b);
+    }
+
+    @Benchmark
+    public boolean epsEquals() {
+        return a.epsEquals(b, epsilon);
+    }
+
+    @Benchmark
+    public int hashCodeArray() {
+        return a.hashCode();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public float[] transformPoints() {
+        a.transformPoints(points, 0, out, 0, POINTS, 3);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public float[] transformDirections() {
+        a.transformDirections(points, 0, out, 0, POINTS, 3);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public Vector3fArray transformPointsArray() {
+        a.transformPoints(pointArray, outArray);
+        return outArray;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    @Fork(value = 1, jvmArgsAppend = "-Dcg.vsu.math.simd=false")
+    public Vector3fArray transformPointsArrayScalar() {
+        a.transformPoints(pointArray, outArray);
+        return outArray;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dcg.vsu.math.simd=false")
+    public Matrix4f mulMatrixScalar() {
+        return r.set(a).mul(b);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dcg.vsu.math.simd=false")
+    public Matrix4f invScalar() {
+        return r.set(a).inv();
+    }
+}
@@ -0,0 +1,69 @@
+package cg.vsu.render.math.matrix;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares walking a binary node hierarchy with a {@link Matrix4fStack} against copying the parent transform
+ * with <code>cpy()</code> at every node. Scores are per call, i.e. per whole hierarchy of 2<sup>DEPTH</sup>
+ * leaves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Matrix4fStackBenchmark {
+    private static final int DEPTH = 10;
+
+    private Matrix4f local = new Matrix4f().setRotation(0.0f, 1.0f, 0.0f, 0.1f).translate(0.0f, 1.0f, 0.0f);
+    private Matrix4fStack stack = new Matrix4fStack();
+    private float sink;
+
+    @Benchmark
+    public float stack() {
+        sink = 0.0f;
+        stack.clear();
+        walkStack(DEPTH);
+        return sink;
+    }
+
+    @Benchmark
+    public float copies() {
+        sink = 0.0f;
+        walkCopies(new Matrix4f(), DEPTH);
+        return sink;
+    }
+
+    private void walkStack(int depth) {
+        if (depth == 0) {
+            sink += stack.top().val[Matrix4f.M14];
+            return;
+        }
+        for (int child = 0; child < 2; child++) {
+            stack.push().mulTop(local);
+            walkStack(depth - 1);
+            stack.pop();
+        }
+    }
+
+    private void walkCopies(Matrix4f parent, int depth) {
+        if (depth == 0) {
+            sink += parent.val[Matrix4f.M14];
+            return;
+        }
+        for (int child = 0; child < 2; child++) {
+            walkCopies(parent.cpy().mul(local), depth - 1);
+        }
+    }
+}
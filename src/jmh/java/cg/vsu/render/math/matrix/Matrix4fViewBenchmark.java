@@ -0,0 +1,53 @@
+package cg.vsu.render.math.matrix;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks comparing writing a matrix product into a direct buffer through {@link Matrix4fView}
+ * with computing it in a {@link Matrix4f} and copying <code>val</code> into the buffer afterwards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Matrix4fViewBenchmark {
+    private Matrix4f a = new Matrix4f().setPerspective(1.2f, 1.5f, 0.1f, 100.0f);
+    private Matrix4f b = new Matrix4f().setRotation(0.0f, 1.0f, 0.0f, 0.4f).translate(1.0f, 2.0f, 3.0f);
+    private Matrix4f r = new Matrix4f();
+    private FloatBuffer buffer = ByteBuffer.allocateDirect(Matrix4f.LEN * Float.BYTES)
+            .order(ByteOrder.nativeOrder())
+            .asFloatBuffer();
+    private Matrix4fView view = new Matrix4fView(buffer);
+
+    @Benchmark
+    public FloatBuffer mulAndCopy() {
+        Matrix4f.mul(a, b, r);
+        buffer.put(0, r.val);
+        return buffer;
+    }
+
+    @Benchmark
+    public Matrix4fView mulIntoView() {
+        return view.mul(a, b);
+    }
+
+    @Benchmark
+    public Matrix4fView mulInView() {
+        return view.set(a).mul(b);
+    }
+}
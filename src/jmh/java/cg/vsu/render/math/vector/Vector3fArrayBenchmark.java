@@ -0,0 +1,84 @@
+package cg.vsu.render.math.vector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bulk operations of {@link Vector3fArray} with the same operations applied to an array
+ * of {@link Vector3f} objects. Scores are per call, i.e. per whole array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vector3fArrayBenchmark {
+    @Param({"1024", "1048576"})
+    private int size;
+
+    private Vector3fArray packed;
+    private Vector3fArray packedOther;
+    private Vector3f[] objects;
+    private Vector3f[] objectsOther;
+    private float[] out;
+
+    @Setup
+    public void setUp() {
+        packed = new Vector3fArray(size);
+        packedOther = new Vector3fArray(size);
+        objects = new Vector3f[size];
+        objectsOther = new Vector3f[size];
+        out = new float[size];
+        for (int i = 0; i < size; i++) {
+            packed.set(i, i * 0.5f, 1.0f - i, 2.0f);
+            packedOther.set(i, 1.0f, i * 0.25f, -3.0f);
+            objects[i] = packed.get(i, new Vector3f());
+            objectsOther[i] = packedOther.get(i, new Vector3f());
+        }
+    }
+
+    @Benchmark
+    public Vector3fArray packedLerp() {
+        return packed.lerp(packedOther, 0.5f);
+    }
+
+    @Benchmark
+    public Vector3f[] objectsLerp() {
+        for (int i = 0; i < size; i++) objects[i].lerp(objectsOther[i], 0.5f);
+        return objects;
+    }
+
+    @Benchmark
+    public float[] packedDot() {
+        return packed.dot(packedOther, out);
+    }
+
+    @Benchmark
+    public float[] objectsDot() {
+        for (int i = 0; i < size; i++) out[i] = objects[i].dot(objectsOther[i]);
+        return out;
+    }
+
+    @Benchmark
+    public Vector3fArray packedNor() {
+        return packed.nor();
+    }
+
+    @Benchmark
+    public Vector3f[] objectsNor() {
+        for (int i = 0; i < size; i++) objects[i].nor();
+        return objects;
+    }
+}
@@ -0,0 +1,71 @@
+package cg.vsu.render.math.vector;
+
+import cg.vsu.render.math.matrix.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares transforming and reducing a point cloud stored off-heap in a {@link Vector3fStore} with the same
+ * operations on an interleaved heap array. Scores are per call, i.e. per whole cloud.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vector3fStoreBenchmark {
+    @Param({"1048576", "16777216"})
+    private int size;
+
+    private Matrix4f m = new Matrix4f().setRotation(0.0f, 1.0f, 0.0f, 0.4f).translate(1.0f, 2.0f, 3.0f);
+    private Vector3fStore store;
+    private float[] heap;
+    private Vector3f out = new Vector3f();
+
+    @Setup
+    public void setUp() {
+        store = new Vector3fStore(size);
+        heap = new float[size * 3];
+        for (int i = 0; i < size; i++) {
+            store.set(i, i * 0.5f, 1.0f - i, 2.0f);
+            heap[i * 3] = i * 0.5f;
+            heap[i * 3 + 1] = 1.0f - i;
+            heap[i * 3 + 2] = 2.0f;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.close();
+    }
+
+    @Benchmark
+    public Vector3fStore storeTransformPoints() {
+        m.transformPoints(store);
+        return store;
+    }
+
+    @Benchmark
+    public float[] heapTransformPoints() {
+        m.transformPoints(heap, 0, heap, 0, size, 3);
+        return heap;
+    }
+
+    @Benchmark
+    public Vector3f storeSum() {
+        return store.sum(out);
+    }
+}
@@ -0,0 +1,310 @@
+package cg.vsu.render.math.vector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for the public methods of {@link Vector4f}. Mutating benchmarks reset the receiver with
+ * <code>set()</code> first, so that repeated invocations do not drift towards infinity or zero; the cost of that
+ * copy is included in their scores. Run with <code>-prof gc</code> to see the allocation rate of the methods
+ * that return new objects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vector4fBenchmark {
+    private Vector4f a = new Vector4f(1.5f, -2.0f, 3.25f, 0.5f);
+    private Vector4f b = new Vector4f(-0.75f, 4.0f, 0.5f, 2.0f);
+    private Vector4f r = new Vector4f();
+    private float[] values = {-0.75f, 4.0f, 0.5f, 2.0f};
+    private float scalar = 1.25f;
+    private float alpha = 0.3f;
+    private float epsilon = 1E-3f;
+
+    @Benchmark
+    public boolean idt() {
+        return a.idt(b);
+    }
+
+    @Benchmark
+    public boolean epsIdt() {
+        return a.epsIdt(b, epsilon);
+    }
+
+    @Benchmark
+    public boolean epsEquals() {
+        return a.epsEquals(b, epsilon);
+    }
+
+    @Benchmark
+    public boolean equalsObject() {
+        return a.equals(b);
+    }
+
+    @Benchmark
+    public int hashCodeBoxing() {
+        return a.hashCode();
+    }
+
+    @Benchmark
+    public Vector4f cpy() {
+        return a.cpy();
+    }
+
+    @Benchmark
+    public float[] toArray() {
+        return a.toArray();
+    }
+
+    @Benchmark
+    public Vector4f setVector() {
+        return r.set(a);
+    }
+
+    @Benchmark
+    public Vector4f setScalar() {
+        return r.set(scalar);
+    }
+
+    @Benchmark
+    public Vector4f setComponents() {
+        return r.set(a.x, a.y, a.z, a.w);
+    }
+
+    @Benchmark
+    public Vector4f setArray() {
+        return r.set(values);
+    }
+
+    @Benchmark
+    public Vector4f setZero() {
+        return r.setZero();
+    }
+
+    @Benchmark
+    public Vector4f nor() {
+        return r.set(a).nor();
+    }
+
+    @Benchmark
+    public float len() {
+        return a.len();
+    }
+
+    @Benchmark
+    public float len2() {
+        return a.len2();
+    }
+
+    @Benchmark
+    public float staticLen() {
+        return Vector4f.len(a.x, a.y, a.z, a.w);
+    }
+
+    @Benchmark
+    public float staticLen2() {
+        return Vector4f.len2(a.x, a.y, a.z, a.w);
+    }
+
+    @Benchmark
+    public Vector4f limit() {
+        return r.set(a).limit(scalar);
+    }
+
+    @Benchmark
+    public Vector4f limit2() {
+        return r.set(a).limit2(scalar);
+    }
+
+    @Benchmark
+    public Vector4f setLength() {
+        return r.set(a).setLength(scalar);
+    }
+
+    @Benchmark
+    public Vector4f setLength2() {
+        return r.set(a).setLength2(scalar);
+    }
+
+    @Benchmark
+    public Vector4f clamp() {
+        return r.set(a).clamp(epsilon, scalar);
+    }
+
+    @Benchmark
+    public Vector4f addVector() {
+        return r.set(a).add(b);
+    }
+
+    @Benchmark
+    public Vector4f addScalar() {
+        return r.set(a).add(scalar);
+    }
+
+    @Benchmark
+    public Vector4f addComponents() {
+        return r.set(a).add(b.x, b.y, b.z, b.w);
+    }
+
+    @Benchmark
+    public Vector4f subVector() {
+        return r.set(a).sub(b);
+    }
+
+    @Benchmark
+    public Vector4f subScalar() {
+        return r.set(a).sub(scalar);
+    }
+
+    @Benchmark
+    public Vector4f subComponents() {
+        return r.set(a).sub(b.x, b.y, b.z, b.w);
+    }
+
+    @Benchmark
+    public Vector4f sclVector() {
+        return r.set(a).scl(b);
+    }
+
+    @Benchmark
+    public Vector4f sclScalar() {
+        return r.set(a).scl(scalar);
+    }
+
+    @Benchmark
+    public Vector4f sclComponents() {
+        return r.set(a).scl(b.x, b.y, b.z, b.w);
+    }
+
+    @Benchmark
+    public Vector4f divVector() {
+        return r.set(a).div(b);
+    }
+
+    @Benchmark
+    public Vector4f divScalar() {
+        return r.set(a).div(scalar);
+    }
+
+    @Benchmark
+    public Vector4f divComponents() {
+        return r.set(a).div(b.x, b.y, b.z, b.w);
+    }
+
+    @Benchmark
+    public float dst() {
+        return a.dst(b);
+    }
+
+    @Benchmark
+    public float dst2() {
+        return a.dst2(b);
+    }
+
+    @Benchmark
+    public float dstComponents() {
+        return a.dst(b.x, b.y, b.z, b.w);
+    }
+
+    @Benchmark
+    public float dst2Components() {
+        return a.dst2(b.x, b.y, b.z, b.w);
+    }
+
+    @Benchmark
+    public float staticDst() {
+        return Vector4f.dst(a, b);
+    }
+
+    @Benchmark
+    public float staticDst2() {
+        return Vector4f.dst2(a, b);
+    }
+
+    @Benchmark
+    public Vector4f lerp() {
+        return r.set(a).lerp(b, alpha);
+    }
+
+    @Benchmark
+    public Vector4f staticLerp() {
+        return Vector4f.lerp(a, b, alpha);
+    }
+
+    @Benchmark
+    public Vector4f addMulScalar() {
+        return r.set(a).addMul(b, scalar);
+    }
+
+    @Benchmark
+    public Vector4f addMulVector() {
+        return r.set(a).addMul(b, a);
+    }
+
+    @Benchmark
+    public float dot() {
+        return a.dot(b);
+    }
+
+    @Benchmark
+    public Vector4f toVector() {
+        return r.set(a).to(b);
+    }
+
+    @Benchmark
+    public Vector4f toComponents() {
+        return r.set(a).to(b.x, b.y, b.z, b.w);
+    }
+
+    @Benchmark
+    public boolean isOnLine() {
+        return a.isOnLine(b);
+    }
+
+    @Benchmark
+    public boolean isCollinear() {
+        return a.isCollinear(b);
+    }
+
+    @Benchmark
+    public boolean isCollinearOpposite() {
+        return a.isCollinearOpposite(b);
+    }
+
+    @Benchmark
+    public boolean isOrthogonal() {
+        return a.isOrthogonal(b);
+    }
+
+    @Benchmark
+    public boolean hasSameDirection() {
+        return a.hasSameDirection(b);
+    }
+
+    @Benchmark
+    public boolean hasOppositeDirection() {
+        return a.hasOppositeDirection(b);
+    }
+
+    @Benchmark
+    public boolean isUnit() {
+        return a.isUnit();
+    }
+
+    @Benchmark
+    public boolean isZero() {
+        return a.isZero();
+    }
+}
@@ -0,0 +1,249 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix3f;
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector2f;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector4f;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A scope of temporary vectors, matrices and quaternions taken from a pool of the current thread:
+ * <pre>
+ * try (MathTemp t = MathTemp.open()) {
+ *     Vector3f a = t.v3();
+ *     Matrix4f m = t.m4();
+ *     ...
+ * }
+ * </pre>
+ * Closing the scope returns every object taken from it to the pool, so helper methods can use temporaries without
+ * allocating once the pool has grown to the deepest use. Scopes nest; the objects and the scopes themselves are
+ * reused, so neither may be kept or used after the scope is closed, and only the innermost open scope may hand out
+ * objects. Vectors are returned zeroed, matrices and quaternions as the identity.
+ * <p>
+ * When assertions are enabled (<code>-ea</code>), the pool runs in debug mode: taking an object from a closed or
+ * an outer scope and closing scopes out of order throw {@link AssertionError}. Every {@link #open()} then creates
+ * a new scope with its own generation number, so a reference to a closed scope keeps failing after another scope
+ * has been opened at the same depth. The objects of a closed scope are filled with NaN and replaced in the pool by
+ * new ones, so an escaped reference stays NaN and shows up in the results instead of aliasing a live temporary;
+ * the counters still describe the pool as it would be reused without assertions. Without assertions, closing an
+ * outer scope also closes the scopes nested in it.
+ * <p>
+ * The pools and their counters belong to the current thread, so scopes cost no synchronization.
+ */
+public final class MathTemp implements AutoCloseable {
+    private static final boolean DEBUG = MathTemp.class.desiredAssertionStatus();
+    private static final ThreadLocal<Pool> POOLS = ThreadLocal.withInitial(Pool::new);
+
+    private final Pool pool;
+    private final int level;
+    private final int generation;
+    private final int[] marks = new int[Pool.TYPES];
+    private boolean open;
+
+    private MathTemp(Pool pool, int level, int generation) {
+        this.pool = pool;
+        this.level = level;
+        this.generation = generation;
+    }
+
+    /**
+     * Opens a scope nested in the scopes already open on the current thread.
+     *
+     * @return The scope, to be closed by try-with-resources.
+     */
+    public static MathTemp open() {
+        return POOLS.get().open();
+    }
+
+    /**
+     * @return The number of scopes open on the current thread.
+     */
+    public static int depth() {
+        return POOLS.get().depth;
+    }
+
+    /**
+     * @return The number of objects the current thread has taken from its pool without allocating.
+     */
+    public static long hits() {
+        return POOLS.get().hits;
+    }
+
+    /**
+     * @return The number of objects the pool of the current thread has had to allocate.
+     */
+    public static long misses() {
+        return POOLS.get().misses;
+    }
+
+    /**
+     * Resets the hit and miss counters of the current thread.
+     */
+    public static void resetCounters() {
+        Pool pool = POOLS.get();
+        pool.hits = 0;
+        pool.misses = 0;
+    }
+
+    /**
+     * @return A zero 2D vector valid until this scope is closed.
+     */
+    public Vector2f v2() {
+        return ((Vector2f) take(Pool.V2)).setZero();
+    }
+
+    /**
+     * @return A zero 3D vector valid until this scope is closed.
+     */
+    public Vector3f v3() {
+        return ((Vector3f) take(Pool.V3)).setZero();
+    }
+
+    /**
+     * @return A zero 4D vector valid until this scope is closed.
+     */
+    public Vector4f v4() {
+        return ((Vector4f) take(Pool.V4)).setZero();
+    }
+
+    /**
+     * @return A 3x3 identity matrix valid until this scope is closed.
+     */
+    public Matrix3f m3() {
+        return ((Matrix3f) take(Pool.M3)).setIdentity();
+    }
+
+    /**
+     * @return A 4x4 identity matrix valid until this scope is closed.
+     */
+    public Matrix4f m4() {
+        return ((Matrix4f) take(Pool.M4)).setIdentity();
+    }
+
+    /**
+     * @return An identity quaternion valid until this scope is closed.
+     */
+    public Quaternionf q() {
+        return ((Quaternionf) take(Pool.Q)).setIdentity();
+    }
+
+    private Object take(int type) {
+        assert open && pool.depth > level && pool.generations[level] == generation : "The scope is closed.";
+        assert pool.depth == level + 1 : "Only the innermost scope can hand out objects.";
+        return pool.take(type);
+    }
+
+    /**
+     * Returns the objects taken from this scope to the pool. Closing a closed scope does nothing.
+     */
+    @Override
+    public void close() {
+        if (!open) return;
+
+        assert pool.depth == level + 1 : "Unbalanced scopes: " + (pool.depth - level - 1) + " nested scopes are open.";
+        pool.close(this);
+    }
+
+    private static final class Pool {
+        static final int V2 = 0;
+        static final int V3 = 1;
+        static final int V4 = 2;
+        static final int M3 = 3;
+        static final int M4 = 4;
+        static final int Q = 5;
+        static final int TYPES = 6;
+
+        private static final float NAN = Float.NaN;
+
+        final Slots[] slots = {
+                new Slots(Vector2f::new, v -> ((Vector2f) v).set(NAN)),
+                new Slots(Vector3f::new, v -> ((Vector3f) v).set(NAN)),
+                new Slots(Vector4f::new, v -> ((Vector4f) v).set(NAN)),
+                new Slots(Matrix3f::new, m -> ((Matrix3f) m).fill(NAN)),
+                new Slots(Matrix4f::new, m -> ((Matrix4f) m).fill(NAN)),
+                new Slots(Quaternionf::new, q -> ((Quaternionf) q).set(NAN, NAN, NAN, NAN)),
+        };
+        MathTemp[] scopes = new MathTemp[4];
+        // The generation of the scope open at every depth; only used in debug mode.
+        int[] generations = new int[4];
+        int generation;
+        int depth;
+        long hits;
+        long misses;
+
+        MathTemp open() {
+            if (depth == scopes.length) {
+                scopes = Arrays.copyOf(scopes, depth * 2);
+                generations = Arrays.copyOf(generations, depth * 2);
+            }
+            MathTemp scope = scopes[depth];
+            if (DEBUG) {
+                // A stale reference to a closed scope must never become valid again, so scopes are not reused.
+                scope = scopes[depth] = new MathTemp(this, depth, ++generation);
+                generations[depth] = scope.generation;
+            } else if (scope == null) {
+                scope = scopes[depth] = new MathTemp(this, depth, 0);
+            }
+            for (int i = 0; i < TYPES; i++) {
+                scope.marks[i] = slots[i].top;
+            }
+            scope.open = true;
+            depth++;
+            return scope;
+        }
+
+        Object take(int type) {
+            Slots s = slots[type];
+            if (s.top < s.count) {
+                hits++;
+            } else {
+                misses++;
+                s.add();
+            }
+            return s.items[s.top++];
+        }
+
+        void close(MathTemp scope) {
+            // Closing an outer scope closes the scopes nested in it as well.
+            for (int i = depth - 1; i >= scope.level; i--) {
+                scopes[i].open = false;
+            }
+            depth = scope.level;
+            for (int i = 0; i < TYPES; i++) {
+                Slots s = slots[i];
+                if (DEBUG) s.retire(scope.marks[i]);
+                s.top = scope.marks[i];
+            }
+        }
+    }
+
+    private static final class Slots {
+        private final Supplier<Object> factory;
+        private final Consumer<Object> poison;
+        Object[] items = new Object[8];
+        int count;
+        int top;
+
+        Slots(Supplier<Object> factory, Consumer<Object> poison) {
+            this.factory = factory;
+            this.poison = poison;
+        }
+
+        void add() {
+            if (count == items.length) items = Arrays.copyOf(items, count * 2);
+            items[count++] = factory.get();
+        }
+
+        // Poisons the objects handed out since the mark and replaces them, so that escaped references stay NaN.
+        void retire(int from) {
+            for (int i = from; i < top; i++) {
+                poison.accept(items[i]);
+                items[i] = factory.get();
+            }
+        }
+    }
+}
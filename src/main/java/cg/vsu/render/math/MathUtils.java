@@ -2,6 +2,10 @@ package cg.vsu.render.math;
 
 /**
  * Common math operations.
+ * <p>
+ * The trigonometric functions ending with <code>Rad</code> or <code>Deg</code> delegate to {@link Math} and are
+ * exact up to float rounding. The functions ending with <code>Fast</code> use polynomial approximations and the
+ * ones ending with <code>Lookup</code> use an interpolated table; their maximum errors are documented on each method.
  *
  * @author Alexander Laptev
  */
@@ -83,6 +87,308 @@ public class MathUtils {
         return (float) Math.tan(radians);
     }
 
+    // Cody-Waite split of pi/2 for the argument reduction of the polynomial functions. The first two parts
+    // have few significant bits, so multiplying them by a quadrant index is exact.
+    private static final float HALF_PI_1 = 1.5703125f;
+    private static final float HALF_PI_2 = 4.837512969970703125E-4f;
+    private static final float HALF_PI_3 = 7.54978995489188216E-8f;
+    private static final float TWO_OVER_PI = (float) (2.0 / Math.PI);
+
+    /**
+     * Calculates the sine of the given angle with a minimax polynomial. The maximum absolute error is
+     * 1E-7 for <code>|radians| <= 8192</code>; the accuracy degrades for larger arguments.
+     *
+     * @param radians The angle in radians.
+     * @return The approximate sine of the angle.
+     */
+    public static float sinFast(float radians) {
+        int quadrant = Math.round(radians * TWO_OVER_PI);
+        return sin(reduce(radians, quadrant), quadrant);
+    }
+
+    /**
+     * Calculates the cosine of the given angle with a minimax polynomial. The maximum absolute error is
+     * 1E-7 for <code>|radians| <= 8192</code>; the accuracy degrades for larger arguments.
+     *
+     * @param radians The angle in radians.
+     * @return The approximate cosine of the angle.
+     */
+    public static float cosFast(float radians) {
+        int quadrant = Math.round(radians * TWO_OVER_PI);
+        return cos(reduce(radians, quadrant), quadrant);
+    }
+
+    /**
+     * Calculates both the sine and the cosine of the given angle, sharing the argument reduction.
+     * The accuracy is the same as that of {@link #sinFast(float)} and {@link #cosFast(float)}.
+     *
+     * @param radians The angle in radians.
+     * @param out     The array to write the sine (at index 0) and the cosine (at index 1) to.
+     * @return The provided array.
+     */
+    public static float[] sinCosFast(float radians, float[] out) {
+        int quadrant = Math.round(radians * TWO_OVER_PI);
+        return sinCos(reduce(radians, quadrant), quadrant, out);
+    }
+
+    /**
+     * Calculates the sine of the given angle in degrees with the polynomial of {@link #sinFast(float)}. The angle
+     * is reduced in degrees, so multiples of 90 degrees give exact results. The maximum absolute error is 2E-7
+     * for <code>|degrees| <= 360000</code>.
+     *
+     * @param degrees The angle in degrees.
+     * @return The approximate sine of the angle.
+     */
+    public static float sinDegFast(float degrees) {
+        int quadrant = Math.round(degrees / 90.0f);
+        return sin(reduceDeg(degrees, quadrant), quadrant);
+    }
+
+    /**
+     * Calculates the cosine of the given angle in degrees with the polynomial of {@link #cosFast(float)}.
+     * The accuracy is the same as that of {@link #sinDegFast(float)}.
+     *
+     * @param degrees The angle in degrees.
+     * @return The approximate cosine of the angle.
+     */
+    public static float cosDegFast(float degrees) {
+        int quadrant = Math.round(degrees / 90.0f);
+        return cos(reduceDeg(degrees, quadrant), quadrant);
+    }
+
+    /**
+     * Calculates both the sine and the cosine of the given angle in degrees, sharing the argument reduction.
+     * The accuracy is the same as that of {@link #sinDegFast(float)}.
+     *
+     * @param degrees The angle in degrees.
+     * @param out     The array to write the sine (at index 0) and the cosine (at index 1) to.
+     * @return The provided array.
+     */
+    public static float[] sinCosDegFast(float degrees, float[] out) {
+        int quadrant = Math.round(degrees / 90.0f);
+        return sinCos(reduceDeg(degrees, quadrant), quadrant, out);
+    }
+
+    /**
+     * Calculates the sines of the given angles with {@link #sinFast(float)}.
+     * The source and destination may be the same array.
+     *
+     * @param src    The array of angles in radians.
+     * @param srcOff The offset of the first angle.
+     * @param dst    The array to write the sines to.
+     * @param dstOff The offset of the first sine.
+     * @param count  The number of angles.
+     */
+    public static void sinFast(float[] src, int srcOff, float[] dst, int dstOff, int count) {
+        for (int i = 0; i < count; i++) dst[dstOff + i] = sinFast(src[srcOff + i]);
+    }
+
+    /**
+     * Calculates the cosines of the given angles with {@link #cosFast(float)}.
+     * The source and destination may be the same array.
+     *
+     * @param src    The array of angles in radians.
+     * @param srcOff The offset of the first angle.
+     * @param dst    The array to write the cosines to.
+     * @param dstOff The offset of the first cosine.
+     * @param count  The number of angles.
+     */
+    public static void cosFast(float[] src, int srcOff, float[] dst, int dstOff, int count) {
+        for (int i = 0; i < count; i++) dst[dstOff + i] = cosFast(src[srcOff + i]);
+    }
+
+    /**
+     * Calculates both the sines and the cosines of the given angles with {@link #sinCosFast(float, float[])}.
+     *
+     * @param src    The array of angles in radians.
+     * @param srcOff The offset of the first angle.
+     * @param sin    The array to write the sines to.
+     * @param cos    The array to write the cosines to.
+     * @param dstOff The offset of the first sine and cosine.
+     * @param count  The number of angles.
+     */
+    public static void sinCosFast(float[] src, int srcOff, float[] sin, float[] cos, int dstOff, int count) {
+        for (int i = 0; i < count; i++) {
+            float radians = src[srcOff + i];
+            int quadrant = Math.round(radians * TWO_OVER_PI);
+            float r = reduce(radians, quadrant);
+            float s = sinPoly(r);
+            float c = cosPoly(r);
+            int d = dstOff + i;
+            switch (quadrant & 3) {
+                case 0:
+                    sin[d] = s;
+                    cos[d] = c;
+                    break;
+                case 1:
+                    sin[d] = c;
+                    cos[d] = -s;
+                    break;
+                case 2:
+                    sin[d] = -s;
+                    cos[d] = -c;
+                    break;
+                default:
+                    sin[d] = -c;
+                    cos[d] = s;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Calculates the angle of the given point in polar coordinates with a minimax polynomial.
+     * The maximum absolute error is 3.5E-7. Unlike {@link Math#atan2(double, double)}, returns 0 for
+     * the origin regardless of the signs of the zeros.
+     *
+     * @param y The y coordinate of the point.
+     * @param x The x coordinate of the point.
+     * @return The approximate angle in radians, in <code>[-pi, pi]</code>.
+     */
+    public static float atan2Fast(float y, float x) {
+        float ax = Math.abs(x);
+        float ay = Math.abs(y);
+        if (ax == 0.0f && ay == 0.0f) return 0.0f;
+
+        boolean steep = ay > ax;
+        float a = steep ? ax / ay : ay / ax;
+        float s = a * a;
+        float r = a * (0.9999993329f + s * (-0.3332985605f + s * (0.1994653599f + s * (-0.1390853351f
+                + s * (0.0964200441f + s * (-0.0559098861f + s * (0.0218612288f + s * -0.0040540580f)))))));
+        if (steep) r = HALF_PI - r;
+        if (x < 0.0f) r = PI - r;
+        return y < 0.0f ? -r : r;
+    }
+
+    /**
+     * Calculates the arc cosine of the given value with a minimax polynomial. The maximum absolute error is
+     * 4.5E-7.
+     *
+     * @param v The value in <code>[-1, 1]</code>.
+     * @return The approximate arc cosine in radians, in <code>[0, pi]</code>; NaN if the value is out of range.
+     */
+    public static float acosFast(float v) {
+        float a = Math.abs(v);
+        float r = (float) Math.sqrt(1.0f - a) * (1.5707963050f + a * (-0.2145988016f + a * (0.0889789874f
+                + a * (-0.0501743046f + a * (0.0308918810f + a * (-0.0170881256f + a * (0.0066700901f
+                + a * -0.0012624911f)))))));
+        return v < 0.0f ? PI - r : r;
+    }
+
+    /**
+     * Looks up the sine of the given angle in a table of 4096 values with linear interpolation. The maximum
+     * absolute error is 6.5E-7 for <code>|radians| <= 2 pi</code> and grows with the magnitude of the argument,
+     * reaching about 1E-4 at 1000 radians.
+     *
+     * @param radians The angle in radians.
+     * @return The approximate sine of the angle.
+     */
+    public static float sinLookup(float radians) {
+        float index = radians * SinTable.RAD_TO_INDEX;
+        float floor = (float) Math.floor(index);
+        float alpha = index - floor;
+        int i = (int) floor & SinTable.MASK;
+        float[] table = SinTable.TABLE;
+        return table[i] + alpha * (table[i + 1] - table[i]);
+    }
+
+    /**
+     * Looks up the cosine of the given angle. The accuracy is the same as that of {@link #sinLookup(float)}.
+     *
+     * @param radians The angle in radians.
+     * @return The approximate cosine of the angle.
+     */
+    public static float cosLookup(float radians) {
+        return sinLookup(radians + HALF_PI);
+    }
+
+    // Reduces the angle to [-pi/4, pi/4] by subtracting quadrant * pi/2.
+    private static float reduce(float radians, int quadrant) {
+        return ((radians - quadrant * HALF_PI_1) - quadrant * HALF_PI_2) - quadrant * HALF_PI_3;
+    }
+
+    // Subtracting whole quadrants is exact in degrees, so only the conversion to radians rounds.
+    private static float reduceDeg(float degrees, int quadrant) {
+        return (degrees - quadrant * 90.0f) * DEG_TO_RAD;
+    }
+
+    // The sine and the cosine of quadrant * pi/2 + r, where r is the reduced argument.
+    private static float sin(float r, int quadrant) {
+        switch (quadrant & 3) {
+            case 0:
+                return sinPoly(r);
+            case 1:
+                return cosPoly(r);
+            case 2:
+                return -sinPoly(r);
+            default:
+                return -cosPoly(r);
+        }
+    }
+
+    private static float cos(float r, int quadrant) {
+        switch (quadrant & 3) {
+            case 0:
+                return cosPoly(r);
+            case 1:
+                return -sinPoly(r);
+            case 2:
+                return -cosPoly(r);
+            default:
+                return sinPoly(r);
+        }
+    }
+
+    private static float[] sinCos(float r, int quadrant, float[] out) {
+        float sin = sinPoly(r);
+        float cos = cosPoly(r);
+        switch (quadrant & 3) {
+            case 0:
+                out[0] = sin;
+                out[1] = cos;
+                break;
+            case 1:
+                out[0] = cos;
+                out[1] = -sin;
+                break;
+            case 2:
+                out[0] = -sin;
+                out[1] = -cos;
+                break;
+            default:
+                out[0] = -cos;
+                out[1] = sin;
+                break;
+        }
+        return out;
+    }
+
+    // Minimax polynomials for |r| <= pi/4 (Cephes).
+    private static float sinPoly(float r) {
+        float z = r * r;
+        return r + r * z * ((-1.9515295891E-4f * z + 8.3321608736E-3f) * z - 1.6666654611E-1f);
+    }
+
+    private static float cosPoly(float r) {
+        float z = r * r;
+        return 1.0f - 0.5f * z + z * z * ((2.443315711809948E-5f * z - 1.388731625493765E-3f) * z
+                + 4.166664568298827E-2f);
+    }
+
+    // Holds the lookup table, so that it is only built when a lookup function is used.
+    private static final class SinTable {
+        private static final int BITS = 12;
+        private static final int COUNT = 1 << BITS;
+        private static final int MASK = COUNT - 1;
+        private static final float RAD_TO_INDEX = (float) (COUNT / (2.0 * Math.PI));
+        // One extra value, so that the interpolation never wraps around.
+        private static final float[] TABLE = new float[COUNT + 1];
+
+        static {
+            for (int i = 0; i <= COUNT; i++) TABLE[i] = (float) Math.sin(i * 2.0 * Math.PI / COUNT);
+        }
+    }
+
     /**
      * Performs an accurate floating-point equals comparison using epsilon.
      *
@@ -262,4 +568,58 @@ public class MathUtils {
     public static float map(float v, float inMin, float inMax, float outMin, float outMax) {
         return outMin + (v - inMin) / (inMax - inMin) * (outMax - outMin);
     }
+
+    /**
+     * Converts the given doubles to floats, rounding to the nearest float. The loop has no dependencies between
+     * iterations, so the JIT compiler turns it into packed conversion instructions.
+     *
+     * @param src    The source array.
+     * @param srcOff The offset of the first value in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first value in the destination array.
+     * @param count  The number of values to convert.
+     */
+    public static void toFloat(double[] src, int srcOff, float[] dst, int dstOff, int count) {
+        for (int i = 0; i < count; i++) {
+            dst[dstOff + i] = (float) src[srcOff + i];
+        }
+    }
+
+    /**
+     * Converts the given floats to doubles. The conversion is exact.
+     *
+     * @param src    The source array.
+     * @param srcOff The offset of the first value in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first value in the destination array.
+     * @param count  The number of values to convert.
+     */
+    public static void toDouble(float[] src, int srcOff, double[] dst, int dstOff, int count) {
+        for (int i = 0; i < count; i++) {
+            dst[dstOff + i] = src[srcOff + i];
+        }
+    }
+
+    /**
+     * Returns the high part of the given value split into two floats: the value rounded to float.
+     * Together with {@link #splitLow(double)}, it represents the value with about 48 bits of mantissa,
+     * e.g. for positions far from the origin that must be stored or subtracted in float.
+     *
+     * @param v The value to split.
+     * @return The high part of the value.
+     */
+    public static float splitHigh(double v) {
+        return (float) v;
+    }
+
+    /**
+     * Returns the low part of the given value split into two floats: the rounding error of
+     * {@link #splitHigh(double)}, so that <code>splitHigh(v) + splitLow(v)</code> is close to <code>v</code>.
+     *
+     * @param v The value to split.
+     * @return The low part of the value.
+     */
+    public static float splitLow(double v) {
+        return (float) (v - (float) v);
+    }
 }
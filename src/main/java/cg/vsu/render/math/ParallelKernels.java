@@ -0,0 +1,345 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix3f;
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.matrix.Matrix4fArray;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs the bulk kernels of the vector and matrix classes on several threads of a {@link ForkJoinPool}.
+ * The input is halved recursively until a range holds at most {@link #threshold} vectors; each range is then
+ * processed by the ordinary single-threaded kernel. The default threshold keeps the source and destination
+ * of a range within a typical 256 KiB L2 cache. Inputs not larger than the threshold are processed on the
+ * calling thread without touching the pool.
+ * <p>
+ * The ranges depend only on the number of vectors and the threshold, never on the number of threads, and the
+ * reductions always combine the left range with the right one. The results are therefore the same on every run
+ * and every pool, which the reductions would not guarantee with a work-stealing order.
+ * <p>
+ * The kernels only read the given matrices and vectors, so one instance can be used by several threads at once
+ * as long as they do not write to the same arrays.
+ */
+public final class ParallelKernels {
+    /**
+     * The default maximum number of vectors processed by one task.
+     */
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    /**
+     * The pool the tasks are run in.
+     */
+    public final ForkJoinPool pool;
+
+    /**
+     * The maximum number of vectors processed by one task.
+     */
+    public final int threshold;
+
+    /**
+     * Constructs an instance running in the common pool with the default threshold.
+     */
+    public ParallelKernels() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructs an instance running in the given pool.
+     *
+     * @param pool      The pool to run the tasks in.
+     * @param threshold The maximum number of vectors processed by one task. Must be positive.
+     */
+    public ParallelKernels(ForkJoinPool pool, int threshold) {
+        if (threshold <= 0) throw new IllegalArgumentException("Non-positive threshold: " + threshold);
+
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Transforms the given packed 3D points by the matrix in parallel.
+     * See {@link Matrix4f#transformPoints(float[], int, float[], int, int, int)}.
+     *
+     * @param m      The matrix.
+     * @param src    The source array of points.
+     * @param srcOff The offset of the first point in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first point in the destination array.
+     * @param count  The number of points to transform.
+     * @param stride The distance between the starts of consecutive points in both arrays. Must be at least 3.
+     */
+    public void transformPoints(Matrix4f m, float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        run(count, (from, to) -> m.transformPoints(
+                src, srcOff + from * stride, dst, dstOff + from * stride, to - from, stride
+        ));
+    }
+
+    /**
+     * Transforms the given packed 3D directions by the matrix in parallel.
+     * See {@link Matrix4f#transformDirections(float[], int, float[], int, int, int)}.
+     *
+     * @param m      The matrix.
+     * @param src    The source array of directions.
+     * @param srcOff The offset of the first direction in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first direction in the destination array.
+     * @param count  The number of directions to transform.
+     * @param stride The distance between the starts of consecutive directions in both arrays. Must be at least 3.
+     */
+    public void transformDirections(
+            Matrix4f m, float[] src, int srcOff, float[] dst, int dstOff, int count, int stride
+    ) {
+        run(count, (from, to) -> m.transformDirections(
+                src, srcOff + from * stride, dst, dstOff + from * stride, to - from, stride
+        ));
+    }
+
+    /**
+     * Transforms the given packed 2D points by the matrix in parallel.
+     * See {@link Matrix3f#transformPoints(float[], int, float[], int, int, int)}.
+     *
+     * @param m      The matrix.
+     * @param src    The source array of points.
+     * @param srcOff The offset of the first point in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first point in the destination array.
+     * @param count  The number of points to transform.
+     * @param stride The distance between the starts of consecutive points in both arrays. Must be at least 2.
+     */
+    public void transformPoints(Matrix3f m, float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        run(count, (from, to) -> m.transformPoints(
+                src, srcOff + from * stride, dst, dstOff + from * stride, to - from, stride
+        ));
+    }
+
+    /**
+     * Transforms the given packed 2D directions by the matrix in parallel.
+     * See {@link Matrix3f#transformDirections(float[], int, float[], int, int, int)}.
+     *
+     * @param m      The matrix.
+     * @param src    The source array of directions.
+     * @param srcOff The offset of the first direction in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first direction in the destination array.
+     * @param count  The number of directions to transform.
+     * @param stride The distance between the starts of consecutive directions in both arrays. Must be at least 2.
+     */
+    public void transformDirections(
+            Matrix3f m, float[] src, int srcOff, float[] dst, int dstOff, int count, int stride
+    ) {
+        run(count, (from, to) -> m.transformDirections(
+                src, srcOff + from * stride, dst, dstOff + from * stride, to - from, stride
+        ));
+    }
+
+    /**
+     * Normalizes every vector of the given array in parallel. Vectors of zero length are left unchanged.
+     *
+     * @param a The array.
+     * @return The provided array.
+     */
+    public Vector3fArray nor(Vector3fArray a) {
+        run(a.size, a::nor);
+        return a;
+    }
+
+    /**
+     * Calculates the dot products between the vectors of the two arrays in parallel.
+     *
+     * @param a   The first array.
+     * @param b   The second array.
+     * @param out The array to write the dot products to. Must have at least <code>a.size</code> values.
+     * @return The provided array.
+     */
+    public float[] dot(Vector3fArray a, Vector3fArray b, float[] out) {
+        run(a.size, (from, to) -> a.dot(b, out, from, to));
+        return out;
+    }
+
+    /**
+     * Sets every vector of the first array to its cross product with the corresponding vector of the second
+     * array in parallel.
+     *
+     * @param a The first array, which receives the results.
+     * @param b The second array.
+     * @return The first array.
+     */
+    public Vector3fArray crs(Vector3fArray a, Vector3fArray b) {
+        run(a.size, (from, to) -> a.crs(b, from, to));
+        return a;
+    }
+
+    /**
+     * Skins all vertices of the given mesh by the bone matrices in parallel.
+     * See {@link Skinning#skin(Matrix4fArray, Vector3fArray, Vector3fArray)}.
+     *
+     * @param skinning     The skinning stage holding the bind pose.
+     * @param bones        The bone matrices.
+     * @param outPositions The array to write the skinned positions to.
+     * @param outNormals   The array to write the skinned normals to, or null to skip the normals.
+     */
+    public void skin(Skinning skinning, Matrix4fArray bones, Vector3fArray outPositions, Vector3fArray outNormals) {
+        run(skinning.size(), (from, to) -> skinning.skin(bones, outPositions, outNormals, from, to));
+    }
+
+    /**
+     * Calculates the component-wise minimum and maximum of the vectors of the given array in parallel.
+     * The bounds of an empty array are infinite and inverted (the minimum is positive infinity).
+     *
+     * @param a   The array.
+     * @param min The vector to write the minimum to.
+     * @param max The vector to write the maximum to.
+     */
+    public void bounds(Vector3fArray a, Vector3f min, Vector3f max) {
+        double[] r = reduce(a.size, (from, to) -> bounds(a, from, to), ParallelKernels::combineBounds);
+        min.set((float) r[0], (float) r[1], (float) r[2]);
+        max.set((float) r[3], (float) r[4], (float) r[5]);
+    }
+
+    /**
+     * Calculates the sum of the vectors of the given array in parallel. Each range is summed in order and the
+     * partial sums are combined in double precision, so the result does not depend on the pool.
+     *
+     * @param a   The array.
+     * @param out The vector to write the sum to.
+     * @return The provided vector.
+     */
+    public Vector3f sum(Vector3fArray a, Vector3f out) {
+        double[] r = reduce(a.size, (from, to) -> sum(a, from, to), ParallelKernels::combineSums);
+        return out.set((float) r[0], (float) r[1], (float) r[2]);
+    }
+
+    private static double[] bounds(Vector3fArray a, int from, int to) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            minX = Math.min(minX, a.x[i]);
+            minY = Math.min(minY, a.y[i]);
+            minZ = Math.min(minZ, a.z[i]);
+            maxX = Math.max(maxX, a.x[i]);
+            maxY = Math.max(maxY, a.y[i]);
+            maxZ = Math.max(maxZ, a.z[i]);
+        }
+        return new double[]{minX, minY, minZ, maxX, maxY, maxZ};
+    }
+
+    private static double[] combineBounds(double[] left, double[] right) {
+        for (int i = 0; i < 3; i++) {
+            left[i] = Math.min(left[i], right[i]);
+            left[i + 3] = Math.max(left[i + 3], right[i + 3]);
+        }
+        return left;
+    }
+
+    private static double[] sum(Vector3fArray a, int from, int to) {
+        float x = 0.0f;
+        float y = 0.0f;
+        float z = 0.0f;
+        for (int i = from; i < to; i++) {
+            x += a.x[i];
+            y += a.y[i];
+            z += a.z[i];
+        }
+        return new double[]{x, y, z};
+    }
+
+    private static double[] combineSums(double[] left, double[] right) {
+        for (int i = 0; i < 3; i++) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    private void run(int count, RangeKernel kernel) {
+        if (count <= threshold) {
+            kernel.apply(0, count);
+            return;
+        }
+        pool.invoke(new RangeAction(kernel, 0, count, threshold));
+    }
+
+    private double[] reduce(int count, RangeReducer reducer, Combiner combiner) {
+        if (count <= threshold) return reducer.apply(0, count);
+        return pool.invoke(new RangeTask(reducer, combiner, 0, count, threshold));
+    }
+
+    @FunctionalInterface
+    private interface RangeKernel {
+        void apply(int from, int to);
+    }
+
+    @FunctionalInterface
+    private interface RangeReducer {
+        double[] apply(int from, int to);
+    }
+
+    @FunctionalInterface
+    private interface Combiner {
+        double[] apply(double[] left, double[] right);
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeKernel kernel;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        RangeAction(RangeKernel kernel, int from, int to, int threshold) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                kernel.apply(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeAction(kernel, from, mid, threshold), new RangeAction(kernel, mid, to, threshold));
+        }
+    }
+
+    private static final class RangeTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeReducer reducer;
+        private final Combiner combiner;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        RangeTask(RangeReducer reducer, Combiner combiner, int from, int to, int threshold) {
+            this.reducer = reducer;
+            this.combiner = combiner;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= threshold) return reducer.apply(from, to);
+
+            int mid = (from + to) >>> 1;
+            RangeTask left = new RangeTask(reducer, combiner, from, mid, threshold);
+            RangeTask right = new RangeTask(reducer, combiner, mid, to, threshold);
+            left.fork();
+            double[] r = right.compute();
+            // The left result is always the first operand, whatever thread finished first.
+            return combiner.apply(left.join(), r);
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix3f;
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3f;
+
+import java.util.Objects;
+
+/**
+ * A mutable float quaternion <code>xi + yj + zk + w</code>. Unit quaternions represent rotations in 3D space;
+ * the rotation of a vector <code>v</code> is <code>q * v * conjugate(q)</code>, and <code>a * b</code> rotates
+ * by <code>b</code> first and then by <code>a</code>, just like the product of the corresponding matrices.
+ */
+public class Quaternionf {
+    // Above this dot product the quaternions are nearly parallel and slerp falls back to nlerp.
+    private static final float SLERP_THRESHOLD = 0.9995f;
+
+    /**
+     * The x component of the vector part of this quaternion.
+     */
+    public float x;
+
+    /**
+     * The y component of the vector part of this quaternion.
+     */
+    public float y;
+
+    /**
+     * The z component of the vector part of this quaternion.
+     */
+    public float z;
+
+    /**
+     * The scalar part of this quaternion.
+     */
+    public float w;
+
+    /**
+     * @return An identity quaternion.
+     */
+    public static Quaternionf identity() {
+        return new Quaternionf();
+    }
+
+    /**
+     * Constructs an identity quaternion.
+     */
+    public Quaternionf() {
+        this.w = 1.0f;
+    }
+
+    /**
+     * Constructs a quaternion with the given components.
+     *
+     * @param x The x component of the vector part.
+     * @param y The y component of the vector part.
+     * @param z The z component of the vector part.
+     * @param w The scalar part.
+     */
+    public Quaternionf(float x, float y, float z, float w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+    /**
+     * Constructs a copy of the given quaternion.
+     *
+     * @param q The quaternion.
+     */
+    public Quaternionf(Quaternionf q) {
+        this.x = q.x;
+        this.y = q.y;
+        this.z = q.z;
+        this.w = q.w;
+    }
+
+    /**
+     * Constructs a quaternion representing the rotation around the given axis.
+     *
+     * @param axis    The unit rotation axis.
+     * @param radians The rotation angle in radians.
+     */
+    public Quaternionf(Vector3f axis, float radians) {
+        setAxisAngle(axis, radians);
+    }
+
+    /**
+     * @return A copy of this quaternion.
+     */
+    public Quaternionf cpy() {
+        return new Quaternionf(this);
+    }
+
+    /**
+     * Sets the components of this quaternion.
+     *
+     * @param x The x component of the vector part.
+     * @param y The y component of the vector part.
+     * @param z The z component of the vector part.
+     * @param w The scalar part.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf set(float x, float y, float z, float w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        return this;
+    }
+
+    /**
+     * Sets this quaternion from the given quaternion.
+     *
+     * @param q The quaternion.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf set(Quaternionf q) {
+        this.x = q.x;
+        this.y = q.y;
+        this.z = q.z;
+        this.w = q.w;
+        return this;
+    }
+
+    /**
+     * Sets this quaternion to the identity quaternion.
+     *
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf setIdentity() {
+        this.x = 0.0f;
+        this.y = 0.0f;
+        this.z = 0.0f;
+        this.w = 1.0f;
+        return this;
+    }
+
+    /**
+     * Sets this quaternion to the rotation around the given axis.
+     *
+     * @param axis    The unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf setAxisAngle(Vector3f axis, float radians) {
+        return setAxisAngle(axis.x, axis.y, axis.z, radians);
+    }
+
+    /**
+     * Sets this quaternion to the rotation around the given axis.
+     *
+     * @param x       The x component of the unit rotation axis.
+     * @param y       The y component of the unit rotation axis.
+     * @param z       The z component of the unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf setAxisAngle(float x, float y, float z, float radians) {
+        float half = radians * 0.5f;
+        float sin = (float) Math.sin(half);
+        this.x = x * sin;
+        this.y = y * sin;
+        this.z = z * sin;
+        this.w = (float) Math.cos(half);
+        return this;
+    }
+
+    /**
+     * Sets this quaternion from the given rotation matrix. The matrix must be orthonormal.
+     *
+     * @param m The rotation matrix.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf set(Matrix3f m) {
+        float[] val = m.val;
+        return setRotation(
+                val[Matrix3f.M11], val[Matrix3f.M12], val[Matrix3f.M13],
+                val[Matrix3f.M21], val[Matrix3f.M22], val[Matrix3f.M23],
+                val[Matrix3f.M31], val[Matrix3f.M32], val[Matrix3f.M33]
+        );
+    }
+
+    /**
+     * Sets this quaternion from the upper-left 3x3 part of the given matrix, which must be orthonormal.
+     * The translation of the matrix is ignored.
+     *
+     * @param m The transform matrix.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf set(Matrix4f m) {
+        float[] val = m.val;
+        return setRotation(
+                val[Matrix4f.M11], val[Matrix4f.M12], val[Matrix4f.M13],
+                val[Matrix4f.M21], val[Matrix4f.M22], val[Matrix4f.M23],
+                val[Matrix4f.M31], val[Matrix4f.M32], val[Matrix4f.M33]
+        );
+    }
+
+    private Quaternionf setRotation(
+            float m11, float m12, float m13,
+            float m21, float m22, float m23,
+            float m31, float m32, float m33
+    ) {
+        // Pick the largest of the four components to divide by, which keeps the conversion stable.
+        float trace = m11 + m22 + m33;
+        if (trace > 0.0f) {
+            float s = (float) Math.sqrt(trace + 1.0f) * 2.0f;
+            this.w = 0.25f * s;
+            this.x = (m32 - m23) / s;
+            this.y = (m13 - m31) / s;
+            this.z = (m21 - m12) / s;
+        } else if (m11 > m22 && m11 > m33) {
+            float s = (float) Math.sqrt(1.0f + m11 - m22 - m33) * 2.0f;
+            this.w = (m32 - m23) / s;
+            this.x = 0.25f * s;
+            this.y = (m12 + m21) / s;
+            this.z = (m13 + m31) / s;
+        } else if (m22 > m33) {
+            float s = (float) Math.sqrt(1.0f + m22 - m11 - m33) * 2.0f;
+            this.w = (m13 - m31) / s;
+            this.x = (m12 + m21) / s;
+            this.y = 0.25f * s;
+            this.z = (m23 + m32) / s;
+        } else {
+            float s = (float) Math.sqrt(1.0f + m33 - m11 - m22) * 2.0f;
+            this.w = (m21 - m12) / s;
+            this.x = (m13 + m31) / s;
+            this.y = (m23 + m32) / s;
+            this.z = 0.25f * s;
+        }
+        return this;
+    }
+
+    /**
+     * @return The length of this quaternion.
+     */
+    public float len() {
+        return (float) Math.sqrt(x * x + y * y + z * z + w * w);
+    }
+
+    /**
+     * @return The square of the length of this quaternion.
+     */
+    public float len2() {
+        return x * x + y * y + z * z + w * w;
+    }
+
+    /**
+     * Normalizes this quaternion. A zero quaternion is left unchanged.
+     *
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf nor() {
+        float len2 = x * x + y * y + z * z + w * w;
+        if (len2 == 0.0f) return this;
+
+        float len = (float) Math.sqrt(len2);
+        this.x /= len;
+        this.y /= len;
+        this.z /= len;
+        this.w /= len;
+        return this;
+    }
+
+    /**
+     * Conjugates this quaternion by negating its vector part. For a unit quaternion this is the inverse rotation.
+     *
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf conjugate() {
+        this.x = -x;
+        this.y = -y;
+        this.z = -z;
+        return this;
+    }
+
+    /**
+     * @param q The other quaternion.
+     * @return The dot product of this quaternion and the given quaternion.
+     */
+    public float dot(Quaternionf q) {
+        return x * q.x + y * q.y + z * q.z + w * q.w;
+    }
+
+    /**
+     * Multiplies this quaternion by the given quaternion:
+     * <pre>this <- this * q</pre>
+     *
+     * @param q The right quaternion.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf mul(Quaternionf q) {
+        float ax = this.x;
+        float ay = this.y;
+        float az = this.z;
+        float aw = this.w;
+        this.x = aw * q.x + ax * q.w + ay * q.z - az * q.y;
+        this.y = aw * q.y - ax * q.z + ay * q.w + az * q.x;
+        this.z = aw * q.z + ax * q.y - ay * q.x + az * q.w;
+        this.w = aw * q.w - ax * q.x - ay * q.y - az * q.z;
+        return this;
+    }
+
+    /**
+     * Multiplies the given quaternion by this quaternion:
+     * <pre>this <- q * this</pre>
+     *
+     * @param q The left quaternion.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf mulLeft(Quaternionf q) {
+        float bx = this.x;
+        float by = this.y;
+        float bz = this.z;
+        float bw = this.w;
+        this.x = q.w * bx + q.x * bw + q.y * bz - q.z * by;
+        this.y = q.w * by - q.x * bz + q.y * bw + q.z * bx;
+        this.z = q.w * bz + q.x * by - q.y * bx + q.z * bw;
+        this.w = q.w * bw - q.x * bx - q.y * by - q.z * bz;
+        return this;
+    }
+
+    /**
+     * Rotates the given vector by this quaternion, which must be of unit length. Uses the form
+     * <code>v + w * t + cross(q, t)</code> with <code>t = 2 * cross(q, v)</code>, which takes 18 multiplications
+     * instead of the 32 of the two quaternion products in <code>q * v * conjugate(q)</code>.
+     *
+     * @param v The vector to rotate.
+     * @return The changed given vector.
+     */
+    public Vector3f rotate(Vector3f v) {
+        float vx = v.x;
+        float vy = v.y;
+        float vz = v.z;
+        float tx = 2.0f * (y * vz - z * vy);
+        float ty = 2.0f * (z * vx - x * vz);
+        float tz = 2.0f * (x * vy - y * vx);
+        v.x = vx + w * tx + (y * tz - z * ty);
+        v.y = vy + w * ty + (z * tx - x * tz);
+        v.z = vz + w * tz + (x * ty - y * tx);
+        return v;
+    }
+
+    /**
+     * Interpolates linearly between this quaternion and the given quaternion along the shorter arc and normalizes
+     * the result. Cheaper than {@link #slerp(Quaternionf, float)}, but the angular speed is not constant.
+     *
+     * @param q     The target quaternion.
+     * @param alpha The alpha coefficient.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf nlerp(Quaternionf q, float alpha) {
+        float beta = dot(q) < 0.0f ? -alpha : alpha;
+        float inv = 1.0f - alpha;
+        this.x = inv * x + beta * q.x;
+        this.y = inv * y + beta * q.y;
+        this.z = inv * z + beta * q.z;
+        this.w = inv * w + beta * q.w;
+        return nor();
+    }
+
+    /**
+     * Interpolates spherically between this quaternion and the given quaternion along the shorter arc.
+     * Both quaternions must be of unit length.
+     *
+     * @param q     The target quaternion.
+     * @param alpha The alpha coefficient.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf slerp(Quaternionf q, float alpha) {
+        float qx = q.x;
+        float qy = q.y;
+        float qz = q.z;
+        float qw = q.w;
+        float cos = x * qx + y * qy + z * qz + w * qw;
+        if (cos < 0.0f) {
+            cos = -cos;
+            qx = -qx;
+            qy = -qy;
+            qz = -qz;
+            qw = -qw;
+        }
+
+        float s0;
+        float s1;
+        if (cos > SLERP_THRESHOLD) {
+            s0 = 1.0f - alpha;
+            s1 = alpha;
+        } else {
+            float angle = (float) Math.acos(cos);
+            float invSin = 1.0f / (float) Math.sin(angle);
+            s0 = (float) Math.sin((1.0f - alpha) * angle) * invSin;
+            s1 = (float) Math.sin(alpha * angle) * invSin;
+        }
+
+        this.x = s0 * x + s1 * qx;
+        this.y = s0 * y + s1 * qy;
+        this.z = s0 * z + s1 * qz;
+        this.w = s0 * w + s1 * qw;
+        return cos > SLERP_THRESHOLD ? nor() : this;
+    }
+
+    /**
+     * Interpolates spherically between two arrays of packed unit quaternions, each stored as <code>x, y, z, w</code>.
+     * All pairs share the same alpha coefficient. The output may be the same array as either of the inputs.
+     *
+     * @param a      The array of source quaternions.
+     * @param aOff   The offset of the first source quaternion.
+     * @param b      The array of target quaternions.
+     * @param bOff   The offset of the first target quaternion.
+     * @param out    The array to write the results to.
+     * @param outOff The offset of the first result.
+     * @param count  The number of quaternions to interpolate.
+     * @param alpha  The alpha coefficient.
+     */
+    public static void slerp(float[] a, int aOff, float[] b, int bOff, float[] out, int outOff, int count, float alpha) {
+        for (int i = 0; i < count; i++) {
+            int ai = aOff + i * 4;
+            int bi = bOff + i * 4;
+            int oi = outOff + i * 4;
+            float ax = a[ai];
+            float ay = a[ai + 1];
+            float az = a[ai + 2];
+            float aw = a[ai + 3];
+            float bx = b[bi];
+            float by = b[bi + 1];
+            float bz = b[bi + 2];
+            float bw = b[bi + 3];
+
+            float cos = ax * bx + ay * by + az * bz + aw * bw;
+            float sign = 1.0f;
+            if (cos < 0.0f) {
+                cos = -cos;
+                sign = -1.0f;
+            }
+
+            float s0;
+            float s1;
+            if (cos > SLERP_THRESHOLD) {
+                s0 = 1.0f - alpha;
+                s1 = alpha * sign;
+            } else {
+                float angle = (float) Math.acos(cos);
+                float invSin = 1.0f / (float) Math.sin(angle);
+                s0 = (float) Math.sin((1.0f - alpha) * angle) * invSin;
+                s1 = (float) Math.sin(alpha * angle) * invSin * sign;
+            }
+
+            float x = s0 * ax + s1 * bx;
+            float y = s0 * ay + s1 * by;
+            float z = s0 * az + s1 * bz;
+            float w = s0 * aw + s1 * bw;
+            if (cos > SLERP_THRESHOLD) {
+                float invLen = 1.0f / (float) Math.sqrt(x * x + y * y + z * z + w * w);
+                x *= invLen;
+                y *= invLen;
+                z *= invLen;
+                w *= invLen;
+            }
+            out[oi] = x;
+            out[oi + 1] = y;
+            out[oi + 2] = z;
+            out[oi + 3] = w;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Quaternionf q = (Quaternionf) o;
+        return Float.compare(x, q.x) == 0 && Float.compare(y, q.y) == 0
+                && Float.compare(z, q.z) == 0 && Float.compare(w, q.w) == 0;
+    }
+
+    /**
+     * Checks if the given quaternions are nearly equal using the provided epsilon value.
+     *
+     * @param q       The other quaternion.
+     * @param epsilon The epsilon value.
+     * @return Whether the two quaternions are nearly equal.
+     */
+    public boolean epsEquals(Quaternionf q, float epsilon) {
+        if (this == q) return true;
+        if (q == null) return false;
+        if (Math.abs(this.x - q.x) > epsilon) return false;
+        if (Math.abs(this.y - q.y) > epsilon) return false;
+        if (Math.abs(this.z - q.z) > epsilon) return false;
+        return Math.abs(this.w - q.w) <= epsilon;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, y, z, w);
+    }
+
+    @Override
+    public String toString() {
+        return "q4f(x=" + x + ", y=" + y + ", z=" + z + ", w=" + w + ")";
+    }
+}
@@ -0,0 +1,30 @@
+package cg.vsu.render.math;
+
+/**
+ * Detects whether the optional SIMD backend can be used. The backend is built on the incubating
+ * <code>jdk.incubator.vector</code> module, which is only resolved when the JVM is started with
+ * <code>--add-modules jdk.incubator.vector</code>. When the module is absent, every operation falls back
+ * to its scalar implementation.
+ * <p>
+ * The backend can be switched off explicitly by setting the <code>cg.vsu.math.simd</code> system property
+ * to <code>false</code>.
+ */
+public final class Simd {
+    /**
+     * The name of the system property that enables or disables the SIMD backend.
+     */
+    public static final String PROPERTY = "cg.vsu.math.simd";
+
+    /**
+     * Whether the <code>jdk.incubator.vector</code> module is present in the boot layer.
+     */
+    public static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Whether the SIMD backend is used. Checked with a constant, so the disabled branches are removed
+     * by the JIT compiler.
+     */
+    public static final boolean ENABLED = AVAILABLE && Boolean.parseBoolean(System.getProperty(PROPERTY, "true"));
+
+    private Simd() { }
+}
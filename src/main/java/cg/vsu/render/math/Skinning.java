@@ -0,0 +1,175 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.matrix.Matrix4fArray;
+import cg.vsu.render.math.vector.Vector3fArray;
+
+/**
+ * Linear blend skinning of a mesh on the CPU. The bind pose is given once as packed position and normal arrays
+ * together with a fixed number of bone influences per vertex; {@link #skin(Matrix4fArray, Vector3fArray,
+ * Vector3fArray)} then deforms it by a palette of bone matrices (usually the current bone transform multiplied
+ * by the inverse bind matrix).
+ * <p>
+ * Every vertex is skinned in one fused pass: the weighted sum of its bone matrices is accumulated in locals and
+ * applied to the position and the normal right away, so no temporary matrix is created. Normals are transformed
+ * by the upper 3x3 part of the blended matrix and renormalized, which is exact for bones without non-uniform
+ * scale. There is no SIMD variant: the bone matrices are picked per vertex, so spreading the vertices over
+ * vector lanes needs a gather per matrix element, which is slower than this loop. Large meshes can be split
+ * between threads with
+ * {@link ParallelKernels#skin(Skinning, Matrix4fArray, Vector3fArray, Vector3fArray)}.
+ */
+public class Skinning {
+    /**
+     * The bind-pose positions of the vertices.
+     */
+    public final Vector3fArray positions;
+
+    /**
+     * The bind-pose normals of the vertices, or null if the mesh has no normals.
+     */
+    public final Vector3fArray normals;
+
+    /**
+     * The bone indices of the vertices. The influences of vertex <code>i</code> are stored at
+     * <code>i * influences</code> to <code>(i + 1) * influences - 1</code>.
+     */
+    public final int[] boneIndices;
+
+    /**
+     * The bone weights of the vertices, laid out like {@link #boneIndices}. The weights of a vertex should sum
+     * to one; unused influences have a weight of zero and any valid bone index.
+     */
+    public final float[] boneWeights;
+
+    /**
+     * The number of bone influences per vertex.
+     */
+    public final int influences;
+
+    /**
+     * Constructs a skinning stage for the given bind pose. The arrays are used directly, not copied.
+     *
+     * @param positions   The bind-pose positions.
+     * @param normals     The bind-pose normals with the same number of vectors, or null.
+     * @param boneIndices The bone indices, <code>influences</code> per vertex.
+     * @param boneWeights The bone weights, <code>influences</code> per vertex.
+     * @param influences  The number of bone influences per vertex. Must be positive.
+     * @throws IllegalArgumentException if the sizes of the arrays do not match.
+     */
+    public Skinning(
+            Vector3fArray positions, Vector3fArray normals,
+            int[] boneIndices, float[] boneWeights, int influences
+    ) {
+        if (influences <= 0) throw new IllegalArgumentException("Non-positive influence count: " + influences);
+        if (normals != null && normals.size != positions.size) {
+            throw new IllegalArgumentException("The numbers of positions and normals differ.");
+        }
+        if (boneIndices.length != positions.size * influences || boneWeights.length != boneIndices.length) {
+            throw new IllegalArgumentException("The bone indices and weights must have " + influences
+                    + " values per vertex.");
+        }
+
+        this.positions = positions;
+        this.normals = normals;
+        this.boneIndices = boneIndices;
+        this.boneWeights = boneWeights;
+        this.influences = influences;
+    }
+
+    /**
+     * @return The number of vertices.
+     */
+    public int size() {
+        return positions.size;
+    }
+
+    /**
+     * Skins all vertices by the given bone matrices.
+     *
+     * @param bones        The bone matrices referenced by {@link #boneIndices}.
+     * @param outPositions The array to write the skinned positions to. Must have at least {@link #size()} vectors.
+     * @param outNormals   The array to write the skinned normals to, or null to skip the normals.
+     *                     Ignored if the mesh has no normals.
+     */
+    public void skin(Matrix4fArray bones, Vector3fArray outPositions, Vector3fArray outNormals) {
+        skin(bones, outPositions, outNormals, 0, positions.size);
+    }
+
+    /**
+     * Skins the vertices in the given range by the given bone matrices.
+     *
+     * @param bones        The bone matrices referenced by {@link #boneIndices}.
+     * @param outPositions The array to write the skinned positions to, at the same indices as the vertices.
+     * @param outNormals   The array to write the skinned normals to, or null to skip the normals.
+     *                     Ignored if the mesh has no normals.
+     * @param from         The index of the first vertex, inclusive.
+     * @param to           The index of the last vertex, exclusive.
+     */
+    public void skin(Matrix4fArray bones, Vector3fArray outPositions, Vector3fArray outNormals, int from, int to) {
+        Vector3fArray outN = normals == null ? null : outNormals;
+        float[] b = bones.val;
+        for (int v = from; v < to; v++) {
+            int k = v * influences;
+            float m11 = 0.0f;
+            float m21 = 0.0f;
+            float m31 = 0.0f;
+            float m12 = 0.0f;
+            float m22 = 0.0f;
+            float m32 = 0.0f;
+            float m13 = 0.0f;
+            float m23 = 0.0f;
+            float m33 = 0.0f;
+            float m14 = 0.0f;
+            float m24 = 0.0f;
+            float m34 = 0.0f;
+            for (int j = k; j < k + influences; j++) {
+                float w = boneWeights[j];
+                int off = Matrix4fArray.offset(boneIndices[j]);
+                m11 += w * b[off + Matrix4f.M11];
+                m21 += w * b[off + Matrix4f.M21];
+                m31 += w * b[off + Matrix4f.M31];
+                m12 += w * b[off + Matrix4f.M12];
+                m22 += w * b[off + Matrix4f.M22];
+                m32 += w * b[off + Matrix4f.M32];
+                m13 += w * b[off + Matrix4f.M13];
+                m23 += w * b[off + Matrix4f.M23];
+                m33 += w * b[off + Matrix4f.M33];
+                m14 += w * b[off + Matrix4f.M14];
+                m24 += w * b[off + Matrix4f.M24];
+                m34 += w * b[off + Matrix4f.M34];
+            }
+
+            float x = positions.x[v];
+            float y = positions.y[v];
+            float z = positions.z[v];
+            outPositions.x[v] = m11 * x + m12 * y + m13 * z + m14;
+            outPositions.y[v] = m21 * x + m22 * y + m23 * z + m24;
+            outPositions.z[v] = m31 * x + m32 * y + m33 * z + m34;
+            if (outN == null) continue;
+
+            x = normals.x[v];
+            y = normals.y[v];
+            z = normals.z[v];
+            setNormal(
+                    outN, v,
+                    m11 * x + m12 * y + m13 * z,
+                    m21 * x + m22 * y + m23 * z,
+                    m31 * x + m32 * y + m33 * z
+            );
+        }
+    }
+
+    // Writes the normalized normal; a zero normal is written unchanged.
+    private static void setNormal(Vector3fArray out, int index, float x, float y, float z) {
+        float len2 = x * x + y * y + z * z;
+        if (len2 != 0.0f) {
+            float invLen = 1.0f / (float) Math.sqrt(len2);
+            x *= invLen;
+            y *= invLen;
+            z *= invLen;
+        }
+        out.x[index] = x;
+        out.y[index] = y;
+        out.z[index] = z;
+    }
+}
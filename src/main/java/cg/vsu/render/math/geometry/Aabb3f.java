@@ -0,0 +1,428 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3f;
+
+import java.util.Objects;
+
+/**
+ * A mutable axis-aligned bounding box given by its minimum and maximum corners. A box is empty if its minimum
+ * is greater than its maximum along any axis; the empty box created by {@link #setEmpty()} has an infinite
+ * minimum and a negative infinite maximum, so merging anything into it yields exactly that thing.
+ * <p>
+ * Many boxes can be stored in a packed <code>float[]</code> of {@link #LEN} values per box
+ * (<code>minX, minY, minZ, maxX, maxY, maxZ</code>) and transformed in one pass by
+ * {@link #transform(Matrix4f, float[], int, float[], int, int)}.
+ */
+public class Aabb3f {
+    /**
+     * The number of values of a box in a packed array.
+     */
+    public static final int LEN = 6;
+
+    /**
+     * The minimum corner.
+     */
+    public final Vector3f min = new Vector3f();
+
+    /**
+     * The maximum corner.
+     */
+    public final Vector3f max = new Vector3f();
+
+    /**
+     * Constructs an empty box.
+     */
+    public Aabb3f() {
+        setEmpty();
+    }
+
+    /**
+     * Constructs a box with the given corners.
+     *
+     * @param minX The x coordinate of the minimum corner.
+     * @param minY The y coordinate of the minimum corner.
+     * @param minZ The z coordinate of the minimum corner.
+     * @param maxX The x coordinate of the maximum corner.
+     * @param maxY The y coordinate of the maximum corner.
+     * @param maxZ The z coordinate of the maximum corner.
+     */
+    public Aabb3f(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        set(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Constructs a box with the given corners. The vectors are copied.
+     *
+     * @param min The minimum corner.
+     * @param max The maximum corner.
+     */
+    public Aabb3f(Vector3f min, Vector3f max) {
+        set(min, max);
+    }
+
+    /**
+     * Constructs a copy of the given box.
+     *
+     * @param b The box to copy.
+     */
+    public Aabb3f(Aabb3f b) {
+        set(b);
+    }
+
+    /**
+     * @return A copy of this box.
+     */
+    public Aabb3f cpy() {
+        return new Aabb3f(this);
+    }
+
+    /**
+     * Sets the corners of this box.
+     *
+     * @param minX The x coordinate of the minimum corner.
+     * @param minY The y coordinate of the minimum corner.
+     * @param minZ The z coordinate of the minimum corner.
+     * @param maxX The x coordinate of the maximum corner.
+     * @param maxY The y coordinate of the maximum corner.
+     * @param maxZ The z coordinate of the maximum corner.
+     * @return This box for chaining.
+     */
+    public Aabb3f set(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        min.set(minX, minY, minZ);
+        max.set(maxX, maxY, maxZ);
+        return this;
+    }
+
+    /**
+     * Sets the corners of this box. The vectors are copied.
+     *
+     * @param min The minimum corner.
+     * @param max The maximum corner.
+     * @return This box for chaining.
+     */
+    public Aabb3f set(Vector3f min, Vector3f max) {
+        return set(min.x, min.y, min.z, max.x, max.y, max.z);
+    }
+
+    /**
+     * Copies the given box into this box.
+     *
+     * @param b The other box.
+     * @return This box for chaining.
+     */
+    public Aabb3f set(Aabb3f b) {
+        return set(b.min, b.max);
+    }
+
+    /**
+     * Sets this box from a packed array.
+     *
+     * @param values The packed array of boxes.
+     * @param off    The offset of the box in the array.
+     * @return This box for chaining.
+     */
+    public Aabb3f set(float[] values, int off) {
+        return set(values[off], values[off + 1], values[off + 2], values[off + 3], values[off + 4], values[off + 5]);
+    }
+
+    /**
+     * Writes this box into a packed array.
+     *
+     * @param out The packed array of boxes.
+     * @param off The offset of the box in the array.
+     * @return The provided array.
+     */
+    public float[] get(float[] out, int off) {
+        out[off] = min.x;
+        out[off + 1] = min.y;
+        out[off + 2] = min.z;
+        out[off + 3] = max.x;
+        out[off + 4] = max.y;
+        out[off + 5] = max.z;
+        return out;
+    }
+
+    /**
+     * Makes this box empty, with an infinite minimum and a negative infinite maximum.
+     *
+     * @return This box for chaining.
+     */
+    public Aabb3f setEmpty() {
+        min.set(Float.POSITIVE_INFINITY);
+        max.set(Float.NEGATIVE_INFINITY);
+        return this;
+    }
+
+    /**
+     * @return Whether the minimum of this box is greater than its maximum along any axis.
+     */
+    public boolean isEmpty() {
+        return min.x > max.x || min.y > max.y || min.z > max.z;
+    }
+
+    /**
+     * @param out The vector to write the center to.
+     * @return The center of this box written into the provided vector.
+     */
+    public Vector3f center(Vector3f out) {
+        return out.set((min.x + max.x) * 0.5f, (min.y + max.y) * 0.5f, (min.z + max.z) * 0.5f);
+    }
+
+    /**
+     * @param out The vector to write the extent to.
+     * @return The half size of this box along each axis written into the provided vector.
+     */
+    public Vector3f extent(Vector3f out) {
+        return out.set((max.x - min.x) * 0.5f, (max.y - min.y) * 0.5f, (max.z - min.z) * 0.5f);
+    }
+
+    /**
+     * @param out The vector to write the size to.
+     * @return The size of this box along each axis written into the provided vector.
+     */
+    public Vector3f size(Vector3f out) {
+        return out.set(max.x - min.x, max.y - min.y, max.z - min.z);
+    }
+
+    /**
+     * Extends this box to contain the given point.
+     *
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     * @param z The z coordinate of the point.
+     * @return This box for chaining.
+     */
+    public Aabb3f merge(float x, float y, float z) {
+        min.set(Math.min(min.x, x), Math.min(min.y, y), Math.min(min.z, z));
+        max.set(Math.max(max.x, x), Math.max(max.y, y), Math.max(max.z, z));
+        return this;
+    }
+
+    /**
+     * Extends this box to contain the given point.
+     *
+     * @param p The point.
+     * @return This box for chaining.
+     */
+    public Aabb3f merge(Vector3f p) {
+        return merge(p.x, p.y, p.z);
+    }
+
+    /**
+     * Extends this box to contain the given box. Merging an empty box does not change this box.
+     *
+     * @param b The other box.
+     * @return This box for chaining.
+     */
+    public Aabb3f merge(Aabb3f b) {
+        min.set(Math.min(min.x, b.min.x), Math.min(min.y, b.min.y), Math.min(min.z, b.min.z));
+        max.set(Math.max(max.x, b.max.x), Math.max(max.y, b.max.y), Math.max(max.z, b.max.z));
+        return this;
+    }
+
+    /**
+     * Shrinks this box to its intersection with the given box. This box becomes empty if they do not intersect.
+     *
+     * @param b The other box.
+     * @return This box for chaining.
+     */
+    public Aabb3f intersect(Aabb3f b) {
+        min.set(Math.max(min.x, b.min.x), Math.max(min.y, b.min.y), Math.max(min.z, b.min.z));
+        max.set(Math.min(max.x, b.max.x), Math.min(max.y, b.max.y), Math.min(max.z, b.max.z));
+        return this;
+    }
+
+    /**
+     * Checks whether this box and the given box overlap. Boxes touching at a face overlap.
+     *
+     * @param b The other box.
+     * @return Whether the boxes have a common point.
+     */
+    public boolean intersects(Aabb3f b) {
+        return min.x <= b.max.x && max.x >= b.min.x
+                && min.y <= b.max.y && max.y >= b.min.y
+                && min.z <= b.max.z && max.z >= b.min.z;
+    }
+
+    /**
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     * @param z The z coordinate of the point.
+     * @return Whether the point lies inside this box or on its boundary.
+     */
+    public boolean contains(float x, float y, float z) {
+        return x >= min.x && x <= max.x && y >= min.y && y <= max.y && z >= min.z && z <= max.z;
+    }
+
+    /**
+     * @param p The point.
+     * @return Whether the point lies inside this box or on its boundary.
+     */
+    public boolean contains(Vector3f p) {
+        return contains(p.x, p.y, p.z);
+    }
+
+    /**
+     * @param b The other box. Must not be empty.
+     * @return Whether the other box lies entirely inside this box.
+     */
+    public boolean contains(Aabb3f b) {
+        return b.min.x >= min.x && b.max.x <= max.x
+                && b.min.y >= min.y && b.max.y <= max.y
+                && b.min.z >= min.z && b.max.z <= max.z;
+    }
+
+    /**
+     * Replaces this box with the bounds of the box transformed by the given affine matrix.
+     *
+     * @param m The affine matrix.
+     * @return This box for chaining.
+     * @see #transform(Matrix4f, Aabb3f)
+     */
+    public Aabb3f transform(Matrix4f m) {
+        return transform(m, this);
+    }
+
+    /**
+     * Writes the bounds of this box transformed by the given affine matrix into the destination box.
+     * Instead of transforming the eight corners, the center is transformed by the matrix and the extent by its
+     * component-wise absolute upper 3x3 part, which gives the same tight bounds with 18 multiplications.
+     * An empty box stays empty. The matrix must be affine; this is checked only when assertions are enabled.
+     *
+     * @param m    The affine matrix.
+     * @param dest The destination box. May be this box.
+     * @return The destination box for chaining.
+     */
+    public Aabb3f transform(Matrix4f m, Aabb3f dest) {
+        assert Matrix4f.isAffine(m.val, 0) : "The matrix is not affine.";
+        if (isEmpty()) return dest.setEmpty();
+
+        float[] a = m.val;
+        if ((m.properties() & Matrix4f.PROPERTY_TRANSLATION) != 0) {
+            return dest.set(
+                    min.x + a[Matrix4f.M14], min.y + a[Matrix4f.M24], min.z + a[Matrix4f.M34],
+                    max.x + a[Matrix4f.M14], max.y + a[Matrix4f.M24], max.z + a[Matrix4f.M34]
+            );
+        }
+
+        float cx = (min.x + max.x) * 0.5f;
+        float cy = (min.y + max.y) * 0.5f;
+        float cz = (min.z + max.z) * 0.5f;
+        float ex = (max.x - min.x) * 0.5f;
+        float ey = (max.y - min.y) * 0.5f;
+        float ez = (max.z - min.z) * 0.5f;
+        float x = a[Matrix4f.M11] * cx + a[Matrix4f.M12] * cy + a[Matrix4f.M13] * cz + a[Matrix4f.M14];
+        float y = a[Matrix4f.M21] * cx + a[Matrix4f.M22] * cy + a[Matrix4f.M23] * cz + a[Matrix4f.M24];
+        float z = a[Matrix4f.M31] * cx + a[Matrix4f.M32] * cy + a[Matrix4f.M33] * cz + a[Matrix4f.M34];
+        float rx = Math.abs(a[Matrix4f.M11]) * ex + Math.abs(a[Matrix4f.M12]) * ey + Math.abs(a[Matrix4f.M13]) * ez;
+        float ry = Math.abs(a[Matrix4f.M21]) * ex + Math.abs(a[Matrix4f.M22]) * ey + Math.abs(a[Matrix4f.M23]) * ez;
+        float rz = Math.abs(a[Matrix4f.M31]) * ex + Math.abs(a[Matrix4f.M32]) * ey + Math.abs(a[Matrix4f.M33]) * ez;
+        return dest.set(x - rx, y - ry, z - rz, x + rx, y + ry, z + rz);
+    }
+
+    /**
+     * Transforms the given number of boxes stored in a packed array by an affine matrix, see
+     * {@link #transform(Matrix4f, Aabb3f)}. The matrix is read once and kept in locals, and no objects are
+     * created. Empty boxes are copied unchanged. The results may be written over the inputs.
+     *
+     * @param m      The affine matrix.
+     * @param src    The packed array of boxes.
+     * @param srcOff The offset of the first box in the source array.
+     * @param dst    The packed array to write the transformed boxes to.
+     * @param dstOff The offset of the first box in the destination array.
+     * @param count  The number of boxes.
+     */
+    public static void transform(Matrix4f m, float[] src, int srcOff, float[] dst, int dstOff, int count) {
+        assert Matrix4f.isAffine(m.val, 0) : "The matrix is not affine.";
+
+        float[] a = m.val;
+        float m11 = a[Matrix4f.M11];
+        float m21 = a[Matrix4f.M21];
+        float m31 = a[Matrix4f.M31];
+        float m12 = a[Matrix4f.M12];
+        float m22 = a[Matrix4f.M22];
+        float m32 = a[Matrix4f.M32];
+        float m13 = a[Matrix4f.M13];
+        float m23 = a[Matrix4f.M23];
+        float m33 = a[Matrix4f.M33];
+        float m14 = a[Matrix4f.M14];
+        float m24 = a[Matrix4f.M24];
+        float m34 = a[Matrix4f.M34];
+        float abs11 = Math.abs(m11);
+        float abs21 = Math.abs(m21);
+        float abs31 = Math.abs(m31);
+        float abs12 = Math.abs(m12);
+        float abs22 = Math.abs(m22);
+        float abs32 = Math.abs(m32);
+        float abs13 = Math.abs(m13);
+        float abs23 = Math.abs(m23);
+        float abs33 = Math.abs(m33);
+        for (int i = 0; i < count; i++) {
+            int si = srcOff + i * LEN;
+            int di = dstOff + i * LEN;
+            float minX = src[si];
+            float minY = src[si + 1];
+            float minZ = src[si + 2];
+            float maxX = src[si + 3];
+            float maxY = src[si + 4];
+            float maxZ = src[si + 5];
+            if (minX > maxX || minY > maxY || minZ > maxZ) {
+                System.arraycopy(src, si, dst, di, LEN);
+                continue;
+            }
+
+            float cx = (minX + maxX) * 0.5f;
+            float cy = (minY + maxY) * 0.5f;
+            float cz = (minZ + maxZ) * 0.5f;
+            float ex = (maxX - minX) * 0.5f;
+            float ey = (maxY - minY) * 0.5f;
+            float ez = (maxZ - minZ) * 0.5f;
+            float x = m11 * cx + m12 * cy + m13 * cz + m14;
+            float y = m21 * cx + m22 * cy + m23 * cz + m24;
+            float z = m31 * cx + m32 * cy + m33 * cz + m34;
+            float rx = abs11 * ex + abs12 * ey + abs13 * ez;
+            float ry = abs21 * ex + abs22 * ey + abs23 * ez;
+            float rz = abs31 * ex + abs32 * ey + abs33 * ez;
+            dst[di] = x - rx;
+            dst[di + 1] = y - ry;
+            dst[di + 2] = z - rz;
+            dst[di + 3] = x + rx;
+            dst[di + 4] = y + ry;
+            dst[di + 5] = z + rz;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Aabb3f b = (Aabb3f) o;
+        return Float.compare(min.x, b.min.x) == 0 && Float.compare(min.y, b.min.y) == 0
+                && Float.compare(min.z, b.min.z) == 0 && Float.compare(max.x, b.max.x) == 0
+                && Float.compare(max.y, b.max.y) == 0 && Float.compare(max.z, b.max.z) == 0;
+    }
+
+    /**
+     * Checks if the given boxes are nearly equal using the provided epsilon value.
+     *
+     * @param b       The other box.
+     * @param epsilon The epsilon value.
+     * @return Whether the corners of the two boxes are nearly equal.
+     */
+    public boolean epsEquals(Aabb3f b, float epsilon) {
+        if (this == b) return true;
+        if (b == null) return false;
+        return min.epsEquals(b.min, epsilon) && max.epsEquals(b.max, epsilon);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(min.x, min.y, min.z, max.x, max.y, max.z);
+    }
+
+    @Override
+    public String toString() {
+        return "aabb3f(min=" + min + ", max=" + max + ")";
+    }
+}
@@ -0,0 +1,694 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.vector.Vector3fArray;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * A bounding volume hierarchy over a triangle soup for ray and box queries. The triangles are given like for
+ * {@link Ray3f}: three structure-of-arrays vectors holding the first, second and third vertices.
+ * <p>
+ * The tree is built top-down with a binned surface area heuristic (SAH): the centroids of a node are sorted
+ * into {@link #BINS} bins along their longest axis, and the node is split at the bin boundary with the lowest
+ * estimated cost, or becomes a leaf if that is cheaper and it holds at most the maximum leaf size. Subtrees
+ * with many triangles are built in parallel in a {@link ForkJoinPool}. The tree has the same shape on every
+ * run, only the numbering of its nodes depends on the thread timing.
+ * <p>
+ * The nodes live in two flat arrays instead of objects: {@link #bounds} holds the box of every node and
+ * {@link #nodes} its children or triangles. The children of a node are always stored next to each other and
+ * after their parent. The tree keeps its own copy of the vertices ordered so that the triangles of each leaf
+ * are contiguous; every leaf is then tested by the range queries of {@link Ray3f}, which use the SIMD backend
+ * when it is enabled. All queries report the original triangle indices.
+ * <p>
+ * Queries only read the tree, so several threads can query it at once, but not while it is refitted. The
+ * traversal stacks belong to the current thread and grow to the deepest tree queried, so queries do not allocate.
+ */
+public class Bvh {
+    /**
+     * The number of bins the centroids are sorted into when searching for a split.
+     */
+    public static final int BINS = 16;
+
+    /**
+     * The default maximum number of triangles in a leaf.
+     */
+    public static final int DEFAULT_MAX_LEAF_SIZE = 8;
+
+    // The cost of visiting a node relative to testing one triangle.
+    private static final float TRAVERSAL_COST = 1.0f;
+
+    // Subtrees with fewer triangles are built on the current thread.
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private static final ThreadLocal<Stack> STACKS = ThreadLocal.withInitial(Stack::new);
+
+    /**
+     * The boxes of the nodes, {@link Aabb3f#LEN} values per node: <code>minX, minY, minZ, maxX, maxY, maxZ</code>.
+     */
+    public final float[] bounds;
+
+    /**
+     * Two values per node. For an inner node: the index of the left child (the right child follows it) and zero.
+     * For a leaf: the index of its first triangle in {@link #order} and the number of its triangles. A tree
+     * without triangles has a single empty node and is never traversed.
+     */
+    public final int[] nodes;
+
+    /**
+     * The original indices of the triangles in the order of the leaves.
+     */
+    public final int[] order;
+
+    // The vertices in the order of the leaves.
+    private final Vector3fArray v0;
+    private final Vector3fArray v1;
+    private final Vector3fArray v2;
+
+    private final int nodeCount;
+    private final int leafCount;
+    private final int depth;
+    private final int largestLeaf;
+    private final long buildNanos;
+
+    /**
+     * Builds a tree over the given triangles with the default maximum leaf size in the common pool.
+     *
+     * @param v0 The first vertices of the triangles.
+     * @param v1 The second vertices of the triangles.
+     * @param v2 The third vertices of the triangles.
+     */
+    public Bvh(Vector3fArray v0, Vector3fArray v1, Vector3fArray v2) {
+        this(v0, v1, v2, DEFAULT_MAX_LEAF_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds a tree over the given triangles. The vertices are copied.
+     *
+     * @param v0          The first vertices of the triangles.
+     * @param v1          The second vertices of the triangles.
+     * @param v2          The third vertices of the triangles.
+     * @param maxLeafSize The maximum number of triangles in a leaf. Must be positive. Triangles whose centroids
+     *                    coincide cannot be split and may exceed it.
+     * @param pool        The pool to build large subtrees in.
+     */
+    public Bvh(Vector3fArray v0, Vector3fArray v1, Vector3fArray v2, int maxLeafSize, ForkJoinPool pool) {
+        if (maxLeafSize <= 0) throw new IllegalArgumentException("Non-positive leaf size: " + maxLeafSize);
+
+        long start = System.nanoTime();
+        int count = v0.size;
+        Builder builder = new Builder(v0, v1, v2, maxLeafSize);
+        pool.invoke(new BuildTask(builder, 0, 0, count, 1));
+
+        int used = builder.nodeCount.get();
+        this.bounds = Arrays.copyOf(builder.bounds, used * Aabb3f.LEN);
+        this.nodes = Arrays.copyOf(builder.nodes, used * 2);
+        this.order = builder.order;
+        this.v0 = new Vector3fArray(count);
+        this.v1 = new Vector3fArray(count);
+        this.v2 = new Vector3fArray(count);
+        copyVertices(v0, v1, v2);
+        this.nodeCount = used;
+        this.leafCount = builder.leafCount.get();
+        this.depth = builder.depth.get();
+        this.largestLeaf = builder.largestLeaf.get();
+        this.buildNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * @return The number of triangles.
+     */
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * @return The number of nodes, including the leaves.
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return The number of leaves.
+     */
+    public int leafCount() {
+        return leafCount;
+    }
+
+    /**
+     * @return The number of levels of the tree; a tree made of a single leaf has one.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return The number of triangles in the largest leaf.
+     */
+    public int largestLeaf() {
+        return largestLeaf;
+    }
+
+    /**
+     * @return The time the build took, in nanoseconds.
+     */
+    public long buildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * @param out The box to write the bounds to.
+     * @return The bounds of all triangles written into the provided box.
+     */
+    public Aabb3f bounds(Aabb3f out) {
+        return out.set(bounds, 0);
+    }
+
+    /**
+     * Finds the closest intersection of the given ray with the triangles. The children of every node are
+     * visited nearest first, and nodes farther than the closest hit so far are skipped.
+     *
+     * @param ray The ray.
+     * @param hit The closest hit so far, updated with the original index of the triangle if one is hit closer.
+     * @return Whether the hit was updated.
+     */
+    public boolean intersect(Ray3f ray, RayHit hit) {
+        float ox = ray.origin.x;
+        float oy = ray.origin.y;
+        float oz = ray.origin.z;
+        float idx = 1.0f / ray.direction.x;
+        float idy = 1.0f / ray.direction.y;
+        float idz = 1.0f / ray.direction.z;
+        if (order.length == 0 || entry(0, ox, oy, oz, idx, idy, idz, hit.t) == Float.POSITIVE_INFINITY) {
+            return false;
+        }
+
+        Stack s = takeStack();
+        int[] stack = s.nodes;
+        float[] entries = s.entries;
+        int sp = 0;
+        int node = 0;
+        boolean updated = false;
+        while (true) {
+            int count = nodes[node * 2 + 1];
+            if (count > 0) {
+                int first = nodes[node * 2];
+                updated |= ray.intersect(v0, v1, v2, first, first + count, hit);
+            } else {
+                int left = nodes[node * 2];
+                float tl = entry(left, ox, oy, oz, idx, idy, idz, hit.t);
+                float tr = entry(left + 1, ox, oy, oz, idx, idy, idz, hit.t);
+                int near = left;
+                int far = left + 1;
+                if (tr < tl) {
+                    float t = tl;
+                    tl = tr;
+                    tr = t;
+                    near = left + 1;
+                    far = left;
+                }
+                if (tl != Float.POSITIVE_INFINITY) {
+                    if (tr != Float.POSITIVE_INFINITY) {
+                        stack[sp] = far;
+                        entries[sp++] = tr;
+                    }
+                    node = near;
+                    continue;
+                }
+            }
+
+            // Pop the next node that may still hold a closer hit.
+            do {
+                if (sp == 0) {
+                    s.busy = false;
+                    if (updated) hit.triangle = order[hit.triangle];
+                    return updated;
+                }
+                node = stack[--sp];
+            } while (entries[sp] >= hit.t);
+        }
+    }
+
+    /**
+     * Checks whether the given ray hits any triangle closer than the given distance, stopping at the first hit
+     * found. See {@link Ray3f#intersectsAny(Vector3fArray, Vector3fArray, Vector3fArray, float)}.
+     *
+     * @param ray  The ray.
+     * @param maxT The distance beyond which intersections are ignored.
+     * @return Whether any triangle is hit.
+     */
+    public boolean intersectsAny(Ray3f ray, float maxT) {
+        if (order.length == 0) return false;
+
+        float ox = ray.origin.x;
+        float oy = ray.origin.y;
+        float oz = ray.origin.z;
+        float idx = 1.0f / ray.direction.x;
+        float idy = 1.0f / ray.direction.y;
+        float idz = 1.0f / ray.direction.z;
+
+        Stack s = takeStack();
+        int[] stack = s.nodes;
+        int sp = 0;
+        stack[sp++] = 0;
+        boolean hit = false;
+        while (sp > 0 && !hit) {
+            int node = stack[--sp];
+            if (entry(node, ox, oy, oz, idx, idy, idz, maxT) == Float.POSITIVE_INFINITY) continue;
+
+            int count = nodes[node * 2 + 1];
+            if (count > 0) {
+                int first = nodes[node * 2];
+                hit = ray.intersectsAny(v0, v1, v2, first, first + count, maxT);
+            } else {
+                stack[sp++] = nodes[node * 2] + 1;
+                stack[sp++] = nodes[node * 2];
+            }
+        }
+        s.busy = false;
+        return hit;
+    }
+
+    /**
+     * Reports every triangle whose bounds overlap the given box.
+     *
+     * @param box    The box.
+     * @param action The action called with the original index of every overlapping triangle.
+     * @return The number of overlapping triangles.
+     */
+    public int overlapping(Aabb3f box, IntConsumer action) {
+        if (order.length == 0) return 0;
+
+        Stack s = takeStack();
+        try {
+            return overlapping(box, action, s.nodes);
+        } finally {
+            s.busy = false;
+        }
+    }
+
+    private int overlapping(Aabb3f box, IntConsumer action, int[] stack) {
+        int sp = 0;
+        int found = 0;
+        stack[sp++] = 0;
+        while (sp > 0) {
+            int node = stack[--sp];
+            int off = node * Aabb3f.LEN;
+            if (!overlaps(box, bounds[off], bounds[off + 1], bounds[off + 2],
+                    bounds[off + 3], bounds[off + 4], bounds[off + 5])) {
+                continue;
+            }
+
+            int count = nodes[node * 2 + 1];
+            if (count == 0) {
+                stack[sp++] = nodes[node * 2] + 1;
+                stack[sp++] = nodes[node * 2];
+                continue;
+            }
+            int first = nodes[node * 2];
+            for (int i = first; i < first + count; i++) {
+                if (overlaps(box,
+                        Math.min(v0.x[i], Math.min(v1.x[i], v2.x[i])),
+                        Math.min(v0.y[i], Math.min(v1.y[i], v2.y[i])),
+                        Math.min(v0.z[i], Math.min(v1.z[i], v2.z[i])),
+                        Math.max(v0.x[i], Math.max(v1.x[i], v2.x[i])),
+                        Math.max(v0.y[i], Math.max(v1.y[i], v2.y[i])),
+                        Math.max(v0.z[i], Math.max(v1.z[i], v2.z[i])))) {
+                    action.accept(order[i]);
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Updates the tree after the vertices have moved, e.g. for an animated mesh. The shape of the tree is kept
+     * and only the boxes are recalculated from the leaves up, which is much faster than a rebuild but makes
+     * queries slower as the triangles move far from where the tree was built.
+     *
+     * @param v0 The new first vertices of the triangles, in the original order.
+     * @param v1 The new second vertices of the triangles, in the original order.
+     * @param v2 The new third vertices of the triangles, in the original order.
+     */
+    public void refit(Vector3fArray v0, Vector3fArray v1, Vector3fArray v2) {
+        if (order.length == 0) return;
+
+        copyVertices(v0, v1, v2);
+        // Children are stored after their parents, so a backward pass sees them first.
+        for (int node = nodeCount - 1; node >= 0; node--) {
+            int off = node * Aabb3f.LEN;
+            int count = nodes[node * 2 + 1];
+            if (count > 0) {
+                int first = nodes[node * 2];
+                leafBounds(this.v0, this.v1, this.v2, first, first + count, bounds, off);
+            } else {
+                int l = nodes[node * 2] * Aabb3f.LEN;
+                int r = l + Aabb3f.LEN;
+                bounds[off] = Math.min(bounds[l], bounds[r]);
+                bounds[off + 1] = Math.min(bounds[l + 1], bounds[r + 1]);
+                bounds[off + 2] = Math.min(bounds[l + 2], bounds[r + 2]);
+                bounds[off + 3] = Math.max(bounds[l + 3], bounds[r + 3]);
+                bounds[off + 4] = Math.max(bounds[l + 4], bounds[r + 4]);
+                bounds[off + 5] = Math.max(bounds[l + 5], bounds[r + 5]);
+            }
+        }
+    }
+
+    private void copyVertices(Vector3fArray v0, Vector3fArray v1, Vector3fArray v2) {
+        for (int i = 0; i < order.length; i++) {
+            int t = order[i];
+            this.v0.set(i, v0.x[t], v0.y[t], v0.z[t]);
+            this.v1.set(i, v1.x[t], v1.y[t], v1.z[t]);
+            this.v2.set(i, v2.x[t], v2.y[t], v2.z[t]);
+        }
+    }
+
+    // Writes the bounds of the triangles in the range; the bounds of an empty range are empty.
+    private static void leafBounds(
+            Vector3fArray v0, Vector3fArray v1, Vector3fArray v2,
+            int from, int to, float[] out, int off
+    ) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            minX = Math.min(minX, Math.min(v0.x[i], Math.min(v1.x[i], v2.x[i])));
+            minY = Math.min(minY, Math.min(v0.y[i], Math.min(v1.y[i], v2.y[i])));
+            minZ = Math.min(minZ, Math.min(v0.z[i], Math.min(v1.z[i], v2.z[i])));
+            maxX = Math.max(maxX, Math.max(v0.x[i], Math.max(v1.x[i], v2.x[i])));
+            maxY = Math.max(maxY, Math.max(v0.y[i], Math.max(v1.y[i], v2.y[i])));
+            maxZ = Math.max(maxZ, Math.max(v0.z[i], Math.max(v1.z[i], v2.z[i])));
+        }
+        out[off] = minX;
+        out[off + 1] = minY;
+        out[off + 2] = minZ;
+        out[off + 3] = maxX;
+        out[off + 4] = maxY;
+        out[off + 5] = maxZ;
+    }
+
+    private static boolean overlaps(
+            Aabb3f b,
+            float minX, float minY, float minZ,
+            float maxX, float maxY, float maxZ
+    ) {
+        return b.min.x <= maxX && b.max.x >= minX
+                && b.min.y <= maxY && b.max.y >= minY
+                && b.min.z <= maxZ && b.max.z >= minZ;
+    }
+
+    /**
+     * Intersects the ray with the box of a node by the slab method.
+     *
+     * @return The distance at which the ray enters the box (zero if it starts inside), or positive infinity if
+     * it misses the box or enters it at <code>maxT</code> or beyond.
+     */
+    private float entry(int node, float ox, float oy, float oz, float idx, float idy, float idz, float maxT) {
+        int off = node * Aabb3f.LEN;
+        float tx1 = (bounds[off] - ox) * idx;
+        float tx2 = (bounds[off + 3] - ox) * idx;
+        float ty1 = (bounds[off + 1] - oy) * idy;
+        float ty2 = (bounds[off + 4] - oy) * idy;
+        float tz1 = (bounds[off + 2] - oz) * idz;
+        float tz2 = (bounds[off + 5] - oz) * idz;
+        // A slab gives NaN when the ray is parallel to it and starts on one of its planes; the ray then stays
+        // within the slab, so the comparisons are ordered to drop the NaN instead of passing it on like Math.max.
+        float tMin = 0.0f;
+        float tMax = Float.POSITIVE_INFINITY;
+        float lo = Math.min(tx1, tx2);
+        float hi = Math.max(tx1, tx2);
+        tMin = lo > tMin ? lo : tMin;
+        tMax = hi < tMax ? hi : tMax;
+        lo = Math.min(ty1, ty2);
+        hi = Math.max(ty1, ty2);
+        tMin = lo > tMin ? lo : tMin;
+        tMax = hi < tMax ? hi : tMax;
+        lo = Math.min(tz1, tz2);
+        hi = Math.max(tz1, tz2);
+        tMin = lo > tMin ? lo : tMin;
+        tMax = hi < tMax ? hi : tMax;
+        return tMin <= tMax && tMin < maxT ? tMin : Float.POSITIVE_INFINITY;
+    }
+
+    // Takes the stack of the current thread, or a new one for a query made from the action of another query.
+    private Stack takeStack() {
+        Stack s = STACKS.get();
+        if (s.busy) s = new Stack();
+        s.busy = true;
+        if (s.nodes.length < depth) {
+            s.nodes = new int[depth];
+            s.entries = new float[depth];
+        }
+        return s;
+    }
+
+    /**
+     * A traversal stack of one thread. A tree of depth <code>d</code> needs at most <code>d</code> entries.
+     */
+    private static final class Stack {
+        int[] nodes = new int[64];
+        float[] entries = new float[64];
+        boolean busy;
+    }
+
+    /**
+     * The state shared by the build tasks. The tasks work on disjoint ranges of {@link #order} and allocate
+     * their child nodes from a shared counter, so they need no other synchronization.
+     */
+    private static final class Builder {
+        final int maxLeafSize;
+        final int[] order;
+        // The centroids and bounds of the triangles by original index.
+        final float[] centroids;
+        final float[] triBounds;
+        final float[] bounds;
+        final int[] nodes;
+        final AtomicInteger nodeCount = new AtomicInteger(1);
+        final AtomicInteger leafCount = new AtomicInteger();
+        final AtomicInteger depth = new AtomicInteger();
+        final AtomicInteger largestLeaf = new AtomicInteger();
+
+        Builder(Vector3fArray v0, Vector3fArray v1, Vector3fArray v2, int maxLeafSize) {
+            int count = v0.size;
+            this.maxLeafSize = maxLeafSize;
+            this.order = new int[count];
+            this.centroids = new float[count * 3];
+            this.triBounds = new float[count * Aabb3f.LEN];
+            int maxNodes = Math.max(2 * count - 1, 1);
+            this.bounds = new float[maxNodes * Aabb3f.LEN];
+            this.nodes = new int[maxNodes * 2];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+                float minX = Math.min(v0.x[i], Math.min(v1.x[i], v2.x[i]));
+                float minY = Math.min(v0.y[i], Math.min(v1.y[i], v2.y[i]));
+                float minZ = Math.min(v0.z[i], Math.min(v1.z[i], v2.z[i]));
+                float maxX = Math.max(v0.x[i], Math.max(v1.x[i], v2.x[i]));
+                float maxY = Math.max(v0.y[i], Math.max(v1.y[i], v2.y[i]));
+                float maxZ = Math.max(v0.z[i], Math.max(v1.z[i], v2.z[i]));
+                int off = i * Aabb3f.LEN;
+                triBounds[off] = minX;
+                triBounds[off + 1] = minY;
+                triBounds[off + 2] = minZ;
+                triBounds[off + 3] = maxX;
+                triBounds[off + 4] = maxY;
+                triBounds[off + 5] = maxZ;
+                centroids[i * 3] = (minX + maxX) * 0.5f;
+                centroids[i * 3 + 1] = (minY + maxY) * 0.5f;
+                centroids[i * 3 + 2] = (minZ + maxZ) * 0.5f;
+            }
+        }
+
+        void build(int node, int first, int count, int level) {
+            depth.accumulateAndGet(level, Math::max);
+            nodeBounds(node, first, count);
+            int split = count > 1 ? split(node, first, count) : -1;
+            if (split < 0) {
+                nodes[node * 2] = first;
+                nodes[node * 2 + 1] = count;
+                leafCount.incrementAndGet();
+                largestLeaf.accumulateAndGet(count, Math::max);
+                return;
+            }
+
+            int left = nodeCount.getAndAdd(2);
+            nodes[node * 2] = left;
+            nodes[node * 2 + 1] = 0;
+            int leftCount = split - first;
+            if (count >= PARALLEL_THRESHOLD) {
+                RecursiveAction.invokeAll(
+                        new BuildTask(this, left, first, leftCount, level + 1),
+                        new BuildTask(this, left + 1, split, count - leftCount, level + 1)
+                );
+            } else {
+                build(left, first, leftCount, level + 1);
+                build(left + 1, split, count - leftCount, level + 1);
+            }
+        }
+
+        private void nodeBounds(int node, int first, int count) {
+            float minX = Float.POSITIVE_INFINITY;
+            float minY = Float.POSITIVE_INFINITY;
+            float minZ = Float.POSITIVE_INFINITY;
+            float maxX = Float.NEGATIVE_INFINITY;
+            float maxY = Float.NEGATIVE_INFINITY;
+            float maxZ = Float.NEGATIVE_INFINITY;
+            for (int i = first; i < first + count; i++) {
+                int off = order[i] * Aabb3f.LEN;
+                minX = Math.min(minX, triBounds[off]);
+                minY = Math.min(minY, triBounds[off + 1]);
+                minZ = Math.min(minZ, triBounds[off + 2]);
+                maxX = Math.max(maxX, triBounds[off + 3]);
+                maxY = Math.max(maxY, triBounds[off + 4]);
+                maxZ = Math.max(maxZ, triBounds[off + 5]);
+            }
+            int off = node * Aabb3f.LEN;
+            bounds[off] = minX;
+            bounds[off + 1] = minY;
+            bounds[off + 2] = minZ;
+            bounds[off + 3] = maxX;
+            bounds[off + 4] = maxY;
+            bounds[off + 5] = maxZ;
+        }
+
+        /**
+         * Finds the best binned SAH split of the range and partitions it.
+         *
+         * @return The index of the first triangle of the right child, or -1 if the node should be a leaf.
+         */
+        private int split(int node, int first, int count) {
+            // The longest axis of the centroid bounds.
+            float[] cMin = {Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY};
+            float[] cMax = {Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+            for (int i = first; i < first + count; i++) {
+                int c = order[i] * 3;
+                for (int a = 0; a < 3; a++) {
+                    cMin[a] = Math.min(cMin[a], centroids[c + a]);
+                    cMax[a] = Math.max(cMax[a], centroids[c + a]);
+                }
+            }
+            int axis = 0;
+            for (int a = 1; a < 3; a++) {
+                if (cMax[a] - cMin[a] > cMax[axis] - cMin[axis]) axis = a;
+            }
+            float extent = cMax[axis] - cMin[axis];
+            // All centroids coincide, so no split separates them.
+            if (extent <= 0.0f) return -1;
+
+            int[] binCounts = new int[BINS];
+            float[] binBounds = new float[BINS * Aabb3f.LEN];
+            for (int b = 0; b < BINS; b++) {
+                empty(binBounds, b * Aabb3f.LEN);
+            }
+            float scale = BINS / extent;
+            for (int i = first; i < first + count; i++) {
+                int t = order[i];
+                int b = bin(centroids[t * 3 + axis], cMin[axis], scale);
+                binCounts[b]++;
+                grow(binBounds, b * Aabb3f.LEN, triBounds, t * Aabb3f.LEN);
+            }
+
+            // Sweep from the right to get the cost of the right side of every split, then from the left.
+            float[] rightCosts = new float[BINS - 1];
+            float[] acc = new float[Aabb3f.LEN];
+            empty(acc, 0);
+            int n = 0;
+            for (int b = BINS - 1; b > 0; b--) {
+                n += binCounts[b];
+                grow(acc, 0, binBounds, b * Aabb3f.LEN);
+                rightCosts[b - 1] = n * halfArea(acc, 0);
+            }
+            empty(acc, 0);
+            n = 0;
+            int best = -1;
+            float bestCost = Float.POSITIVE_INFINITY;
+            for (int b = 0; b < BINS - 1; b++) {
+                n += binCounts[b];
+                grow(acc, 0, binBounds, b * Aabb3f.LEN);
+                if (n == 0 || n == count) continue;
+
+                float cost = n * halfArea(acc, 0) + rightCosts[b];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = b;
+                }
+            }
+
+            float area = halfArea(bounds, node * Aabb3f.LEN);
+            if (count <= maxLeafSize && count * area <= TRAVERSAL_COST * area + bestCost) return -1;
+
+            // Partition the range: triangles in the bins up to the best one go to the left.
+            int i = first;
+            int j = first + count - 1;
+            while (i <= j) {
+                int t = order[i];
+                if (bin(centroids[t * 3 + axis], cMin[axis], scale) <= best) {
+                    i++;
+                } else {
+                    order[i] = order[j];
+                    order[j--] = t;
+                }
+            }
+            return i;
+        }
+
+        private static int bin(float centroid, float min, float scale) {
+            return Math.min((int) ((centroid - min) * scale), BINS - 1);
+        }
+
+        private static void empty(float[] b, int off) {
+            b[off] = Float.POSITIVE_INFINITY;
+            b[off + 1] = Float.POSITIVE_INFINITY;
+            b[off + 2] = Float.POSITIVE_INFINITY;
+            b[off + 3] = Float.NEGATIVE_INFINITY;
+            b[off + 4] = Float.NEGATIVE_INFINITY;
+            b[off + 5] = Float.NEGATIVE_INFINITY;
+        }
+
+        private static void grow(float[] b, int off, float[] other, int otherOff) {
+            for (int k = 0; k < 3; k++) {
+                b[off + k] = Math.min(b[off + k], other[otherOff + k]);
+                b[off + k + 3] = Math.max(b[off + k + 3], other[otherOff + k + 3]);
+            }
+        }
+
+        // Half the surface area; the factor does not matter for comparing costs. Zero for empty boxes.
+        private static float halfArea(float[] b, int off) {
+            float dx = b[off + 3] - b[off];
+            float dy = b[off + 4] - b[off + 1];
+            float dz = b[off + 5] - b[off + 2];
+            if (dx < 0.0f || dy < 0.0f || dz < 0.0f) return 0.0f;
+            return dx * dy + dy * dz + dz * dx;
+        }
+    }
+
+    private static final class BuildTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Builder builder;
+        private final int node;
+        private final int first;
+        private final int count;
+        private final int level;
+
+        BuildTask(Builder builder, int node, int first, int count, int level) {
+            this.builder = builder;
+            this.node = node;
+            this.first = first;
+            this.count = count;
+            this.level = level;
+        }
+
+        @Override
+        protected void compute() {
+            builder.build(node, first, count, level);
+        }
+    }
+}
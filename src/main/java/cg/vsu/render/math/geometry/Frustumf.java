@@ -0,0 +1,331 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.Simd;
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import cg.vsu.render.math.vector.Vector4f;
+
+import java.util.Arrays;
+
+/**
+ * A view frustum given by six planes, extracted from a view-projection matrix that maps the frustum to
+ * normalized device coordinates in <code>[-1, 1]</code> (see {@link Matrix4f#setPerspective}). Each plane
+ * <code>(a, b, c, d)</code> has a unit normal <code>(a, b, c)</code> pointing into the frustum, so
+ * <code>ax + by + cz + d</code> is the signed distance of a point to the plane. Extracting the planes from a
+ * model-view-projection matrix instead gives them in model space.
+ * <p>
+ * All tests are conservative: a sphere or a box reported as outside is certainly invisible, while some objects
+ * close to the edges of the frustum but outside of it are reported as visible.
+ * <p>
+ * The bulk tests take the spheres or boxes as structure-of-arrays vectors and write a visibility bitset:
+ * bit <code>i % 64</code> of <code>visible[i / 64]</code> is set if object <code>i</code> may be visible.
+ * When the SIMD backend is enabled (see {@link Simd}), they test as many objects at once as the preferred
+ * species allows. The variants taking a <code>lastPlanes</code> array test first the plane that rejected each
+ * object in the previous frame: objects that stay outside are then usually rejected by the first plane tested.
+ */
+public class Frustumf {
+    /**
+     * The index of the left plane.
+     */
+    public static final int LEFT = 0;
+
+    /**
+     * The index of the right plane.
+     */
+    public static final int RIGHT = 1;
+
+    /**
+     * The index of the bottom plane.
+     */
+    public static final int BOTTOM = 2;
+
+    /**
+     * The index of the top plane.
+     */
+    public static final int TOP = 3;
+
+    /**
+     * The index of the near plane.
+     */
+    public static final int NEAR = 4;
+
+    /**
+     * The index of the far plane.
+     */
+    public static final int FAR = 5;
+
+    /**
+     * The number of planes.
+     */
+    public static final int PLANES = 6;
+
+    /**
+     * The coefficients <code>a, b, c, d</code> of the planes, four per plane in the order of the plane indices.
+     */
+    public final float[] planes = new float[PLANES * 4];
+
+    /**
+     * Constructs a frustum with all plane coefficients zero, which contains every point.
+     */
+    public Frustumf() { }
+
+    /**
+     * Constructs the frustum of the given view-projection matrix.
+     *
+     * @param m The view-projection matrix.
+     */
+    public Frustumf(Matrix4f m) {
+        set(m);
+    }
+
+    /**
+     * @param count The number of objects.
+     * @return The number of <code>long</code> words of a visibility bitset for the given number of objects.
+     */
+    public static int words(int count) {
+        return (count + 63) >>> 6;
+    }
+
+    /**
+     * Extracts the planes from the given view-projection matrix: each plane is the sum or the difference of the
+     * bottom row and one of the other rows of the matrix, normalized.
+     *
+     * @param m The view-projection matrix.
+     * @return This frustum for chaining.
+     */
+    public Frustumf set(Matrix4f m) {
+        float[] v = m.val;
+        float w1 = v[Matrix4f.M41];
+        float w2 = v[Matrix4f.M42];
+        float w3 = v[Matrix4f.M43];
+        float w4 = v[Matrix4f.M44];
+        setPlane(LEFT, w1 + v[Matrix4f.M11], w2 + v[Matrix4f.M12], w3 + v[Matrix4f.M13], w4 + v[Matrix4f.M14]);
+        setPlane(RIGHT, w1 - v[Matrix4f.M11], w2 - v[Matrix4f.M12], w3 - v[Matrix4f.M13], w4 - v[Matrix4f.M14]);
+        setPlane(BOTTOM, w1 + v[Matrix4f.M21], w2 + v[Matrix4f.M22], w3 + v[Matrix4f.M23], w4 + v[Matrix4f.M24]);
+        setPlane(TOP, w1 - v[Matrix4f.M21], w2 - v[Matrix4f.M22], w3 - v[Matrix4f.M23], w4 - v[Matrix4f.M24]);
+        setPlane(NEAR, w1 + v[Matrix4f.M31], w2 + v[Matrix4f.M32], w3 + v[Matrix4f.M33], w4 + v[Matrix4f.M34]);
+        setPlane(FAR, w1 - v[Matrix4f.M31], w2 - v[Matrix4f.M32], w3 - v[Matrix4f.M33], w4 - v[Matrix4f.M34]);
+        return this;
+    }
+
+    private void setPlane(int index, float a, float b, float c, float d) {
+        float invLen = 1.0f / Vector3f.len(a, b, c);
+        int off = index * 4;
+        planes[off] = a * invLen;
+        planes[off + 1] = b * invLen;
+        planes[off + 2] = c * invLen;
+        planes[off + 3] = d * invLen;
+    }
+
+    /**
+     * Copies the coefficients of a plane into the given vector.
+     *
+     * @param index The index of the plane.
+     * @param out   The vector to write the coefficients <code>(a, b, c, d)</code> to.
+     * @return The provided vector.
+     */
+    public Vector4f plane(int index, Vector4f out) {
+        int off = index * 4;
+        return out.set(planes[off], planes[off + 1], planes[off + 2], planes[off + 3]);
+    }
+
+    /**
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     * @param z The z coordinate of the point.
+     * @return Whether the point lies inside the frustum or on its boundary.
+     */
+    public boolean contains(float x, float y, float z) {
+        return rejectingPlane(x, y, z, 0.0f, 0) < 0;
+    }
+
+    /**
+     * @param p The point.
+     * @return Whether the point lies inside the frustum or on its boundary.
+     */
+    public boolean contains(Vector3f p) {
+        return contains(p.x, p.y, p.z);
+    }
+
+    /**
+     * @param x      The x coordinate of the center of the sphere.
+     * @param y      The y coordinate of the center of the sphere.
+     * @param z      The z coordinate of the center of the sphere.
+     * @param radius The radius of the sphere.
+     * @return Whether the sphere may intersect the frustum.
+     */
+    public boolean intersectsSphere(float x, float y, float z, float radius) {
+        return rejectingPlane(x, y, z, radius, 0) < 0;
+    }
+
+    /**
+     * @param center The center of the sphere.
+     * @param radius The radius of the sphere.
+     * @return Whether the sphere may intersect the frustum.
+     */
+    public boolean intersectsSphere(Vector3f center, float radius) {
+        return intersectsSphere(center.x, center.y, center.z, radius);
+    }
+
+    /**
+     * @param b The box.
+     * @return Whether the box may intersect the frustum.
+     */
+    public boolean intersects(Aabb3f b) {
+        return rejectingPlane(b, 0) < 0;
+    }
+
+    /**
+     * Finds a plane that the given sphere lies entirely behind, testing the planes from the given one on.
+     *
+     * @param x      The x coordinate of the center of the sphere.
+     * @param y      The y coordinate of the center of the sphere.
+     * @param z      The z coordinate of the center of the sphere.
+     * @param radius The radius of the sphere.
+     * @param first  The index of the plane to test first, usually the result for the same sphere in the previous
+     *               frame. Negative values are treated as zero.
+     * @return The index of the rejecting plane, or -1 if the sphere may be visible.
+     */
+    public int rejectingPlane(float x, float y, float z, float radius, int first) {
+        int start = Math.max(first, 0);
+        for (int k = 0; k < PLANES; k++) {
+            int p = start + k;
+            if (p >= PLANES) p -= PLANES;
+            int off = p * 4;
+            if (planes[off] * x + planes[off + 1] * y + planes[off + 2] * z + planes[off + 3] < -radius) return p;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds a plane that the given box lies entirely behind, testing the planes from the given one on.
+     * For every plane only the corner farthest along its normal is tested.
+     *
+     * @param b     The box.
+     * @param first The index of the plane to test first, usually the result for the same box in the previous
+     *              frame. Negative values are treated as zero.
+     * @return The index of the rejecting plane, or -1 if the box may be visible.
+     */
+    public int rejectingPlane(Aabb3f b, int first) {
+        return rejectingPlane(b.min.x, b.min.y, b.min.z, b.max.x, b.max.y, b.max.z, first);
+    }
+
+    private int rejectingPlane(
+            float minX, float minY, float minZ,
+            float maxX, float maxY, float maxZ,
+            int first
+    ) {
+        int start = Math.max(first, 0);
+        for (int k = 0; k < PLANES; k++) {
+            int p = start + k;
+            if (p >= PLANES) p -= PLANES;
+            int off = p * 4;
+            float a = planes[off];
+            float b = planes[off + 1];
+            float c = planes[off + 2];
+            float x = a >= 0.0f ? maxX : minX;
+            float y = b >= 0.0f ? maxY : minY;
+            float z = c >= 0.0f ? maxZ : minZ;
+            if (a * x + b * y + c * z + planes[off + 3] < 0.0f) return p;
+        }
+        return -1;
+    }
+
+    /**
+     * Tests the given spheres against the frustum and writes the visibility bitset.
+     *
+     * @param centers The centers of the spheres.
+     * @param radii   The radii of the spheres, at least <code>centers.size</code> values.
+     * @param visible The bitset to write to, at least {@link #words(int)} words. The bits past the last sphere
+     *                in the last word are cleared.
+     * @return The number of spheres that may be visible.
+     */
+    public int cullSpheres(Vector3fArray centers, float[] radii, long[] visible) {
+        int count = centers.size;
+        Arrays.fill(visible, 0, words(count), 0L);
+        int i = 0;
+        if (Simd.ENABLED) i = FrustumfSimd.cullSpheres(planes, centers.x, centers.y, centers.z, radii, count, visible);
+        for (; i < count; i++) {
+            if (rejectingPlane(centers.x[i], centers.y[i], centers.z[i], radii[i], 0) < 0) {
+                visible[i >>> 6] |= 1L << i;
+            }
+        }
+        return bitCount(visible, count);
+    }
+
+    /**
+     * Tests the given spheres against the frustum, starting with the plane that rejected each sphere before,
+     * and writes the visibility bitset. The objects are tested one at a time.
+     *
+     * @param centers    The centers of the spheres.
+     * @param radii      The radii of the spheres, at least <code>centers.size</code> values.
+     * @param visible    The bitset to write to, at least {@link #words(int)} words.
+     * @param lastPlanes The index of the rejecting plane of each sphere, or -1 for visible spheres. Read as the
+     *                   plane to test first and updated with the new results. Fill it with -1 before the first
+     *                   frame.
+     * @return The number of spheres that may be visible.
+     */
+    public int cullSpheres(Vector3fArray centers, float[] radii, long[] visible, byte[] lastPlanes) {
+        int count = centers.size;
+        Arrays.fill(visible, 0, words(count), 0L);
+        for (int i = 0; i < count; i++) {
+            int p = rejectingPlane(centers.x[i], centers.y[i], centers.z[i], radii[i], lastPlanes[i]);
+            lastPlanes[i] = (byte) p;
+            if (p < 0) visible[i >>> 6] |= 1L << i;
+        }
+        return bitCount(visible, count);
+    }
+
+    /**
+     * Tests the given boxes against the frustum and writes the visibility bitset.
+     *
+     * @param min     The minimum corners of the boxes.
+     * @param max     The maximum corners of the boxes, at least <code>min.size</code> vectors.
+     * @param visible The bitset to write to, at least {@link #words(int)} words. The bits past the last box
+     *                in the last word are cleared.
+     * @return The number of boxes that may be visible.
+     */
+    public int cullAabbs(Vector3fArray min, Vector3fArray max, long[] visible) {
+        int count = min.size;
+        Arrays.fill(visible, 0, words(count), 0L);
+        int i = 0;
+        if (Simd.ENABLED) i = FrustumfSimd.cullAabbs(planes, min, max, count, visible);
+        for (; i < count; i++) {
+            if (rejectingPlane(min.x[i], min.y[i], min.z[i], max.x[i], max.y[i], max.z[i], 0) < 0) {
+                visible[i >>> 6] |= 1L << i;
+            }
+        }
+        return bitCount(visible, count);
+    }
+
+    /**
+     * Tests the given boxes against the frustum, starting with the plane that rejected each box before,
+     * and writes the visibility bitset. The objects are tested one at a time.
+     *
+     * @param min        The minimum corners of the boxes.
+     * @param max        The maximum corners of the boxes, at least <code>min.size</code> vectors.
+     * @param visible    The bitset to write to, at least {@link #words(int)} words.
+     * @param lastPlanes The index of the rejecting plane of each box, or -1 for visible boxes. Read as the plane
+     *                   to test first and updated with the new results. Fill it with -1 before the first frame.
+     * @return The number of boxes that may be visible.
+     */
+    public int cullAabbs(Vector3fArray min, Vector3fArray max, long[] visible, byte[] lastPlanes) {
+        int count = min.size;
+        Arrays.fill(visible, 0, words(count), 0L);
+        for (int i = 0; i < count; i++) {
+            int p = rejectingPlane(min.x[i], min.y[i], min.z[i], max.x[i], max.y[i], max.z[i], lastPlanes[i]);
+            lastPlanes[i] = (byte) p;
+            if (p < 0) visible[i >>> 6] |= 1L << i;
+        }
+        return bitCount(visible, count);
+    }
+
+    private static int bitCount(long[] bits, int count) {
+        int n = 0;
+        for (int w = 0; w < words(count); w++) {
+            n += Long.bitCount(bits[w]);
+        }
+        return n;
+    }
+}
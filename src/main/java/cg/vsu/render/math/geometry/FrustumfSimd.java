@@ -0,0 +1,69 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.vector.Vector3fArray;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for {@link Frustumf} built on the incubating Vector API. One lane holds one object, so the
+ * preferred species tests 8 objects at once with AVX2; the rejections by the six planes are combined in a mask
+ * that becomes the bits of the visibility bitset directly. The lane count divides 64, so the bits of one vector
+ * never straddle two words. The distances are computed in the same order as in the scalar code, so both give
+ * the same results.
+ * <p>
+ * This class must only be loaded when {@link cg.vsu.render.math.Simd#ENABLED} is true.
+ */
+final class FrustumfSimd {
+    private static final VectorSpecies<Float> SP = FloatVector.SPECIES_PREFERRED;
+
+    private FrustumfSimd() { }
+
+    /**
+     * Sets the visibility bits of the spheres in whole vectors. The words must be cleared.
+     *
+     * @return The index of the first sphere left for the scalar tail.
+     */
+    static int cullSpheres(float[] planes, float[] x, float[] y, float[] z, float[] r, int count, long[] visible) {
+        int bound = SP.loopBound(count);
+        for (int i = 0; i < bound; i += SP.length()) {
+            FloatVector vx = FloatVector.fromArray(SP, x, i);
+            FloatVector vy = FloatVector.fromArray(SP, y, i);
+            FloatVector vz = FloatVector.fromArray(SP, z, i);
+            FloatVector negR = FloatVector.fromArray(SP, r, i).neg();
+            VectorMask<Float> rejected = SP.maskAll(false);
+            for (int off = 0; off < Frustumf.PLANES * 4; off += 4) {
+                FloatVector d = vx.mul(planes[off]).add(vy.mul(planes[off + 1])).add(vz.mul(planes[off + 2]))
+                        .add(planes[off + 3]);
+                rejected = rejected.or(d.lt(negR));
+            }
+            visible[i >>> 6] |= rejected.not().toLong() << i;
+        }
+        return bound;
+    }
+
+    /**
+     * Sets the visibility bits of the boxes in whole vectors. The words must be cleared.
+     *
+     * @return The index of the first box left for the scalar tail.
+     */
+    static int cullAabbs(float[] planes, Vector3fArray min, Vector3fArray max, int count, long[] visible) {
+        int bound = SP.loopBound(count);
+        for (int i = 0; i < bound; i += SP.length()) {
+            VectorMask<Float> rejected = SP.maskAll(false);
+            for (int off = 0; off < Frustumf.PLANES * 4; off += 4) {
+                float a = planes[off];
+                float b = planes[off + 1];
+                float c = planes[off + 2];
+                // The corner farthest along the normal; the choice is the same for all lanes.
+                FloatVector x = FloatVector.fromArray(SP, a >= 0.0f ? max.x : min.x, i);
+                FloatVector y = FloatVector.fromArray(SP, b >= 0.0f ? max.y : min.y, i);
+                FloatVector z = FloatVector.fromArray(SP, c >= 0.0f ? max.z : min.z, i);
+                FloatVector d = x.mul(a).add(y.mul(b)).add(z.mul(c)).add(planes[off + 3]);
+                rejected = rejected.or(d.lt(0.0f));
+            }
+            visible[i >>> 6] |= rejected.not().toLong() << i;
+        }
+        return bound;
+    }
+}
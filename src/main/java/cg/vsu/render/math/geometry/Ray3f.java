@@ -0,0 +1,272 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.Simd;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+
+/**
+ * A mutable ray given by its origin and direction. The direction need not be unit; distances along the ray
+ * are measured in units of its length, so that the point at distance <code>t</code> is
+ * <code>origin + t * direction</code>.
+ * <p>
+ * Triangles are intersected by the Moller-Trumbore algorithm, which needs no precomputed plane. A buffer of
+ * triangles is given as three structure-of-arrays vectors holding the first, second and third vertices, and
+ * the triangles of a buffer are tested in order. When the SIMD backend is enabled (see {@link Simd}), one ray
+ * is tested against as many triangles at once as the preferred species allows; the results are the same as
+ * those of the scalar code. Both sides of a triangle are hit, and only intersections at a positive distance
+ * count, so a ray starting on a triangle does not hit it.
+ */
+public class Ray3f {
+    /**
+     * The origin of this ray.
+     */
+    public final Vector3f origin = new Vector3f();
+
+    /**
+     * The direction of this ray.
+     */
+    public final Vector3f direction = new Vector3f();
+
+    /**
+     * Constructs a ray at the origin with a zero direction.
+     */
+    public Ray3f() { }
+
+    /**
+     * Constructs a ray with the given origin and direction. The vectors are copied.
+     *
+     * @param origin    The origin.
+     * @param direction The direction.
+     */
+    public Ray3f(Vector3f origin, Vector3f direction) {
+        set(origin, direction);
+    }
+
+    /**
+     * Constructs a copy of the given ray.
+     *
+     * @param r The ray to copy.
+     */
+    public Ray3f(Ray3f r) {
+        set(r.origin, r.direction);
+    }
+
+    /**
+     * @return A copy of this ray.
+     */
+    public Ray3f cpy() {
+        return new Ray3f(this);
+    }
+
+    /**
+     * Sets the origin and the direction of this ray. The vectors are copied.
+     *
+     * @param origin    The origin.
+     * @param direction The direction.
+     * @return This ray for chaining.
+     */
+    public Ray3f set(Vector3f origin, Vector3f direction) {
+        this.origin.set(origin.x, origin.y, origin.z);
+        this.direction.set(direction.x, direction.y, direction.z);
+        return this;
+    }
+
+    /**
+     * Sets the origin and the direction of this ray.
+     *
+     * @param ox The x coordinate of the origin.
+     * @param oy The y coordinate of the origin.
+     * @param oz The z coordinate of the origin.
+     * @param dx The x coordinate of the direction.
+     * @param dy The y coordinate of the direction.
+     * @param dz The z coordinate of the direction.
+     * @return This ray for chaining.
+     */
+    public Ray3f set(float ox, float oy, float oz, float dx, float dy, float dz) {
+        origin.set(ox, oy, oz);
+        direction.set(dx, dy, dz);
+        return this;
+    }
+
+    /**
+     * @param t   The distance along this ray.
+     * @param out The vector to write the point to.
+     * @return The point <code>origin + t * direction</code> written into the provided vector.
+     */
+    public Vector3f at(float t, Vector3f out) {
+        return out.set(origin.x + t * direction.x, origin.y + t * direction.y, origin.z + t * direction.z);
+    }
+
+    /**
+     * Intersects this ray with a single triangle and records the hit if it is closer than the given one.
+     * The triangle index of the hit is set to zero.
+     *
+     * @param v0  The first vertex.
+     * @param v1  The second vertex.
+     * @param v2  The third vertex.
+     * @param hit The closest hit so far, updated if the triangle is hit closer.
+     * @return Whether the hit was updated.
+     */
+    public boolean intersect(Vector3f v0, Vector3f v1, Vector3f v2, RayHit hit) {
+        return intersect(
+                v0.x, v0.y, v0.z,
+                v1.x - v0.x, v1.y - v0.y, v1.z - v0.z,
+                v2.x - v0.x, v2.y - v0.y, v2.z - v0.z,
+                0, hit
+        );
+    }
+
+    /**
+     * Finds the closest intersection of this ray with the triangles of the given buffer.
+     *
+     * @param v0  The first vertices of the triangles.
+     * @param v1  The second vertices of the triangles.
+     * @param v2  The third vertices of the triangles.
+     * @param hit The closest hit so far, updated if a triangle is hit closer.
+     * @return Whether the hit was updated.
+     */
+    public boolean intersect(Vector3fArray v0, Vector3fArray v1, Vector3fArray v2, RayHit hit) {
+        return intersect(v0, v1, v2, 0, v0.size, hit);
+    }
+
+    /**
+     * Finds the closest intersection of this ray with the triangles in the given range of the buffer.
+     * Of several triangles hit at the same distance, the one with the smallest index is reported.
+     *
+     * @param v0   The first vertices of the triangles.
+     * @param v1   The second vertices of the triangles.
+     * @param v2   The third vertices of the triangles.
+     * @param from The index of the first triangle, inclusive.
+     * @param to   The index of the last triangle, exclusive.
+     * @param hit  The closest hit so far, updated if a triangle is hit closer.
+     * @return Whether the hit was updated.
+     */
+    public boolean intersect(
+            Vector3fArray v0, Vector3fArray v1, Vector3fArray v2,
+            int from, int to, RayHit hit
+    ) {
+        if (Simd.ENABLED) return Ray3fSimd.intersect(this, v0, v1, v2, from, to, hit);
+
+        boolean updated = false;
+        for (int i = from; i < to; i++) {
+            float x = v0.x[i];
+            float y = v0.y[i];
+            float z = v0.z[i];
+            updated |= intersect(
+                    x, y, z,
+                    v1.x[i] - x, v1.y[i] - y, v1.z[i] - z,
+                    v2.x[i] - x, v2.y[i] - y, v2.z[i] - z,
+                    i, hit
+            );
+        }
+        return updated;
+    }
+
+    /**
+     * Checks whether this ray hits any triangle of the given buffer closer than the given distance, e.g. for
+     * shadow and occlusion queries. The search stops at the first hit found, which need not be the closest.
+     *
+     * @param v0   The first vertices of the triangles.
+     * @param v1   The second vertices of the triangles.
+     * @param v2   The third vertices of the triangles.
+     * @param maxT The distance beyond which intersections are ignored.
+     * @return Whether any triangle is hit.
+     */
+    public boolean intersectsAny(Vector3fArray v0, Vector3fArray v1, Vector3fArray v2, float maxT) {
+        return intersectsAny(v0, v1, v2, 0, v0.size, maxT);
+    }
+
+    /**
+     * Checks whether this ray hits any triangle in the given range of the buffer closer than the given distance.
+     *
+     * @param v0   The first vertices of the triangles.
+     * @param v1   The second vertices of the triangles.
+     * @param v2   The third vertices of the triangles.
+     * @param from The index of the first triangle, inclusive.
+     * @param to   The index of the last triangle, exclusive.
+     * @param maxT The distance beyond which intersections are ignored.
+     * @return Whether any triangle is hit.
+     * @see #intersectsAny(Vector3fArray, Vector3fArray, Vector3fArray, float)
+     */
+    public boolean intersectsAny(
+            Vector3fArray v0, Vector3fArray v1, Vector3fArray v2,
+            int from, int to, float maxT
+    ) {
+        if (Simd.ENABLED) return Ray3fSimd.intersectsAny(this, v0, v1, v2, from, to, maxT);
+
+        for (int i = from; i < to; i++) {
+            float x = v0.x[i];
+            float y = v0.y[i];
+            float z = v0.z[i];
+            if (!Float.isNaN(distance(
+                    x, y, z,
+                    v1.x[i] - x, v1.y[i] - y, v1.z[i] - z,
+                    v2.x[i] - x, v2.y[i] - y, v2.z[i] - z,
+                    maxT, null
+            ))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Records the intersection with the triangle given by its first vertex and two edges if it is closer.
+    private boolean intersect(
+            float x, float y, float z,
+            float e1x, float e1y, float e1z,
+            float e2x, float e2y, float e2z,
+            int index, RayHit hit
+    ) {
+        if (Float.isNaN(distance(x, y, z, e1x, e1y, e1z, e2x, e2y, e2z, hit.t, hit))) return false;
+
+        hit.triangle = index;
+        return true;
+    }
+
+    /**
+     * Calculates the Moller-Trumbore intersection with the triangle given by its first vertex and two edges.
+     * The comparisons are written so that NaN fails them, which rejects rays parallel to the triangle without
+     * an epsilon. The vector kernel must perform the same operations in the same order.
+     *
+     * @return The distance of the intersection, or NaN if there is none closer than <code>maxT</code>. If there
+     * is one and <code>hit</code> is not null, its distance and barycentric coordinates are written to it.
+     */
+    private float distance(
+            float x, float y, float z,
+            float e1x, float e1y, float e1z,
+            float e2x, float e2y, float e2z,
+            float maxT, RayHit hit
+    ) {
+        float dx = direction.x;
+        float dy = direction.y;
+        float dz = direction.z;
+        // p = direction x e2
+        float px = dy * e2z - dz * e2y;
+        float py = dz * e2x - dx * e2z;
+        float pz = dx * e2y - dy * e2x;
+        float invDet = 1.0f / (e1x * px + e1y * py + e1z * pz);
+
+        float sx = origin.x - x;
+        float sy = origin.y - y;
+        float sz = origin.z - z;
+        float u = (sx * px + sy * py + sz * pz) * invDet;
+        if (!(u >= 0.0f && u <= 1.0f)) return Float.NaN;
+
+        // q = s x e1
+        float qx = sy * e1z - sz * e1y;
+        float qy = sz * e1x - sx * e1z;
+        float qz = sx * e1y - sy * e1x;
+        float v = (dx * qx + dy * qy + dz * qz) * invDet;
+        if (!(v >= 0.0f && u + v <= 1.0f)) return Float.NaN;
+
+        float t = (e2x * qx + e2y * qy + e2z * qz) * invDet;
+        if (!(t > 0.0f && t < maxT)) return Float.NaN;
+
+        if (hit != null) {
+            hit.t = t;
+            hit.u = u;
+            hit.v = v;
+        }
+        return t;
+    }
+}
@@ -0,0 +1,109 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.vector.Vector3fArray;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for {@link Ray3f} built on the incubating Vector API. One lane holds one triangle, so the
+ * preferred species tests one ray against 8 triangles at once with AVX2. The last, partial vector of a range
+ * is loaded with a mask. Every lane performs the operations of the scalar code in the same order, so both
+ * find the same hits with the same distances and barycentric coordinates.
+ * <p>
+ * This class must only be loaded when {@link cg.vsu.render.math.Simd#ENABLED} is true.
+ */
+final class Ray3fSimd {
+    private static final VectorSpecies<Float> SP = FloatVector.SPECIES_PREFERRED;
+
+    private Ray3fSimd() { }
+
+    /**
+     * Finds the closest intersection with the triangles in the range and records it if it is closer than the hit.
+     */
+    static boolean intersect(
+            Ray3f ray, Vector3fArray v0, Vector3fArray v1, Vector3fArray v2,
+            int from, int to, RayHit hit
+    ) {
+        boolean updated = false;
+        for (int i = from; i < to; i += SP.length()) {
+            VectorMask<Float> in = SP.indexInRange(i, to);
+            Lanes l = new Lanes(ray, v0, v1, v2, i, in);
+            VectorMask<Float> valid = l.valid(in, hit.t);
+            if (!valid.anyTrue()) continue;
+
+            FloatVector t = l.t.blend(Float.POSITIVE_INFINITY, valid.not());
+            float min = t.reduceLanes(VectorOperators.MIN);
+            int lane = t.compare(VectorOperators.EQ, min).firstTrue();
+            hit.t = min;
+            hit.u = l.u.lane(lane);
+            hit.v = l.v.lane(lane);
+            hit.triangle = i + lane;
+            updated = true;
+        }
+        return updated;
+    }
+
+    /**
+     * Checks whether any triangle in the range is hit closer than the given distance.
+     */
+    static boolean intersectsAny(
+            Ray3f ray, Vector3fArray v0, Vector3fArray v1, Vector3fArray v2,
+            int from, int to, float maxT
+    ) {
+        for (int i = from; i < to; i += SP.length()) {
+            VectorMask<Float> in = SP.indexInRange(i, to);
+            if (new Lanes(ray, v0, v1, v2, i, in).valid(in, maxT).anyTrue()) return true;
+        }
+        return false;
+    }
+
+    // The barycentric coordinates and distances of one vector of triangles. Escape analysis keeps it in registers.
+    private static final class Lanes {
+        final FloatVector u;
+        final FloatVector v;
+        final FloatVector t;
+
+        Lanes(Ray3f ray, Vector3fArray v0, Vector3fArray v1, Vector3fArray v2, int i, VectorMask<Float> in) {
+            float dx = ray.direction.x;
+            float dy = ray.direction.y;
+            float dz = ray.direction.z;
+            FloatVector x = FloatVector.fromArray(SP, v0.x, i, in);
+            FloatVector y = FloatVector.fromArray(SP, v0.y, i, in);
+            FloatVector z = FloatVector.fromArray(SP, v0.z, i, in);
+            FloatVector e1x = FloatVector.fromArray(SP, v1.x, i, in).sub(x);
+            FloatVector e1y = FloatVector.fromArray(SP, v1.y, i, in).sub(y);
+            FloatVector e1z = FloatVector.fromArray(SP, v1.z, i, in).sub(z);
+            FloatVector e2x = FloatVector.fromArray(SP, v2.x, i, in).sub(x);
+            FloatVector e2y = FloatVector.fromArray(SP, v2.y, i, in).sub(y);
+            FloatVector e2z = FloatVector.fromArray(SP, v2.z, i, in).sub(z);
+
+            FloatVector px = e2z.mul(dy).sub(e2y.mul(dz));
+            FloatVector py = e2x.mul(dz).sub(e2z.mul(dx));
+            FloatVector pz = e2y.mul(dx).sub(e2x.mul(dy));
+            FloatVector invDet = FloatVector.broadcast(SP, 1.0f).div(e1x.mul(px).add(e1y.mul(py)).add(e1z.mul(pz)));
+
+            FloatVector sx = FloatVector.broadcast(SP, ray.origin.x).sub(x);
+            FloatVector sy = FloatVector.broadcast(SP, ray.origin.y).sub(y);
+            FloatVector sz = FloatVector.broadcast(SP, ray.origin.z).sub(z);
+            u = sx.mul(px).add(sy.mul(py)).add(sz.mul(pz)).mul(invDet);
+
+            FloatVector qx = sy.mul(e1z).sub(sz.mul(e1y));
+            FloatVector qy = sz.mul(e1x).sub(sx.mul(e1z));
+            FloatVector qz = sx.mul(e1y).sub(sy.mul(e1x));
+            v = qx.mul(dx).add(qy.mul(dy)).add(qz.mul(dz)).mul(invDet);
+            t = e2x.mul(qx).add(e2y.mul(qy)).add(e2z.mul(qz)).mul(invDet);
+        }
+
+        // The comparisons fail for NaN, just like the scalar ones.
+        VectorMask<Float> valid(VectorMask<Float> in, float maxT) {
+            return in.and(u.compare(VectorOperators.GE, 0.0f))
+                    .and(u.compare(VectorOperators.LE, 1.0f))
+                    .and(v.compare(VectorOperators.GE, 0.0f))
+                    .and(u.add(v).compare(VectorOperators.LE, 1.0f))
+                    .and(t.compare(VectorOperators.GT, 0.0f))
+                    .and(t.compare(VectorOperators.LT, maxT));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package cg.vsu.render.math.geometry;
+
+/**
+ * The closest intersection of a ray found so far. The ray queries only replace a hit by a closer one, so one
+ * hit can collect the closest intersection over several triangle buffers, and {@link #t} can be preset to
+ * limit the distance of the query.
+ * <p>
+ * The barycentric coordinates are relative to the vertices of the triangle: the hit point is
+ * <code>(1 - u - v) * v0 + u * v1 + v * v2</code>.
+ */
+public class RayHit {
+    /**
+     * The distance to the hit along the ray direction, in units of the direction length.
+     * {@link Float#POSITIVE_INFINITY} if nothing has been hit.
+     */
+    public float t;
+
+    /**
+     * The barycentric coordinate of the hit relative to the second vertex.
+     */
+    public float u;
+
+    /**
+     * The barycentric coordinate of the hit relative to the third vertex.
+     */
+    public float v;
+
+    /**
+     * The index of the hit triangle, or -1 if nothing has been hit.
+     */
+    public int triangle;
+
+    /**
+     * Constructs an empty hit.
+     */
+    public RayHit() {
+        reset();
+    }
+
+    /**
+     * Forgets the hit, so that any intersection is accepted.
+     *
+     * @return This hit for chaining.
+     */
+    public RayHit reset() {
+        return reset(Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Forgets the hit and limits the distance of the next queries.
+     *
+     * @param maxT The distance beyond which intersections are ignored.
+     * @return This hit for chaining.
+     */
+    public RayHit reset(float maxT) {
+        t = maxT;
+        u = 0.0f;
+        v = 0.0f;
+        triangle = -1;
+        return this;
+    }
+
+    /**
+     * @return Whether a triangle has been hit.
+     */
+    public boolean isHit() {
+        return triangle >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "hit(t=" + t + ", u=" + u + ", v=" + v + ", triangle=" + triangle + ")";
+    }
+}
@@ -0,0 +1,614 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.vector.Vector2f;
+import cg.vsu.render.math.vector.Vector2fArray;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * A uniform grid of cubic cells over a set of points for radius and nearest neighbour queries, e.g. for crowd
+ * and particle simulations. The cells are not stored: their integer coordinates are hashed into a table with a
+ * power of two buckets, at least as many as points. Several cells may share a bucket, so a query visiting a
+ * cell only takes the points of its bucket that lie in that cell; every point is then found once, and the
+ * queries allocate no memory. A query that would visit more cells than there are buckets scans all points
+ * instead.
+ * <p>
+ * A build sorts the points by bucket with a counting sort into flat arrays: the original indices and a copy of
+ * the coordinates in bucket order, so that the points of a bucket are contiguous in memory. There are no
+ * per-cell lists, and a grid rebuilt every frame reuses its arrays as long as the number of points does not
+ * grow. The parallel build splits the points into one chunk per thread, sorts them first by the high bits of
+ * their buckets and then every range of buckets on its own, so that every thread handles a share of both the
+ * points and the buckets; it produces the same grid as the sequential one.
+ * <p>
+ * The grid can be built over 3D or 2D points; a 2D grid is a single layer of cells and ignores the z coordinate
+ * of queries. The distances are squared Euclidean distances calculated as by {@link Vector3f#dst2(float, float,
+ * float)}. A cell size about the typical query radius works best. Queries only read the grid, so several
+ * threads can query it at once, but not while it is rebuilt.
+ */
+public class SpatialHashGrid {
+    // Points fewer than this are sorted on the calling thread.
+    private static final int PARALLEL_THRESHOLD = 8192;
+    // The parallel build first partitions the points by the high bits of their buckets into this many parts.
+    private static final int PARTITIONS = 1024;
+
+    /**
+     * The edge length of the cells.
+     */
+    public final float cellSize;
+
+    private final float invCellSize;
+
+    private int size;
+    private boolean planar;
+    // The bucket of every point by original index.
+    private int[] buckets = new int[0];
+    // The original indices and coordinates of the points in bucket order.
+    private int[] order = new int[0];
+    private float[] px = new float[0];
+    private float[] py = new float[0];
+    private float[] pz = new float[0];
+    // The points of bucket b are at [starts[b], starts[b + 1]).
+    private int[] starts = new int[2];
+    private int mask;
+    // Reused by the parallel build: the points of every chunk per partition and the indices in partition order.
+    private int[][] chunkCounts = new int[0][];
+    private int[] partitioned = new int[0];
+    // The range of cell coordinates that hold points.
+    private int minX;
+    private int minY;
+    private int minZ;
+    private int maxX;
+    private int maxY;
+    private int maxZ;
+
+    /**
+     * Constructs an empty grid.
+     *
+     * @param cellSize The edge length of the cells. Must be positive and finite.
+     */
+    public SpatialHashGrid(float cellSize) {
+        if (!(cellSize > 0.0f && cellSize < Float.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Invalid cell size: " + cellSize);
+        }
+
+        this.cellSize = cellSize;
+        this.invCellSize = 1.0f / cellSize;
+    }
+
+    /**
+     * @return The number of points in this grid.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Whether this grid was built over 2D points.
+     */
+    public boolean isPlanar() {
+        return planar;
+    }
+
+    /**
+     * Rebuilds this grid over the given points on the calling thread.
+     *
+     * @param positions The points.
+     * @return This grid for chaining.
+     */
+    public SpatialHashGrid build(Vector3fArray positions) {
+        return build(positions.x, positions.y, positions.z, positions.size, null);
+    }
+
+    /**
+     * Rebuilds this grid over the given points in parallel.
+     *
+     * @param positions The points.
+     * @param pool      The pool to run the tasks in.
+     * @return This grid for chaining.
+     */
+    public SpatialHashGrid build(Vector3fArray positions, ForkJoinPool pool) {
+        return build(positions.x, positions.y, positions.z, positions.size, pool);
+    }
+
+    /**
+     * Rebuilds this grid over the given 2D points on the calling thread.
+     *
+     * @param positions The points.
+     * @return This grid for chaining.
+     */
+    public SpatialHashGrid build(Vector2fArray positions) {
+        return build(positions.x, positions.y, null, positions.size, null);
+    }
+
+    /**
+     * Rebuilds this grid over the given 2D points in parallel.
+     *
+     * @param positions The points.
+     * @param pool      The pool to run the tasks in.
+     * @return This grid for chaining.
+     */
+    public SpatialHashGrid build(Vector2fArray positions, ForkJoinPool pool) {
+        return build(positions.x, positions.y, null, positions.size, pool);
+    }
+
+    /**
+     * Reports every point within the given distance of the given point, the distance included.
+     *
+     * @param p      The point.
+     * @param radius The distance.
+     * @param action The action called with the original index of every point found, in no particular order.
+     * @return The number of points found.
+     */
+    public int withinRadius(Vector3f p, float radius, IntConsumer action) {
+        return withinRadius(p.x, p.y, p.z, radius, action);
+    }
+
+    /**
+     * Reports every point within the given distance of the given 2D point, the distance included.
+     *
+     * @param p      The point.
+     * @param radius The distance.
+     * @param action The action called with the original index of every point found, in no particular order.
+     * @return The number of points found.
+     */
+    public int withinRadius(Vector2f p, float radius, IntConsumer action) {
+        return withinRadius(p.x, p.y, 0.0f, radius, action);
+    }
+
+    /**
+     * Reports every point within the given distance of the given point, the distance included.
+     *
+     * @param x      The x coordinate of the point.
+     * @param y      The y coordinate of the point.
+     * @param z      The z coordinate of the point, ignored by a 2D grid.
+     * @param radius The distance.
+     * @param action The action called with the original index of every point found, in no particular order.
+     * @return The number of points found.
+     */
+    public int withinRadius(float x, float y, float z, float radius, IntConsumer action) {
+        if (size == 0 || !(radius >= 0.0f)) return 0;
+        if (planar) z = 0.0f;
+
+        float r2 = radius * radius;
+        int x0 = Math.max(cell(x - radius), minX);
+        int y0 = Math.max(cell(y - radius), minY);
+        int z0 = Math.max(cell(z - radius), minZ);
+        int x1 = Math.min(cell(x + radius), maxX);
+        int y1 = Math.min(cell(y + radius), maxY);
+        int z1 = Math.min(cell(z + radius), maxZ);
+        if (x0 > x1 || y0 > y1 || z0 > z1) return 0;
+
+        int found = 0;
+        if (cells(x0, y0, z0, x1, y1, z1) > mask + 1) {
+            // The range covers more cells than there are buckets, so a scan of all points is cheaper.
+            for (int i = 0; i < size; i++) {
+                if (dst2(i, x, y, z) <= r2) {
+                    action.accept(order[i]);
+                    found++;
+                }
+            }
+            return found;
+        }
+
+        // The range holds every cell that may hold a point found, so each point is taken from its own cell.
+        for (int iz = z0; iz <= z1; iz++) {
+            for (int iy = y0; iy <= y1; iy++) {
+                for (int ix = x0; ix <= x1; ix++) {
+                    int b = hash(ix, iy, iz);
+                    for (int i = starts[b]; i < starts[b + 1]; i++) {
+                        if (dst2(i, x, y, z) <= r2 && inCell(i, ix, iy, iz)) {
+                            action.accept(order[i]);
+                            found++;
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the points nearest to the given point. See {@link #nearest(float, float, float, float, int[], float[])}.
+     *
+     * @param p         The point.
+     * @param maxRadius The distance beyond which points are ignored.
+     * @param indices   The array to write the original indices of the points to; its length is the number of
+     *                  points to find.
+     * @param dst2      The array to write the squared distances to, at least as long as <code>indices</code>.
+     * @return The number of points found.
+     */
+    public int nearest(Vector3f p, float maxRadius, int[] indices, float[] dst2) {
+        return nearest(p.x, p.y, p.z, maxRadius, indices, dst2);
+    }
+
+    /**
+     * Finds the points nearest to the given 2D point.
+     * See {@link #nearest(float, float, float, float, int[], float[])}.
+     *
+     * @param p         The point.
+     * @param maxRadius The distance beyond which points are ignored.
+     * @param indices   The array to write the original indices of the points to; its length is the number of
+     *                  points to find.
+     * @param dst2      The array to write the squared distances to, at least as long as <code>indices</code>.
+     * @return The number of points found.
+     */
+    public int nearest(Vector2f p, float maxRadius, int[] indices, float[] dst2) {
+        return nearest(p.x, p.y, 0.0f, maxRadius, indices, dst2);
+    }
+
+    /**
+     * Finds the <code>k</code> points nearest to the given point, where <code>k</code> is the length of the
+     * index array. The cells are searched in growing shells around the point until no unvisited cell can hold a
+     * nearer point; if the shells would cover more cells than there are buckets, e.g. for a sparse set of points
+     * and no distance limit, all points are scanned instead. The points are written sorted by distance, and of
+     * points at the same distance the ones with smaller indices come first. The arrays serve as the heap of the
+     * search, so no memory is allocated.
+     *
+     * @param x         The x coordinate of the point.
+     * @param y         The y coordinate of the point.
+     * @param z         The z coordinate of the point, ignored by a 2D grid.
+     * @param maxRadius The distance beyond which points are ignored, {@link Float#POSITIVE_INFINITY} for none.
+     * @param indices   The array to write the original indices of the points to.
+     * @param dst2      The array to write the squared distances to, at least as long as <code>indices</code>.
+     * @return The number of points found, less than <code>k</code> if fewer points are within the distance.
+     */
+    public int nearest(float x, float y, float z, float maxRadius, int[] indices, float[] dst2) {
+        int k = indices.length;
+        if (dst2.length < k) throw new IllegalArgumentException("Distance array shorter than index array.");
+        if (size == 0 || k == 0 || !(maxRadius >= 0.0f)) return 0;
+        if (planar) z = 0.0f;
+
+        float r2 = maxRadius * maxRadius;
+        int cx = cell(x);
+        int cy = cell(y);
+        int cz = cell(z);
+        // Beyond this ring every occupied cell or every cell within the radius has been visited.
+        long rings = Math.max(Math.max(
+                        Math.max((long) cx - minX, (long) maxX - cx),
+                        Math.max((long) cy - minY, (long) maxY - cy)),
+                Math.max((long) cz - minZ, (long) maxZ - cz));
+        rings = Math.min(rings, (long) Math.ceil((double) maxRadius * invCellSize));
+
+        int count = 0;
+        for (int ring = 0; ring <= rings; ring++) {
+            int z0 = (int) Math.max((long) cz - ring, minZ);
+            int z1 = (int) Math.min((long) cz + ring, maxZ);
+            int y0 = (int) Math.max((long) cy - ring, minY);
+            int y1 = (int) Math.min((long) cy + ring, maxY);
+            int x0 = (int) Math.max((long) cx - ring, minX);
+            int x1 = (int) Math.min((long) cx + ring, maxX);
+            if (cells(x0, y0, z0, x1, y1, z1) > mask + 1) {
+                // Start over with a scan of all points, which is cheaper than visiting the cells.
+                count = 0;
+                for (int i = 0; i < size; i++) {
+                    count = offer(i, x, y, z, r2, indices, dst2, count);
+                }
+                break;
+            }
+            for (int iz = z0; iz <= z1; iz++) {
+                boolean zShell = Math.abs((long) iz - cz) == ring;
+                for (int iy = y0; iy <= y1; iy++) {
+                    boolean shell = zShell || Math.abs((long) iy - cy) == ring;
+                    // Inside the shell only the first and last cells of a row are new.
+                    int step = shell || x1 <= x0 ? 1 : x1 - x0;
+                    for (int ix = x0; ix <= x1; ix += step) {
+                        if (!shell && Math.abs((long) ix - cx) != ring) continue;
+
+                        int b = hash(ix, iy, iz);
+                        for (int i = starts[b]; i < starts[b + 1]; i++) {
+                            if (inCell(i, ix, iy, iz)) count = offer(i, x, y, z, r2, indices, dst2, count);
+                        }
+                    }
+                }
+            }
+            // Unvisited points are more than ring cells away.
+            float covered = ring * cellSize;
+            if (count == k && dst2[0] <= covered * covered) break;
+        }
+
+        // Sort the heap in place.
+        for (int n = count - 1; n > 0; n--) {
+            swap(indices, dst2, 0, n);
+            siftDown(indices, dst2, 0, n);
+        }
+        return count;
+    }
+
+    private SpatialHashGrid build(float[] x, float[] y, float[] z, int count, ForkJoinPool pool) {
+        int tableSize = Integer.highestOneBit(Math.max(count, 1) * 2 - 1);
+        if (order.length < count) {
+            buckets = new int[count];
+            order = new int[count];
+            px = new float[count];
+            py = new float[count];
+            pz = new float[count];
+        }
+        if (starts.length != tableSize + 1) starts = new int[tableSize + 1];
+        size = count;
+        planar = z == null;
+        mask = tableSize - 1;
+
+        int chunks = pool == null || count < PARALLEL_THRESHOLD
+                ? 1
+                : Math.min(pool.getParallelism(), count / (PARALLEL_THRESHOLD / 2));
+        if (chunks <= 1) {
+            sortSequential(x, y, z, count);
+        } else {
+            sortParallel(x, y, z, count, chunks, pool);
+        }
+        return this;
+    }
+
+    private void sortSequential(float[] x, float[] y, float[] z, int count) {
+        int[] bounds = cellBounds(x, y, z, 0, count);
+        setCellBounds(bounds);
+        Arrays.fill(starts, 0);
+        for (int i = 0; i < count; i++) {
+            starts[buckets[i] + 1]++;
+        }
+        for (int b = 1; b < starts.length; b++) {
+            starts[b] += starts[b - 1];
+        }
+        // Scatter with starts[b] as the cursor of bucket b; it ends at the start of the next bucket.
+        for (int i = 0; i < count; i++) {
+            scatter(x, y, z, i, starts[buckets[i]]++);
+        }
+        System.arraycopy(starts, 0, starts, 1, starts.length - 1);
+        starts[0] = 0;
+    }
+
+    /**
+     * Sorts in two counting sorts, so that no pass costs any thread more than its share of the points and the
+     * buckets. First every chunk hashes its points and counts them per partition, the offsets of every chunk in
+     * every partition are summed up over ranges of partitions, and every chunk scatters the indices of its points
+     * to their partitions. Then the points of every range of partitions are sorted by bucket, which also fills
+     * the starts of the buckets of the range. Both sorts are stable and the chunks keep their order, so the
+     * result is that of the sequential sort.
+     */
+    private void sortParallel(float[] x, float[] y, float[] z, int count, int chunks, ForkJoinPool pool) {
+        int tableSize = mask + 1;
+        int parts = Math.min(PARTITIONS, tableSize);
+        int shift = Integer.numberOfTrailingZeros(tableSize / parts);
+        if (chunkCounts.length != chunks) chunkCounts = new int[chunks][PARTITIONS];
+        if (partitioned.length < count) partitioned = new int[order.length];
+        int[][] counts = chunkCounts;
+        int[] sorted = partitioned;
+        int[][] bounds = new int[chunks][];
+        pool.invoke(new ChunkAction(c -> {
+            int from = chunkStart(c, chunks, count);
+            int to = chunkStart(c + 1, chunks, count);
+            bounds[c] = cellBounds(x, y, z, from, to);
+            int[] partCounts = counts[c];
+            Arrays.fill(partCounts, 0);
+            for (int i = from; i < to; i++) {
+                partCounts[buckets[i] >>> shift]++;
+            }
+        }, 0, chunks));
+
+        for (int c = 1; c < chunks; c++) {
+            for (int a = 0; a < 3; a++) {
+                bounds[0][a] = Math.min(bounds[0][a], bounds[c][a]);
+                bounds[0][a + 3] = Math.max(bounds[0][a + 3], bounds[c][a + 3]);
+            }
+        }
+        setCellBounds(bounds[0]);
+
+        // The points of range r of partitions are at [rangeStarts[r], rangeStarts[r + 1]).
+        int[] rangeStarts = new int[chunks + 1];
+        pool.invoke(new ChunkAction(r -> {
+            int total = 0;
+            for (int p = chunkStart(r, chunks, parts); p < chunkStart(r + 1, chunks, parts); p++) {
+                for (int c = 0; c < chunks; c++) {
+                    total += counts[c][p];
+                }
+            }
+            rangeStarts[r + 1] = total;
+        }, 0, chunks));
+        for (int r = 0; r < chunks; r++) {
+            rangeStarts[r + 1] += rangeStarts[r];
+        }
+        pool.invoke(new ChunkAction(r -> {
+            int offset = rangeStarts[r];
+            for (int p = chunkStart(r, chunks, parts); p < chunkStart(r + 1, chunks, parts); p++) {
+                for (int c = 0; c < chunks; c++) {
+                    int n = counts[c][p];
+                    counts[c][p] = offset;
+                    offset += n;
+                }
+            }
+        }, 0, chunks));
+
+        pool.invoke(new ChunkAction(c -> {
+            int[] cursors = counts[c];
+            for (int i = chunkStart(c, chunks, count); i < chunkStart(c + 1, chunks, count); i++) {
+                sorted[cursors[buckets[i] >>> shift]++] = i;
+            }
+        }, 0, chunks));
+
+        pool.invoke(new ChunkAction(r -> {
+            int lo = chunkStart(r, chunks, parts) << shift;
+            int hi = chunkStart(r + 1, chunks, parts) << shift;
+            int from = rangeStarts[r];
+            int to = rangeStarts[r + 1];
+            if (lo == hi) return;
+
+            // The sequential sort restricted to the buckets [lo, hi), which hold exactly the points [from, to).
+            Arrays.fill(starts, lo, hi, 0);
+            for (int k = from; k < to; k++) {
+                starts[buckets[sorted[k]]]++;
+            }
+            int offset = from;
+            for (int b = lo; b < hi; b++) {
+                int n = starts[b];
+                starts[b] = offset;
+                offset += n;
+            }
+            for (int k = from; k < to; k++) {
+                int i = sorted[k];
+                scatter(x, y, z, i, starts[buckets[i]]++);
+            }
+            System.arraycopy(starts, lo, starts, lo + 1, hi - lo - 1);
+            starts[lo] = from;
+        }, 0, chunks));
+        starts[tableSize] = count;
+    }
+
+    private static int chunkStart(int chunk, int chunks, int count) {
+        return (int) ((long) count * chunk / chunks);
+    }
+
+    // Stores the buckets of the points in the range and returns the range of their cell coordinates.
+    private int[] cellBounds(float[] x, float[] y, float[] z, int from, int to) {
+        int[] b = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+        for (int i = from; i < to; i++) {
+            int ix = cell(x[i]);
+            int iy = cell(y[i]);
+            int iz = z == null ? 0 : cell(z[i]);
+            buckets[i] = hash(ix, iy, iz);
+            b[0] = Math.min(b[0], ix);
+            b[1] = Math.min(b[1], iy);
+            b[2] = Math.min(b[2], iz);
+            b[3] = Math.max(b[3], ix);
+            b[4] = Math.max(b[4], iy);
+            b[5] = Math.max(b[5], iz);
+        }
+        return b;
+    }
+
+    private void setCellBounds(int[] b) {
+        minX = b[0];
+        minY = b[1];
+        minZ = b[2];
+        maxX = b[3];
+        maxY = b[4];
+        maxZ = b[5];
+    }
+
+    private void scatter(float[] x, float[] y, float[] z, int i, int pos) {
+        order[pos] = i;
+        px[pos] = x[i];
+        py[pos] = y[i];
+        pz[pos] = z == null ? 0.0f : z[i];
+    }
+
+    private int cell(float v) {
+        return (int) Math.floor(v * invCellSize);
+    }
+
+    private int hash(int ix, int iy, int iz) {
+        int h = ix * 73856093 ^ iy * 19349663 ^ iz * 83492791;
+        return (h ^ h >>> 16) & mask;
+    }
+
+    private float dst2(int i, float x, float y, float z) {
+        float a = px[i] - x;
+        float b = py[i] - y;
+        float c = pz[i] - z;
+        return a * a + b * b + c * c;
+    }
+
+    private boolean inCell(int i, int ix, int iy, int iz) {
+        return cell(px[i]) == ix && cell(py[i]) == iy && cell(pz[i]) == iz;
+    }
+
+    // The number of cells in the range, which may exceed the range of int.
+    private static long cells(int x0, int y0, int z0, int x1, int y1, int z1) {
+        return ((long) x1 - x0 + 1) * ((long) y1 - y0 + 1) * ((long) z1 - z0 + 1);
+    }
+
+    /**
+     * Offers the point to the max-heap of the nearest points found so far, ordered by distance and then index.
+     *
+     * @return The new size of the heap.
+     */
+    private int offer(int i, float x, float y, float z, float r2, int[] indices, float[] dst2, int count) {
+        float d2 = dst2(i, x, y, z);
+        if (!(d2 <= r2)) return count;
+
+        int index = order[i];
+        int k = indices.length;
+        if (count == k && !less(d2, index, dst2[0], indices[0])) return count;
+
+        if (count < k) {
+            // Sift the new point up from the end.
+            int j = count++;
+            while (j > 0) {
+                int parent = (j - 1) >>> 1;
+                if (!less(dst2[parent], indices[parent], d2, index)) break;
+
+                indices[j] = indices[parent];
+                dst2[j] = dst2[parent];
+                j = parent;
+            }
+            indices[j] = index;
+            dst2[j] = d2;
+        } else {
+            indices[0] = index;
+            dst2[0] = d2;
+            siftDown(indices, dst2, 0, count);
+        }
+        return count;
+    }
+
+    private static boolean less(float d2, int index, float otherD2, int otherIndex) {
+        return d2 < otherD2 || d2 == otherD2 && index < otherIndex;
+    }
+
+    private static void siftDown(int[] indices, float[] dst2, int j, int count) {
+        while (true) {
+            int largest = j;
+            int l = 2 * j + 1;
+            int r = l + 1;
+            if (l < count && less(dst2[largest], indices[largest], dst2[l], indices[l])) largest = l;
+            if (r < count && less(dst2[largest], indices[largest], dst2[r], indices[r])) largest = r;
+            if (largest == j) return;
+
+            swap(indices, dst2, j, largest);
+            j = largest;
+        }
+    }
+
+    private static void swap(int[] indices, float[] dst2, int i, int j) {
+        int index = indices[i];
+        indices[i] = indices[j];
+        indices[j] = index;
+        float d2 = dst2[i];
+        dst2[i] = dst2[j];
+        dst2[j] = d2;
+    }
+
+    @FunctionalInterface
+    private interface ChunkKernel {
+        void apply(int chunk);
+    }
+
+    private static final class ChunkAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ChunkKernel kernel;
+        private final int from;
+        private final int to;
+
+        ChunkAction(ChunkKernel kernel, int from, int to) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                kernel.apply(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkAction(kernel, from, mid), new ChunkAction(kernel, mid, to));
+        }
+    }
+}
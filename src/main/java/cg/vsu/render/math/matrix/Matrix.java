@@ -57,6 +57,21 @@ public interface Matrix<T extends Matrix<T>> {
      */
     T tra();
 
+    /**
+     * Writes the transpose of this matrix to the destination matrix. This matrix is left unchanged
+     * unless it is the destination.
+     *
+     * <p>
+     * The default implementation copies this matrix into the destination and transposes it there.
+     *
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     */
+    @SuppressWarnings("unchecked")
+    default T tra(T dest) {
+        return dest.set((T) this).tra();
+    }
+
     /**
      * @return The determinant of this matrix.
      */
@@ -70,6 +85,23 @@ public interface Matrix<T extends Matrix<T>> {
      */
     T inv();
 
+    /**
+     * Writes the inverse of this matrix to the destination matrix. This matrix is left unchanged
+     * unless it is the destination.
+     *
+     * <p>
+     * The default implementation copies this matrix into the destination and inverts it there, so a degenerate
+     * matrix leaves its copy in the destination.
+     *
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     * @throws ArithmeticException if the matrix is degenerate (det(this) == 0).
+     */
+    @SuppressWarnings("unchecked")
+    default T inv(T dest) {
+        return dest.set((T) this).inv();
+    }
+
     /**
      * Adds the given matrix to this matrix.
      *
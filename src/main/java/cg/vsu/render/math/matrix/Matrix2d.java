@@ -0,0 +1,378 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.vector.Vector2d;
+
+import java.util.Arrays;
+
+/**
+ * A mutable column-major 2x2 square matrix of doubles.
+ */
+public class Matrix2d implements Matrixd<Matrix2d> {
+    // Indices for the matrix values.
+    public static final int M11 = 0;
+    public static final int M12 = 2;
+    public static final int M21 = 1;
+    public static final int M22 = 3;
+    public static final int LEN = 4;
+
+    /**
+     * The one-dimensional column-major array of scalars stored in this matrix.
+     */
+    public double[] val = new double[LEN];
+
+    /**
+     * Creates a new identity matrix.
+     *
+     * @return The identity matrix.
+     */
+    public static Matrix2d identity() {
+        return new Matrix2d();
+    }
+
+    /**
+     * Creates a new zero matrix.
+     *
+     * @return The zero matrix.
+     */
+    public static Matrix2d zero() {
+        return new Matrix2d().setZero();
+    }
+
+    /**
+     * Constructs an identity matrix.
+     */
+    public Matrix2d() {
+        setIdentity();
+    }
+
+    /**
+     * Constructs a matrix from the given array of doubles. The values are expected to be in column-major order.
+     * The array must have at least 4 values.
+     *
+     * @param values The array of doubles.
+     * @throws ArrayIndexOutOfBoundsException if there are not enough values in the array.
+     */
+    public Matrix2d(double[] values) {
+        System.arraycopy(values, 0, this.val, 0, LEN);
+    }
+
+    @SuppressWarnings("CopyConstructorMissesField")
+    public Matrix2d(Matrix2d m) {
+        set(m);
+    }
+
+    /**
+     * Constructs a column-major matrix from the given vectors.
+     *
+     * @param i The vector in the first column.
+     * @param j The vector in the second column.
+     */
+    public Matrix2d(Vector2d i, Vector2d j) {
+        set(i, j);
+    }
+
+    @Override
+    public Matrix2d cpy() {
+        return new Matrix2d(this);
+    }
+
+    @Override
+    public Matrix2d setZero() {
+        for (int i = 0; i < LEN; i++) val[i] = 0.0;
+        return this;
+    }
+
+    @Override
+    public Matrix2d setIdentity() {
+        val[M11] = 1.0;
+        val[M12] = 0.0;
+        val[M21] = 0.0;
+        val[M22] = 1.0;
+        return this;
+    }
+
+    @Override
+    public Matrix2d set(double[] values) {
+        System.arraycopy(values, 0, this.val, 0, LEN);
+        return this;
+    }
+
+    @Override
+    public Matrix2d set(Matrix2d m) {
+        System.arraycopy(m.val, 0, this.val, 0, LEN);
+        return this;
+    }
+
+    /**
+     * Sets this matrix to the values of the given float matrix.
+     *
+     * @param m The float matrix.
+     * @return This matrix for chaining.
+     */
+    public Matrix2d set(Matrix2f m) {
+        MathUtils.toDouble(m.val, 0, val, 0, LEN);
+        return this;
+    }
+
+    /**
+     * Writes the values of this matrix rounded to float precision into the given matrix.
+     *
+     * @param out The matrix to write to.
+     * @return The provided matrix.
+     */
+    public Matrix2f get(Matrix2f out) {
+        MathUtils.toFloat(val, 0, out.val, 0, LEN);
+        return out;
+    }
+
+    /**
+     * Sets this matrix from the given vectors.
+     *
+     * @param i The vector in the first column.
+     * @param j The vector in the second column.
+     * @return This matrix for chaining.
+     */
+    public Matrix2d set(Vector2d i, Vector2d j) {
+        val[M11] = i.x;
+        val[M21] = i.y;
+        val[M12] = j.x;
+        val[M22] = j.y;
+        return this;
+    }
+
+    @Override
+    public Matrix2d fill(double scalar) {
+        for (int i = 0; i < LEN; i++) val[i] = scalar;
+        return this;
+    }
+
+    @Override
+    public Matrix2d tra() {
+        double m12 = val[M12];
+        val[M12] = val[M21];
+        val[M21] = m12;
+        return this;
+    }
+
+    @Override
+    public double det() {
+        return det(val, 0);
+    }
+
+    @Override
+    public Matrix2d inv() {
+        inv(val, 0, val, 0);
+        return this;
+    }
+
+    @Override
+    public Matrix2d tra(Matrix2d dest) {
+        tra(val, 0, dest.val, 0);
+        return dest;
+    }
+
+    @Override
+    public Matrix2d inv(Matrix2d dest) {
+        inv(val, 0, dest.val, 0);
+        return dest;
+    }
+
+    /**
+     * Multiplies the two given matrices and stores the result in the destination matrix:
+     * <pre>dest <- ab</pre>
+     * The destination may be the same object as either of the operands.
+     *
+     * @param a    The left matrix.
+     * @param b    The right matrix.
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     */
+    public static Matrix2d mul(Matrix2d a, Matrix2d b, Matrix2d dest) {
+        mul(a.val, 0, b.val, 0, dest.val, 0);
+        return dest;
+    }
+
+    /**
+     * Multiplies two column-major matrices stored in arrays at the given offsets:
+     * <pre>out <- ab</pre>
+     * The result may be written over either of the operands.
+     *
+     * @param a      The array containing the left matrix.
+     * @param aOff   The offset of the left matrix.
+     * @param b      The array containing the right matrix.
+     * @param bOff   The offset of the right matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void mul(double[] a, int aOff, double[] b, int bOff, double[] out, int outOff) {
+        double a11 = a[aOff + M11];
+        double a21 = a[aOff + M21];
+        double a12 = a[aOff + M12];
+        double a22 = a[aOff + M22];
+        double b11 = b[bOff + M11];
+        double b21 = b[bOff + M21];
+        double b12 = b[bOff + M12];
+        double b22 = b[bOff + M22];
+
+        double m11 = a11 * b11 + a12 * b21;
+        double m12 = a11 * b12 + a12 * b22;
+        double m21 = a21 * b11 + a22 * b21;
+        double m22 = a21 * b12 + a22 * b22;
+
+        out[outOff + M11] = m11;
+        out[outOff + M12] = m12;
+        out[outOff + M21] = m21;
+        out[outOff + M22] = m22;
+    }
+
+    /**
+     * Transposes a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void tra(double[] m, int mOff, double[] out, int outOff) {
+        double m11 = m[mOff + M11];
+        double m21 = m[mOff + M21];
+        double m12 = m[mOff + M12];
+        double m22 = m[mOff + M22];
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m12;
+        out[outOff + M12] = m21;
+        out[outOff + M22] = m22;
+    }
+
+    /**
+     * @param m    The array containing the column-major matrix.
+     * @param mOff The offset of the matrix.
+     * @return The determinant of the matrix.
+     */
+    public static double det(double[] m, int mOff) {
+        double a11 = m[mOff + M11];
+        double a21 = m[mOff + M21];
+        double a12 = m[mOff + M12];
+        double a22 = m[mOff + M22];
+        return a11 * a22 - a12 * a21;
+    }
+
+    /**
+     * Inverts a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     */
+    public static void inv(double[] m, int mOff, double[] out, int outOff) {
+        double det = det(m, mOff);
+        if (det == 0.0) throw new ArithmeticException("Degenerate matrix.");
+
+        double a11 = m[mOff + M11];
+        double a21 = m[mOff + M21];
+        double a12 = m[mOff + M12];
+        double a22 = m[mOff + M22];
+
+        // Build the adjoint matrix.
+        double m11 = a22;
+        double m21 = -a21;
+        double m12 = -a12;
+        double m22 = a11;
+        double invDet = 1.0 / det;
+
+        out[outOff + M11] = m11 * invDet;
+        out[outOff + M21] = m21 * invDet;
+        out[outOff + M12] = m12 * invDet;
+        out[outOff + M22] = m22 * invDet;
+    }
+
+    @Override
+    public Matrix2d add(Matrix2d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] += m.val[i];
+        return this;
+    }
+
+    @Override
+    public Matrix2d sub(Matrix2d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] -= m.val[i];
+        return this;
+    }
+
+    @Override
+    public Matrix2d mul(double scalar) {
+        for (int i = 0; i < LEN; i++) this.val[i] *= scalar;
+        return this;
+    }
+
+    @Override
+    public Matrix2d div(double scalar) {
+        for (int i = 0; i < LEN; i++) this.val[i] /= scalar;
+        return this;
+    }
+
+    @Override
+    public Matrix2d mul(Matrix2d m) {
+        mul(val, 0, m.val, 0, val, 0);
+        return this;
+    }
+
+    @Override
+    public Matrix2d comMul(Matrix2d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] *= m.val[i];
+        return this;
+    }
+
+    @Override
+    public Matrix2d comDiv(Matrix2d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] /= m.val[i];
+        return this;
+    }
+
+    /**
+     * Multiplies this matrix by the given 2D column vector.
+     *
+     * @param v The given vector.
+     * @return The changed given vector.
+     */
+    public Vector2d mul(Vector2d v) {
+        double x = v.x;
+        double y = v.y;
+        v.x = val[M11] * x + val[M12] * y;
+        v.y = val[M21] * x + val[M22] * y;
+        return v;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Matrix2d m = (Matrix2d) o;
+        return Arrays.equals(val, m.val);
+    }
+
+    /**
+     * Checks if the given matrices are nearly equal using the provided epsilon value.
+     *
+     * @param epsilon The epsilon value.
+     * @return Whether the two matrices are nearly equal.
+     */
+    public boolean epsEquals(Matrix2d m, double epsilon) {
+        if (this == m) return true;
+        if (m == null) return false;
+        for (int i = 0; i < LEN; i++) {
+            if (Math.abs(val[i] - m.val[i]) > epsilon) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(val);
+    }
+}
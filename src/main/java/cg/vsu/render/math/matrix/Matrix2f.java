@@ -134,26 +134,139 @@ public class Matrix2f implements Matrix<Matrix2f> {
 
     @Override
     public float det() {
-        return val[M11] * val[M22] - val[M12] * val[M21];
+        return det(val, 0);
     }
 
     @Override
     public Matrix2f inv() {
-        float det = det();
+        inv(val, 0, val, 0);
+        return this;
+    }
+
+    @Override
+    public Matrix2f tra(Matrix2f dest) {
+        tra(val, 0, dest.val, 0);
+        return dest;
+    }
+
+    @Override
+    public Matrix2f inv(Matrix2f dest) {
+        inv(val, 0, dest.val, 0);
+        return dest;
+    }
+
+    /**
+     * Multiplies the two given matrices and stores the result in the destination matrix:
+     * <pre>dest <- ab</pre>
+     * The destination may be the same object as either of the operands.
+     *
+     * @param a    The left matrix.
+     * @param b    The right matrix.
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     */
+    public static Matrix2f mul(Matrix2f a, Matrix2f b, Matrix2f dest) {
+        mul(a.val, 0, b.val, 0, dest.val, 0);
+        return dest;
+    }
+
+    /**
+     * Multiplies two column-major matrices stored in arrays at the given offsets:
+     * <pre>out <- ab</pre>
+     * The result may be written over either of the operands.
+     *
+     * @param a      The array containing the left matrix.
+     * @param aOff   The offset of the left matrix.
+     * @param b      The array containing the right matrix.
+     * @param bOff   The offset of the right matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void mul(float[] a, int aOff, float[] b, int bOff, float[] out, int outOff) {
+        float a11 = a[aOff + M11];
+        float a21 = a[aOff + M21];
+        float a12 = a[aOff + M12];
+        float a22 = a[aOff + M22];
+        float b11 = b[bOff + M11];
+        float b21 = b[bOff + M21];
+        float b12 = b[bOff + M12];
+        float b22 = b[bOff + M22];
+
+        float m11 = a11 * b11 + a12 * b21;
+        float m12 = a11 * b12 + a12 * b22;
+        float m21 = a21 * b11 + a22 * b21;
+        float m22 = a21 * b12 + a22 * b22;
+
+        out[outOff + M11] = m11;
+        out[outOff + M12] = m12;
+        out[outOff + M21] = m21;
+        out[outOff + M22] = m22;
+    }
+
+    /**
+     * Transposes a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void tra(float[] m, int mOff, float[] out, int outOff) {
+        float m11 = m[mOff + M11];
+        float m21 = m[mOff + M21];
+        float m12 = m[mOff + M12];
+        float m22 = m[mOff + M22];
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m12;
+        out[outOff + M12] = m21;
+        out[outOff + M22] = m22;
+    }
+
+    /**
+     * @param m    The array containing the column-major matrix.
+     * @param mOff The offset of the matrix.
+     * @return The determinant of the matrix.
+     */
+    public static float det(float[] m, int mOff) {
+        float a11 = m[mOff + M11];
+        float a21 = m[mOff + M21];
+        float a12 = m[mOff + M12];
+        float a22 = m[mOff + M22];
+        return a11 * a22 - a12 * a21;
+    }
+
+    /**
+     * Inverts a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     */
+    public static void inv(float[] m, int mOff, float[] out, int outOff) {
+        float det = det(m, mOff);
         if (det == 0.0f) throw new ArithmeticException("Degenerate matrix.");
 
+        float a11 = m[mOff + M11];
+        float a21 = m[mOff + M21];
+        float a12 = m[mOff + M12];
+        float a22 = m[mOff + M22];
+
         // Build the adjoint matrix.
-        float m11 = val[M22];
-        float m21 = -val[M21];
-        float m12 = -val[M12];
-        float m22 = val[M11];
+        float m11 = a22;
+        float m21 = -a21;
+        float m12 = -a12;
+        float m22 = a11;
         float invDet = 1.0f / det;
 
-        val[M11] = m11 * invDet;
-        val[M21] = m21 * invDet;
-        val[M12] = m12 * invDet;
-        val[M22] = m22 * invDet;
-        return this;
+        out[outOff + M11] = m11 * invDet;
+        out[outOff + M21] = m21 * invDet;
+        out[outOff + M12] = m12 * invDet;
+        out[outOff + M22] = m22 * invDet;
     }
 
     @Override
@@ -182,15 +295,7 @@ public class Matrix2f implements Matrix<Matrix2f> {
 
     @Override
     public Matrix2f mul(Matrix2f m) {
-        float m11 = val[M11] * m.val[M11] + val[M12] * m.val[M21];
-        float m12 = val[M11] * m.val[M12] + val[M12] * m.val[M22];
-        float m21 = val[M21] * m.val[M11] + val[M22] * m.val[M21];
-        float m22 = val[M21] * m.val[M12] + val[M22] * m.val[M22];
-
-        val[M11] = m11;
-        val[M12] = m12;
-        val[M21] = m21;
-        val[M22] = m22;
+        mul(val, 0, m.val, 0, val, 0);
         return this;
     }
 
@@ -0,0 +1,599 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.Quaternionf;
+import cg.vsu.render.math.vector.Vector3d;
+
+import java.util.Arrays;
+
+/**
+ * A mutable column-major 3x3 square matrix of doubles.
+ */
+public class Matrix3d implements Matrixd<Matrix3d> {
+    // Indices for the matrix values.
+    public static final int M11 = 0;
+    public static final int M12 = 3;
+    public static final int M13 = 6;
+    public static final int M21 = 1;
+    public static final int M22 = 4;
+    public static final int M23 = 7;
+    public static final int M31 = 2;
+    public static final int M32 = 5;
+    public static final int M33 = 8;
+    public static final int LEN = 9;
+
+    /**
+     * The one-dimensional column-major array of scalars stored in this matrix.
+     */
+    public double[] val = new double[LEN];
+
+    /**
+     * Creates a new identity matrix.
+     *
+     * @return The identity matrix.
+     */
+    public static Matrix3d identity() {
+        return new Matrix3d();
+    }
+
+    /**
+     * Creates a new zero matrix.
+     *
+     * @return The zero matrix.
+     */
+    public static Matrix3d zero() {
+        return new Matrix3d().setZero();
+    }
+
+    /**
+     * Constructs an identity matrix.
+     */
+    public Matrix3d() {
+        setIdentity();
+    }
+
+    /**
+     * Constructs a matrix from the given array of doubles. The values are expected to be in column-major order.
+     * The array must have at least 9 values.
+     *
+     * @param values The array of doubles.
+     * @throws ArrayIndexOutOfBoundsException if there are not enough values in the array.
+     */
+    public Matrix3d(double[] values) {
+        System.arraycopy(values, 0, this.val, 0, LEN);
+    }
+
+    @SuppressWarnings("CopyConstructorMissesField")
+    public Matrix3d(Matrix3d m) {
+        set(m);
+    }
+
+    /**
+     * Constructs a column-major matrix from the given vectors.
+     *
+     * @param i The vector in the first column.
+     * @param j The vector in the second column.
+     * @param k The vector in the third column.
+     */
+    public Matrix3d(Vector3d i, Vector3d j, Vector3d k) {
+        set(i, j, k);
+    }
+
+    @Override
+    public Matrix3d cpy() {
+        return new Matrix3d(this);
+    }
+
+    @Override
+    public Matrix3d setZero() {
+        for (int i = 0; i < LEN; i++) val[i] = 0.0;
+        return this;
+    }
+
+    @Override
+    public Matrix3d setIdentity() {
+        val[M11] = 1.0;
+        val[M12] = 0.0;
+        val[M13] = 0.0;
+        val[M21] = 0.0;
+        val[M22] = 1.0;
+        val[M23] = 0.0;
+        val[M31] = 0.0;
+        val[M32] = 0.0;
+        val[M33] = 1.0;
+        return this;
+    }
+
+    @Override
+    public Matrix3d set(double[] values) {
+        System.arraycopy(values, 0, this.val, 0, LEN);
+        return this;
+    }
+
+    @Override
+    public Matrix3d set(Matrix3d m) {
+        System.arraycopy(m.val, 0, this.val, 0, LEN);
+        return this;
+    }
+
+    /**
+     * Sets this matrix to the values of the given float matrix.
+     *
+     * @param m The float matrix.
+     * @return This matrix for chaining.
+     */
+    public Matrix3d set(Matrix3f m) {
+        MathUtils.toDouble(m.val, 0, val, 0, LEN);
+        return this;
+    }
+
+    /**
+     * Writes the values of this matrix rounded to float precision into the given matrix.
+     *
+     * @param out The matrix to write to.
+     * @return The provided matrix.
+     */
+    public Matrix3f get(Matrix3f out) {
+        MathUtils.toFloat(val, 0, out.val, 0, LEN);
+        return out;
+    }
+
+    /**
+     * Sets this matrix to the rotation represented by the given unit quaternion.
+     *
+     * @param q The unit quaternion.
+     * @return This matrix for chaining.
+     */
+    public Matrix3d set(Quaternionf q) {
+        double x = q.x;
+        double y = q.y;
+        double z = q.z;
+        double w = q.w;
+        double xx = x * x;
+        double yy = y * y;
+        double zz = z * z;
+        double xy = x * y;
+        double xz = x * z;
+        double yz = y * z;
+        double wx = w * x;
+        double wy = w * y;
+        double wz = w * z;
+
+        val[M11] = 1.0 - 2.0 * (yy + zz);
+        val[M21] = 2.0 * (xy + wz);
+        val[M31] = 2.0 * (xz - wy);
+        val[M12] = 2.0 * (xy - wz);
+        val[M22] = 1.0 - 2.0 * (xx + zz);
+        val[M32] = 2.0 * (yz + wx);
+        val[M13] = 2.0 * (xz + wy);
+        val[M23] = 2.0 * (yz - wx);
+        val[M33] = 1.0 - 2.0 * (xx + yy);
+        return this;
+    }
+
+    /**
+     * Sets this matrix from the given vectors.
+     *
+     * @param i The vector in the first column.
+     * @param j The vector in the second column.
+     * @param k The vector in the third column.
+     * @return This matrix for chaining.
+     */
+    public Matrix3d set(Vector3d i, Vector3d j, Vector3d k) {
+        val[M11] = i.x;
+        val[M21] = i.y;
+        val[M31] = i.z;
+        val[M12] = j.x;
+        val[M22] = j.y;
+        val[M32] = j.z;
+        val[M13] = k.x;
+        val[M23] = k.y;
+        val[M33] = k.z;
+        return this;
+    }
+
+    @Override
+    public Matrix3d fill(double scalar) {
+        for (int i = 0; i < LEN; i++) val[i] = scalar;
+        return this;
+    }
+
+    @Override
+    public Matrix3d tra() {
+        double m12 = val[M12];
+        double m13 = val[M13];
+        double m23 = val[M23];
+
+        val[M12] = val[M21];
+        val[M13] = val[M31];
+        val[M21] = m12;
+        val[M23] = val[M32];
+        val[M31] = m13;
+        val[M32] = m23;
+        return this;
+    }
+
+    @Override
+    public double det() {
+        return det(val, 0);
+    }
+
+    @Override
+    public Matrix3d inv() {
+        inv(val, 0, val, 0);
+        return this;
+    }
+
+    @Override
+    public Matrix3d tra(Matrix3d dest) {
+        tra(val, 0, dest.val, 0);
+        return dest;
+    }
+
+    @Override
+    public Matrix3d inv(Matrix3d dest) {
+        inv(val, 0, dest.val, 0);
+        return dest;
+    }
+
+    /**
+     * Multiplies the two given matrices and stores the result in the destination matrix:
+     * <pre>dest <- ab</pre>
+     * The destination may be the same object as either of the operands.
+     *
+     * @param a    The left matrix.
+     * @param b    The right matrix.
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     */
+    public static Matrix3d mul(Matrix3d a, Matrix3d b, Matrix3d dest) {
+        mul(a.val, 0, b.val, 0, dest.val, 0);
+        return dest;
+    }
+
+    /**
+     * Multiplies two column-major matrices stored in arrays at the given offsets:
+     * <pre>out <- ab</pre>
+     * The result may be written over either of the operands.
+     *
+     * @param a      The array containing the left matrix.
+     * @param aOff   The offset of the left matrix.
+     * @param b      The array containing the right matrix.
+     * @param bOff   The offset of the right matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void mul(double[] a, int aOff, double[] b, int bOff, double[] out, int outOff) {
+        double a11 = a[aOff + M11];
+        double a21 = a[aOff + M21];
+        double a31 = a[aOff + M31];
+        double a12 = a[aOff + M12];
+        double a22 = a[aOff + M22];
+        double a32 = a[aOff + M32];
+        double a13 = a[aOff + M13];
+        double a23 = a[aOff + M23];
+        double a33 = a[aOff + M33];
+        double b11 = b[bOff + M11];
+        double b21 = b[bOff + M21];
+        double b31 = b[bOff + M31];
+        double b12 = b[bOff + M12];
+        double b22 = b[bOff + M22];
+        double b32 = b[bOff + M32];
+        double b13 = b[bOff + M13];
+        double b23 = b[bOff + M23];
+        double b33 = b[bOff + M33];
+
+        double m11 = a11 * b11 + a12 * b21 + a13 * b31;
+        double m12 = a11 * b12 + a12 * b22 + a13 * b32;
+        double m13 = a11 * b13 + a12 * b23 + a13 * b33;
+        double m21 = a21 * b11 + a22 * b21 + a23 * b31;
+        double m22 = a21 * b12 + a22 * b22 + a23 * b32;
+        double m23 = a21 * b13 + a22 * b23 + a23 * b33;
+        double m31 = a31 * b11 + a32 * b21 + a33 * b31;
+        double m32 = a31 * b12 + a32 * b22 + a33 * b32;
+        double m33 = a31 * b13 + a32 * b23 + a33 * b33;
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m21;
+        out[outOff + M31] = m31;
+        out[outOff + M12] = m12;
+        out[outOff + M22] = m22;
+        out[outOff + M32] = m32;
+        out[outOff + M13] = m13;
+        out[outOff + M23] = m23;
+        out[outOff + M33] = m33;
+    }
+
+    /**
+     * Transposes a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void tra(double[] m, int mOff, double[] out, int outOff) {
+        double m11 = m[mOff + M11];
+        double m21 = m[mOff + M21];
+        double m31 = m[mOff + M31];
+        double m12 = m[mOff + M12];
+        double m22 = m[mOff + M22];
+        double m32 = m[mOff + M32];
+        double m13 = m[mOff + M13];
+        double m23 = m[mOff + M23];
+        double m33 = m[mOff + M33];
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m12;
+        out[outOff + M31] = m13;
+        out[outOff + M12] = m21;
+        out[outOff + M22] = m22;
+        out[outOff + M32] = m23;
+        out[outOff + M13] = m31;
+        out[outOff + M23] = m32;
+        out[outOff + M33] = m33;
+    }
+
+    /**
+     * @param m    The array containing the column-major matrix.
+     * @param mOff The offset of the matrix.
+     * @return The determinant of the matrix.
+     */
+    public static double det(double[] m, int mOff) {
+        double a11 = m[mOff + M11];
+        double a21 = m[mOff + M21];
+        double a31 = m[mOff + M31];
+        double a12 = m[mOff + M12];
+        double a22 = m[mOff + M22];
+        double a32 = m[mOff + M32];
+        double a13 = m[mOff + M13];
+        double a23 = m[mOff + M23];
+        double a33 = m[mOff + M33];
+        return a11 * a22 * a33 + a12 * a23 * a31 + a13 * a21 * a32
+                - a11 * a23 * a32 - a12 * a21 * a33 - a13 * a22 * a31;
+    }
+
+    /**
+     * Inverts a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     */
+    public static void inv(double[] m, int mOff, double[] out, int outOff) {
+        double det = det(m, mOff);
+        if (det == 0.0) throw new ArithmeticException("Degenerate matrix.");
+
+        double a11 = m[mOff + M11];
+        double a21 = m[mOff + M21];
+        double a31 = m[mOff + M31];
+        double a12 = m[mOff + M12];
+        double a22 = m[mOff + M22];
+        double a32 = m[mOff + M32];
+        double a13 = m[mOff + M13];
+        double a23 = m[mOff + M23];
+        double a33 = m[mOff + M33];
+
+        // Build the adjoint matrix.
+        double m11 = a22 * a33 - a32 * a23;
+        double m21 = a31 * a23 - a21 * a33;
+        double m31 = a21 * a32 - a31 * a22;
+        double m12 = a32 * a13 - a12 * a33;
+        double m22 = a11 * a33 - a31 * a13;
+        double m32 = a31 * a12 - a11 * a32;
+        double m13 = a12 * a23 - a22 * a13;
+        double m23 = a21 * a13 - a11 * a23;
+        double m33 = a11 * a22 - a21 * a12;
+        double invDet = 1.0 / det;
+
+        out[outOff + M11] = m11 * invDet;
+        out[outOff + M21] = m21 * invDet;
+        out[outOff + M31] = m31 * invDet;
+        out[outOff + M12] = m12 * invDet;
+        out[outOff + M22] = m22 * invDet;
+        out[outOff + M32] = m32 * invDet;
+        out[outOff + M13] = m13 * invDet;
+        out[outOff + M23] = m23 * invDet;
+        out[outOff + M33] = m33 * invDet;
+    }
+
+    @Override
+    public Matrix3d add(Matrix3d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] += m.val[i];
+        return this;
+    }
+
+    @Override
+    public Matrix3d sub(Matrix3d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] -= m.val[i];
+        return this;
+    }
+
+    @Override
+    public Matrix3d mul(double scalar) {
+        for (int i = 0; i < LEN; i++) this.val[i] *= scalar;
+        return this;
+    }
+
+    @Override
+    public Matrix3d div(double scalar) {
+        for (int i = 0; i < LEN; i++) this.val[i] /= scalar;
+        return this;
+    }
+
+    @Override
+    public Matrix3d mul(Matrix3d m) {
+        mul(val, 0, m.val, 0, val, 0);
+        return this;
+    }
+
+    @Override
+    public Matrix3d comMul(Matrix3d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] *= m.val[i];
+        return this;
+    }
+
+    @Override
+    public Matrix3d comDiv(Matrix3d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] /= m.val[i];
+        return this;
+    }
+
+    /**
+     * Multiplies this matrix by the given 3D column vector.
+     *
+     * @param v The given vector.
+     * @return The changed given vector.
+     */
+    public Vector3d mul(Vector3d v) {
+        double x = v.x;
+        double y = v.y;
+        double z = v.z;
+        v.x = val[M11] * x + val[M12] * y + val[M13] * z;
+        v.y = val[M21] * x + val[M22] * y + val[M23] * z;
+        v.z = val[M31] * x + val[M32] * y + val[M33] * z;
+        return v;
+    }
+
+    /**
+     * Post-multiplies this matrix, treated as a 2D homogeneous transform, by a translation matrix, so that
+     * the translation is applied first:
+     * <pre>this <- this * T</pre>
+     *
+     * @param x The translation along the x axis.
+     * @param y The translation along the y axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix3d translate(double x, double y) {
+        val[M13] += val[M11] * x + val[M12] * y;
+        val[M23] += val[M21] * x + val[M22] * y;
+        val[M33] += val[M31] * x + val[M32] * y;
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix, treated as a 2D homogeneous transform, by a counter-clockwise rotation
+     * matrix, so that the rotation is applied first:
+     * <pre>this <- this * R</pre>
+     *
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix3d rotate(double radians) {
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        for (int row = 0; row < 3; row++) {
+            double a1 = val[M11 + row];
+            double a2 = val[M12 + row];
+            val[M11 + row] = a1 * cos + a2 * sin;
+            val[M12 + row] = a2 * cos - a1 * sin;
+        }
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix, treated as a 2D homogeneous transform, by a scaling matrix, so that the scale
+     * is applied first:
+     * <pre>this <- this * S</pre>
+     *
+     * @param x The scale along the x axis.
+     * @param y The scale along the y axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix3d scale(double x, double y) {
+        for (int row = 0; row < 3; row++) {
+            val[M11 + row] *= x;
+            val[M12 + row] *= y;
+        }
+        return this;
+    }
+
+    /**
+     * Transforms the given packed 2D points by this matrix treated as a 2D homogeneous transform.
+     * Each point is read as <code>(x, y, 1)</code> and the resulting x and y components are written to the
+     * destination array; the resulting third component is discarded. The source and destination may be
+     * the same array.
+     *
+     * @param src    The source array of points.
+     * @param srcOff The offset of the first point in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first point in the destination array.
+     * @param count  The number of points to transform.
+     * @param stride The distance between the starts of consecutive points in both arrays. Must be at least 2.
+     */
+    public void transformPoints(float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        double m11 = val[M11];
+        double m12 = val[M12];
+        double m13 = val[M13];
+        double m21 = val[M21];
+        double m22 = val[M22];
+        double m23 = val[M23];
+        for (int i = 0; i < count; i++) {
+            int s = srcOff + i * stride;
+            int d = dstOff + i * stride;
+            double x = src[s];
+            double y = src[s + 1];
+            dst[d] = (float) (m11 * x + m12 * y + m13);
+            dst[d + 1] = (float) (m21 * x + m22 * y + m23);
+        }
+    }
+
+    /**
+     * Transforms the given packed 2D directions by this matrix treated as a 2D homogeneous transform.
+     * Each direction is read as <code>(x, y, 0)</code>, so the translation of this matrix does not affect
+     * the result. The source and destination may be the same array.
+     *
+     * @param src    The source array of directions.
+     * @param srcOff The offset of the first direction in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first direction in the destination array.
+     * @param count  The number of directions to transform.
+     * @param stride The distance between the starts of consecutive directions in both arrays. Must be at least 2.
+     */
+    public void transformDirections(float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        double m11 = val[M11];
+        double m12 = val[M12];
+        double m21 = val[M21];
+        double m22 = val[M22];
+        for (int i = 0; i < count; i++) {
+            int s = srcOff + i * stride;
+            int d = dstOff + i * stride;
+            double x = src[s];
+            double y = src[s + 1];
+            dst[d] = (float) (m11 * x + m12 * y);
+            dst[d + 1] = (float) (m21 * x + m22 * y);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Matrix3d m = (Matrix3d) o;
+        return Arrays.equals(val, m.val);
+    }
+
+    /**
+     * Checks if the given matrices are nearly equal using the provided epsilon value.
+     *
+     * @param epsilon The epsilon value.
+     * @return Whether the two matrices are nearly equal.
+     */
+    public boolean epsEquals(Matrix3d m, double epsilon) {
+        if (this == m) return true;
+        if (m == null) return false;
+        for (int i = 0; i < LEN; i++) {
+            if (Math.abs(val[i] - m.val[i]) > epsilon) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(val);
+    }
+}
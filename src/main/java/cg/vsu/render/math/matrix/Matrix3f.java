@@ -1,5 +1,6 @@
 package cg.vsu.render.math.matrix;
 
+import cg.vsu.render.math.Quaternionf;
 import cg.vsu.render.math.vector.Vector3f;
 
 import java.util.Arrays;
@@ -114,6 +115,39 @@ public class Matrix3f implements Matrix<Matrix3f> {
         return this;
     }
 
+    /**
+     * Sets this matrix to the rotation represented by the given unit quaternion.
+     *
+     * @param q The unit quaternion.
+     * @return This matrix for chaining.
+     */
+    public Matrix3f set(Quaternionf q) {
+        float x = q.x;
+        float y = q.y;
+        float z = q.z;
+        float w = q.w;
+        float xx = x * x;
+        float yy = y * y;
+        float zz = z * z;
+        float xy = x * y;
+        float xz = x * z;
+        float yz = y * z;
+        float wx = w * x;
+        float wy = w * y;
+        float wz = w * z;
+
+        val[M11] = 1.0f - 2.0f * (yy + zz);
+        val[M21] = 2.0f * (xy + wz);
+        val[M31] = 2.0f * (xz - wy);
+        val[M12] = 2.0f * (xy - wz);
+        val[M22] = 1.0f - 2.0f * (xx + zz);
+        val[M32] = 2.0f * (yz + wx);
+        val[M13] = 2.0f * (xz + wy);
+        val[M23] = 2.0f * (yz - wx);
+        val[M33] = 1.0f - 2.0f * (xx + yy);
+        return this;
+    }
+
     /**
      * Sets this matrix from the given vectors.
      *
@@ -158,37 +192,244 @@ public class Matrix3f implements Matrix<Matrix3f> {
 
     @Override
     public float det() {
-        return val[M11] * val[M22] * val[M33] + val[M12] * val[M23] * val[M31] + val[M13] * val[M21] * val[M32]
-                - val[M11] * val[M23] * val[M32] - val[M12] * val[M21] * val[M33] - val[M13] * val[M22] * val[M31];
+        return det(val, 0);
     }
 
     @Override
     public Matrix3f inv() {
-        float det = det();
-        if (det == 0.0f) throw new ArithmeticException("Degenerate matrix.");
+        inv(val, 0, val, 0);
+        return this;
+    }
+
+    @Override
+    public Matrix3f tra(Matrix3f dest) {
+        tra(val, 0, dest.val, 0);
+        return dest;
+    }
+
+    @Override
+    public Matrix3f inv(Matrix3f dest) {
+        inv(val, 0, dest.val, 0);
+        return dest;
+    }
+
+    /**
+     * Inverts this matrix and returns its determinant. Unlike {@link #inv()}, a degenerate matrix does not
+     * throw: it is left unchanged and zero is returned.
+     *
+     * @return The determinant of this matrix before the inversion.
+     */
+    public float invAndDet() {
+        return invAndDet(val, 0, val, 0);
+    }
+
+    /**
+     * Multiplies the two given matrices and stores the result in the destination matrix:
+     * <pre>dest <- ab</pre>
+     * The destination may be the same object as either of the operands.
+     *
+     * @param a    The left matrix.
+     * @param b    The right matrix.
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     */
+    public static Matrix3f mul(Matrix3f a, Matrix3f b, Matrix3f dest) {
+        mul(a.val, 0, b.val, 0, dest.val, 0);
+        return dest;
+    }
+
+    /**
+     * Multiplies two column-major matrices stored in arrays at the given offsets:
+     * <pre>out <- ab</pre>
+     * The result may be written over either of the operands.
+     *
+     * @param a      The array containing the left matrix.
+     * @param aOff   The offset of the left matrix.
+     * @param b      The array containing the right matrix.
+     * @param bOff   The offset of the right matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void mul(float[] a, int aOff, float[] b, int bOff, float[] out, int outOff) {
+        float a11 = a[aOff + M11];
+        float a21 = a[aOff + M21];
+        float a31 = a[aOff + M31];
+        float a12 = a[aOff + M12];
+        float a22 = a[aOff + M22];
+        float a32 = a[aOff + M32];
+        float a13 = a[aOff + M13];
+        float a23 = a[aOff + M23];
+        float a33 = a[aOff + M33];
+        float b11 = b[bOff + M11];
+        float b21 = b[bOff + M21];
+        float b31 = b[bOff + M31];
+        float b12 = b[bOff + M12];
+        float b22 = b[bOff + M22];
+        float b32 = b[bOff + M32];
+        float b13 = b[bOff + M13];
+        float b23 = b[bOff + M23];
+        float b33 = b[bOff + M33];
+
+        float m11 = a11 * b11 + a12 * b21 + a13 * b31;
+        float m12 = a11 * b12 + a12 * b22 + a13 * b32;
+        float m13 = a11 * b13 + a12 * b23 + a13 * b33;
+        float m21 = a21 * b11 + a22 * b21 + a23 * b31;
+        float m22 = a21 * b12 + a22 * b22 + a23 * b32;
+        float m23 = a21 * b13 + a22 * b23 + a23 * b33;
+        float m31 = a31 * b11 + a32 * b21 + a33 * b31;
+        float m32 = a31 * b12 + a32 * b22 + a33 * b32;
+        float m33 = a31 * b13 + a32 * b23 + a33 * b33;
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m21;
+        out[outOff + M31] = m31;
+        out[outOff + M12] = m12;
+        out[outOff + M22] = m22;
+        out[outOff + M32] = m32;
+        out[outOff + M13] = m13;
+        out[outOff + M23] = m23;
+        out[outOff + M33] = m33;
+    }
+
+    /**
+     * Transposes a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void tra(float[] m, int mOff, float[] out, int outOff) {
+        float m11 = m[mOff + M11];
+        float m21 = m[mOff + M21];
+        float m31 = m[mOff + M31];
+        float m12 = m[mOff + M12];
+        float m22 = m[mOff + M22];
+        float m32 = m[mOff + M32];
+        float m13 = m[mOff + M13];
+        float m23 = m[mOff + M23];
+        float m33 = m[mOff + M33];
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m12;
+        out[outOff + M31] = m13;
+        out[outOff + M12] = m21;
+        out[outOff + M22] = m22;
+        out[outOff + M32] = m23;
+        out[outOff + M13] = m31;
+        out[outOff + M23] = m32;
+        out[outOff + M33] = m33;
+    }
+
+    /**
+     * @param m    The array containing the column-major matrix.
+     * @param mOff The offset of the matrix.
+     * @return The determinant of the matrix.
+     */
+    public static float det(float[] m, int mOff) {
+        float a11 = m[mOff + M11];
+        float a21 = m[mOff + M21];
+        float a31 = m[mOff + M31];
+        float a12 = m[mOff + M12];
+        float a22 = m[mOff + M22];
+        float a32 = m[mOff + M32];
+        float a13 = m[mOff + M13];
+        float a23 = m[mOff + M23];
+        float a33 = m[mOff + M33];
+        return a11 * a22 * a33 + a12 * a23 * a31 + a13 * a21 * a32
+                - a11 * a23 * a32 - a12 * a21 * a33 - a13 * a22 * a31;
+    }
+
+    /**
+     * Inverts a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     * @see #invAndDet(float[], int, float[], int)
+     */
+    public static void inv(float[] m, int mOff, float[] out, int outOff) {
+        if (invAndDet(m, mOff, out, outOff) == 0.0f) throw new ArithmeticException("Degenerate matrix.");
+    }
+
+    /**
+     * Inverts a column-major matrix stored in an array at the given offset and returns its determinant.
+     * The result may be written over the input. The determinant is expanded along the first column of the
+     * adjugate, so it costs three multiplications on top of the cofactors. A degenerate matrix does not throw:
+     * the result is left unchanged and zero is returned.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @return The determinant of the matrix.
+     */
+    public static float invAndDet(float[] m, int mOff, float[] out, int outOff) {
+        float a11 = m[mOff + M11];
+        float a21 = m[mOff + M21];
+        float a31 = m[mOff + M31];
+        float a12 = m[mOff + M12];
+        float a22 = m[mOff + M22];
+        float a32 = m[mOff + M32];
+        float a13 = m[mOff + M13];
+        float a23 = m[mOff + M23];
+        float a33 = m[mOff + M33];
 
         // Build the adjoint matrix.
-        float m11 = val[M22] * val[M33] - val[M32] * val[M23];
-        float m21 = val[M31] * val[M23] - val[M21] * val[M33];
-        float m31 = val[M21] * val[M32] - val[M31] * val[M22];
-        float m12 = val[M32] * val[M13] - val[M12] * val[M33];
-        float m22 = val[M11] * val[M33] - val[M31] * val[M13];
-        float m32 = val[M31] * val[M12] - val[M11] * val[M32];
-        float m13 = val[M12] * val[M23] - val[M22] * val[M13];
-        float m23 = val[M21] * val[M13] - val[M11] * val[M23];
-        float m33 = val[M11] * val[M22] - val[M21] * val[M12];
+        float m11 = a22 * a33 - a32 * a23;
+        float m21 = a31 * a23 - a21 * a33;
+        float m31 = a21 * a32 - a31 * a22;
+        float det = a11 * m11 + a12 * m21 + a13 * m31;
+        if (det == 0.0f) return 0.0f;
+
+        float m12 = a32 * a13 - a12 * a33;
+        float m22 = a11 * a33 - a31 * a13;
+        float m32 = a31 * a12 - a11 * a32;
+        float m13 = a12 * a23 - a22 * a13;
+        float m23 = a21 * a13 - a11 * a23;
+        float m33 = a11 * a22 - a21 * a12;
         float invDet = 1.0f / det;
 
-        val[M11] = m11 * invDet;
-        val[M21] = m21 * invDet;
-        val[M31] = m31 * invDet;
-        val[M12] = m12 * invDet;
-        val[M22] = m22 * invDet;
-        val[M32] = m32 * invDet;
-        val[M13] = m13 * invDet;
-        val[M23] = m23 * invDet;
-        val[M33] = m33 * invDet;
-        return this;
+        out[outOff + M11] = m11 * invDet;
+        out[outOff + M21] = m21 * invDet;
+        out[outOff + M31] = m31 * invDet;
+        out[outOff + M12] = m12 * invDet;
+        out[outOff + M22] = m22 * invDet;
+        out[outOff + M32] = m32 * invDet;
+        out[outOff + M13] = m13 * invDet;
+        out[outOff + M23] = m23 * invDet;
+        out[outOff + M33] = m33 * invDet;
+        return det;
+    }
+
+    /**
+     * Inverts the given number of consecutive column-major matrices and writes their determinants,
+     * e.g. the inertia tensors of many bodies. A degenerate matrix is left unchanged and gets a determinant
+     * of zero; the other matrices are inverted regardless, so the batch never throws. The results may be
+     * written over the inputs.
+     *
+     * @param m      The array containing the matrices.
+     * @param mOff   The offset of the first matrix.
+     * @param out    The array to write the results to.
+     * @param outOff The offset of the first result.
+     * @param dets   The array to write the determinants to.
+     * @param detOff The offset of the first determinant.
+     * @param count  The number of matrices.
+     * @return The number of degenerate matrices.
+     * @see #invAndDet(float[], int, float[], int)
+     */
+    public static int invAndDet(float[] m, int mOff, float[] out, int outOff, float[] dets, int detOff, int count) {
+        int degenerate = 0;
+        for (int i = 0; i < count; i++) {
+            float det = invAndDet(m, mOff + i * LEN, out, outOff + i * LEN);
+            dets[detOff + i] = det;
+            if (det == 0.0f) degenerate++;
+        }
+        return degenerate;
     }
 
     @Override
@@ -217,25 +458,7 @@ public class Matrix3f implements Matrix<Matrix3f> {
 
     @Override
     public Matrix3f mul(Matrix3f m) {
-        float m11 = val[M11] * m.val[M11] + val[M12] * m.val[M21] + val[M13] * m.val[M31];
-        float m12 = val[M11] * m.val[M12] + val[M12] * m.val[M22] + val[M13] * m.val[M32];
-        float m13 = val[M11] * m.val[M13] + val[M12] * m.val[M23] + val[M13] * m.val[M33];
-        float m21 = val[M21] * m.val[M11] + val[M22] * m.val[M21] + val[M23] * m.val[M31];
-        float m22 = val[M21] * m.val[M12] + val[M22] * m.val[M22] + val[M23] * m.val[M32];
-        float m23 = val[M21] * m.val[M13] + val[M22] * m.val[M23] + val[M23] * m.val[M33];
-        float m31 = val[M31] * m.val[M11] + val[M32] * m.val[M21] + val[M33] * m.val[M31];
-        float m32 = val[M31] * m.val[M12] + val[M32] * m.val[M22] + val[M33] * m.val[M32];
-        float m33 = val[M31] * m.val[M13] + val[M32] * m.val[M23] + val[M33] * m.val[M33];
-
-        val[M11] = m11;
-        val[M21] = m21;
-        val[M31] = m31;
-        val[M12] = m12;
-        val[M22] = m22;
-        val[M32] = m32;
-        val[M13] = m13;
-        val[M23] = m23;
-        val[M33] = m33;
+        mul(val, 0, m.val, 0, val, 0);
         return this;
     }
 
@@ -267,6 +490,116 @@ public class Matrix3f implements Matrix<Matrix3f> {
         return v;
     }
 
+    /**
+     * Post-multiplies this matrix, treated as a 2D homogeneous transform, by a translation matrix, so that
+     * the translation is applied first:
+     * <pre>this <- this * T</pre>
+     *
+     * @param x The translation along the x axis.
+     * @param y The translation along the y axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix3f translate(float x, float y) {
+        val[M13] += val[M11] * x + val[M12] * y;
+        val[M23] += val[M21] * x + val[M22] * y;
+        val[M33] += val[M31] * x + val[M32] * y;
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix, treated as a 2D homogeneous transform, by a counter-clockwise rotation
+     * matrix, so that the rotation is applied first:
+     * <pre>this <- this * R</pre>
+     *
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix3f rotate(float radians) {
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+        for (int row = 0; row < 3; row++) {
+            float a1 = val[M11 + row];
+            float a2 = val[M12 + row];
+            val[M11 + row] = a1 * cos + a2 * sin;
+            val[M12 + row] = a2 * cos - a1 * sin;
+        }
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix, treated as a 2D homogeneous transform, by a scaling matrix, so that the scale
+     * is applied first:
+     * <pre>this <- this * S</pre>
+     *
+     * @param x The scale along the x axis.
+     * @param y The scale along the y axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix3f scale(float x, float y) {
+        for (int row = 0; row < 3; row++) {
+            val[M11 + row] *= x;
+            val[M12 + row] *= y;
+        }
+        return this;
+    }
+
+    /**
+     * Transforms the given packed 2D points by this matrix treated as a 2D homogeneous transform.
+     * Each point is read as <code>(x, y, 1)</code> and the resulting x and y components are written to the
+     * destination array; the resulting third component is discarded. The source and destination may be
+     * the same array.
+     *
+     * @param src    The source array of points.
+     * @param srcOff The offset of the first point in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first point in the destination array.
+     * @param count  The number of points to transform.
+     * @param stride The distance between the starts of consecutive points in both arrays. Must be at least 2.
+     */
+    public void transformPoints(float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        float m11 = val[M11];
+        float m12 = val[M12];
+        float m13 = val[M13];
+        float m21 = val[M21];
+        float m22 = val[M22];
+        float m23 = val[M23];
+        for (int i = 0; i < count; i++) {
+            int s = srcOff + i * stride;
+            int d = dstOff + i * stride;
+            float x = src[s];
+            float y = src[s + 1];
+            dst[d] = m11 * x + m12 * y + m13;
+            dst[d + 1] = m21 * x + m22 * y + m23;
+        }
+    }
+
+    /**
+     * Transforms the given packed 2D directions by this matrix treated as a 2D homogeneous transform.
+     * Each direction is read as <code>(x, y, 0)</code>, so the translation of this matrix does not affect
+     * the result. The source and destination may be the same array.
+     *
+     * @param src    The source array of directions.
+     * @param srcOff The offset of the first direction in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first direction in the destination array.
+     * @param count  The number of directions to transform.
+     * @param stride The distance between the starts of consecutive directions in both arrays. Must be at least 2.
+     */
+    public void transformDirections(float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        float m11 = val[M11];
+        float m12 = val[M12];
+        float m21 = val[M21];
+        float m22 = val[M22];
+        for (int i = 0; i < count; i++) {
+            int s = srcOff + i * stride;
+            int d = dstOff + i * stride;
+            float x = src[s];
+            float y = src[s + 1];
+            dst[d] = m11 * x + m12 * y;
+            dst[d + 1] = m21 * x + m22 * y;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
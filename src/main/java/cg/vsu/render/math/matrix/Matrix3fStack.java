@@ -0,0 +1,150 @@
+package cg.vsu.render.math.matrix;
+
+import java.util.Arrays;
+
+/**
+ * A stack of 3x3 matrices for walking 2D scene hierarchies, with the matrices treated as 2D homogeneous
+ * transforms. The top entry is a live {@link Matrix3f} returned by {@link #top()}; {@link #push()} saves a copy
+ * of it into one growable <code>float[]</code> and {@link #pop()} restores the last saved copy. The storage only
+ * grows when the stack gets deeper than ever before, so walking a hierarchy does not allocate after the first
+ * traversal.
+ */
+public class Matrix3fStack {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Matrix3f top = new Matrix3f();
+    private float[] saved;
+    private int depth;
+
+    /**
+     * Constructs a stack whose top entry is the identity matrix.
+     */
+    public Matrix3fStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a stack whose top entry is the identity matrix.
+     *
+     * @param capacity The number of saved matrices the stack can hold before growing.
+     */
+    public Matrix3fStack(int capacity) {
+        this.saved = new float[capacity * Matrix3f.LEN];
+    }
+
+    /**
+     * Returns the top entry of this stack. The returned matrix is owned by the stack: changing it changes the top
+     * entry, and it is overwritten by {@link #pop()}.
+     *
+     * @return The top entry.
+     */
+    public Matrix3f top() {
+        return top;
+    }
+
+    /**
+     * @return The number of saved matrices below the top entry.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Saves a copy of the top entry. The top entry keeps its value.
+     *
+     * @return This stack for chaining.
+     */
+    public Matrix3fStack push() {
+        int off = depth * Matrix3f.LEN;
+        if (off == saved.length) saved = Arrays.copyOf(saved, Math.max(Matrix3f.LEN, saved.length * 2));
+        System.arraycopy(top.val, 0, saved, off, Matrix3f.LEN);
+        depth++;
+        return this;
+    }
+
+    /**
+     * Replaces the top entry with the last saved matrix.
+     *
+     * @return This stack for chaining.
+     * @throws IllegalStateException if no matrix is saved.
+     */
+    public Matrix3fStack pop() {
+        if (depth == 0) throw new IllegalStateException("The stack is empty.");
+
+        depth--;
+        System.arraycopy(saved, depth * Matrix3f.LEN, top.val, 0, Matrix3f.LEN);
+        return this;
+    }
+
+    /**
+     * Drops all saved matrices and sets the top entry to the identity matrix. The storage is kept.
+     *
+     * @return This stack for chaining.
+     */
+    public Matrix3fStack clear() {
+        depth = 0;
+        top.setIdentity();
+        return this;
+    }
+
+    /**
+     * Sets the top entry to the given matrix.
+     *
+     * @param m The matrix.
+     * @return This stack for chaining.
+     */
+    public Matrix3fStack set(Matrix3f m) {
+        top.set(m);
+        return this;
+    }
+
+    /**
+     * Multiplies the top entry by the given matrix, e.g. the local transform of a child node:
+     * <pre>top <- top * m</pre>
+     *
+     * @param m The right matrix.
+     * @return This stack for chaining.
+     */
+    public Matrix3fStack mulTop(Matrix3f m) {
+        top.mul(m);
+        return this;
+    }
+
+    /**
+     * Post-multiplies the top entry by a translation matrix.
+     *
+     * @param x The translation along the x axis.
+     * @param y The translation along the y axis.
+     * @return This stack for chaining.
+     * @see Matrix3f#translate(float, float)
+     */
+    public Matrix3fStack translate(float x, float y) {
+        top.translate(x, y);
+        return this;
+    }
+
+    /**
+     * Post-multiplies the top entry by a counter-clockwise rotation matrix.
+     *
+     * @param radians The rotation angle in radians.
+     * @return This stack for chaining.
+     * @see Matrix3f#rotate(float)
+     */
+    public Matrix3fStack rotate(float radians) {
+        top.rotate(radians);
+        return this;
+    }
+
+    /**
+     * Post-multiplies the top entry by a scaling matrix.
+     *
+     * @param x The scale along the x axis.
+     * @param y The scale along the y axis.
+     * @return This stack for chaining.
+     * @see Matrix3f#scale(float, float)
+     */
+    public Matrix3fStack scale(float x, float y) {
+        top.scale(x, y);
+        return this;
+    }
+}
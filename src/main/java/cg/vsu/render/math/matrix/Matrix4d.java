@@ -0,0 +1,1591 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.Quaternionf;
+import cg.vsu.render.math.vector.Vector3d;
+import cg.vsu.render.math.vector.Vector3fArray;
+import cg.vsu.render.math.vector.Vector3fStore;
+import cg.vsu.render.math.vector.Vector4d;
+
+import java.util.Arrays;
+
+/**
+ * A mutable column-major 4x4 square matrix of doubles.
+ * <p>
+ * The double-precision counterpart of {@link Matrix4f} for large worlds, where float coordinates lose precision
+ * far from the origin. The bulk transforms read float vertex arrays, compute in double precision and write float
+ * results, so a world matrix can be applied to single-precision meshes without converting them.
+ * <p>
+ * A matrix keeps a bitmask of properties known about its values (see {@link #properties()}). The bits are
+ * maintained by the methods of this class and let multiplication, inversion and the determinant skip the
+ * work that the special structure makes redundant. Code that writes to {@link #val} directly must call
+ * {@link #invalidateProperties()} or {@link #determineProperties()} afterwards.
+ */
+public class Matrix4d implements Matrixd<Matrix4d> {
+    // Indices for the matrix values.
+    public static final int M11 = 0;
+    public static final int M12 = 4;
+    public static final int M13 = 8;
+    public static final int M14 = 12;
+    public static final int M21 = 1;
+    public static final int M22 = 5;
+    public static final int M23 = 9;
+    public static final int M24 = 13;
+    public static final int M31 = 2;
+    public static final int M32 = 6;
+    public static final int M33 = 10;
+    public static final int M34 = 14;
+    public static final int M41 = 3;
+    public static final int M42 = 7;
+    public static final int M43 = 11;
+    public static final int M44 = 15;
+    public static final int LEN = 16;
+
+    /**
+     * The property bit set when the matrix is known to be the identity matrix.
+     */
+    public static final int PROPERTY_IDENTITY = 1;
+
+    /**
+     * The property bit set when the matrix is known to be a pure translation matrix.
+     */
+    public static final int PROPERTY_TRANSLATION = 2;
+
+    /**
+     * The property bit set when the matrix is known to be affine, i.e. its bottom row is <code>(0, 0, 0, 1)</code>.
+     */
+    public static final int PROPERTY_AFFINE = 4;
+
+    /**
+     * The one-dimensional column-major array of scalars stored in this matrix. After writing to it directly,
+     * call {@link #invalidateProperties()}.
+     */
+    public double[] val = new double[LEN];
+
+    private int properties;
+
+    /**
+     * Creates a new identity matrix.
+     *
+     * @return The identity matrix.
+     */
+    public static Matrix4d identity() {
+        return new Matrix4d();
+    }
+
+    /**
+     * Creates a new zero matrix.
+     *
+     * @return The zero matrix.
+     */
+    public static Matrix4d zero() {
+        return new Matrix4d().setZero();
+    }
+
+    /**
+     * Constructs an identity matrix.
+     */
+    public Matrix4d() {
+        setIdentity();
+    }
+
+    /**
+     * Constructs a matrix from the given array of doubles. The values are expected to be in column-major order.
+     * The array must have at least 16 values.
+     *
+     * @param values The array of doubles.
+     * @throws ArrayIndexOutOfBoundsException if there are not enough values in the array.
+     */
+    public Matrix4d(double[] values) {
+        System.arraycopy(values, 0, this.val, 0, LEN);
+    }
+
+    @SuppressWarnings("CopyConstructorMissesField")
+    public Matrix4d(Matrix4d m) {
+        set(m);
+    }
+
+    /**
+     * Constructs a column-major matrix from the given vectors.
+     *
+     * @param i The vector in the first column.
+     * @param j The vector in the second column.
+     * @param k The vector in the third column.
+     * @param l The vector in the fourth column.
+     */
+    public Matrix4d(Vector4d i, Vector4d j, Vector4d k, Vector4d l) {
+        set(i, j, k, l);
+    }
+
+    @Override
+    public Matrix4d cpy() {
+        return new Matrix4d(this);
+    }
+
+    @Override
+    public Matrix4d setZero() {
+        for (int i = 0; i < LEN; i++) val[i] = 0.0;
+        properties = 0;
+        return this;
+    }
+
+    @Override
+    public Matrix4d setIdentity() {
+        val[M11] = 1.0;
+        val[M12] = 0.0;
+        val[M13] = 0.0;
+        val[M14] = 0.0;
+        val[M21] = 0.0;
+        val[M22] = 1.0;
+        val[M23] = 0.0;
+        val[M24] = 0.0;
+        val[M31] = 0.0;
+        val[M32] = 0.0;
+        val[M33] = 1.0;
+        val[M34] = 0.0;
+        val[M41] = 0.0;
+        val[M42] = 0.0;
+        val[M43] = 0.0;
+        val[M44] = 1.0;
+        properties = PROPERTY_IDENTITY | PROPERTY_TRANSLATION | PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a translation matrix.
+     *
+     * @param x The translation along the x axis.
+     * @param y The translation along the y axis.
+     * @param z The translation along the z axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setTranslation(double x, double y, double z) {
+        setIdentity();
+        val[M14] = x;
+        val[M24] = y;
+        val[M34] = z;
+        properties = PROPERTY_TRANSLATION | PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a translation matrix.
+     *
+     * @param v The translation vector.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setTranslation(Vector3d v) {
+        return setTranslation(v.x, v.y, v.z);
+    }
+
+    /**
+     * Sets this matrix to a rotation around the x axis.
+     *
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setRotationX(double radians) {
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        return setRotation(
+                1.0, 0.0, 0.0,
+                0.0, cos, -sin,
+                0.0, sin, cos
+        );
+    }
+
+    /**
+     * Sets this matrix to a rotation around the y axis.
+     *
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setRotationY(double radians) {
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        return setRotation(
+                cos, 0.0, sin,
+                0.0, 1.0, 0.0,
+                -sin, 0.0, cos
+        );
+    }
+
+    /**
+     * Sets this matrix to a rotation around the z axis.
+     *
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setRotationZ(double radians) {
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        return setRotation(
+                cos, -sin, 0.0,
+                sin, cos, 0.0,
+                0.0, 0.0, 1.0
+        );
+    }
+
+    /**
+     * Sets this matrix to a rotation around the given axis.
+     *
+     * @param axis    The unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setRotation(Vector3d axis, double radians) {
+        return setRotation(axis.x, axis.y, axis.z, radians);
+    }
+
+    /**
+     * Sets this matrix to a rotation around the given axis.
+     *
+     * @param x       The x component of the unit rotation axis.
+     * @param y       The y component of the unit rotation axis.
+     * @param z       The z component of the unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setRotation(double x, double y, double z, double radians) {
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        double t = 1.0 - cos;
+        double xy = t * x * y;
+        double xz = t * x * z;
+        double yz = t * y * z;
+        return setRotation(
+                t * x * x + cos, xy - sin * z, xz + sin * y,
+                xy + sin * z, t * y * y + cos, yz - sin * x,
+                xz - sin * y, yz + sin * x, t * z * z + cos
+        );
+    }
+
+    private Matrix4d setRotation(
+            double m11, double m12, double m13,
+            double m21, double m22, double m23,
+            double m31, double m32, double m33
+    ) {
+        val[M11] = m11;
+        val[M21] = m21;
+        val[M31] = m31;
+        val[M41] = 0.0;
+        val[M12] = m12;
+        val[M22] = m22;
+        val[M32] = m32;
+        val[M42] = 0.0;
+        val[M13] = m13;
+        val[M23] = m23;
+        val[M33] = m33;
+        val[M43] = 0.0;
+        val[M14] = 0.0;
+        val[M24] = 0.0;
+        val[M34] = 0.0;
+        val[M44] = 1.0;
+        properties = PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a scaling matrix.
+     *
+     * @param x The scale along the x axis.
+     * @param y The scale along the y axis.
+     * @param z The scale along the z axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setScale(double x, double y, double z) {
+        setIdentity();
+        val[M11] = x;
+        val[M22] = y;
+        val[M33] = z;
+        properties = PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a uniform scaling matrix.
+     *
+     * @param scale The scale along all three axes.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setScale(double scale) {
+        return setScale(scale, scale, scale);
+    }
+
+    /**
+     * Sets this matrix to a right-handed perspective projection matrix which maps the view frustum
+     * to normalized device coordinates in <code>[-1, 1]</code> on all three axes.
+     *
+     * @param fovY   The vertical field of view in radians.
+     * @param aspect The aspect ratio of the viewport (width divided by height).
+     * @param near   The distance to the near plane. Must be positive.
+     * @param far    The distance to the far plane. Must be greater than the near distance.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setPerspective(double fovY, double aspect, double near, double far) {
+        double f = 1.0 / Math.tan(fovY * 0.5);
+        double range = near - far;
+        setZero();
+        val[M11] = f / aspect;
+        val[M22] = f;
+        val[M33] = (far + near) / range;
+        val[M34] = 2.0 * far * near / range;
+        val[M43] = -1.0;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a right-handed orthographic projection matrix which maps the given box
+     * to normalized device coordinates in <code>[-1, 1]</code> on all three axes.
+     *
+     * @param left   The x coordinate of the left plane.
+     * @param right  The x coordinate of the right plane.
+     * @param bottom The y coordinate of the bottom plane.
+     * @param top    The y coordinate of the top plane.
+     * @param near   The distance to the near plane.
+     * @param far    The distance to the far plane.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setOrtho(double left, double right, double bottom, double top, double near, double far) {
+        double width = right - left;
+        double height = top - bottom;
+        double depth = far - near;
+        setIdentity();
+        val[M11] = 2.0 / width;
+        val[M22] = 2.0 / height;
+        val[M33] = -2.0 / depth;
+        val[M14] = -(right + left) / width;
+        val[M24] = -(top + bottom) / height;
+        val[M34] = -(far + near) / depth;
+        properties = PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a right-handed view matrix of a camera placed at the eye position and looking at
+     * the target. The camera looks along its negative z axis.
+     *
+     * @param eye    The position of the camera.
+     * @param target The point the camera looks at.
+     * @param up     The up direction. Must not be parallel to the view direction.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d setLookAt(Vector3d eye, Vector3d target, Vector3d up) {
+        // The forward direction.
+        double fx = target.x - eye.x;
+        double fy = target.y - eye.y;
+        double fz = target.z - eye.z;
+        double fLen = Vector3d.len(fx, fy, fz);
+        fx /= fLen;
+        fy /= fLen;
+        fz /= fLen;
+
+        // The right direction: forward x up.
+        double sx = fy * up.z - fz * up.y;
+        double sy = fz * up.x - fx * up.z;
+        double sz = fx * up.y - fy * up.x;
+        double sLen = Vector3d.len(sx, sy, sz);
+        sx /= sLen;
+        sy /= sLen;
+        sz /= sLen;
+
+        // The true up direction: right x forward.
+        double ux = sy * fz - sz * fy;
+        double uy = sz * fx - sx * fz;
+        double uz = sx * fy - sy * fx;
+
+        setRotation(
+                sx, sy, sz,
+                ux, uy, uz,
+                -fx, -fy, -fz
+        );
+        val[M14] = -(sx * eye.x + sy * eye.y + sz * eye.z);
+        val[M24] = -(ux * eye.x + uy * eye.y + uz * eye.z);
+        val[M34] = fx * eye.x + fy * eye.y + fz * eye.z;
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix by a translation matrix, so that the translation is applied first:
+     * <pre>this <- this * T</pre>
+     * Only the last column changes, which takes 12 multiplications instead of 64.
+     *
+     * @param x The translation along the x axis.
+     * @param y The translation along the y axis.
+     * @param z The translation along the z axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d translate(double x, double y, double z) {
+        if ((properties & PROPERTY_TRANSLATION) != 0) {
+            return setTranslation(val[M14] + x, val[M24] + y, val[M34] + z);
+        }
+
+        val[M14] += val[M11] * x + val[M12] * y + val[M13] * z;
+        val[M24] += val[M21] * x + val[M22] * y + val[M23] * z;
+        val[M34] += val[M31] * x + val[M32] * y + val[M33] * z;
+        val[M44] += val[M41] * x + val[M42] * y + val[M43] * z;
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix by a translation matrix.
+     *
+     * @param v The translation vector.
+     * @return This matrix for chaining.
+     * @see #translate(double, double, double)
+     */
+    public Matrix4d translate(Vector3d v) {
+        return translate(v.x, v.y, v.z);
+    }
+
+    /**
+     * Post-multiplies this matrix by a rotation matrix, so that the rotation is applied first:
+     * <pre>this <- this * R</pre>
+     * The last column is unchanged, which takes 36 multiplications instead of 64.
+     *
+     * @param axis    The unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d rotate(Vector3d axis, double radians) {
+        return rotate(axis.x, axis.y, axis.z, radians);
+    }
+
+    /**
+     * Post-multiplies this matrix by a rotation matrix.
+     *
+     * @param x       The x component of the unit rotation axis.
+     * @param y       The y component of the unit rotation axis.
+     * @param z       The z component of the unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     * @see #rotate(Vector3d, double)
+     */
+    public Matrix4d rotate(double x, double y, double z, double radians) {
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        double t = 1.0 - cos;
+        double xy = t * x * y;
+        double xz = t * x * z;
+        double yz = t * y * z;
+        double r11 = t * x * x + cos;
+        double r21 = xy + sin * z;
+        double r31 = xz - sin * y;
+        double r12 = xy - sin * z;
+        double r22 = t * y * y + cos;
+        double r32 = yz + sin * x;
+        double r13 = xz + sin * y;
+        double r23 = yz - sin * x;
+        double r33 = t * z * z + cos;
+
+        for (int row = 0; row < 4; row++) {
+            double a1 = val[M11 + row];
+            double a2 = val[M12 + row];
+            double a3 = val[M13 + row];
+            val[M11 + row] = a1 * r11 + a2 * r21 + a3 * r31;
+            val[M12 + row] = a1 * r12 + a2 * r22 + a3 * r32;
+            val[M13 + row] = a1 * r13 + a2 * r23 + a3 * r33;
+        }
+        properties &= PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix by a scaling matrix, so that the scale is applied first:
+     * <pre>this <- this * S</pre>
+     * Only the first three columns are scaled, which takes 12 multiplications instead of 64.
+     *
+     * @param x The scale along the x axis.
+     * @param y The scale along the y axis.
+     * @param z The scale along the z axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d scale(double x, double y, double z) {
+        for (int row = 0; row < 4; row++) {
+            val[M11 + row] *= x;
+            val[M12 + row] *= y;
+            val[M13 + row] *= z;
+        }
+        properties &= PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix by a uniform scaling matrix.
+     *
+     * @param scale The scale along all three axes.
+     * @return This matrix for chaining.
+     * @see #scale(double, double, double)
+     */
+    public Matrix4d scale(double scale) {
+        return scale(scale, scale, scale);
+    }
+
+    @Override
+    public Matrix4d set(double[] values) {
+        System.arraycopy(values, 0, this.val, 0, LEN);
+        properties = 0;
+        return this;
+    }
+
+    @Override
+    public Matrix4d set(Matrix4d m) {
+        System.arraycopy(m.val, 0, this.val, 0, LEN);
+        properties = m.properties;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to the values of the given float matrix.
+     *
+     * @param m The float matrix.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d set(Matrix4f m) {
+        MathUtils.toDouble(m.val, 0, val, 0, LEN);
+        properties = m.properties();
+        return this;
+    }
+
+    /**
+     * Writes the values of this matrix rounded to float precision into the given matrix.
+     *
+     * @param out The matrix to write to.
+     * @return The provided matrix.
+     */
+    public Matrix4f get(Matrix4f out) {
+        MathUtils.toFloat(val, 0, out.val, 0, LEN);
+        return out.determineProperties();
+    }
+
+    /**
+     * Writes this matrix translated by the negated camera position into the given float matrix:
+     * <pre>out <- T(-eye) * this</pre>
+     * The translation is computed in double precision before rounding, so a model matrix far from the origin
+     * becomes a camera-relative float matrix without losing precision near the camera.
+     *
+     * @param eyeX The x coordinate of the camera position.
+     * @param eyeY The y coordinate of the camera position.
+     * @param eyeZ The z coordinate of the camera position.
+     * @param out  The matrix to write to.
+     * @return The provided matrix.
+     * @see Matrix4f#setModelViewRelative(Matrix4f, Matrix4f, double, double, double, double, double, double)
+     */
+    public Matrix4f getRelative(double eyeX, double eyeY, double eyeZ, Matrix4f out) {
+        float[] o = out.val;
+        for (int col = 0; col < 4; col++) {
+            double w = val[col * 4 + 3];
+            o[col * 4] = (float) (val[col * 4] - eyeX * w);
+            o[col * 4 + 1] = (float) (val[col * 4 + 1] - eyeY * w);
+            o[col * 4 + 2] = (float) (val[col * 4 + 2] - eyeZ * w);
+            o[col * 4 + 3] = (float) w;
+        }
+        return out.determineProperties();
+    }
+
+    /**
+     * Sets this matrix to the rotation represented by the given unit quaternion, without translation.
+     *
+     * @param q The unit quaternion.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d set(Quaternionf q) {
+        double x = q.x;
+        double y = q.y;
+        double z = q.z;
+        double w = q.w;
+        double xx = x * x;
+        double yy = y * y;
+        double zz = z * z;
+        double xy = x * y;
+        double xz = x * z;
+        double yz = y * z;
+        double wx = w * x;
+        double wy = w * y;
+        double wz = w * z;
+
+        val[M11] = 1.0 - 2.0 * (yy + zz);
+        val[M21] = 2.0 * (xy + wz);
+        val[M31] = 2.0 * (xz - wy);
+        val[M12] = 2.0 * (xy - wz);
+        val[M22] = 1.0 - 2.0 * (xx + zz);
+        val[M32] = 2.0 * (yz + wx);
+        val[M13] = 2.0 * (xz + wy);
+        val[M23] = 2.0 * (yz - wx);
+        val[M33] = 1.0 - 2.0 * (xx + yy);
+        val[M41] = 0.0;
+        val[M42] = 0.0;
+        val[M43] = 0.0;
+        val[M14] = 0.0;
+        val[M24] = 0.0;
+        val[M34] = 0.0;
+        val[M44] = 1.0;
+        properties = PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Returns the bitmask of properties known about this matrix, made of the <code>PROPERTY_*</code> constants.
+     * A cleared bit means that the property is unknown, not that the matrix lacks it.
+     *
+     * @return The property bitmask.
+     */
+    public int properties() {
+        return properties;
+    }
+
+    /**
+     * Forgets all properties known about this matrix, so that every operation takes the general path.
+     * Must be called after writing to {@link #val} directly.
+     *
+     * @return This matrix for chaining.
+     */
+    public Matrix4d invalidateProperties() {
+        properties = 0;
+        return this;
+    }
+
+    /**
+     * Inspects the values of this matrix and sets the property bitmask accordingly.
+     *
+     * @return This matrix for chaining.
+     */
+    public Matrix4d determineProperties() {
+        properties = 0;
+        if (!isAffine(val, 0)) return this;
+
+        properties = PROPERTY_AFFINE;
+        if (val[M11] == 1.0 && val[M21] == 0.0 && val[M31] == 0.0
+                && val[M12] == 0.0 && val[M22] == 1.0 && val[M32] == 0.0
+                && val[M13] == 0.0 && val[M23] == 0.0 && val[M33] == 1.0) {
+            properties |= PROPERTY_TRANSLATION;
+            if (val[M14] == 0.0 && val[M24] == 0.0 && val[M34] == 0.0) properties |= PROPERTY_IDENTITY;
+        }
+        return this;
+    }
+
+    /**
+     * Sets this matrix from the given vectors.
+     *
+     * @param i The vector in the first column.
+     * @param j The vector in the second column.
+     * @param k The vector in the third column.
+     * @param l The vector in the fourth column.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d set(Vector4d i, Vector4d j, Vector4d k, Vector4d l) {
+        val[M11] = i.x;
+        val[M21] = i.y;
+        val[M31] = i.z;
+        val[M41] = i.w;
+        val[M12] = j.x;
+        val[M22] = j.y;
+        val[M32] = j.z;
+        val[M42] = j.w;
+        val[M13] = k.x;
+        val[M23] = k.y;
+        val[M33] = k.z;
+        val[M43] = k.w;
+        val[M14] = l.x;
+        val[M24] = l.y;
+        val[M34] = l.z;
+        val[M44] = l.w;
+        properties = 0;
+        return this;
+    }
+
+    @Override
+    public Matrix4d fill(double scalar) {
+        for (int i = 0; i < LEN; i++) val[i] = scalar;
+        properties = 0;
+        return this;
+    }
+
+    @Override
+    public Matrix4d tra() {
+        if ((properties & PROPERTY_IDENTITY) != 0) return this;
+
+        double m12 = val[M12];
+        double m13 = val[M13];
+        double m14 = val[M14];
+        double m23 = val[M23];
+        double m24 = val[M24];
+        double m34 = val[M34];
+
+        val[M12] = val[M21];
+        val[M13] = val[M31];
+        val[M14] = val[M41];
+        val[M21] = m12;
+        val[M23] = val[M32];
+        val[M24] = val[M42];
+        val[M31] = m13;
+        val[M32] = m23;
+        val[M34] = val[M43];
+        val[M41] = m14;
+        val[M42] = m24;
+        val[M43] = m34;
+        properties = 0;
+        return this;
+    }
+
+    @Override
+    public double det() {
+        if ((properties & PROPERTY_TRANSLATION) != 0) return 1.0;
+        if ((properties & PROPERTY_AFFINE) != 0) {
+            return val[M11] * (val[M22] * val[M33] - val[M23] * val[M32])
+                    + val[M21] * (val[M13] * val[M32] - val[M12] * val[M33])
+                    + val[M31] * (val[M12] * val[M23] - val[M13] * val[M22]);
+        }
+        return det(val, 0);
+    }
+
+    @Override
+    public Matrix4d inv() {
+        return inv(this);
+    }
+
+    @Override
+    public Matrix4d tra(Matrix4d dest) {
+        tra(val, 0, dest.val, 0);
+        dest.properties = properties & PROPERTY_IDENTITY;
+        return dest;
+    }
+
+    @Override
+    public Matrix4d inv(Matrix4d dest) {
+        if ((properties & PROPERTY_IDENTITY) != 0) return dest.setIdentity();
+        if ((properties & PROPERTY_TRANSLATION) != 0) return dest.setTranslation(-val[M14], -val[M24], -val[M34]);
+
+        int properties = this.properties;
+        if ((properties & PROPERTY_AFFINE) != 0) invAffine(val, 0, dest.val, 0);
+        else inv(val, 0, dest.val, 0);
+        dest.properties = properties;
+        return dest;
+    }
+
+    /**
+     * Multiplies the two given matrices and stores the result in the destination matrix:
+     * <pre>dest <- ab</pre>
+     * The destination may be the same object as either of the operands.
+     *
+     * @param a    The left matrix.
+     * @param b    The right matrix.
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     */
+    public static Matrix4d mul(Matrix4d a, Matrix4d b, Matrix4d dest) {
+        if ((b.properties & PROPERTY_IDENTITY) != 0) return dest.set(a);
+        if ((a.properties & PROPERTY_IDENTITY) != 0) return dest.set(b);
+
+        int properties = a.properties & b.properties;
+        if ((properties & PROPERTY_TRANSLATION) != 0) {
+            return dest.setTranslation(a.val[M14] + b.val[M14], a.val[M24] + b.val[M24], a.val[M34] + b.val[M34]);
+        }
+        if ((properties & PROPERTY_AFFINE) != 0) mulAffine(a.val, 0, b.val, 0, dest.val, 0);
+        else mul(a.val, 0, b.val, 0, dest.val, 0);
+        dest.properties = properties;
+        return dest;
+    }
+
+    /**
+     * Multiplies two column-major matrices stored in arrays at the given offsets:
+     * <pre>out <- ab</pre>
+     * The result may be written over either of the operands.
+     *
+     * @param a      The array containing the left matrix.
+     * @param aOff   The offset of the left matrix.
+     * @param b      The array containing the right matrix.
+     * @param bOff   The offset of the right matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void mul(double[] a, int aOff, double[] b, int bOff, double[] out, int outOff) {
+        double a11 = a[aOff + M11];
+        double a21 = a[aOff + M21];
+        double a31 = a[aOff + M31];
+        double a41 = a[aOff + M41];
+        double a12 = a[aOff + M12];
+        double a22 = a[aOff + M22];
+        double a32 = a[aOff + M32];
+        double a42 = a[aOff + M42];
+        double a13 = a[aOff + M13];
+        double a23 = a[aOff + M23];
+        double a33 = a[aOff + M33];
+        double a43 = a[aOff + M43];
+        double a14 = a[aOff + M14];
+        double a24 = a[aOff + M24];
+        double a34 = a[aOff + M34];
+        double a44 = a[aOff + M44];
+        double b11 = b[bOff + M11];
+        double b21 = b[bOff + M21];
+        double b31 = b[bOff + M31];
+        double b41 = b[bOff + M41];
+        double b12 = b[bOff + M12];
+        double b22 = b[bOff + M22];
+        double b32 = b[bOff + M32];
+        double b42 = b[bOff + M42];
+        double b13 = b[bOff + M13];
+        double b23 = b[bOff + M23];
+        double b33 = b[bOff + M33];
+        double b43 = b[bOff + M43];
+        double b14 = b[bOff + M14];
+        double b24 = b[bOff + M24];
+        double b34 = b[bOff + M34];
+        double b44 = b[bOff + M44];
+
+        double m11 = a11 * b11 + a12 * b21 + a13 * b31 + a14 * b41;
+        double m12 = a11 * b12 + a12 * b22 + a13 * b32 + a14 * b42;
+        double m13 = a11 * b13 + a12 * b23 + a13 * b33 + a14 * b43;
+        double m14 = a11 * b14 + a12 * b24 + a13 * b34 + a14 * b44;
+        double m21 = a21 * b11 + a22 * b21 + a23 * b31 + a24 * b41;
+        double m22 = a21 * b12 + a22 * b22 + a23 * b32 + a24 * b42;
+        double m23 = a21 * b13 + a22 * b23 + a23 * b33 + a24 * b43;
+        double m24 = a21 * b14 + a22 * b24 + a23 * b34 + a24 * b44;
+        double m31 = a31 * b11 + a32 * b21 + a33 * b31 + a34 * b41;
+        double m32 = a31 * b12 + a32 * b22 + a33 * b32 + a34 * b42;
+        double m33 = a31 * b13 + a32 * b23 + a33 * b33 + a34 * b43;
+        double m34 = a31 * b14 + a32 * b24 + a33 * b34 + a34 * b44;
+        double m41 = a41 * b11 + a42 * b21 + a43 * b31 + a44 * b41;
+        double m42 = a41 * b12 + a42 * b22 + a43 * b32 + a44 * b42;
+        double m43 = a41 * b13 + a42 * b23 + a43 * b33 + a44 * b43;
+        double m44 = a41 * b14 + a42 * b24 + a43 * b34 + a44 * b44;
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m21;
+        out[outOff + M31] = m31;
+        out[outOff + M41] = m41;
+        out[outOff + M12] = m12;
+        out[outOff + M22] = m22;
+        out[outOff + M32] = m32;
+        out[outOff + M42] = m42;
+        out[outOff + M13] = m13;
+        out[outOff + M23] = m23;
+        out[outOff + M33] = m33;
+        out[outOff + M43] = m43;
+        out[outOff + M14] = m14;
+        out[outOff + M24] = m24;
+        out[outOff + M34] = m34;
+        out[outOff + M44] = m44;
+    }
+
+    /**
+     * Transposes a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void tra(double[] m, int mOff, double[] out, int outOff) {
+        double m11 = m[mOff + M11];
+        double m21 = m[mOff + M21];
+        double m31 = m[mOff + M31];
+        double m41 = m[mOff + M41];
+        double m12 = m[mOff + M12];
+        double m22 = m[mOff + M22];
+        double m32 = m[mOff + M32];
+        double m42 = m[mOff + M42];
+        double m13 = m[mOff + M13];
+        double m23 = m[mOff + M23];
+        double m33 = m[mOff + M33];
+        double m43 = m[mOff + M43];
+        double m14 = m[mOff + M14];
+        double m24 = m[mOff + M24];
+        double m34 = m[mOff + M34];
+        double m44 = m[mOff + M44];
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m12;
+        out[outOff + M31] = m13;
+        out[outOff + M41] = m14;
+        out[outOff + M12] = m21;
+        out[outOff + M22] = m22;
+        out[outOff + M32] = m23;
+        out[outOff + M42] = m24;
+        out[outOff + M13] = m31;
+        out[outOff + M23] = m32;
+        out[outOff + M33] = m33;
+        out[outOff + M43] = m34;
+        out[outOff + M14] = m41;
+        out[outOff + M24] = m42;
+        out[outOff + M34] = m43;
+        out[outOff + M44] = m44;
+    }
+
+    /**
+     * @param m    The array containing the column-major matrix.
+     * @param mOff The offset of the matrix.
+     * @return The determinant of the matrix.
+     */
+    public static double det(double[] m, int mOff) {
+        double a11 = m[mOff + M11];
+        double a21 = m[mOff + M21];
+        double a31 = m[mOff + M31];
+        double a41 = m[mOff + M41];
+        double a12 = m[mOff + M12];
+        double a22 = m[mOff + M22];
+        double a32 = m[mOff + M32];
+        double a42 = m[mOff + M42];
+        double a13 = m[mOff + M13];
+        double a23 = m[mOff + M23];
+        double a33 = m[mOff + M33];
+        double a43 = m[mOff + M43];
+        double a14 = m[mOff + M14];
+        double a24 = m[mOff + M24];
+        double a34 = m[mOff + M34];
+        double a44 = m[mOff + M44];
+        return a41 * a32 * a23 * a14 - a31 * a42 * a23 * a14
+                - a41 * a22 * a33 * a14 + a21 * a42 * a33 * a14
+                + a31 * a22 * a43 * a14 - a21 * a32 * a43 * a14
+                - a41 * a32 * a13 * a24 + a31 * a42 * a13 * a24
+                + a41 * a12 * a33 * a24 - a11 * a42 * a33 * a24
+                - a31 * a12 * a43 * a24 + a11 * a32 * a43 * a24
+                + a41 * a22 * a13 * a34 - a21 * a42 * a13 * a34
+                - a41 * a12 * a23 * a34 + a11 * a42 * a23 * a34
+                + a21 * a12 * a43 * a34 - a11 * a22 * a43 * a34
+                - a31 * a22 * a13 * a44 + a21 * a32 * a13 * a44
+                + a31 * a12 * a23 * a44 - a11 * a32 * a23 * a44
+                - a21 * a12 * a33 * a44 + a11 * a22 * a33 * a44;
+    }
+
+    /**
+     * Inverts a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     */
+    public static void inv(double[] m, int mOff, double[] out, int outOff) {
+        double det = det(m, mOff);
+        if (det == 0.0) throw new ArithmeticException("Degenerate matrix.");
+
+        double a11 = m[mOff + M11];
+        double a21 = m[mOff + M21];
+        double a31 = m[mOff + M31];
+        double a41 = m[mOff + M41];
+        double a12 = m[mOff + M12];
+        double a22 = m[mOff + M22];
+        double a32 = m[mOff + M32];
+        double a42 = m[mOff + M42];
+        double a13 = m[mOff + M13];
+        double a23 = m[mOff + M23];
+        double a33 = m[mOff + M33];
+        double a43 = m[mOff + M43];
+        double a14 = m[mOff + M14];
+        double a24 = m[mOff + M24];
+        double a34 = m[mOff + M34];
+        double a44 = m[mOff + M44];
+
+        // Build the adjoint matrix.
+        double m11 = a23 * a34 * a42 - a24 * a33 * a42 + a24 * a32 * a43
+                - a22 * a34 * a43 - a23 * a32 * a44 + a22 * a33 * a44;
+        double m12 = a14 * a33 * a42 - a13 * a34 * a42 - a14 * a32 * a43
+                + a12 * a34 * a43 + a13 * a32 * a44 - a12 * a33 * a44;
+        double m13 = a13 * a24 * a42 - a14 * a23 * a42 + a14 * a22 * a43
+                - a12 * a24 * a43 - a13 * a22 * a44 + a12 * a23 * a44;
+        double m14 = a14 * a23 * a32 - a13 * a24 * a32 - a14 * a22 * a33
+                + a12 * a24 * a33 + a13 * a22 * a34 - a12 * a23 * a34;
+        double m21 = a24 * a33 * a41 - a23 * a34 * a41 - a24 * a31 * a43
+                + a21 * a34 * a43 + a23 * a31 * a44 - a21 * a33 * a44;
+        double m22 = a13 * a34 * a41 - a14 * a33 * a41 + a14 * a31 * a43
+                - a11 * a34 * a43 - a13 * a31 * a44 + a11 * a33 * a44;
+        double m23 = a14 * a23 * a41 - a13 * a24 * a41 - a14 * a21 * a43
+                + a11 * a24 * a43 + a13 * a21 * a44 - a11 * a23 * a44;
+        double m24 = a13 * a24 * a31 - a14 * a23 * a31 + a14 * a21 * a33
+                - a11 * a24 * a33 - a13 * a21 * a34 + a11 * a23 * a34;
+        double m31 = a22 * a34 * a41 - a24 * a32 * a41 + a24 * a31 * a42
+                - a21 * a34 * a42 - a22 * a31 * a44 + a21 * a32 * a44;
+        double m32 = a14 * a32 * a41 - a12 * a34 * a41 - a14 * a31 * a42
+                + a11 * a34 * a42 + a12 * a31 * a44 - a11 * a32 * a44;
+        double m33 = a12 * a24 * a41 - a14 * a22 * a41 + a14 * a21 * a42
+                - a11 * a24 * a42 - a12 * a21 * a44 + a11 * a22 * a44;
+        double m34 = a14 * a22 * a31 - a12 * a24 * a31 - a14 * a21 * a32
+                + a11 * a24 * a32 + a12 * a21 * a34 - a11 * a22 * a34;
+        double m41 = a23 * a32 * a41 - a22 * a33 * a41 - a23 * a31 * a42
+                + a21 * a33 * a42 + a22 * a31 * a43 - a21 * a32 * a43;
+        double m42 = a12 * a33 * a41 - a13 * a32 * a41 + a13 * a31 * a42
+                - a11 * a33 * a42 - a12 * a31 * a43 + a11 * a32 * a43;
+        double m43 = a13 * a22 * a41 - a12 * a23 * a41 - a13 * a21 * a42
+                + a11 * a23 * a42 + a12 * a21 * a43 - a11 * a22 * a43;
+        double m44 = a12 * a23 * a31 - a13 * a22 * a31 + a13 * a21 * a32
+                - a11 * a23 * a32 - a12 * a21 * a33 + a11 * a22 * a33;
+        double invDet = 1.0 / det;
+
+        out[outOff + M11] = m11 * invDet;
+        out[outOff + M21] = m21 * invDet;
+        out[outOff + M31] = m31 * invDet;
+        out[outOff + M41] = m41 * invDet;
+        out[outOff + M12] = m12 * invDet;
+        out[outOff + M22] = m22 * invDet;
+        out[outOff + M32] = m32 * invDet;
+        out[outOff + M42] = m42 * invDet;
+        out[outOff + M13] = m13 * invDet;
+        out[outOff + M23] = m23 * invDet;
+        out[outOff + M33] = m33 * invDet;
+        out[outOff + M43] = m43 * invDet;
+        out[outOff + M14] = m14 * invDet;
+        out[outOff + M24] = m24 * invDet;
+        out[outOff + M34] = m34 * invDet;
+        out[outOff + M44] = m44 * invDet;
+    }
+
+    /**
+     * Checks whether this matrix is affine, i.e. whether its bottom row is exactly <code>(0, 0, 0, 1)</code>.
+     *
+     * @return Whether this matrix is affine.
+     */
+    public boolean isAffine() {
+        return isAffine(val, 0);
+    }
+
+    /**
+     * Checks whether this matrix is a rigid transform: an affine matrix whose upper-left 3x3 part is
+     * orthonormal (a rotation, possibly with a reflection) within {@link MathUtils#EPSILON}.
+     *
+     * @return Whether this matrix is a rigid transform.
+     */
+    public boolean isRigid() {
+        return isRigid(val, 0);
+    }
+
+    /**
+     * Multiplies this matrix by another matrix, assuming that both are affine (see {@link #isAffine()}):
+     * <pre>this <- this * m</pre>
+     * This takes 36 multiplications instead of 64. The precondition is checked only when assertions
+     * are enabled; otherwise the bottom rows are ignored and the result is incorrect for non-affine matrices.
+     *
+     * @param m The affine matrix to multiply by.
+     * @return This matrix for chaining.
+     */
+    public Matrix4d mulAffine(Matrix4d m) {
+        return mulAffine(this, m, this);
+    }
+
+    /**
+     * Inverts this matrix, assuming that it is affine (see {@link #isAffine()}). Only the upper-left 3x3 part
+     * is inverted; the translation is then transformed by the inverted 3x3 part and negated.
+     * The precondition is checked only when assertions are enabled.
+     *
+     * @return This matrix for chaining.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     */
+    public Matrix4d invAffine() {
+        return invAffine(this);
+    }
+
+    /**
+     * Inverts this matrix into the destination matrix, assuming that it is affine.
+     *
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     * @see #invAffine()
+     */
+    public Matrix4d invAffine(Matrix4d dest) {
+        int properties = this.properties;
+        invAffine(val, 0, dest.val, 0);
+        dest.properties = properties | PROPERTY_AFFINE;
+        return dest;
+    }
+
+    /**
+     * Inverts this matrix, assuming that it is a rigid transform (see {@link #isRigid()}). The upper-left
+     * 3x3 part is transposed and the translation is rotated by it and negated, so no division is performed.
+     * The precondition is checked only when assertions are enabled; otherwise the result is incorrect for
+     * matrices containing scale or shear.
+     *
+     * @return This matrix for chaining.
+     */
+    public Matrix4d invRigid() {
+        return invRigid(this);
+    }
+
+    /**
+     * Inverts this matrix into the destination matrix, assuming that it is a rigid transform.
+     *
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     * @see #invRigid()
+     */
+    public Matrix4d invRigid(Matrix4d dest) {
+        int properties = this.properties;
+        invRigid(val, 0, dest.val, 0);
+        dest.properties = properties | PROPERTY_AFFINE;
+        return dest;
+    }
+
+    /**
+     * Multiplies the two given affine matrices and stores the result in the destination matrix.
+     * The destination may be the same object as either of the operands.
+     *
+     * @param a    The left affine matrix.
+     * @param b    The right affine matrix.
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     * @see #mulAffine(Matrix4d)
+     */
+    public static Matrix4d mulAffine(Matrix4d a, Matrix4d b, Matrix4d dest) {
+        int properties = a.properties & b.properties;
+        mulAffine(a.val, 0, b.val, 0, dest.val, 0);
+        dest.properties = properties | PROPERTY_AFFINE;
+        return dest;
+    }
+
+    /**
+     * Checks whether a column-major matrix stored in an array at the given offset is affine.
+     *
+     * @param m    The array containing the matrix.
+     * @param mOff The offset of the matrix.
+     * @return Whether the bottom row of the matrix is exactly <code>(0, 0, 0, 1)</code>.
+     */
+    public static boolean isAffine(double[] m, int mOff) {
+        return m[mOff + M41] == 0.0 && m[mOff + M42] == 0.0 && m[mOff + M43] == 0.0 && m[mOff + M44] == 1.0;
+    }
+
+    /**
+     * Checks whether a column-major matrix stored in an array at the given offset is a rigid transform.
+     *
+     * @param m    The array containing the matrix.
+     * @param mOff The offset of the matrix.
+     * @return Whether the matrix is affine and its upper-left 3x3 part is orthonormal.
+     */
+    public static boolean isRigid(double[] m, int mOff) {
+        if (!isAffine(m, mOff)) return false;
+
+        double a11 = m[mOff + M11];
+        double a21 = m[mOff + M21];
+        double a31 = m[mOff + M31];
+        double a12 = m[mOff + M12];
+        double a22 = m[mOff + M22];
+        double a32 = m[mOff + M32];
+        double a13 = m[mOff + M13];
+        double a23 = m[mOff + M23];
+        double a33 = m[mOff + M33];
+
+        return MathUtils.epsEquals(a11 * a11 + a21 * a21 + a31 * a31, 1.0)
+                && MathUtils.epsEquals(a12 * a12 + a22 * a22 + a32 * a32, 1.0)
+                && MathUtils.epsEquals(a13 * a13 + a23 * a23 + a33 * a33, 1.0)
+                && MathUtils.epsEquals(a11 * a12 + a21 * a22 + a31 * a32, 0.0)
+                && MathUtils.epsEquals(a11 * a13 + a21 * a23 + a31 * a33, 0.0)
+                && MathUtils.epsEquals(a12 * a13 + a22 * a23 + a32 * a33, 0.0);
+    }
+
+    /**
+     * Multiplies two affine column-major matrices stored in arrays at the given offsets.
+     * The result may be written over either of the operands.
+     *
+     * @param a      The array containing the left matrix.
+     * @param aOff   The offset of the left matrix.
+     * @param b      The array containing the right matrix.
+     * @param bOff   The offset of the right matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @see #mulAffine(Matrix4d)
+     */
+    public static void mulAffine(double[] a, int aOff, double[] b, int bOff, double[] out, int outOff) {
+        assert isAffine(a, aOff) : "The left matrix is not affine.";
+        assert isAffine(b, bOff) : "The right matrix is not affine.";
+
+        double a11 = a[aOff + M11];
+        double a21 = a[aOff + M21];
+        double a31 = a[aOff + M31];
+        double a12 = a[aOff + M12];
+        double a22 = a[aOff + M22];
+        double a32 = a[aOff + M32];
+        double a13 = a[aOff + M13];
+        double a23 = a[aOff + M23];
+        double a33 = a[aOff + M33];
+        double a14 = a[aOff + M14];
+        double a24 = a[aOff + M24];
+        double a34 = a[aOff + M34];
+        double b11 = b[bOff + M11];
+        double b21 = b[bOff + M21];
+        double b31 = b[bOff + M31];
+        double b12 = b[bOff + M12];
+        double b22 = b[bOff + M22];
+        double b32 = b[bOff + M32];
+        double b13 = b[bOff + M13];
+        double b23 = b[bOff + M23];
+        double b33 = b[bOff + M33];
+        double b14 = b[bOff + M14];
+        double b24 = b[bOff + M24];
+        double b34 = b[bOff + M34];
+
+        out[outOff + M11] = a11 * b11 + a12 * b21 + a13 * b31;
+        out[outOff + M21] = a21 * b11 + a22 * b21 + a23 * b31;
+        out[outOff + M31] = a31 * b11 + a32 * b21 + a33 * b31;
+        out[outOff + M41] = 0.0;
+        out[outOff + M12] = a11 * b12 + a12 * b22 + a13 * b32;
+        out[outOff + M22] = a21 * b12 + a22 * b22 + a23 * b32;
+        out[outOff + M32] = a31 * b12 + a32 * b22 + a33 * b32;
+        out[outOff + M42] = 0.0;
+        out[outOff + M13] = a11 * b13 + a12 * b23 + a13 * b33;
+        out[outOff + M23] = a21 * b13 + a22 * b23 + a23 * b33;
+        out[outOff + M33] = a31 * b13 + a32 * b23 + a33 * b33;
+        out[outOff + M43] = 0.0;
+        out[outOff + M14] = a11 * b14 + a12 * b24 + a13 * b34 + a14;
+        out[outOff + M24] = a21 * b14 + a22 * b24 + a23 * b34 + a24;
+        out[outOff + M34] = a31 * b14 + a32 * b24 + a33 * b34 + a34;
+        out[outOff + M44] = 1.0;
+    }
+
+    /**
+     * Inverts an affine column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     * @see #invAffine()
+     */
+    public static void invAffine(double[] m, int mOff, double[] out, int outOff) {
+        assert isAffine(m, mOff) : "The matrix is not affine.";
+
+        double a11 = m[mOff + M11];
+        double a21 = m[mOff + M21];
+        double a31 = m[mOff + M31];
+        double a12 = m[mOff + M12];
+        double a22 = m[mOff + M22];
+        double a32 = m[mOff + M32];
+        double a13 = m[mOff + M13];
+        double a23 = m[mOff + M23];
+        double a33 = m[mOff + M33];
+        double a14 = m[mOff + M14];
+        double a24 = m[mOff + M24];
+        double a34 = m[mOff + M34];
+
+        // The first row of the 3x3 adjoint doubles as the cofactors needed for the determinant.
+        double m11 = a22 * a33 - a23 * a32;
+        double m12 = a13 * a32 - a12 * a33;
+        double m13 = a12 * a23 - a13 * a22;
+        double det = a11 * m11 + a21 * m12 + a31 * m13;
+        if (det == 0.0) throw new ArithmeticException("Degenerate matrix.");
+
+        double invDet = 1.0 / det;
+        m11 *= invDet;
+        m12 *= invDet;
+        m13 *= invDet;
+        double m21 = (a23 * a31 - a21 * a33) * invDet;
+        double m22 = (a11 * a33 - a13 * a31) * invDet;
+        double m23 = (a13 * a21 - a11 * a23) * invDet;
+        double m31 = (a21 * a32 - a22 * a31) * invDet;
+        double m32 = (a12 * a31 - a11 * a32) * invDet;
+        double m33 = (a11 * a22 - a12 * a21) * invDet;
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m21;
+        out[outOff + M31] = m31;
+        out[outOff + M41] = 0.0;
+        out[outOff + M12] = m12;
+        out[outOff + M22] = m22;
+        out[outOff + M32] = m32;
+        out[outOff + M42] = 0.0;
+        out[outOff + M13] = m13;
+        out[outOff + M23] = m23;
+        out[outOff + M33] = m33;
+        out[outOff + M43] = 0.0;
+        out[outOff + M14] = -(m11 * a14 + m12 * a24 + m13 * a34);
+        out[outOff + M24] = -(m21 * a14 + m22 * a24 + m23 * a34);
+        out[outOff + M34] = -(m31 * a14 + m32 * a24 + m33 * a34);
+        out[outOff + M44] = 1.0;
+    }
+
+    /**
+     * Inverts a rigid column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @see #invRigid()
+     */
+    public static void invRigid(double[] m, int mOff, double[] out, int outOff) {
+        assert isRigid(m, mOff) : "The matrix is not a rigid transform.";
+
+        double a11 = m[mOff + M11];
+        double a21 = m[mOff + M21];
+        double a31 = m[mOff + M31];
+        double a12 = m[mOff + M12];
+        double a22 = m[mOff + M22];
+        double a32 = m[mOff + M32];
+        double a13 = m[mOff + M13];
+        double a23 = m[mOff + M23];
+        double a33 = m[mOff + M33];
+        double a14 = m[mOff + M14];
+        double a24 = m[mOff + M24];
+        double a34 = m[mOff + M34];
+
+        out[outOff + M11] = a11;
+        out[outOff + M21] = a12;
+        out[outOff + M31] = a13;
+        out[outOff + M41] = 0.0;
+        out[outOff + M12] = a21;
+        out[outOff + M22] = a22;
+        out[outOff + M32] = a23;
+        out[outOff + M42] = 0.0;
+        out[outOff + M13] = a31;
+        out[outOff + M23] = a32;
+        out[outOff + M33] = a33;
+        out[outOff + M43] = 0.0;
+        out[outOff + M14] = -(a11 * a14 + a21 * a24 + a31 * a34);
+        out[outOff + M24] = -(a12 * a14 + a22 * a24 + a32 * a34);
+        out[outOff + M34] = -(a13 * a14 + a23 * a24 + a33 * a34);
+        out[outOff + M44] = 1.0;
+    }
+
+    @Override
+    public Matrix4d add(Matrix4d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] += m.val[i];
+        properties = 0;
+        return this;
+    }
+
+    @Override
+    public Matrix4d sub(Matrix4d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] -= m.val[i];
+        properties = 0;
+        return this;
+    }
+
+    @Override
+    public Matrix4d mul(double scalar) {
+        for (int i = 0; i < LEN; i++) this.val[i] *= scalar;
+        properties = 0;
+        return this;
+    }
+
+    @Override
+    public Matrix4d div(double scalar) {
+        for (int i = 0; i < LEN; i++) this.val[i] /= scalar;
+        properties = 0;
+        return this;
+    }
+
+    @Override
+    public Matrix4d mul(Matrix4d m) {
+        return mul(this, m, this);
+    }
+
+    @Override
+    public Matrix4d comMul(Matrix4d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] *= m.val[i];
+        properties = 0;
+        return this;
+    }
+
+    @Override
+    public Matrix4d comDiv(Matrix4d m) {
+        for (int i = 0; i < LEN; i++) this.val[i] /= m.val[i];
+        properties = 0;
+        return this;
+    }
+
+    /**
+     * Multiplies this matrix by the given 4D column vector.
+     *
+     * @param v The given vector.
+     * @return The changed given vector.
+     */
+    public Vector4d mul(Vector4d v) {
+        if ((properties & PROPERTY_IDENTITY) != 0) return v;
+
+        double x = v.x;
+        double y = v.y;
+        double z = v.z;
+        double w = v.w;
+        if ((properties & PROPERTY_TRANSLATION) != 0) {
+            v.x = x + val[M14] * w;
+            v.y = y + val[M24] * w;
+            v.z = z + val[M34] * w;
+            return v;
+        }
+
+        v.x = val[M11] * x + val[M12] * y + val[M13] * z + val[M14] * w;
+        v.y = val[M21] * x + val[M22] * y + val[M23] * z + val[M24] * w;
+        v.z = val[M31] * x + val[M32] * y + val[M33] * z + val[M34] * w;
+        if ((properties & PROPERTY_AFFINE) == 0) v.w = val[M41] * x + val[M42] * y + val[M43] * z + val[M44] * w;
+        return v;
+    }
+
+    /**
+     * Transforms the given packed 3D points by this matrix. Each point is read as <code>(x, y, z, 1)</code>
+     * and the resulting x, y and z components are written to the destination array; the resulting w component
+     * is discarded, so no perspective division is performed. The source and destination may be the same array.
+     *
+     * @param src    The source array of points.
+     * @param srcOff The offset of the first point in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first point in the destination array.
+     * @param count  The number of points to transform.
+     * @param stride The distance between the starts of consecutive points in both arrays. Must be at least 3.
+     */
+    public void transformPoints(float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        double m11 = val[M11];
+        double m12 = val[M12];
+        double m13 = val[M13];
+        double m14 = val[M14];
+        double m21 = val[M21];
+        double m22 = val[M22];
+        double m23 = val[M23];
+        double m24 = val[M24];
+        double m31 = val[M31];
+        double m32 = val[M32];
+        double m33 = val[M33];
+        double m34 = val[M34];
+        for (int i = 0; i < count; i++) {
+            int s = srcOff + i * stride;
+            int d = dstOff + i * stride;
+            double x = src[s];
+            double y = src[s + 1];
+            double z = src[s + 2];
+            dst[d] = (float) (m11 * x + m12 * y + m13 * z + m14);
+            dst[d + 1] = (float) (m21 * x + m22 * y + m23 * z + m24);
+            dst[d + 2] = (float) (m31 * x + m32 * y + m33 * z + m34);
+        }
+    }
+
+    /**
+     * Transforms the given packed 3D directions by this matrix. Each direction is read as <code>(x, y, z, 0)</code>,
+     * so the translation of this matrix does not affect the result. The resulting x, y and z components are
+     * written to the destination array. The source and destination may be the same array.
+     *
+     * @param src    The source array of directions.
+     * @param srcOff The offset of the first direction in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first direction in the destination array.
+     * @param count  The number of directions to transform.
+     * @param stride The distance between the starts of consecutive directions in both arrays. Must be at least 3.
+     */
+    public void transformDirections(float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        double m11 = val[M11];
+        double m12 = val[M12];
+        double m13 = val[M13];
+        double m21 = val[M21];
+        double m22 = val[M22];
+        double m23 = val[M23];
+        double m31 = val[M31];
+        double m32 = val[M32];
+        double m33 = val[M33];
+        for (int i = 0; i < count; i++) {
+            int s = srcOff + i * stride;
+            int d = dstOff + i * stride;
+            double x = src[s];
+            double y = src[s + 1];
+            double z = src[s + 2];
+            dst[d] = (float) (m11 * x + m12 * y + m13 * z);
+            dst[d + 1] = (float) (m21 * x + m22 * y + m23 * z);
+            dst[d + 2] = (float) (m31 * x + m32 * y + m33 * z);
+        }
+    }
+
+    /**
+     * Transforms the given points by this matrix. Each point is treated as <code>(x, y, z, 1)</code> and the
+     * resulting w component is discarded. The destination must have at least as many vectors as the source
+     * and may be the same array.
+     *
+     * @param src The source points.
+     * @param dst The destination array.
+     */
+    public void transformPoints(Vector3fArray src, Vector3fArray dst) {
+        transform(src, dst, 1.0);
+    }
+
+    /**
+     * Transforms the given directions by this matrix. Each direction is treated as <code>(x, y, z, 0)</code>,
+     * so the translation of this matrix does not affect the result. The destination must have at least as many
+     * vectors as the source and may be the same array.
+     *
+     * @param src The source directions.
+     * @param dst The destination array.
+     */
+    public void transformDirections(Vector3fArray src, Vector3fArray dst) {
+        transform(src, dst, 0.0);
+    }
+
+    /**
+     * Transforms the points of the given off-heap store in place. Each point is treated as <code>(x, y, z, 1)</code>
+     * and the resulting w component is discarded.
+     *
+     * @param store The store of points.
+     */
+    public void transformPoints(Vector3fStore store) {
+        transform(store, true);
+    }
+
+    /**
+     * Transforms the directions of the given off-heap store in place. Each direction is treated as
+     * <code>(x, y, z, 0)</code>, so the translation of this matrix does not affect the result.
+     *
+     * @param store The store of directions.
+     */
+    public void transformDirections(Vector3fStore store) {
+        transform(store, false);
+    }
+
+    private void transform(Vector3fStore store, boolean points) {
+        // The blocks are copied into the scratch array of the store, so nothing is allocated per call.
+        if (points) store.forEachBlock((block, count) -> transformPoints(block, 0, block, 0, count, 3));
+        else store.forEachBlock((block, count) -> transformDirections(block, 0, block, 0, count, 3));
+    }
+
+    private void transform(Vector3fArray src, Vector3fArray dst, double w) {
+        double m11 = val[M11];
+        double m12 = val[M12];
+        double m13 = val[M13];
+        double m14 = val[M14] * w;
+        double m21 = val[M21];
+        double m22 = val[M22];
+        double m23 = val[M23];
+        double m24 = val[M24] * w;
+        double m31 = val[M31];
+        double m32 = val[M32];
+        double m33 = val[M33];
+        double m34 = val[M34] * w;
+        float[] sx = src.x;
+        float[] sy = src.y;
+        float[] sz = src.z;
+        for (int i = 0; i < src.size; i++) {
+            double x = sx[i];
+            double y = sy[i];
+            double z = sz[i];
+            dst.x[i] = (float) (m11 * x + m12 * y + m13 * z + m14);
+            dst.y[i] = (float) (m21 * x + m22 * y + m23 * z + m24);
+            dst.z[i] = (float) (m31 * x + m32 * y + m33 * z + m34);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Matrix4d matrix4f = (Matrix4d) o;
+        return Arrays.equals(val, matrix4f.val);
+    }
+
+    /**
+     * Checks if the given matrices are nearly equal using the provided epsilon value.
+     *
+     * @param epsilon The epsilon value.
+     * @return Whether the two matrices are nearly equal.
+     */
+    public boolean epsEquals(Matrix4d m, double epsilon) {
+        if (this == m) return true;
+        if (m == null) return false;
+        for (int i = 0; i < LEN; i++) {
+            if (Math.abs(val[i] - m.val[i]) > epsilon) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(val);
+    }
+}
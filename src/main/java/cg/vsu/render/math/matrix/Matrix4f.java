@@ -1,11 +1,25 @@
 package cg.vsu.render.math.matrix;
 
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.Quaternionf;
+import cg.vsu.render.math.Simd;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import cg.vsu.render.math.vector.Vector3fStore;
 import cg.vsu.render.math.vector.Vector4f;
 
 import java.util.Arrays;
 
 /**
  * A mutable column-major 4x4 square matrix of floats.
+ * <p>
+ * When the optional SIMD backend is enabled (see {@link Simd}), matrix multiplication, inversion and the
+ * bulk transforms of {@link Vector3fArray} run on the Vector API instead of the scalar code.
+ * <p>
+ * A matrix keeps a bitmask of properties known about its values (see {@link #properties()}). The bits are
+ * maintained by the methods of this class and let multiplication, inversion and the determinant skip the
+ * work that the special structure makes redundant. Code that writes to {@link #val} directly must call
+ * {@link #invalidateProperties()} or {@link #determineProperties()} afterwards.
  */
 public class Matrix4f implements Matrix<Matrix4f> {
     // Indices for the matrix values.
@@ -28,10 +42,28 @@ public class Matrix4f implements Matrix<Matrix4f> {
     public static final int LEN = 16;
 
     /**
-     * The one-dimensional column-major array of scalars stored in this matrix.
+     * The property bit set when the matrix is known to be the identity matrix.
+     */
+    public static final int PROPERTY_IDENTITY = 1;
+
+    /**
+     * The property bit set when the matrix is known to be a pure translation matrix.
+     */
+    public static final int PROPERTY_TRANSLATION = 2;
+
+    /**
+     * The property bit set when the matrix is known to be affine, i.e. its bottom row is <code>(0, 0, 0, 1)</code>.
+     */
+    public static final int PROPERTY_AFFINE = 4;
+
+    /**
+     * The one-dimensional column-major array of scalars stored in this matrix. After writing to it directly,
+     * call {@link #invalidateProperties()}.
      */
     public float[] val = new float[LEN];
 
+    private int properties;
+
     /**
      * Creates a new identity matrix.
      *
@@ -93,6 +125,7 @@ public class Matrix4f implements Matrix<Matrix4f> {
     @Override
     public Matrix4f setZero() {
         for (int i = 0; i < LEN; i++) val[i] = 0.0f;
+        properties = 0;
         return this;
     }
 
@@ -114,18 +147,551 @@ public class Matrix4f implements Matrix<Matrix4f> {
         val[M42] = 0.0f;
         val[M43] = 0.0f;
         val[M44] = 1.0f;
+        properties = PROPERTY_IDENTITY | PROPERTY_TRANSLATION | PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a translation matrix.
+     *
+     * @param x The translation along the x axis.
+     * @param y The translation along the y axis.
+     * @param z The translation along the z axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setTranslation(float x, float y, float z) {
+        setIdentity();
+        val[M14] = x;
+        val[M24] = y;
+        val[M34] = z;
+        properties = PROPERTY_TRANSLATION | PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a translation matrix.
+     *
+     * @param v The translation vector.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setTranslation(Vector3f v) {
+        return setTranslation(v.x, v.y, v.z);
+    }
+
+    /**
+     * Sets this matrix to a rotation around the x axis.
+     *
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setRotationX(float radians) {
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+        return setRotation(
+                1.0f, 0.0f, 0.0f,
+                0.0f, cos, -sin,
+                0.0f, sin, cos
+        );
+    }
+
+    /**
+     * Sets this matrix to a rotation around the y axis.
+     *
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setRotationY(float radians) {
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+        return setRotation(
+                cos, 0.0f, sin,
+                0.0f, 1.0f, 0.0f,
+                -sin, 0.0f, cos
+        );
+    }
+
+    /**
+     * Sets this matrix to a rotation around the z axis.
+     *
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setRotationZ(float radians) {
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+        return setRotation(
+                cos, -sin, 0.0f,
+                sin, cos, 0.0f,
+                0.0f, 0.0f, 1.0f
+        );
+    }
+
+    /**
+     * Sets this matrix to a rotation around the given axis.
+     *
+     * @param axis    The unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setRotation(Vector3f axis, float radians) {
+        return setRotation(axis.x, axis.y, axis.z, radians);
+    }
+
+    /**
+     * Sets this matrix to a rotation around the given axis.
+     *
+     * @param x       The x component of the unit rotation axis.
+     * @param y       The y component of the unit rotation axis.
+     * @param z       The z component of the unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setRotation(float x, float y, float z, float radians) {
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+        float t = 1.0f - cos;
+        float xy = t * x * y;
+        float xz = t * x * z;
+        float yz = t * y * z;
+        return setRotation(
+                t * x * x + cos, xy - sin * z, xz + sin * y,
+                xy + sin * z, t * y * y + cos, yz - sin * x,
+                xz - sin * y, yz + sin * x, t * z * z + cos
+        );
+    }
+
+    private Matrix4f setRotation(
+            float m11, float m12, float m13,
+            float m21, float m22, float m23,
+            float m31, float m32, float m33
+    ) {
+        val[M11] = m11;
+        val[M21] = m21;
+        val[M31] = m31;
+        val[M41] = 0.0f;
+        val[M12] = m12;
+        val[M22] = m22;
+        val[M32] = m32;
+        val[M42] = 0.0f;
+        val[M13] = m13;
+        val[M23] = m23;
+        val[M33] = m33;
+        val[M43] = 0.0f;
+        val[M14] = 0.0f;
+        val[M24] = 0.0f;
+        val[M34] = 0.0f;
+        val[M44] = 1.0f;
+        properties = PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a scaling matrix.
+     *
+     * @param x The scale along the x axis.
+     * @param y The scale along the y axis.
+     * @param z The scale along the z axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setScale(float x, float y, float z) {
+        setIdentity();
+        val[M11] = x;
+        val[M22] = y;
+        val[M33] = z;
+        properties = PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a uniform scaling matrix.
+     *
+     * @param scale The scale along all three axes.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setScale(float scale) {
+        return setScale(scale, scale, scale);
+    }
+
+    /**
+     * Sets this matrix to a right-handed perspective projection matrix which maps the view frustum
+     * to normalized device coordinates in <code>[-1, 1]</code> on all three axes.
+     *
+     * @param fovY   The vertical field of view in radians.
+     * @param aspect The aspect ratio of the viewport (width divided by height).
+     * @param near   The distance to the near plane. Must be positive.
+     * @param far    The distance to the far plane. Must be greater than the near distance.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setPerspective(float fovY, float aspect, float near, float far) {
+        float f = 1.0f / (float) Math.tan(fovY * 0.5f);
+        float range = near - far;
+        setZero();
+        val[M11] = f / aspect;
+        val[M22] = f;
+        val[M33] = (far + near) / range;
+        val[M34] = 2.0f * far * near / range;
+        val[M43] = -1.0f;
         return this;
     }
 
+    /**
+     * Sets this matrix to a right-handed orthographic projection matrix which maps the given box
+     * to normalized device coordinates in <code>[-1, 1]</code> on all three axes.
+     *
+     * @param left   The x coordinate of the left plane.
+     * @param right  The x coordinate of the right plane.
+     * @param bottom The y coordinate of the bottom plane.
+     * @param top    The y coordinate of the top plane.
+     * @param near   The distance to the near plane.
+     * @param far    The distance to the far plane.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setOrtho(float left, float right, float bottom, float top, float near, float far) {
+        float width = right - left;
+        float height = top - bottom;
+        float depth = far - near;
+        setIdentity();
+        val[M11] = 2.0f / width;
+        val[M22] = 2.0f / height;
+        val[M33] = -2.0f / depth;
+        val[M14] = -(right + left) / width;
+        val[M24] = -(top + bottom) / height;
+        val[M34] = -(far + near) / depth;
+        properties = PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to a right-handed view matrix of a camera placed at the eye position and looking at
+     * the target. The camera looks along its negative z axis.
+     *
+     * @param eye    The position of the camera.
+     * @param target The point the camera looks at.
+     * @param up     The up direction. Must not be parallel to the view direction.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setLookAt(Vector3f eye, Vector3f target, Vector3f up) {
+        // The forward direction.
+        float fx = target.x - eye.x;
+        float fy = target.y - eye.y;
+        float fz = target.z - eye.z;
+        float fLen = Vector3f.len(fx, fy, fz);
+        fx /= fLen;
+        fy /= fLen;
+        fz /= fLen;
+
+        // The right direction: forward x up.
+        float sx = fy * up.z - fz * up.y;
+        float sy = fz * up.x - fx * up.z;
+        float sz = fx * up.y - fy * up.x;
+        float sLen = Vector3f.len(sx, sy, sz);
+        sx /= sLen;
+        sy /= sLen;
+        sz /= sLen;
+
+        // The true up direction: right x forward.
+        float ux = sy * fz - sz * fy;
+        float uy = sz * fx - sx * fz;
+        float uz = sx * fy - sy * fx;
+
+        setRotation(
+                sx, sy, sz,
+                ux, uy, uz,
+                -fx, -fy, -fz
+        );
+        val[M14] = -(sx * eye.x + sy * eye.y + sz * eye.z);
+        val[M24] = -(ux * eye.x + uy * eye.y + uz * eye.z);
+        val[M34] = fx * eye.x + fy * eye.y + fz * eye.z;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to the camera-relative model-view matrix of a model far from the origin:
+     * <pre>this <- view * T(model position - camera position) * model</pre>
+     * Only the difference of the two positions is computed in double precision. It is small for every model
+     * the camera can see, so it is rounded to float without loss, and all further work with this matrix can stay
+     * in float. Composing the full model and view matrices in float instead would lose the low bits of both
+     * positions, which makes vertices jitter when the camera is far from the origin.
+     *
+     * @param view   The view matrix of the camera placed at the origin, i.e. its rotation only.
+     * @param model  The model matrix relative to the model position, e.g. its rotation and scale.
+     *               Must not be the same object as <code>view</code>.
+     * @param modelX The x coordinate of the model position.
+     * @param modelY The y coordinate of the model position.
+     * @param modelZ The z coordinate of the model position.
+     * @param eyeX   The x coordinate of the camera position.
+     * @param eyeY   The y coordinate of the camera position.
+     * @param eyeZ   The z coordinate of the camera position.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setModelViewRelative(
+            Matrix4f view, Matrix4f model,
+            double modelX, double modelY, double modelZ,
+            double eyeX, double eyeY, double eyeZ
+    ) {
+        return setModelViewRelative(
+                view, model,
+                (float) (modelX - eyeX), (float) (modelY - eyeY), (float) (modelZ - eyeZ)
+        );
+    }
+
+    /**
+     * Sets this matrix to the camera-relative model-view matrix of a model far from the origin, with both
+     * positions split into high and low float parts (see {@link MathUtils#splitHigh(double)} and
+     * {@link MathUtils#splitLow(double)}). The high parts are subtracted first, which is exact for nearby
+     * positions, so the offset keeps about twice the precision of a float without any double arithmetic.
+     * This suits positions that are stored as float pairs, e.g. in vertex or instance buffers.
+     *
+     * @param view      The view matrix of the camera placed at the origin, i.e. its rotation only.
+     * @param model     The model matrix relative to the model position. Must not be the same object as
+     *                  <code>view</code>.
+     * @param modelHigh The high part of the model position.
+     * @param modelLow  The low part of the model position.
+     * @param eyeHigh   The high part of the camera position.
+     * @param eyeLow    The low part of the camera position.
+     * @return This matrix for chaining.
+     * @see #setModelViewRelative(Matrix4f, Matrix4f, double, double, double, double, double, double)
+     */
+    public Matrix4f setModelViewRelative(
+            Matrix4f view, Matrix4f model,
+            Vector3f modelHigh, Vector3f modelLow,
+            Vector3f eyeHigh, Vector3f eyeLow
+    ) {
+        return setModelViewRelative(
+                view, model,
+                (modelHigh.x - eyeHigh.x) + (modelLow.x - eyeLow.x),
+                (modelHigh.y - eyeHigh.y) + (modelLow.y - eyeLow.y),
+                (modelHigh.z - eyeHigh.z) + (modelLow.z - eyeLow.z)
+        );
+    }
+
+    private Matrix4f setModelViewRelative(Matrix4f view, Matrix4f model, float x, float y, float z) {
+        if (this == view) {
+            // this <- (view * T) * model
+            translate(x, y, z);
+            return mul(this, model, this);
+        }
+
+        // this <- view * (T * model); T only adds multiples of the bottom row to the other rows.
+        set(model);
+        for (int col = 0; col < 4; col++) {
+            float w = val[col * 4 + 3];
+            val[col * 4] += x * w;
+            val[col * 4 + 1] += y * w;
+            val[col * 4 + 2] += z * w;
+        }
+        properties &= ~PROPERTY_IDENTITY;
+        return mul(view, this, this);
+    }
+
+    /**
+     * Post-multiplies this matrix by a translation matrix, so that the translation is applied first:
+     * <pre>this <- this * T</pre>
+     * Only the last column changes, which takes 12 multiplications instead of 64.
+     *
+     * @param x The translation along the x axis.
+     * @param y The translation along the y axis.
+     * @param z The translation along the z axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f translate(float x, float y, float z) {
+        if ((properties & PROPERTY_TRANSLATION) != 0) {
+            return setTranslation(val[M14] + x, val[M24] + y, val[M34] + z);
+        }
+
+        val[M14] += val[M11] * x + val[M12] * y + val[M13] * z;
+        val[M24] += val[M21] * x + val[M22] * y + val[M23] * z;
+        val[M34] += val[M31] * x + val[M32] * y + val[M33] * z;
+        val[M44] += val[M41] * x + val[M42] * y + val[M43] * z;
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix by a translation matrix.
+     *
+     * @param v The translation vector.
+     * @return This matrix for chaining.
+     * @see #translate(float, float, float)
+     */
+    public Matrix4f translate(Vector3f v) {
+        return translate(v.x, v.y, v.z);
+    }
+
+    /**
+     * Post-multiplies this matrix by a rotation matrix, so that the rotation is applied first:
+     * <pre>this <- this * R</pre>
+     * The last column is unchanged, which takes 36 multiplications instead of 64.
+     *
+     * @param axis    The unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f rotate(Vector3f axis, float radians) {
+        return rotate(axis.x, axis.y, axis.z, radians);
+    }
+
+    /**
+     * Post-multiplies this matrix by a rotation matrix.
+     *
+     * @param x       The x component of the unit rotation axis.
+     * @param y       The y component of the unit rotation axis.
+     * @param z       The z component of the unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This matrix for chaining.
+     * @see #rotate(Vector3f, float)
+     */
+    public Matrix4f rotate(float x, float y, float z, float radians) {
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+        float t = 1.0f - cos;
+        float xy = t * x * y;
+        float xz = t * x * z;
+        float yz = t * y * z;
+        float r11 = t * x * x + cos;
+        float r21 = xy + sin * z;
+        float r31 = xz - sin * y;
+        float r12 = xy - sin * z;
+        float r22 = t * y * y + cos;
+        float r32 = yz + sin * x;
+        float r13 = xz + sin * y;
+        float r23 = yz - sin * x;
+        float r33 = t * z * z + cos;
+
+        for (int row = 0; row < 4; row++) {
+            float a1 = val[M11 + row];
+            float a2 = val[M12 + row];
+            float a3 = val[M13 + row];
+            val[M11 + row] = a1 * r11 + a2 * r21 + a3 * r31;
+            val[M12 + row] = a1 * r12 + a2 * r22 + a3 * r32;
+            val[M13 + row] = a1 * r13 + a2 * r23 + a3 * r33;
+        }
+        properties &= PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix by a scaling matrix, so that the scale is applied first:
+     * <pre>this <- this * S</pre>
+     * Only the first three columns are scaled, which takes 12 multiplications instead of 64.
+     *
+     * @param x The scale along the x axis.
+     * @param y The scale along the y axis.
+     * @param z The scale along the z axis.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f scale(float x, float y, float z) {
+        for (int row = 0; row < 4; row++) {
+            val[M11 + row] *= x;
+            val[M12 + row] *= y;
+            val[M13 + row] *= z;
+        }
+        properties &= PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Post-multiplies this matrix by a uniform scaling matrix.
+     *
+     * @param scale The scale along all three axes.
+     * @return This matrix for chaining.
+     * @see #scale(float, float, float)
+     */
+    public Matrix4f scale(float scale) {
+        return scale(scale, scale, scale);
+    }
+
     @Override
     public Matrix4f set(float[] values) {
         System.arraycopy(values, 0, this.val, 0, LEN);
+        properties = 0;
         return this;
     }
 
     @Override
     public Matrix4f set(Matrix4f m) {
         System.arraycopy(m.val, 0, this.val, 0, LEN);
+        properties = m.properties;
+        return this;
+    }
+
+    /**
+     * Sets this matrix to the rotation represented by the given unit quaternion, without translation.
+     *
+     * @param q The unit quaternion.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f set(Quaternionf q) {
+        float x = q.x;
+        float y = q.y;
+        float z = q.z;
+        float w = q.w;
+        float xx = x * x;
+        float yy = y * y;
+        float zz = z * z;
+        float xy = x * y;
+        float xz = x * z;
+        float yz = y * z;
+        float wx = w * x;
+        float wy = w * y;
+        float wz = w * z;
+
+        val[M11] = 1.0f - 2.0f * (yy + zz);
+        val[M21] = 2.0f * (xy + wz);
+        val[M31] = 2.0f * (xz - wy);
+        val[M12] = 2.0f * (xy - wz);
+        val[M22] = 1.0f - 2.0f * (xx + zz);
+        val[M32] = 2.0f * (yz + wx);
+        val[M13] = 2.0f * (xz + wy);
+        val[M23] = 2.0f * (yz - wx);
+        val[M33] = 1.0f - 2.0f * (xx + yy);
+        val[M41] = 0.0f;
+        val[M42] = 0.0f;
+        val[M43] = 0.0f;
+        val[M14] = 0.0f;
+        val[M24] = 0.0f;
+        val[M34] = 0.0f;
+        val[M44] = 1.0f;
+        properties = PROPERTY_AFFINE;
+        return this;
+    }
+
+    /**
+     * Returns the bitmask of properties known about this matrix, made of the <code>PROPERTY_*</code> constants.
+     * A cleared bit means that the property is unknown, not that the matrix lacks it.
+     *
+     * @return The property bitmask.
+     */
+    public int properties() {
+        return properties;
+    }
+
+    /**
+     * Forgets all properties known about this matrix, so that every operation takes the general path.
+     * Must be called after writing to {@link #val} directly.
+     *
+     * @return This matrix for chaining.
+     */
+    public Matrix4f invalidateProperties() {
+        properties = 0;
+        return this;
+    }
+
+    /**
+     * Inspects the values of this matrix and sets the property bitmask accordingly.
+     *
+     * @return This matrix for chaining.
+     */
+    public Matrix4f determineProperties() {
+        properties = 0;
+        if (!isAffine(val, 0)) return this;
+
+        properties = PROPERTY_AFFINE;
+        if (val[M11] == 1.0f && val[M21] == 0.0f && val[M31] == 0.0f
+                && val[M12] == 0.0f && val[M22] == 1.0f && val[M32] == 0.0f
+                && val[M13] == 0.0f && val[M23] == 0.0f && val[M33] == 1.0f) {
+            properties |= PROPERTY_TRANSLATION;
+            if (val[M14] == 0.0f && val[M24] == 0.0f && val[M34] == 0.0f) properties |= PROPERTY_IDENTITY;
+        }
         return this;
     }
 
@@ -155,17 +721,21 @@ public class Matrix4f implements Matrix<Matrix4f> {
         val[M24] = l.y;
         val[M34] = l.z;
         val[M44] = l.w;
+        properties = 0;
         return this;
     }
 
     @Override
     public Matrix4f fill(float scalar) {
         for (int i = 0; i < LEN; i++) val[i] = scalar;
+        properties = 0;
         return this;
     }
 
     @Override
     public Matrix4f tra() {
+        if ((properties & PROPERTY_IDENTITY) != 0) return this;
+
         float m12 = val[M12];
         float m13 = val[M13];
         float m14 = val[M14];
@@ -185,155 +755,714 @@ public class Matrix4f implements Matrix<Matrix4f> {
         val[M41] = m14;
         val[M42] = m24;
         val[M43] = m34;
+        properties = 0;
         return this;
     }
 
     @Override
     public float det() {
-        return val[M41] * val[M32] * val[M23] * val[M14] - val[M31] * val[M42] * val[M23] * val[M14]
-                - val[M41] * val[M22] * val[M33] * val[M14] + val[M21] * val[M42] * val[M33] * val[M14]
-                + val[M31] * val[M22] * val[M43] * val[M14] - val[M21] * val[M32] * val[M43] * val[M14]
-                - val[M41] * val[M32] * val[M13] * val[M24] + val[M31] * val[M42] * val[M13] * val[M24]
-                + val[M41] * val[M12] * val[M33] * val[M24] - val[M11] * val[M42] * val[M33] * val[M24]
-                - val[M31] * val[M12] * val[M43] * val[M24] + val[M11] * val[M32] * val[M43] * val[M24]
-                + val[M41] * val[M22] * val[M13] * val[M34] - val[M21] * val[M42] * val[M13] * val[M34]
-                - val[M41] * val[M12] * val[M23] * val[M34] + val[M11] * val[M42] * val[M23] * val[M34]
-                + val[M21] * val[M12] * val[M43] * val[M34] - val[M11] * val[M22] * val[M43] * val[M34]
-                - val[M31] * val[M22] * val[M13] * val[M44] + val[M21] * val[M32] * val[M13] * val[M44]
-                + val[M31] * val[M12] * val[M23] * val[M44] - val[M11] * val[M32] * val[M23] * val[M44]
-                - val[M21] * val[M12] * val[M33] * val[M44] + val[M11] * val[M22] * val[M33] * val[M44];
+        if ((properties & PROPERTY_TRANSLATION) != 0) return 1.0f;
+        if ((properties & PROPERTY_AFFINE) != 0) {
+            return val[M11] * (val[M22] * val[M33] - val[M23] * val[M32])
+                    + val[M21] * (val[M13] * val[M32] - val[M12] * val[M33])
+                    + val[M31] * (val[M12] * val[M23] - val[M13] * val[M22]);
+        }
+        return det(val, 0);
     }
 
     @Override
     public Matrix4f inv() {
-        float det = det();
+        return inv(this);
+    }
+
+    @Override
+    public Matrix4f tra(Matrix4f dest) {
+        tra(val, 0, dest.val, 0);
+        dest.properties = properties & PROPERTY_IDENTITY;
+        return dest;
+    }
+
+    @Override
+    public Matrix4f inv(Matrix4f dest) {
+        if ((properties & PROPERTY_IDENTITY) != 0) return dest.setIdentity();
+        if ((properties & PROPERTY_TRANSLATION) != 0) return dest.setTranslation(-val[M14], -val[M24], -val[M34]);
+
+        int properties = this.properties;
+        if ((properties & PROPERTY_AFFINE) != 0) invAffine(val, 0, dest.val, 0);
+        else inv(val, 0, dest.val, 0);
+        dest.properties = properties;
+        return dest;
+    }
+
+    /**
+     * Inverts this matrix and returns its determinant. Unlike {@link #inv()}, a degenerate matrix does not
+     * throw: it is left unchanged and zero is returned. A general matrix is inverted in one pass that derives
+     * the determinant and the adjugate from shared sub-determinants (see
+     * {@link #invAndDet(float[], int, float[], int)}).
+     *
+     * @return The determinant of this matrix before the inversion.
+     */
+    public float invAndDet() {
+        if ((properties & PROPERTY_AFFINE) != 0) {
+            // The 3x3 determinant is cheap, so the affine paths need not return it.
+            float det = det();
+            if (det != 0.0f) inv(this);
+            return det;
+        }
+        return invAndDet(val, 0, val, 0);
+    }
+
+    /**
+     * Multiplies the two given matrices and stores the result in the destination matrix:
+     * <pre>dest <- ab</pre>
+     * The destination may be the same object as either of the operands.
+     *
+     * @param a    The left matrix.
+     * @param b    The right matrix.
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     */
+    public static Matrix4f mul(Matrix4f a, Matrix4f b, Matrix4f dest) {
+        if ((b.properties & PROPERTY_IDENTITY) != 0) return dest.set(a);
+        if ((a.properties & PROPERTY_IDENTITY) != 0) return dest.set(b);
+
+        int properties = a.properties & b.properties;
+        if ((properties & PROPERTY_TRANSLATION) != 0) {
+            return dest.setTranslation(a.val[M14] + b.val[M14], a.val[M24] + b.val[M24], a.val[M34] + b.val[M34]);
+        }
+        if ((properties & PROPERTY_AFFINE) != 0) mulAffine(a.val, 0, b.val, 0, dest.val, 0);
+        else mul(a.val, 0, b.val, 0, dest.val, 0);
+        dest.properties = properties;
+        return dest;
+    }
+
+    /**
+     * Multiplies two column-major matrices stored in arrays at the given offsets:
+     * <pre>out <- ab</pre>
+     * The result may be written over either of the operands.
+     *
+     * @param a      The array containing the left matrix.
+     * @param aOff   The offset of the left matrix.
+     * @param b      The array containing the right matrix.
+     * @param bOff   The offset of the right matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void mul(float[] a, int aOff, float[] b, int bOff, float[] out, int outOff) {
+        if (Simd.ENABLED) {
+            Matrix4fSimd.mul(a, aOff, b, bOff, out, outOff);
+            return;
+        }
+
+        float a11 = a[aOff + M11];
+        float a21 = a[aOff + M21];
+        float a31 = a[aOff + M31];
+        float a41 = a[aOff + M41];
+        float a12 = a[aOff + M12];
+        float a22 = a[aOff + M22];
+        float a32 = a[aOff + M32];
+        float a42 = a[aOff + M42];
+        float a13 = a[aOff + M13];
+        float a23 = a[aOff + M23];
+        float a33 = a[aOff + M33];
+        float a43 = a[aOff + M43];
+        float a14 = a[aOff + M14];
+        float a24 = a[aOff + M24];
+        float a34 = a[aOff + M34];
+        float a44 = a[aOff + M44];
+        float b11 = b[bOff + M11];
+        float b21 = b[bOff + M21];
+        float b31 = b[bOff + M31];
+        float b41 = b[bOff + M41];
+        float b12 = b[bOff + M12];
+        float b22 = b[bOff + M22];
+        float b32 = b[bOff + M32];
+        float b42 = b[bOff + M42];
+        float b13 = b[bOff + M13];
+        float b23 = b[bOff + M23];
+        float b33 = b[bOff + M33];
+        float b43 = b[bOff + M43];
+        float b14 = b[bOff + M14];
+        float b24 = b[bOff + M24];
+        float b34 = b[bOff + M34];
+        float b44 = b[bOff + M44];
+
+        float m11 = a11 * b11 + a12 * b21 + a13 * b31 + a14 * b41;
+        float m12 = a11 * b12 + a12 * b22 + a13 * b32 + a14 * b42;
+        float m13 = a11 * b13 + a12 * b23 + a13 * b33 + a14 * b43;
+        float m14 = a11 * b14 + a12 * b24 + a13 * b34 + a14 * b44;
+        float m21 = a21 * b11 + a22 * b21 + a23 * b31 + a24 * b41;
+        float m22 = a21 * b12 + a22 * b22 + a23 * b32 + a24 * b42;
+        float m23 = a21 * b13 + a22 * b23 + a23 * b33 + a24 * b43;
+        float m24 = a21 * b14 + a22 * b24 + a23 * b34 + a24 * b44;
+        float m31 = a31 * b11 + a32 * b21 + a33 * b31 + a34 * b41;
+        float m32 = a31 * b12 + a32 * b22 + a33 * b32 + a34 * b42;
+        float m33 = a31 * b13 + a32 * b23 + a33 * b33 + a34 * b43;
+        float m34 = a31 * b14 + a32 * b24 + a33 * b34 + a34 * b44;
+        float m41 = a41 * b11 + a42 * b21 + a43 * b31 + a44 * b41;
+        float m42 = a41 * b12 + a42 * b22 + a43 * b32 + a44 * b42;
+        float m43 = a41 * b13 + a42 * b23 + a43 * b33 + a44 * b43;
+        float m44 = a41 * b14 + a42 * b24 + a43 * b34 + a44 * b44;
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m21;
+        out[outOff + M31] = m31;
+        out[outOff + M41] = m41;
+        out[outOff + M12] = m12;
+        out[outOff + M22] = m22;
+        out[outOff + M32] = m32;
+        out[outOff + M42] = m42;
+        out[outOff + M13] = m13;
+        out[outOff + M23] = m23;
+        out[outOff + M33] = m33;
+        out[outOff + M43] = m43;
+        out[outOff + M14] = m14;
+        out[outOff + M24] = m24;
+        out[outOff + M34] = m34;
+        out[outOff + M44] = m44;
+    }
+
+    /**
+     * Transposes a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     */
+    public static void tra(float[] m, int mOff, float[] out, int outOff) {
+        float m11 = m[mOff + M11];
+        float m21 = m[mOff + M21];
+        float m31 = m[mOff + M31];
+        float m41 = m[mOff + M41];
+        float m12 = m[mOff + M12];
+        float m22 = m[mOff + M22];
+        float m32 = m[mOff + M32];
+        float m42 = m[mOff + M42];
+        float m13 = m[mOff + M13];
+        float m23 = m[mOff + M23];
+        float m33 = m[mOff + M33];
+        float m43 = m[mOff + M43];
+        float m14 = m[mOff + M14];
+        float m24 = m[mOff + M24];
+        float m34 = m[mOff + M34];
+        float m44 = m[mOff + M44];
+
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m12;
+        out[outOff + M31] = m13;
+        out[outOff + M41] = m14;
+        out[outOff + M12] = m21;
+        out[outOff + M22] = m22;
+        out[outOff + M32] = m23;
+        out[outOff + M42] = m24;
+        out[outOff + M13] = m31;
+        out[outOff + M23] = m32;
+        out[outOff + M33] = m33;
+        out[outOff + M43] = m34;
+        out[outOff + M14] = m41;
+        out[outOff + M24] = m42;
+        out[outOff + M34] = m43;
+        out[outOff + M44] = m44;
+    }
+
+    /**
+     * Calculates the determinant by the Laplace expansion along the first two rows, i.e. from six 2x2
+     * sub-determinants of the top rows and six of the bottom rows.
+     *
+     * @param m    The array containing the column-major matrix.
+     * @param mOff The offset of the matrix.
+     * @return The determinant of the matrix.
+     */
+    public static float det(float[] m, int mOff) {
+        float a11 = m[mOff + M11];
+        float a21 = m[mOff + M21];
+        float a31 = m[mOff + M31];
+        float a41 = m[mOff + M41];
+        float a12 = m[mOff + M12];
+        float a22 = m[mOff + M22];
+        float a32 = m[mOff + M32];
+        float a42 = m[mOff + M42];
+        float a13 = m[mOff + M13];
+        float a23 = m[mOff + M23];
+        float a33 = m[mOff + M33];
+        float a43 = m[mOff + M43];
+        float a14 = m[mOff + M14];
+        float a24 = m[mOff + M24];
+        float a34 = m[mOff + M34];
+        float a44 = m[mOff + M44];
+        return (a11 * a22 - a21 * a12) * (a33 * a44 - a43 * a34)
+                - (a11 * a23 - a21 * a13) * (a32 * a44 - a42 * a34)
+                + (a11 * a24 - a21 * a14) * (a32 * a43 - a42 * a33)
+                + (a12 * a23 - a22 * a13) * (a31 * a44 - a41 * a34)
+                - (a12 * a24 - a22 * a14) * (a31 * a43 - a41 * a33)
+                + (a13 * a24 - a23 * a14) * (a31 * a42 - a41 * a32);
+    }
+
+    /**
+     * Inverts a column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     * @see #invAndDet(float[], int, float[], int)
+     */
+    public static void inv(float[] m, int mOff, float[] out, int outOff) {
+        if (invAndDet(m, mOff, out, outOff) == 0.0f) throw new ArithmeticException("Degenerate matrix.");
+    }
+
+    /**
+     * Inverts a column-major matrix stored in an array at the given offset and returns its determinant.
+     * The result may be written over the input. A degenerate matrix does not throw: the result is left
+     * unchanged and zero is returned, so that callers inverting many matrices can handle it without
+     * an exception.
+     * <p>
+     * The twelve 2x2 sub-determinants of the top and bottom row pairs are calculated once; both the
+     * determinant and all cofactors of the adjugate are combined from them. The whole inverse takes 94
+     * multiplications, fewer than the fully expanded determinant alone.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @return The determinant of the matrix.
+     */
+    public static float invAndDet(float[] m, int mOff, float[] out, int outOff) {
+        if (Simd.ENABLED) return Matrix4fSimd.inv(m, mOff, out, outOff);
+
+        float a11 = m[mOff + M11];
+        float a21 = m[mOff + M21];
+        float a31 = m[mOff + M31];
+        float a41 = m[mOff + M41];
+        float a12 = m[mOff + M12];
+        float a22 = m[mOff + M22];
+        float a32 = m[mOff + M32];
+        float a42 = m[mOff + M42];
+        float a13 = m[mOff + M13];
+        float a23 = m[mOff + M23];
+        float a33 = m[mOff + M33];
+        float a43 = m[mOff + M43];
+        float a14 = m[mOff + M14];
+        float a24 = m[mOff + M24];
+        float a34 = m[mOff + M34];
+        float a44 = m[mOff + M44];
+
+        // The 2x2 sub-determinants of rows 1-2 and rows 3-4, shared by the determinant and the adjugate.
+        float s0 = a11 * a22 - a21 * a12;
+        float s1 = a11 * a23 - a21 * a13;
+        float s2 = a11 * a24 - a21 * a14;
+        float s3 = a12 * a23 - a22 * a13;
+        float s4 = a12 * a24 - a22 * a14;
+        float s5 = a13 * a24 - a23 * a14;
+        float c0 = a31 * a42 - a41 * a32;
+        float c1 = a31 * a43 - a41 * a33;
+        float c2 = a31 * a44 - a41 * a34;
+        float c3 = a32 * a43 - a42 * a33;
+        float c4 = a32 * a44 - a42 * a34;
+        float c5 = a33 * a44 - a43 * a34;
+        float det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+        if (det == 0.0f) return 0.0f;
+
+        float invDet = 1.0f / det;
+        out[outOff + M11] = (a22 * c5 - a23 * c4 + a24 * c3) * invDet;
+        out[outOff + M21] = (-a21 * c5 + a23 * c2 - a24 * c1) * invDet;
+        out[outOff + M31] = (a21 * c4 - a22 * c2 + a24 * c0) * invDet;
+        out[outOff + M41] = (-a21 * c3 + a22 * c1 - a23 * c0) * invDet;
+        out[outOff + M12] = (-a12 * c5 + a13 * c4 - a14 * c3) * invDet;
+        out[outOff + M22] = (a11 * c5 - a13 * c2 + a14 * c1) * invDet;
+        out[outOff + M32] = (-a11 * c4 + a12 * c2 - a14 * c0) * invDet;
+        out[outOff + M42] = (a11 * c3 - a12 * c1 + a13 * c0) * invDet;
+        out[outOff + M13] = (a42 * s5 - a43 * s4 + a44 * s3) * invDet;
+        out[outOff + M23] = (-a41 * s5 + a43 * s2 - a44 * s1) * invDet;
+        out[outOff + M33] = (a41 * s4 - a42 * s2 + a44 * s0) * invDet;
+        out[outOff + M43] = (-a41 * s3 + a42 * s1 - a43 * s0) * invDet;
+        out[outOff + M14] = (-a32 * s5 + a33 * s4 - a34 * s3) * invDet;
+        out[outOff + M24] = (a31 * s5 - a33 * s2 + a34 * s1) * invDet;
+        out[outOff + M34] = (-a31 * s4 + a32 * s2 - a34 * s0) * invDet;
+        out[outOff + M44] = (a31 * s3 - a32 * s1 + a33 * s0) * invDet;
+        return det;
+    }
+
+    /**
+     * Inverts the given number of consecutive column-major matrices and writes their determinants.
+     * A degenerate matrix is left unchanged and gets a determinant of zero; the other matrices are inverted
+     * regardless, so the batch never throws. The results may be written over the inputs.
+     *
+     * @param m      The array containing the matrices.
+     * @param mOff   The offset of the first matrix.
+     * @param out    The array to write the results to.
+     * @param outOff The offset of the first result.
+     * @param dets   The array to write the determinants to.
+     * @param detOff The offset of the first determinant.
+     * @param count  The number of matrices.
+     * @return The number of degenerate matrices.
+     * @see #invAndDet(float[], int, float[], int)
+     */
+    public static int invAndDet(float[] m, int mOff, float[] out, int outOff, float[] dets, int detOff, int count) {
+        int degenerate = 0;
+        for (int i = 0; i < count; i++) {
+            float det = invAndDet(m, mOff + i * LEN, out, outOff + i * LEN);
+            dets[detOff + i] = det;
+            if (det == 0.0f) degenerate++;
+        }
+        return degenerate;
+    }
+
+    /**
+     * Checks whether this matrix is affine, i.e. whether its bottom row is exactly <code>(0, 0, 0, 1)</code>.
+     *
+     * @return Whether this matrix is affine.
+     */
+    public boolean isAffine() {
+        return isAffine(val, 0);
+    }
+
+    /**
+     * Checks whether this matrix is a rigid transform: an affine matrix whose upper-left 3x3 part is
+     * orthonormal (a rotation, possibly with a reflection) within {@link MathUtils#EPSILON}.
+     *
+     * @return Whether this matrix is a rigid transform.
+     */
+    public boolean isRigid() {
+        return isRigid(val, 0);
+    }
+
+    /**
+     * Multiplies this matrix by another matrix, assuming that both are affine (see {@link #isAffine()}):
+     * <pre>this <- this * m</pre>
+     * This takes 36 multiplications instead of 64. The precondition is checked only when assertions
+     * are enabled; otherwise the bottom rows are ignored and the result is incorrect for non-affine matrices.
+     *
+     * @param m The affine matrix to multiply by.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f mulAffine(Matrix4f m) {
+        return mulAffine(this, m, this);
+    }
+
+    /**
+     * Inverts this matrix, assuming that it is affine (see {@link #isAffine()}). Only the upper-left 3x3 part
+     * is inverted; the translation is then transformed by the inverted 3x3 part and negated.
+     * The precondition is checked only when assertions are enabled.
+     *
+     * @return This matrix for chaining.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     */
+    public Matrix4f invAffine() {
+        return invAffine(this);
+    }
+
+    /**
+     * Inverts this matrix into the destination matrix, assuming that it is affine.
+     *
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     * @see #invAffine()
+     */
+    public Matrix4f invAffine(Matrix4f dest) {
+        int properties = this.properties;
+        invAffine(val, 0, dest.val, 0);
+        dest.properties = properties | PROPERTY_AFFINE;
+        return dest;
+    }
+
+    /**
+     * Inverts this matrix, assuming that it is a rigid transform (see {@link #isRigid()}). The upper-left
+     * 3x3 part is transposed and the translation is rotated by it and negated, so no division is performed.
+     * The precondition is checked only when assertions are enabled; otherwise the result is incorrect for
+     * matrices containing scale or shear.
+     *
+     * @return This matrix for chaining.
+     */
+    public Matrix4f invRigid() {
+        return invRigid(this);
+    }
+
+    /**
+     * Inverts this matrix into the destination matrix, assuming that it is a rigid transform.
+     *
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     * @see #invRigid()
+     */
+    public Matrix4f invRigid(Matrix4f dest) {
+        int properties = this.properties;
+        invRigid(val, 0, dest.val, 0);
+        dest.properties = properties | PROPERTY_AFFINE;
+        return dest;
+    }
+
+    /**
+     * Multiplies the two given affine matrices and stores the result in the destination matrix.
+     * The destination may be the same object as either of the operands.
+     *
+     * @param a    The left affine matrix.
+     * @param b    The right affine matrix.
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     * @see #mulAffine(Matrix4f)
+     */
+    public static Matrix4f mulAffine(Matrix4f a, Matrix4f b, Matrix4f dest) {
+        int properties = a.properties & b.properties;
+        mulAffine(a.val, 0, b.val, 0, dest.val, 0);
+        dest.properties = properties | PROPERTY_AFFINE;
+        return dest;
+    }
+
+    /**
+     * Checks whether a column-major matrix stored in an array at the given offset is affine.
+     *
+     * @param m    The array containing the matrix.
+     * @param mOff The offset of the matrix.
+     * @return Whether the bottom row of the matrix is exactly <code>(0, 0, 0, 1)</code>.
+     */
+    public static boolean isAffine(float[] m, int mOff) {
+        return m[mOff + M41] == 0.0f && m[mOff + M42] == 0.0f && m[mOff + M43] == 0.0f && m[mOff + M44] == 1.0f;
+    }
+
+    /**
+     * Checks whether a column-major matrix stored in an array at the given offset is a rigid transform.
+     *
+     * @param m    The array containing the matrix.
+     * @param mOff The offset of the matrix.
+     * @return Whether the matrix is affine and its upper-left 3x3 part is orthonormal.
+     */
+    public static boolean isRigid(float[] m, int mOff) {
+        if (!isAffine(m, mOff)) return false;
+
+        float a11 = m[mOff + M11];
+        float a21 = m[mOff + M21];
+        float a31 = m[mOff + M31];
+        float a12 = m[mOff + M12];
+        float a22 = m[mOff + M22];
+        float a32 = m[mOff + M32];
+        float a13 = m[mOff + M13];
+        float a23 = m[mOff + M23];
+        float a33 = m[mOff + M33];
+
+        return MathUtils.epsEquals(a11 * a11 + a21 * a21 + a31 * a31, 1.0f)
+                && MathUtils.epsEquals(a12 * a12 + a22 * a22 + a32 * a32, 1.0f)
+                && MathUtils.epsEquals(a13 * a13 + a23 * a23 + a33 * a33, 1.0f)
+                && MathUtils.epsEquals(a11 * a12 + a21 * a22 + a31 * a32, 0.0f)
+                && MathUtils.epsEquals(a11 * a13 + a21 * a23 + a31 * a33, 0.0f)
+                && MathUtils.epsEquals(a12 * a13 + a22 * a23 + a32 * a33, 0.0f);
+    }
+
+    /**
+     * Multiplies two affine column-major matrices stored in arrays at the given offsets.
+     * The result may be written over either of the operands.
+     *
+     * @param a      The array containing the left matrix.
+     * @param aOff   The offset of the left matrix.
+     * @param b      The array containing the right matrix.
+     * @param bOff   The offset of the right matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @see #mulAffine(Matrix4f)
+     */
+    public static void mulAffine(float[] a, int aOff, float[] b, int bOff, float[] out, int outOff) {
+        assert isAffine(a, aOff) : "The left matrix is not affine.";
+        assert isAffine(b, bOff) : "The right matrix is not affine.";
+
+        float a11 = a[aOff + M11];
+        float a21 = a[aOff + M21];
+        float a31 = a[aOff + M31];
+        float a12 = a[aOff + M12];
+        float a22 = a[aOff + M22];
+        float a32 = a[aOff + M32];
+        float a13 = a[aOff + M13];
+        float a23 = a[aOff + M23];
+        float a33 = a[aOff + M33];
+        float a14 = a[aOff + M14];
+        float a24 = a[aOff + M24];
+        float a34 = a[aOff + M34];
+        float b11 = b[bOff + M11];
+        float b21 = b[bOff + M21];
+        float b31 = b[bOff + M31];
+        float b12 = b[bOff + M12];
+        float b22 = b[bOff + M22];
+        float b32 = b[bOff + M32];
+        float b13 = b[bOff + M13];
+        float b23 = b[bOff + M23];
+        float b33 = b[bOff + M33];
+        float b14 = b[bOff + M14];
+        float b24 = b[bOff + M24];
+        float b34 = b[bOff + M34];
+
+        out[outOff + M11] = a11 * b11 + a12 * b21 + a13 * b31;
+        out[outOff + M21] = a21 * b11 + a22 * b21 + a23 * b31;
+        out[outOff + M31] = a31 * b11 + a32 * b21 + a33 * b31;
+        out[outOff + M41] = 0.0f;
+        out[outOff + M12] = a11 * b12 + a12 * b22 + a13 * b32;
+        out[outOff + M22] = a21 * b12 + a22 * b22 + a23 * b32;
+        out[outOff + M32] = a31 * b12 + a32 * b22 + a33 * b32;
+        out[outOff + M42] = 0.0f;
+        out[outOff + M13] = a11 * b13 + a12 * b23 + a13 * b33;
+        out[outOff + M23] = a21 * b13 + a22 * b23 + a23 * b33;
+        out[outOff + M33] = a31 * b13 + a32 * b23 + a33 * b33;
+        out[outOff + M43] = 0.0f;
+        out[outOff + M14] = a11 * b14 + a12 * b24 + a13 * b34 + a14;
+        out[outOff + M24] = a21 * b14 + a22 * b24 + a23 * b34 + a24;
+        out[outOff + M34] = a31 * b14 + a32 * b24 + a33 * b34 + a34;
+        out[outOff + M44] = 1.0f;
+    }
+
+    /**
+     * Inverts an affine column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @throws ArithmeticException if the matrix is degenerate (det == 0).
+     * @see #invAffine()
+     */
+    public static void invAffine(float[] m, int mOff, float[] out, int outOff) {
+        assert isAffine(m, mOff) : "The matrix is not affine.";
+
+        float a11 = m[mOff + M11];
+        float a21 = m[mOff + M21];
+        float a31 = m[mOff + M31];
+        float a12 = m[mOff + M12];
+        float a22 = m[mOff + M22];
+        float a32 = m[mOff + M32];
+        float a13 = m[mOff + M13];
+        float a23 = m[mOff + M23];
+        float a33 = m[mOff + M33];
+        float a14 = m[mOff + M14];
+        float a24 = m[mOff + M24];
+        float a34 = m[mOff + M34];
+
+        // The first row of the 3x3 adjoint doubles as the cofactors needed for the determinant.
+        float m11 = a22 * a33 - a23 * a32;
+        float m12 = a13 * a32 - a12 * a33;
+        float m13 = a12 * a23 - a13 * a22;
+        float det = a11 * m11 + a21 * m12 + a31 * m13;
         if (det == 0.0f) throw new ArithmeticException("Degenerate matrix.");
 
-        // Build the adjoint matrix.
-        float m11 = val[M23] * val[M34] * val[M42] - val[M24] * val[M33] * val[M42] + val[M24] * val[M32] * val[M43]
-                - val[M22] * val[M34] * val[M43] - val[M23] * val[M32] * val[M44] + val[M22] * val[M33] * val[M44];
-        float m12 = val[M14] * val[M33] * val[M42] - val[M13] * val[M34] * val[M42] - val[M14] * val[M32] * val[M43]
-                + val[M12] * val[M34] * val[M43] + val[M13] * val[M32] * val[M44] - val[M12] * val[M33] * val[M44];
-        float m13 = val[M13] * val[M24] * val[M42] - val[M14] * val[M23] * val[M42] + val[M14] * val[M22] * val[M43]
-                - val[M12] * val[M24] * val[M43] - val[M13] * val[M22] * val[M44] + val[M12] * val[M23] * val[M44];
-        float m14 = val[M14] * val[M23] * val[M32] - val[M13] * val[M24] * val[M32] - val[M14] * val[M22] * val[M33]
-                + val[M12] * val[M24] * val[M33] + val[M13] * val[M22] * val[M34] - val[M12] * val[M23] * val[M34];
-        float m21 = val[M24] * val[M33] * val[M41] - val[M23] * val[M34] * val[M41] - val[M24] * val[M31] * val[M43]
-                + val[M21] * val[M34] * val[M43] + val[M23] * val[M31] * val[M44] - val[M21] * val[M33] * val[M44];
-        float m22 = val[M13] * val[M34] * val[M41] - val[M14] * val[M33] * val[M41] + val[M14] * val[M31] * val[M43]
-                - val[M11] * val[M34] * val[M43] - val[M13] * val[M31] * val[M44] + val[M11] * val[M33] * val[M44];
-        float m23 = val[M14] * val[M23] * val[M41] - val[M13] * val[M24] * val[M41] - val[M14] * val[M21] * val[M43]
-                + val[M11] * val[M24] * val[M43] + val[M13] * val[M21] * val[M44] - val[M11] * val[M23] * val[M44];
-        float m24 = val[M13] * val[M24] * val[M31] - val[M14] * val[M23] * val[M31] + val[M14] * val[M21] * val[M33]
-                - val[M11] * val[M24] * val[M33] - val[M13] * val[M21] * val[M34] + val[M11] * val[M23] * val[M34];
-        float m31 = val[M22] * val[M34] * val[M41] - val[M24] * val[M32] * val[M41] + val[M24] * val[M31] * val[M42]
-                - val[M21] * val[M34] * val[M42] - val[M22] * val[M31] * val[M44] + val[M21] * val[M32] * val[M44];
-        float m32 = val[M14] * val[M32] * val[M41] - val[M12] * val[M34] * val[M41] - val[M14] * val[M31] * val[M42]
-                + val[M11] * val[M34] * val[M42] + val[M12] * val[M31] * val[M44] - val[M11] * val[M32] * val[M44];
-        float m33 = val[M12] * val[M24] * val[M41] - val[M14] * val[M22] * val[M41] + val[M14] * val[M21] * val[M42]
-                - val[M11] * val[M24] * val[M42] - val[M12] * val[M21] * val[M44] + val[M11] * val[M22] * val[M44];
-        float m34 = val[M14] * val[M22] * val[M31] - val[M12] * val[M24] * val[M31] - val[M14] * val[M21] * val[M32]
-                + val[M11] * val[M24] * val[M32] + val[M12] * val[M21] * val[M34] - val[M11] * val[M22] * val[M34];
-        float m41 = val[M23] * val[M32] * val[M41] - val[M22] * val[M33] * val[M41] - val[M23] * val[M31] * val[M42]
-                + val[M21] * val[M33] * val[M42] + val[M22] * val[M31] * val[M43] - val[M21] * val[M32] * val[M43];
-        float m42 = val[M12] * val[M33] * val[M41] - val[M13] * val[M32] * val[M41] + val[M13] * val[M31] * val[M42]
-                - val[M11] * val[M33] * val[M42] - val[M12] * val[M31] * val[M43] + val[M11] * val[M32] * val[M43];
-        float m43 = val[M13] * val[M22] * val[M41] - val[M12] * val[M23] * val[M41] - val[M13] * val[M21] * val[M42]
-                + val[M11] * val[M23] * val[M42] + val[M12] * val[M21] * val[M43] - val[M11] * val[M22] * val[M43];
-        float m44 = val[M12] * val[M23] * val[M31] - val[M13] * val[M22] * val[M31] + val[M13] * val[M21] * val[M32]
-                - val[M11] * val[M23] * val[M32] - val[M12] * val[M21] * val[M33] + val[M11] * val[M22] * val[M33];
         float invDet = 1.0f / det;
+        m11 *= invDet;
+        m12 *= invDet;
+        m13 *= invDet;
+        float m21 = (a23 * a31 - a21 * a33) * invDet;
+        float m22 = (a11 * a33 - a13 * a31) * invDet;
+        float m23 = (a13 * a21 - a11 * a23) * invDet;
+        float m31 = (a21 * a32 - a22 * a31) * invDet;
+        float m32 = (a12 * a31 - a11 * a32) * invDet;
+        float m33 = (a11 * a22 - a12 * a21) * invDet;
 
-        val[M11] = m11 * invDet;
-        val[M21] = m21 * invDet;
-        val[M31] = m31 * invDet;
-        val[M41] = m41 * invDet;
-        val[M12] = m12 * invDet;
-        val[M22] = m22 * invDet;
-        val[M32] = m32 * invDet;
-        val[M42] = m42 * invDet;
-        val[M13] = m13 * invDet;
-        val[M23] = m23 * invDet;
-        val[M33] = m33 * invDet;
-        val[M43] = m43 * invDet;
-        val[M14] = m14 * invDet;
-        val[M24] = m24 * invDet;
-        val[M34] = m34 * invDet;
-        val[M44] = m44 * invDet;
-        return this;
+        out[outOff + M11] = m11;
+        out[outOff + M21] = m21;
+        out[outOff + M31] = m31;
+        out[outOff + M41] = 0.0f;
+        out[outOff + M12] = m12;
+        out[outOff + M22] = m22;
+        out[outOff + M32] = m32;
+        out[outOff + M42] = 0.0f;
+        out[outOff + M13] = m13;
+        out[outOff + M23] = m23;
+        out[outOff + M33] = m33;
+        out[outOff + M43] = 0.0f;
+        out[outOff + M14] = -(m11 * a14 + m12 * a24 + m13 * a34);
+        out[outOff + M24] = -(m21 * a14 + m22 * a24 + m23 * a34);
+        out[outOff + M34] = -(m31 * a14 + m32 * a24 + m33 * a34);
+        out[outOff + M44] = 1.0f;
+    }
+
+    /**
+     * Inverts a rigid column-major matrix stored in an array at the given offset.
+     * The result may be written over the input.
+     *
+     * @param m      The array containing the matrix.
+     * @param mOff   The offset of the matrix.
+     * @param out    The array to write the result to.
+     * @param outOff The offset of the result.
+     * @see #invRigid()
+     */
+    public static void invRigid(float[] m, int mOff, float[] out, int outOff) {
+        assert isRigid(m, mOff) : "The matrix is not a rigid transform.";
+
+        float a11 = m[mOff + M11];
+        float a21 = m[mOff + M21];
+        float a31 = m[mOff + M31];
+        float a12 = m[mOff + M12];
+        float a22 = m[mOff + M22];
+        float a32 = m[mOff + M32];
+        float a13 = m[mOff + M13];
+        float a23 = m[mOff + M23];
+        float a33 = m[mOff + M33];
+        float a14 = m[mOff + M14];
+        float a24 = m[mOff + M24];
+        float a34 = m[mOff + M34];
+
+        out[outOff + M11] = a11;
+        out[outOff + M21] = a12;
+        out[outOff + M31] = a13;
+        out[outOff + M41] = 0.0f;
+        out[outOff + M12] = a21;
+        out[outOff + M22] = a22;
+        out[outOff + M32] = a23;
+        out[outOff + M42] = 0.0f;
+        out[outOff + M13] = a31;
+        out[outOff + M23] = a32;
+        out[outOff + M33] = a33;
+        out[outOff + M43] = 0.0f;
+        out[outOff + M14] = -(a11 * a14 + a21 * a24 + a31 * a34);
+        out[outOff + M24] = -(a12 * a14 + a22 * a24 + a32 * a34);
+        out[outOff + M34] = -(a13 * a14 + a23 * a24 + a33 * a34);
+        out[outOff + M44] = 1.0f;
     }
 
     @Override
     public Matrix4f add(Matrix4f m) {
         for (int i = 0; i < LEN; i++) this.val[i] += m.val[i];
+        properties = 0;
         return this;
     }
 
     @Override
     public Matrix4f sub(Matrix4f m) {
         for (int i = 0; i < LEN; i++) this.val[i] -= m.val[i];
+        properties = 0;
         return this;
     }
 
     @Override
     public Matrix4f mul(float scalar) {
         for (int i = 0; i < LEN; i++) this.val[i] *= scalar;
+        properties = 0;
         return this;
     }
 
     @Override
     public Matrix4f div(float scalar) {
         for (int i = 0; i < LEN; i++) this.val[i] /= scalar;
+        properties = 0;
         return this;
     }
 
     @Override
     public Matrix4f mul(Matrix4f m) {
-        float m11 = val[M11] * m.val[M11] + val[M12] * m.val[M21] + val[M13] * m.val[M31] + val[M14] * m.val[M41];
-        float m12 = val[M11] * m.val[M12] + val[M12] * m.val[M22] + val[M13] * m.val[M32] + val[M14] * m.val[M42];
-        float m13 = val[M11] * m.val[M13] + val[M12] * m.val[M23] + val[M13] * m.val[M33] + val[M14] * m.val[M43];
-        float m14 = val[M11] * m.val[M14] + val[M12] * m.val[M24] + val[M13] * m.val[M34] + val[M14] * m.val[M44];
-        float m21 = val[M21] * m.val[M11] + val[M22] * m.val[M21] + val[M23] * m.val[M31] + val[M24] * m.val[M41];
-        float m22 = val[M21] * m.val[M12] + val[M22] * m.val[M22] + val[M23] * m.val[M32] + val[M24] * m.val[M42];
-        float m23 = val[M21] * m.val[M13] + val[M22] * m.val[M23] + val[M23] * m.val[M33] + val[M24] * m.val[M43];
-        float m24 = val[M21] * m.val[M14] + val[M22] * m.val[M24] + val[M23] * m.val[M34] + val[M24] * m.val[M44];
-        float m31 = val[M31] * m.val[M11] + val[M32] * m.val[M21] + val[M33] * m.val[M31] + val[M34] * m.val[M41];
-        float m32 = val[M31] * m.val[M12] + val[M32] * m.val[M22] + val[M33] * m.val[M32] + val[M34] * m.val[M42];
-        float m33 = val[M31] * m.val[M13] + val[M32] * m.val[M23] + val[M33] * m.val[M33] + val[M34] * m.val[M43];
-        float m34 = val[M31] * m.val[M14] + val[M32] * m.val[M24] + val[M33] * m.val[M34] + val[M34] * m.val[M44];
-        float m41 = val[M41] * m.val[M11] + val[M42] * m.val[M21] + val[M43] * m.val[M31] + val[M44] * m.val[M41];
-        float m42 = val[M41] * m.val[M12] + val[M42] * m.val[M22] + val[M43] * m.val[M32] + val[M44] * m.val[M42];
-        float m43 = val[M41] * m.val[M13] + val[M42] * m.val[M23] + val[M43] * m.val[M33] + val[M44] * m.val[M43];
-        float m44 = val[M41] * m.val[M14] + val[M42] * m.val[M24] + val[M43] * m.val[M34] + val[M44] * m.val[M44];
-
-        val[M11] = m11;
-        val[M21] = m21;
-        val[M31] = m31;
-        val[M41] = m41;
-        val[M12] = m12;
-        val[M22] = m22;
-        val[M32] = m32;
-        val[M42] = m42;
-        val[M13] = m13;
-        val[M23] = m23;
-        val[M33] = m33;
-        val[M43] = m43;
-        val[M14] = m14;
-        val[M24] = m24;
-        val[M34] = m34;
-        val[M44] = m44;
-        return this;
+        return mul(this, m, this);
     }
 
     @Override
     public Matrix4f comMul(Matrix4f m) {
         for (int i = 0; i < LEN; i++) this.val[i] *= m.val[i];
+        properties = 0;
         return this;
     }
 
     @Override
     public Matrix4f comDiv(Matrix4f m) {
         for (int i = 0; i < LEN; i++) this.val[i] /= m.val[i];
+        properties = 0;
         return this;
     }
 
@@ -344,17 +1473,178 @@ public class Matrix4f implements Matrix<Matrix4f> {
      * @return The changed given vector.
      */
     public Vector4f mul(Vector4f v) {
+        if ((properties & PROPERTY_IDENTITY) != 0) return v;
+
         float x = v.x;
         float y = v.y;
         float z = v.z;
         float w = v.w;
+        if ((properties & PROPERTY_TRANSLATION) != 0) {
+            v.x = x + val[M14] * w;
+            v.y = y + val[M24] * w;
+            v.z = z + val[M34] * w;
+            return v;
+        }
+
         v.x = val[M11] * x + val[M12] * y + val[M13] * z + val[M14] * w;
         v.y = val[M21] * x + val[M22] * y + val[M23] * z + val[M24] * w;
         v.z = val[M31] * x + val[M32] * y + val[M33] * z + val[M34] * w;
-        v.w = val[M41] * x + val[M42] * y + val[M43] * z + val[M44] * w;
+        if ((properties & PROPERTY_AFFINE) == 0) v.w = val[M41] * x + val[M42] * y + val[M43] * z + val[M44] * w;
         return v;
     }
 
+    /**
+     * Transforms the given packed 3D points by this matrix. Each point is read as <code>(x, y, z, 1)</code>
+     * and the resulting x, y and z components are written to the destination array; the resulting w component
+     * is discarded, so no perspective division is performed. The source and destination may be the same array.
+     *
+     * @param src    The source array of points.
+     * @param srcOff The offset of the first point in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first point in the destination array.
+     * @param count  The number of points to transform.
+     * @param stride The distance between the starts of consecutive points in both arrays. Must be at least 3.
+     */
+    public void transformPoints(float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        float m11 = val[M11];
+        float m12 = val[M12];
+        float m13 = val[M13];
+        float m14 = val[M14];
+        float m21 = val[M21];
+        float m22 = val[M22];
+        float m23 = val[M23];
+        float m24 = val[M24];
+        float m31 = val[M31];
+        float m32 = val[M32];
+        float m33 = val[M33];
+        float m34 = val[M34];
+        for (int i = 0; i < count; i++) {
+            int s = srcOff + i * stride;
+            int d = dstOff + i * stride;
+            float x = src[s];
+            float y = src[s + 1];
+            float z = src[s + 2];
+            dst[d] = m11 * x + m12 * y + m13 * z + m14;
+            dst[d + 1] = m21 * x + m22 * y + m23 * z + m24;
+            dst[d + 2] = m31 * x + m32 * y + m33 * z + m34;
+        }
+    }
+
+    /**
+     * Transforms the given packed 3D directions by this matrix. Each direction is read as <code>(x, y, z, 0)</code>,
+     * so the translation of this matrix does not affect the result. The resulting x, y and z components are
+     * written to the destination array. The source and destination may be the same array.
+     *
+     * @param src    The source array of directions.
+     * @param srcOff The offset of the first direction in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first direction in the destination array.
+     * @param count  The number of directions to transform.
+     * @param stride The distance between the starts of consecutive directions in both arrays. Must be at least 3.
+     */
+    public void transformDirections(float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        float m11 = val[M11];
+        float m12 = val[M12];
+        float m13 = val[M13];
+        float m21 = val[M21];
+        float m22 = val[M22];
+        float m23 = val[M23];
+        float m31 = val[M31];
+        float m32 = val[M32];
+        float m33 = val[M33];
+        for (int i = 0; i < count; i++) {
+            int s = srcOff + i * stride;
+            int d = dstOff + i * stride;
+            float x = src[s];
+            float y = src[s + 1];
+            float z = src[s + 2];
+            dst[d] = m11 * x + m12 * y + m13 * z;
+            dst[d + 1] = m21 * x + m22 * y + m23 * z;
+            dst[d + 2] = m31 * x + m32 * y + m33 * z;
+        }
+    }
+
+    /**
+     * Transforms the given points by this matrix. Each point is treated as <code>(x, y, z, 1)</code> and the
+     * resulting w component is discarded. The destination must have at least as many vectors as the source
+     * and may be the same array.
+     *
+     * @param src The source points.
+     * @param dst The destination array.
+     */
+    public void transformPoints(Vector3fArray src, Vector3fArray dst) {
+        transform(src, dst, 1.0f);
+    }
+
+    /**
+     * Transforms the given directions by this matrix. Each direction is treated as <code>(x, y, z, 0)</code>,
+     * so the translation of this matrix does not affect the result. The destination must have at least as many
+     * vectors as the source and may be the same array.
+     *
+     * @param src The source directions.
+     * @param dst The destination array.
+     */
+    public void transformDirections(Vector3fArray src, Vector3fArray dst) {
+        transform(src, dst, 0.0f);
+    }
+
+    /**
+     * Transforms the points of the given off-heap store in place. Each point is treated as <code>(x, y, z, 1)</code>
+     * and the resulting w component is discarded.
+     *
+     * @param store The store of points.
+     */
+    public void transformPoints(Vector3fStore store) {
+        transform(store, true);
+    }
+
+    /**
+     * Transforms the directions of the given off-heap store in place. Each direction is treated as
+     * <code>(x, y, z, 0)</code>, so the translation of this matrix does not affect the result.
+     *
+     * @param store The store of directions.
+     */
+    public void transformDirections(Vector3fStore store) {
+        transform(store, false);
+    }
+
+    private void transform(Vector3fStore store, boolean points) {
+        // The blocks are copied into the scratch array of the store, so nothing is allocated per call.
+        if (points) store.forEachBlock((block, count) -> transformPoints(block, 0, block, 0, count, 3));
+        else store.forEachBlock((block, count) -> transformDirections(block, 0, block, 0, count, 3));
+    }
+
+    private void transform(Vector3fArray src, Vector3fArray dst, float w) {
+        if (Simd.ENABLED) {
+            Matrix4fSimd.transform(val, w, src.x, src.y, src.z, dst.x, dst.y, dst.z, src.size);
+            return;
+        }
+
+        float m11 = val[M11];
+        float m12 = val[M12];
+        float m13 = val[M13];
+        float m14 = val[M14] * w;
+        float m21 = val[M21];
+        float m22 = val[M22];
+        float m23 = val[M23];
+        float m24 = val[M24] * w;
+        float m31 = val[M31];
+        float m32 = val[M32];
+        float m33 = val[M33];
+        float m34 = val[M34] * w;
+        float[] sx = src.x;
+        float[] sy = src.y;
+        float[] sz = src.z;
+        for (int i = 0; i < src.size; i++) {
+            float x = sx[i];
+            float y = sy[i];
+            float z = sz[i];
+            dst.x[i] = m11 * x + m12 * y + m13 * z + m14;
+            dst.y[i] = m21 * x + m22 * y + m23 * z + m24;
+            dst.z[i] = m31 * x + m32 * y + m33 * z + m34;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
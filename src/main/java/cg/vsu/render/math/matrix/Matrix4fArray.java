@@ -0,0 +1,205 @@
+package cg.vsu.render.math.matrix;
+
+import java.util.Objects;
+
+/**
+ * A mutable fixed-size array of 4x4 float matrices packed one after another into a single column-major
+ * <code>float[]</code>, e.g. a skinning palette or an instance buffer. Keeping the matrices in one block avoids
+ * a separate {@link Matrix4f} object and array for every element, so the batched operations walk memory
+ * sequentially and {@link #val} can be uploaded as is. The batched operations use the same kernels as
+ * {@link Matrix4f} and do not allocate. Unless stated otherwise, the other array must have at least as many
+ * matrices as this array.
+ */
+public class Matrix4fArray {
+    /**
+     * The values of all matrices. The matrix at index <code>i</code> starts at <code>i * Matrix4f.LEN</code>
+     * and uses the {@link Matrix4f} index constants relative to that offset.
+     */
+    public final float[] val;
+
+    /**
+     * The number of matrices in this array.
+     */
+    public final int size;
+
+    /**
+     * Constructs an array of the given number of identity matrices.
+     *
+     * @param size The number of matrices.
+     */
+    public Matrix4fArray(int size) {
+        this.size = size;
+        this.val = new float[size * Matrix4f.LEN];
+        setIdentity();
+    }
+
+    /**
+     * Constructs a copy of the given array.
+     *
+     * @param a The array to copy.
+     */
+    public Matrix4fArray(Matrix4fArray a) {
+        this.size = a.size;
+        this.val = a.val.clone();
+    }
+
+    /**
+     * @return A copy of this array.
+     */
+    public Matrix4fArray cpy() {
+        return new Matrix4fArray(this);
+    }
+
+    /**
+     * @param index The index of the matrix.
+     * @return The offset of the first value of the matrix in {@link #val}.
+     */
+    public static int offset(int index) {
+        return index * Matrix4f.LEN;
+    }
+
+    /**
+     * Copies the matrix at the given index into the provided matrix.
+     *
+     * @param index The index of the matrix.
+     * @param out   The matrix to write to.
+     * @return The changed provided matrix.
+     */
+    public Matrix4f get(int index, Matrix4f out) {
+        Objects.checkIndex(index, size);
+        System.arraycopy(val, offset(index), out.val, 0, Matrix4f.LEN);
+        return out.invalidateProperties();
+    }
+
+    /**
+     * Sets the matrix at the given index.
+     *
+     * @param index The index of the matrix.
+     * @param m     The new value of the matrix.
+     * @return This array for chaining.
+     */
+    public Matrix4fArray set(int index, Matrix4f m) {
+        Objects.checkIndex(index, size);
+        System.arraycopy(m.val, 0, val, offset(index), Matrix4f.LEN);
+        return this;
+    }
+
+    /**
+     * Copies the matrices of the given array into this array.
+     *
+     * @param a The other array.
+     * @return This array for chaining.
+     */
+    public Matrix4fArray set(Matrix4fArray a) {
+        System.arraycopy(a.val, 0, val, 0, val.length);
+        return this;
+    }
+
+    /**
+     * Sets every matrix of this array to the identity matrix.
+     *
+     * @return This array for chaining.
+     */
+    public Matrix4fArray setIdentity() {
+        for (int off = 0; off < val.length; off += Matrix4f.LEN) {
+            val[off + Matrix4f.M11] = 1.0f;
+            val[off + Matrix4f.M21] = 0.0f;
+            val[off + Matrix4f.M31] = 0.0f;
+            val[off + Matrix4f.M41] = 0.0f;
+            val[off + Matrix4f.M12] = 0.0f;
+            val[off + Matrix4f.M22] = 1.0f;
+            val[off + Matrix4f.M32] = 0.0f;
+            val[off + Matrix4f.M42] = 0.0f;
+            val[off + Matrix4f.M13] = 0.0f;
+            val[off + Matrix4f.M23] = 0.0f;
+            val[off + Matrix4f.M33] = 1.0f;
+            val[off + Matrix4f.M43] = 0.0f;
+            val[off + Matrix4f.M14] = 0.0f;
+            val[off + Matrix4f.M24] = 0.0f;
+            val[off + Matrix4f.M34] = 0.0f;
+            val[off + Matrix4f.M44] = 1.0f;
+        }
+        return this;
+    }
+
+    /**
+     * Multiplies every matrix of this array by the corresponding matrix of the given array:
+     * <pre>this[i] <- this[i] * a[i]</pre>
+     *
+     * @param a The array of right matrices. May be this array.
+     * @return This array for chaining.
+     */
+    public Matrix4fArray mul(Matrix4fArray a) {
+        for (int off = 0; off < val.length; off += Matrix4f.LEN) {
+            Matrix4f.mul(val, off, a.val, off, val, off);
+        }
+        return this;
+    }
+
+    /**
+     * Multiplies every matrix of this array by the given matrix:
+     * <pre>this[i] <- this[i] * m</pre>
+     *
+     * @param m The right matrix.
+     * @return This array for chaining.
+     */
+    public Matrix4fArray mul(Matrix4f m) {
+        for (int off = 0; off < val.length; off += Matrix4f.LEN) {
+            Matrix4f.mul(val, off, m.val, 0, val, off);
+        }
+        return this;
+    }
+
+    /**
+     * Multiplies the given matrix by every matrix of this array, e.g. to apply a parent transform
+     * to all instances:
+     * <pre>this[i] <- m * this[i]</pre>
+     *
+     * @param m The left matrix.
+     * @return This array for chaining.
+     */
+    public Matrix4fArray mulLeft(Matrix4f m) {
+        for (int off = 0; off < val.length; off += Matrix4f.LEN) {
+            Matrix4f.mul(m.val, 0, val, off, val, off);
+        }
+        return this;
+    }
+
+    /**
+     * Transposes every matrix of this array.
+     *
+     * @return This array for chaining.
+     */
+    public Matrix4fArray tra() {
+        for (int off = 0; off < val.length; off += Matrix4f.LEN) {
+            Matrix4f.tra(val, off, val, off);
+        }
+        return this;
+    }
+
+    /**
+     * Inverts every matrix of this array.
+     *
+     * @return This array for chaining.
+     * @throws ArithmeticException if one of the matrices is degenerate (det == 0). The matrices before it are
+     *                             already inverted, the degenerate one and the ones after it are unchanged.
+     */
+    public Matrix4fArray inv() {
+        for (int off = 0; off < val.length; off += Matrix4f.LEN) {
+            Matrix4f.inv(val, off, val, off);
+        }
+        return this;
+    }
+
+    /**
+     * Inverts every matrix of this array and writes their determinants. Unlike {@link #inv()}, degenerate
+     * matrices do not stop the batch: each is left unchanged and gets a determinant of zero.
+     *
+     * @param dets The array to write the determinants to. Must have at least {@link #size} values.
+     * @return The number of degenerate matrices.
+     * @see Matrix4f#invAndDet(float[], int, float[], int)
+     */
+    public int invAndDet(float[] dets) {
+        return Matrix4f.invAndDet(val, 0, val, 0, dets, 0, size);
+    }
+}
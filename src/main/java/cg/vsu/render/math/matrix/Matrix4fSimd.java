@@ -0,0 +1,179 @@
+package cg.vsu.render.math.matrix;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for {@link Matrix4f} built on the incubating Vector API. One 128-bit vector holds one column
+ * of a matrix; the bulk transforms process as many points at once as the preferred species allows
+ * (8 lanes with AVX2).
+ * <p>
+ * This class must only be loaded when {@link cg.vsu.render.math.Simd#ENABLED} is true.
+ */
+final class Matrix4fSimd {
+    private static final VectorSpecies<Float> S4 = FloatVector.SPECIES_128;
+    private static final VectorSpecies<Float> SP = FloatVector.SPECIES_PREFERRED;
+
+    // Shuffles for the block-wise inverse. Indices of 4 and above select lanes from the second vector.
+    private static final VectorShuffle<Float> LO_LO = VectorShuffle.fromValues(S4, 0, 1, 4, 5);
+    private static final VectorShuffle<Float> HI_HI = VectorShuffle.fromValues(S4, 2, 3, 6, 7);
+    private static final VectorShuffle<Float> EVEN_EVEN = VectorShuffle.fromValues(S4, 0, 2, 4, 6);
+    private static final VectorShuffle<Float> ODD_ODD = VectorShuffle.fromValues(S4, 1, 3, 5, 7);
+    private static final VectorShuffle<Float> S_3131 = VectorShuffle.fromValues(S4, 3, 1, 7, 5);
+    private static final VectorShuffle<Float> S_2020 = VectorShuffle.fromValues(S4, 2, 0, 6, 4);
+    private static final VectorShuffle<Float> W_0303 = VectorShuffle.fromValues(S4, 0, 3, 0, 3);
+    private static final VectorShuffle<Float> W_1032 = VectorShuffle.fromValues(S4, 1, 0, 3, 2);
+    private static final VectorShuffle<Float> W_2121 = VectorShuffle.fromValues(S4, 2, 1, 2, 1);
+    private static final VectorShuffle<Float> W_3300 = VectorShuffle.fromValues(S4, 3, 3, 0, 0);
+    private static final VectorShuffle<Float> W_1122 = VectorShuffle.fromValues(S4, 1, 1, 2, 2);
+    private static final VectorShuffle<Float> W_2301 = VectorShuffle.fromValues(S4, 2, 3, 0, 1);
+    private static final VectorShuffle<Float> W_3030 = VectorShuffle.fromValues(S4, 3, 0, 3, 0);
+    private static final VectorShuffle<Float> W_0213 = VectorShuffle.fromValues(S4, 0, 2, 1, 3);
+    private static final FloatVector ADJ_SIGN = FloatVector.fromArray(S4, new float[]{1.0f, -1.0f, -1.0f, 1.0f}, 0);
+
+    private Matrix4fSimd() { }
+
+    /**
+     * Multiplies two column-major matrices stored at the given offsets: <code>out = a * b</code>.
+     * The output may overlap either of the operands.
+     */
+    static void mul(float[] a, int aOff, float[] b, int bOff, float[] out, int outOff) {
+        FloatVector c0 = FloatVector.fromArray(S4, a, aOff);
+        FloatVector c1 = FloatVector.fromArray(S4, a, aOff + 4);
+        FloatVector c2 = FloatVector.fromArray(S4, a, aOff + 8);
+        FloatVector c3 = FloatVector.fromArray(S4, a, aOff + 12);
+        // Load the whole right operand first, so that writing to it column by column is safe.
+        float b00 = b[bOff];
+        float b01 = b[bOff + 1];
+        float b02 = b[bOff + 2];
+        float b03 = b[bOff + 3];
+        float b10 = b[bOff + 4];
+        float b11 = b[bOff + 5];
+        float b12 = b[bOff + 6];
+        float b13 = b[bOff + 7];
+        float b20 = b[bOff + 8];
+        float b21 = b[bOff + 9];
+        float b22 = b[bOff + 10];
+        float b23 = b[bOff + 11];
+        float b30 = b[bOff + 12];
+        float b31 = b[bOff + 13];
+        float b32 = b[bOff + 14];
+        float b33 = b[bOff + 15];
+        c0.mul(b00).add(c1.mul(b01)).add(c2.mul(b02)).add(c3.mul(b03)).intoArray(out, outOff);
+        c0.mul(b10).add(c1.mul(b11)).add(c2.mul(b12)).add(c3.mul(b13)).intoArray(out, outOff + 4);
+        c0.mul(b20).add(c1.mul(b21)).add(c2.mul(b22)).add(c3.mul(b23)).intoArray(out, outOff + 8);
+        c0.mul(b30).add(c1.mul(b31)).add(c2.mul(b32)).add(c3.mul(b33)).intoArray(out, outOff + 12);
+    }
+
+    /**
+     * Inverts a column-major matrix stored at the given offset using 2x2 block matrices.
+     * The output may overlap the input.
+     *
+     * @return The determinant of the matrix. If it is zero, the output is left unchanged.
+     */
+    static float inv(float[] m, int mOff, float[] out, int outOff) {
+        FloatVector c0 = FloatVector.fromArray(S4, m, mOff);
+        FloatVector c1 = FloatVector.fromArray(S4, m, mOff + 4);
+        FloatVector c2 = FloatVector.fromArray(S4, m, mOff + 8);
+        FloatVector c3 = FloatVector.fromArray(S4, m, mOff + 12);
+
+        // The 2x2 blocks, each stored as (b11, b12, b21, b22) of the transposed matrix.
+        // Inverting the transpose and storing it transposed again yields the inverse.
+        FloatVector a = c0.rearrange(LO_LO, c1);
+        FloatVector b = c0.rearrange(HI_HI, c1);
+        FloatVector c = c2.rearrange(LO_LO, c3);
+        FloatVector d = c2.rearrange(HI_HI, c3);
+
+        // The determinants of the four blocks: (|A|, |B|, |C|, |D|).
+        FloatVector detSub = c0.rearrange(EVEN_EVEN, c2).mul(c1.rearrange(ODD_ODD, c3))
+                .sub(c0.rearrange(ODD_ODD, c2).mul(c1.rearrange(EVEN_EVEN, c3)));
+        float detA = detSub.lane(0);
+        float detB = detSub.lane(1);
+        float detC = detSub.lane(2);
+        float detD = detSub.lane(3);
+
+        FloatVector dc = adjMul(d, c);
+        FloatVector ab = adjMul(a, b);
+        FloatVector x = a.mul(detD).sub(mul2(b, dc));
+        FloatVector w = d.mul(detA).sub(mul2(c, ab));
+        FloatVector y = c.mul(detB).sub(mulAdj(d, ab));
+        FloatVector z = b.mul(detC).sub(mulAdj(a, dc));
+
+        float tr = ab.mul(dc.rearrange(W_0213)).reduceLanes(VectorOperators.ADD);
+        float det = detA * detD + detB * detC - tr;
+        if (det == 0.0f) return 0.0f;
+
+        FloatVector invDet = ADJ_SIGN.div(det);
+        x = x.mul(invDet);
+        y = y.mul(invDet);
+        z = z.mul(invDet);
+        w = w.mul(invDet);
+
+        x.rearrange(S_3131, y).intoArray(out, outOff);
+        x.rearrange(S_2020, y).intoArray(out, outOff + 4);
+        z.rearrange(S_3131, w).intoArray(out, outOff + 8);
+        z.rearrange(S_2020, w).intoArray(out, outOff + 12);
+        return det;
+    }
+
+    // 2x2 matrix product A * B.
+    private static FloatVector mul2(FloatVector a, FloatVector b) {
+        return a.mul(b.rearrange(W_0303)).add(a.rearrange(W_1032).mul(b.rearrange(W_2121)));
+    }
+
+    // 2x2 matrix product adj(A) * B.
+    private static FloatVector adjMul(FloatVector a, FloatVector b) {
+        return a.rearrange(W_3300).mul(b).sub(a.rearrange(W_1122).mul(b.rearrange(W_2301)));
+    }
+
+    // 2x2 matrix product A * adj(B).
+    private static FloatVector mulAdj(FloatVector a, FloatVector b) {
+        return a.mul(b.rearrange(W_3030)).sub(a.rearrange(W_1032).mul(b.rearrange(W_2121)));
+    }
+
+    /**
+     * Transforms structure-of-arrays vectors by a column-major matrix with an implicit fourth component of
+     * <code>w</code>, which must be either 1 (points) or 0 (directions). The output may be the same arrays as
+     * the input.
+     */
+    static void transform(
+            float[] m, float w,
+            float[] sx, float[] sy, float[] sz,
+            float[] dx, float[] dy, float[] dz,
+            int count
+    ) {
+        float m11 = m[Matrix4f.M11];
+        float m12 = m[Matrix4f.M12];
+        float m13 = m[Matrix4f.M13];
+        float m14 = m[Matrix4f.M14] * w;
+        float m21 = m[Matrix4f.M21];
+        float m22 = m[Matrix4f.M22];
+        float m23 = m[Matrix4f.M23];
+        float m24 = m[Matrix4f.M24] * w;
+        float m31 = m[Matrix4f.M31];
+        float m32 = m[Matrix4f.M32];
+        float m33 = m[Matrix4f.M33];
+        float m34 = m[Matrix4f.M34] * w;
+
+        int i = 0;
+        int bound = SP.loopBound(count);
+        for (; i < bound; i += SP.length()) {
+            FloatVector x = FloatVector.fromArray(SP, sx, i);
+            FloatVector y = FloatVector.fromArray(SP, sy, i);
+            FloatVector z = FloatVector.fromArray(SP, sz, i);
+            x.mul(m11).add(y.mul(m12)).add(z.mul(m13)).add(m14).intoArray(dx, i);
+            x.mul(m21).add(y.mul(m22)).add(z.mul(m23)).add(m24).intoArray(dy, i);
+            x.mul(m31).add(y.mul(m32)).add(z.mul(m33)).add(m34).intoArray(dz, i);
+        }
+        for (; i < count; i++) {
+            float x = sx[i];
+            float y = sy[i];
+            float z = sz[i];
+            dx[i] = m11 * x + m12 * y + m13 * z + m14;
+            dy[i] = m21 * x + m22 * y + m23 * z + m24;
+            dz[i] = m31 * x + m32 * y + m33 * z + m34;
+        }
+    }
+}
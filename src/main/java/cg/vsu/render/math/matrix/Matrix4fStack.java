@@ -0,0 +1,194 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.vector.Vector3f;
+
+import java.util.Arrays;
+
+/**
+ * A stack of 4x4 matrices for walking scene hierarchies. The top entry is a live {@link Matrix4f} returned by
+ * {@link #top()}; {@link #push()} saves a copy of it into one growable <code>float[]</code> and {@link #pop()}
+ * restores the last saved copy. The storage only grows when the stack gets deeper than ever before, so walking
+ * a hierarchy does not allocate after the first traversal.
+ */
+public class Matrix4fStack {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Matrix4f top = new Matrix4f();
+    private float[] saved;
+    private int depth;
+
+    /**
+     * Constructs a stack whose top entry is the identity matrix.
+     */
+    public Matrix4fStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a stack whose top entry is the identity matrix.
+     *
+     * @param capacity The number of saved matrices the stack can hold before growing.
+     */
+    public Matrix4fStack(int capacity) {
+        this.saved = new float[capacity * Matrix4f.LEN];
+    }
+
+    /**
+     * Returns the top entry of this stack. The returned matrix is owned by the stack: changing it changes the top
+     * entry, and it is overwritten by {@link #pop()}.
+     *
+     * @return The top entry.
+     */
+    public Matrix4f top() {
+        return top;
+    }
+
+    /**
+     * @return The number of saved matrices below the top entry.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Saves a copy of the top entry. The top entry keeps its value.
+     *
+     * @return This stack for chaining.
+     */
+    public Matrix4fStack push() {
+        int off = depth * Matrix4f.LEN;
+        if (off == saved.length) saved = Arrays.copyOf(saved, Math.max(Matrix4f.LEN, saved.length * 2));
+        System.arraycopy(top.val, 0, saved, off, Matrix4f.LEN);
+        depth++;
+        return this;
+    }
+
+    /**
+     * Replaces the top entry with the last saved matrix.
+     *
+     * @return This stack for chaining.
+     * @throws IllegalStateException if no matrix is saved.
+     */
+    public Matrix4fStack pop() {
+        if (depth == 0) throw new IllegalStateException("The stack is empty.");
+
+        depth--;
+        System.arraycopy(saved, depth * Matrix4f.LEN, top.val, 0, Matrix4f.LEN);
+        top.determineProperties();
+        return this;
+    }
+
+    /**
+     * Drops all saved matrices and sets the top entry to the identity matrix. The storage is kept.
+     *
+     * @return This stack for chaining.
+     */
+    public Matrix4fStack clear() {
+        depth = 0;
+        top.setIdentity();
+        return this;
+    }
+
+    /**
+     * Sets the top entry to the given matrix.
+     *
+     * @param m The matrix.
+     * @return This stack for chaining.
+     */
+    public Matrix4fStack set(Matrix4f m) {
+        top.set(m);
+        return this;
+    }
+
+    /**
+     * Multiplies the top entry by the given matrix, e.g. the local transform of a child node:
+     * <pre>top <- top * m</pre>
+     *
+     * @param m The right matrix.
+     * @return This stack for chaining.
+     */
+    public Matrix4fStack mulTop(Matrix4f m) {
+        top.mul(m);
+        return this;
+    }
+
+    /**
+     * Post-multiplies the top entry by a translation matrix.
+     *
+     * @param x The translation along the x axis.
+     * @param y The translation along the y axis.
+     * @param z The translation along the z axis.
+     * @return This stack for chaining.
+     * @see Matrix4f#translate(float, float, float)
+     */
+    public Matrix4fStack translate(float x, float y, float z) {
+        top.translate(x, y, z);
+        return this;
+    }
+
+    /**
+     * Post-multiplies the top entry by a translation matrix.
+     *
+     * @param v The translation vector.
+     * @return This stack for chaining.
+     * @see Matrix4f#translate(Vector3f)
+     */
+    public Matrix4fStack translate(Vector3f v) {
+        top.translate(v);
+        return this;
+    }
+
+    /**
+     * Post-multiplies the top entry by a rotation matrix.
+     *
+     * @param axis    The unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This stack for chaining.
+     * @see Matrix4f#rotate(Vector3f, float)
+     */
+    public Matrix4fStack rotate(Vector3f axis, float radians) {
+        top.rotate(axis, radians);
+        return this;
+    }
+
+    /**
+     * Post-multiplies the top entry by a rotation matrix.
+     *
+     * @param x       The x component of the unit rotation axis.
+     * @param y       The y component of the unit rotation axis.
+     * @param z       The z component of the unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This stack for chaining.
+     * @see Matrix4f#rotate(float, float, float, float)
+     */
+    public Matrix4fStack rotate(float x, float y, float z, float radians) {
+        top.rotate(x, y, z, radians);
+        return this;
+    }
+
+    /**
+     * Post-multiplies the top entry by a scaling matrix.
+     *
+     * @param x The scale along the x axis.
+     * @param y The scale along the y axis.
+     * @param z The scale along the z axis.
+     * @return This stack for chaining.
+     * @see Matrix4f#scale(float, float, float)
+     */
+    public Matrix4fStack scale(float x, float y, float z) {
+        top.scale(x, y, z);
+        return this;
+    }
+
+    /**
+     * Post-multiplies the top entry by a uniform scaling matrix.
+     *
+     * @param scale The scale along all three axes.
+     * @return This stack for chaining.
+     * @see Matrix4f#scale(float)
+     */
+    public Matrix4fStack scale(float scale) {
+        top.scale(scale);
+        return this;
+    }
+}
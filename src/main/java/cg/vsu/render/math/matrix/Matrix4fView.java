@@ -0,0 +1,598 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.Quaternionf;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import cg.vsu.render.math.vector.Vector3fStore;
+import cg.vsu.render.math.vector.Vector4f;
+
+import java.nio.FloatBuffer;
+
+/**
+ * A mutable column-major 4x4 matrix whose values live in a {@link FloatBuffer} at a given offset instead of
+ * a Java array. Results of the operations are written straight into the buffer, so matrices can be handed to
+ * native code or shared memory without copying. Use a direct {@link java.nio.ByteBuffer} in native byte order
+ * (<code>ByteBuffer.allocateDirect(n).order(ByteOrder.nativeOrder()).asFloatBuffer()</code>) for off-heap data.
+ * <p>
+ * The view supports the same operations as {@link Matrix4f}, including the builders and the bulk transforms,
+ * and computes them with the same kernels: the values are read into a private scratch matrix, transformed and
+ * written back, so no operation allocates. The view can be moved along the buffer with {@link #at(int)} to
+ * process many matrices with one object. The property bits of {@link Matrix4f} are not stored in the buffer,
+ * so the view always takes the general paths.
+ */
+public class Matrix4fView implements Matrix<Matrix4fView> {
+    /**
+     * The buffer holding the values of this matrix.
+     */
+    public final FloatBuffer buffer;
+
+    private int offset;
+    private final Matrix4f tmp = new Matrix4f();
+
+    /**
+     * Constructs a view of the matrix stored at the start of the given buffer.
+     *
+     * @param buffer The buffer.
+     */
+    public Matrix4fView(FloatBuffer buffer) {
+        this(buffer, 0);
+    }
+
+    /**
+     * Constructs a view of the matrix stored at the given offset of the buffer.
+     *
+     * @param buffer The buffer.
+     * @param offset The absolute index of the first value of the matrix in the buffer.
+     */
+    public Matrix4fView(FloatBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * @return The absolute index of the first value of this matrix in the buffer.
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Moves this view to another matrix of the same buffer.
+     *
+     * @param offset The absolute index of the first value of the matrix in the buffer.
+     * @return This view for chaining.
+     */
+    public Matrix4fView at(int offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * @param index The index of the value, one of the {@link Matrix4f} index constants.
+     * @return The value at the given index.
+     */
+    public float get(int index) {
+        return buffer.get(offset + index);
+    }
+
+    /**
+     * Sets the value at the given index.
+     *
+     * @param index The index of the value, one of the {@link Matrix4f} index constants.
+     * @param value The new value.
+     * @return This view for chaining.
+     */
+    public Matrix4fView set(int index, float value) {
+        buffer.put(offset + index, value);
+        return this;
+    }
+
+    /**
+     * Copies the values of this matrix into the given matrix.
+     *
+     * @param out The matrix to write to.
+     * @return The provided matrix.
+     */
+    public Matrix4f get(Matrix4f out) {
+        buffer.get(offset, out.val);
+        return out.invalidateProperties();
+    }
+
+    /**
+     * Copies the values of the given matrix into this matrix.
+     *
+     * @param m The matrix.
+     * @return This view for chaining.
+     */
+    public Matrix4fView set(Matrix4f m) {
+        buffer.put(offset, m.val);
+        return this;
+    }
+
+    private Matrix4f load() {
+        buffer.get(offset, tmp.val);
+        return tmp.invalidateProperties();
+    }
+
+    private Matrix4fView store(Matrix4f m) {
+        buffer.put(offset, m.val);
+        return this;
+    }
+
+    /**
+     * Creates a view over a new heap buffer holding a copy of the values of this matrix.
+     *
+     * @return The copy.
+     */
+    @Override
+    public Matrix4fView cpy() {
+        float[] values = new float[Matrix4f.LEN];
+        buffer.get(offset, values);
+        return new Matrix4fView(FloatBuffer.wrap(values));
+    }
+
+    @Override
+    public Matrix4fView setZero() {
+        return store(tmp.setZero());
+    }
+
+    @Override
+    public Matrix4fView setIdentity() {
+        return store(tmp.setIdentity());
+    }
+
+    @Override
+    public Matrix4fView set(float[] values) {
+        buffer.put(offset, values, 0, Matrix4f.LEN);
+        return this;
+    }
+
+    @Override
+    public Matrix4fView set(Matrix4fView m) {
+        return store(m.load());
+    }
+
+    @Override
+    public Matrix4fView fill(float scalar) {
+        return store(tmp.fill(scalar));
+    }
+
+    @Override
+    public Matrix4fView tra() {
+        return store(load().tra());
+    }
+
+    @Override
+    public Matrix4fView tra(Matrix4fView dest) {
+        return dest.store(load().tra());
+    }
+
+    @Override
+    public float det() {
+        return load().det();
+    }
+
+    @Override
+    public Matrix4fView inv() {
+        return store(load().inv());
+    }
+
+    @Override
+    public Matrix4fView inv(Matrix4fView dest) {
+        return dest.store(load().inv());
+    }
+
+    @Override
+    public Matrix4fView add(Matrix4fView m) {
+        return store(load().add(m.load()));
+    }
+
+    @Override
+    public Matrix4fView sub(Matrix4fView m) {
+        return store(load().sub(m.load()));
+    }
+
+    @Override
+    public Matrix4fView mul(float scalar) {
+        return store(load().mul(scalar));
+    }
+
+    @Override
+    public Matrix4fView div(float scalar) {
+        return store(load().div(scalar));
+    }
+
+    @Override
+    public Matrix4fView mul(Matrix4fView m) {
+        return store(load().mul(m.load()));
+    }
+
+    @Override
+    public Matrix4fView comMul(Matrix4fView m) {
+        return store(load().comMul(m.load()));
+    }
+
+    @Override
+    public Matrix4fView comDiv(Matrix4fView m) {
+        return store(load().comDiv(m.load()));
+    }
+
+    /**
+     * Multiplies this matrix by the given matrix:
+     * <pre>this <- this * m</pre>
+     *
+     * @param m The right matrix.
+     * @return This view for chaining.
+     */
+    public Matrix4fView mul(Matrix4f m) {
+        return store(load().mul(m));
+    }
+
+    /**
+     * Sets this matrix to the product of the two given matrices:
+     * <pre>this <- ab</pre>
+     *
+     * @param a The left matrix.
+     * @param b The right matrix.
+     * @return This view for chaining.
+     */
+    public Matrix4fView mul(Matrix4f a, Matrix4f b) {
+        return store(Matrix4f.mul(a, b, tmp));
+    }
+
+    /**
+     * Sets this matrix to a translation matrix.
+     *
+     * @param x The translation along the x axis.
+     * @param y The translation along the y axis.
+     * @param z The translation along the z axis.
+     * @return This view for chaining.
+     * @see Matrix4f#setTranslation(float, float, float)
+     */
+    public Matrix4fView setTranslation(float x, float y, float z) {
+        return store(tmp.setTranslation(x, y, z));
+    }
+
+    /**
+     * Sets this matrix to a translation matrix.
+     *
+     * @param v The translation vector.
+     * @return This view for chaining.
+     */
+    public Matrix4fView setTranslation(Vector3f v) {
+        return store(tmp.setTranslation(v));
+    }
+
+    /**
+     * Sets this matrix to a rotation around the x axis.
+     *
+     * @param radians The rotation angle in radians.
+     * @return This view for chaining.
+     */
+    public Matrix4fView setRotationX(float radians) {
+        return store(tmp.setRotationX(radians));
+    }
+
+    /**
+     * Sets this matrix to a rotation around the y axis.
+     *
+     * @param radians The rotation angle in radians.
+     * @return This view for chaining.
+     */
+    public Matrix4fView setRotationY(float radians) {
+        return store(tmp.setRotationY(radians));
+    }
+
+    /**
+     * Sets this matrix to a rotation around the z axis.
+     *
+     * @param radians The rotation angle in radians.
+     * @return This view for chaining.
+     */
+    public Matrix4fView setRotationZ(float radians) {
+        return store(tmp.setRotationZ(radians));
+    }
+
+    /**
+     * Sets this matrix to a rotation around the given axis.
+     *
+     * @param axis    The unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This view for chaining.
+     */
+    public Matrix4fView setRotation(Vector3f axis, float radians) {
+        return store(tmp.setRotation(axis, radians));
+    }
+
+    /**
+     * Sets this matrix to a rotation around the given axis.
+     *
+     * @param x       The x component of the unit rotation axis.
+     * @param y       The y component of the unit rotation axis.
+     * @param z       The z component of the unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This view for chaining.
+     */
+    public Matrix4fView setRotation(float x, float y, float z, float radians) {
+        return store(tmp.setRotation(x, y, z, radians));
+    }
+
+    /**
+     * Sets this matrix to the rotation represented by the given unit quaternion, without translation.
+     *
+     * @param q The unit quaternion.
+     * @return This view for chaining.
+     */
+    public Matrix4fView set(Quaternionf q) {
+        return store(tmp.set(q));
+    }
+
+    /**
+     * Sets this matrix to a scaling matrix.
+     *
+     * @param x The scale along the x axis.
+     * @param y The scale along the y axis.
+     * @param z The scale along the z axis.
+     * @return This view for chaining.
+     */
+    public Matrix4fView setScale(float x, float y, float z) {
+        return store(tmp.setScale(x, y, z));
+    }
+
+    /**
+     * Sets this matrix to a uniform scaling matrix.
+     *
+     * @param scale The scale along all three axes.
+     * @return This view for chaining.
+     */
+    public Matrix4fView setScale(float scale) {
+        return store(tmp.setScale(scale));
+    }
+
+    /**
+     * Sets this matrix to a right-handed perspective projection matrix.
+     *
+     * @param fovY   The vertical field of view in radians.
+     * @param aspect The aspect ratio of the viewport (width divided by height).
+     * @param near   The distance to the near plane. Must be positive.
+     * @param far    The distance to the far plane. Must be greater than the near distance.
+     * @return This view for chaining.
+     * @see Matrix4f#setPerspective(float, float, float, float)
+     */
+    public Matrix4fView setPerspective(float fovY, float aspect, float near, float far) {
+        return store(tmp.setPerspective(fovY, aspect, near, far));
+    }
+
+    /**
+     * Sets this matrix to a right-handed orthographic projection matrix.
+     *
+     * @param left   The x coordinate of the left plane.
+     * @param right  The x coordinate of the right plane.
+     * @param bottom The y coordinate of the bottom plane.
+     * @param top    The y coordinate of the top plane.
+     * @param near   The distance to the near plane.
+     * @param far    The distance to the far plane.
+     * @return This view for chaining.
+     * @see Matrix4f#setOrtho(float, float, float, float, float, float)
+     */
+    public Matrix4fView setOrtho(float left, float right, float bottom, float top, float near, float far) {
+        return store(tmp.setOrtho(left, right, bottom, top, near, far));
+    }
+
+    /**
+     * Sets this matrix to a right-handed view matrix of a camera placed at the eye position and looking at
+     * the target.
+     *
+     * @param eye    The position of the camera.
+     * @param target The point the camera looks at.
+     * @param up     The up direction. Must not be parallel to the view direction.
+     * @return This view for chaining.
+     * @see Matrix4f#setLookAt(Vector3f, Vector3f, Vector3f)
+     */
+    public Matrix4fView setLookAt(Vector3f eye, Vector3f target, Vector3f up) {
+        return store(tmp.setLookAt(eye, target, up));
+    }
+
+    /**
+     * Sets this matrix to the camera-relative model-view matrix of a model far from the origin.
+     *
+     * @param view   The view matrix of the camera placed at the origin, i.e. its rotation only.
+     * @param model  The model matrix relative to the model position.
+     * @param modelX The x coordinate of the model position.
+     * @param modelY The y coordinate of the model position.
+     * @param modelZ The z coordinate of the model position.
+     * @param eyeX   The x coordinate of the camera position.
+     * @param eyeY   The y coordinate of the camera position.
+     * @param eyeZ   The z coordinate of the camera position.
+     * @return This view for chaining.
+     * @see Matrix4f#setModelViewRelative(Matrix4f, Matrix4f, double, double, double, double, double, double)
+     */
+    public Matrix4fView setModelViewRelative(
+            Matrix4f view, Matrix4f model,
+            double modelX, double modelY, double modelZ,
+            double eyeX, double eyeY, double eyeZ
+    ) {
+        return store(tmp.setModelViewRelative(view, model, modelX, modelY, modelZ, eyeX, eyeY, eyeZ));
+    }
+
+    /**
+     * Sets this matrix to the camera-relative model-view matrix of a model far from the origin, with both
+     * positions split into high and low float parts.
+     *
+     * @param view      The view matrix of the camera placed at the origin, i.e. its rotation only.
+     * @param model     The model matrix relative to the model position.
+     * @param modelHigh The high part of the model position.
+     * @param modelLow  The low part of the model position.
+     * @param eyeHigh   The high part of the camera position.
+     * @param eyeLow    The low part of the camera position.
+     * @return This view for chaining.
+     * @see Matrix4f#setModelViewRelative(Matrix4f, Matrix4f, Vector3f, Vector3f, Vector3f, Vector3f)
+     */
+    public Matrix4fView setModelViewRelative(
+            Matrix4f view, Matrix4f model,
+            Vector3f modelHigh, Vector3f modelLow,
+            Vector3f eyeHigh, Vector3f eyeLow
+    ) {
+        return store(tmp.setModelViewRelative(view, model, modelHigh, modelLow, eyeHigh, eyeLow));
+    }
+
+    /**
+     * Post-multiplies this matrix by a translation matrix, so that the translation is applied first:
+     * <pre>this <- this * T</pre>
+     *
+     * @param x The translation along the x axis.
+     * @param y The translation along the y axis.
+     * @param z The translation along the z axis.
+     * @return This view for chaining.
+     */
+    public Matrix4fView translate(float x, float y, float z) {
+        return store(load().translate(x, y, z));
+    }
+
+    /**
+     * Post-multiplies this matrix by a translation matrix.
+     *
+     * @param v The translation vector.
+     * @return This view for chaining.
+     */
+    public Matrix4fView translate(Vector3f v) {
+        return store(load().translate(v));
+    }
+
+    /**
+     * Post-multiplies this matrix by a rotation matrix, so that the rotation is applied first:
+     * <pre>this <- this * R</pre>
+     *
+     * @param axis    The unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This view for chaining.
+     */
+    public Matrix4fView rotate(Vector3f axis, float radians) {
+        return store(load().rotate(axis, radians));
+    }
+
+    /**
+     * Post-multiplies this matrix by a rotation matrix.
+     *
+     * @param x       The x component of the unit rotation axis.
+     * @param y       The y component of the unit rotation axis.
+     * @param z       The z component of the unit rotation axis.
+     * @param radians The rotation angle in radians.
+     * @return This view for chaining.
+     */
+    public Matrix4fView rotate(float x, float y, float z, float radians) {
+        return store(load().rotate(x, y, z, radians));
+    }
+
+    /**
+     * Post-multiplies this matrix by a scaling matrix, so that the scale is applied first:
+     * <pre>this <- this * S</pre>
+     *
+     * @param x The scale along the x axis.
+     * @param y The scale along the y axis.
+     * @param z The scale along the z axis.
+     * @return This view for chaining.
+     */
+    public Matrix4fView scale(float x, float y, float z) {
+        return store(load().scale(x, y, z));
+    }
+
+    /**
+     * Post-multiplies this matrix by a uniform scaling matrix.
+     *
+     * @param scale The scale along all three axes.
+     * @return This view for chaining.
+     */
+    public Matrix4fView scale(float scale) {
+        return store(load().scale(scale));
+    }
+
+    /**
+     * Multiplies this matrix by the given 4D column vector.
+     *
+     * @param v The given vector.
+     * @return The changed given vector.
+     */
+    public Vector4f mul(Vector4f v) {
+        return load().mul(v);
+    }
+
+    /**
+     * Transforms the given packed 3D points by this matrix, like
+     * {@link Matrix4f#transformPoints(float[], int, float[], int, int, int)}.
+     *
+     * @param src    The source array of points.
+     * @param srcOff The offset of the first point in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first point in the destination array.
+     * @param count  The number of points to transform.
+     * @param stride The distance between the starts of consecutive points in both arrays. Must be at least 3.
+     */
+    public void transformPoints(float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        load().transformPoints(src, srcOff, dst, dstOff, count, stride);
+    }
+
+    /**
+     * Transforms the given packed 3D directions by this matrix, like
+     * {@link Matrix4f#transformDirections(float[], int, float[], int, int, int)}.
+     *
+     * @param src    The source array of directions.
+     * @param srcOff The offset of the first direction in the source array.
+     * @param dst    The destination array.
+     * @param dstOff The offset of the first direction in the destination array.
+     * @param count  The number of directions to transform.
+     * @param stride The distance between the starts of consecutive directions in both arrays. Must be at least 3.
+     */
+    public void transformDirections(float[] src, int srcOff, float[] dst, int dstOff, int count, int stride) {
+        load().transformDirections(src, srcOff, dst, dstOff, count, stride);
+    }
+
+    /**
+     * Transforms the given points by this matrix. Each point is treated as <code>(x, y, z, 1)</code>.
+     *
+     * @param src The source points.
+     * @param dst The destination array, which may be the same as the source.
+     */
+    public void transformPoints(Vector3fArray src, Vector3fArray dst) {
+        load().transformPoints(src, dst);
+    }
+
+    /**
+     * Transforms the given directions by this matrix. Each direction is treated as <code>(x, y, z, 0)</code>.
+     *
+     * @param src The source directions.
+     * @param dst The destination array, which may be the same as the source.
+     */
+    public void transformDirections(Vector3fArray src, Vector3fArray dst) {
+        load().transformDirections(src, dst);
+    }
+
+    /**
+     * Transforms the points of the given off-heap store in place.
+     *
+     * @param store The store of points.
+     */
+    public void transformPoints(Vector3fStore store) {
+        load().transformPoints(store);
+    }
+
+    /**
+     * Transforms the directions of the given off-heap store in place.
+     *
+     * @param store The store of directions.
+     */
+    public void transformDirections(Vector3fStore store) {
+        load().transformDirections(store);
+    }
+
+    /**
+     * Checks if the given matrices are nearly equal using the provided epsilon value.
+     *
+     * @param m       The other matrix.
+     * @param epsilon The epsilon value.
+     * @return Whether the two matrices are nearly equal.
+     */
+    public boolean epsEquals(Matrix4f m, float epsilon) {
+        return load().epsEquals(m, epsilon);
+    }
+}
@@ -0,0 +1,159 @@
+package cg.vsu.render.math.matrix;
+
+/**
+ * A mutable square matrix of doubles, mirroring {@link Matrix}.
+ */
+public interface Matrixd<T extends Matrixd<T>> {
+    /**
+     * @return A copy of this matrix.
+     */
+    T cpy();
+
+    /**
+     * Fills this matrix with zeroes.
+     *
+     * @return This matrix for chaining.
+     */
+    T setZero();
+
+    /**
+     * Sets this matrix to the identity matrix.
+     *
+     * @return This matrix for chaining.
+     */
+    T setIdentity();
+
+    /**
+     * Sets a matrix from the given array of doubles. The values are expected to be in column-major order.
+     * The array must have at least 16 values.
+     *
+     * @param values The array of doubles.
+     * @throws ArrayIndexOutOfBoundsException if there are not enough values in the array.
+     */
+    T set(double[] values);
+
+    /**
+     * Sets this matrix to the given matrix.
+     *
+     * @param m The matrix.
+     * @return This matrix for chaining.
+     */
+    T set(T m);
+
+    /**
+     * Fills this matrix with the specified scalar value.
+     *
+     * @param scalar The scalar.
+     * @return This matrix for chaining.
+     */
+    T fill(double scalar);
+
+    /**
+     * Transposes this matrix.
+     *
+     * @return This matrix for chaining.
+     */
+    T tra();
+
+    /**
+     * Writes the transpose of this matrix to the destination matrix. This matrix is left unchanged
+     * unless it is the destination.
+     *
+     * <p>
+     * The default implementation copies this matrix into the destination and transposes it there.
+     *
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     */
+    @SuppressWarnings("unchecked")
+    default T tra(T dest) {
+        return dest.set((T) this).tra();
+    }
+
+    /**
+     * @return The determinant of this matrix.
+     */
+    double det();
+
+    /**
+     * Inverts this matrix.
+     *
+     * @return This matrix for chaining.
+     * @throws ArithmeticException if the matrix is degenerate (det(this) == 0).
+     */
+    T inv();
+
+    /**
+     * Writes the inverse of this matrix to the destination matrix. This matrix is left unchanged
+     * unless it is the destination.
+     *
+     * <p>
+     * The default implementation copies this matrix into the destination and inverts it there, so a degenerate
+     * matrix leaves its copy in the destination.
+     *
+     * @param dest The destination matrix.
+     * @return The destination matrix for chaining.
+     * @throws ArithmeticException if the matrix is degenerate (det(this) == 0).
+     */
+    @SuppressWarnings("unchecked")
+    default T inv(T dest) {
+        return dest.set((T) this).inv();
+    }
+
+    /**
+     * Adds the given matrix to this matrix.
+     *
+     * @param m The matrix to add.
+     * @return This matrix for chaining.
+     */
+    T add(T m);
+
+    /**
+     * Subtracts the given matrix from this matrix.
+     *
+     * @param m The matrix to subtract.
+     * @return This matrix for chaining.
+     */
+    T sub(T m);
+
+    /**
+     * Multiplies this matrix by the given scalar.
+     *
+     * @param scalar The scalar.
+     * @return This matrix for chaining.
+     */
+    T mul(double scalar);
+
+    /**
+     * Divides this matrix by the given scalar.
+     *
+     * @param scalar The scalar.
+     * @return This matrix for chaining.
+     */
+    T div(double scalar);
+
+    /**
+     * Multiplies this matrix by the given matrix. Calling <code>A.mul(B)</code> results in the following:
+     * <pre>A <- AB</pre>
+     *
+     * @param m The other matrix.
+     * @return This matrix for chaining.
+     */
+    T mul(T m);
+
+    /**
+     * Performs a component-wise multiplication (Hadamard product) of the two matrices.
+     *
+     * @param m The other matrix.
+     * @return This matrix for chaining.
+     */
+    T comMul(T m);
+
+    /**
+     * Performs a component-wise division of the two matrices.
+     *
+     * @param m The other matrix.
+     * @return This matrix for chaining.
+     */
+    T comDiv(T m);
+}
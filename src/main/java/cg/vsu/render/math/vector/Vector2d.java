@@ -0,0 +1,663 @@
+package cg.vsu.render.math.vector;
+
+import cg.vsu.render.math.MathUtils;
+
+import java.util.Objects;
+
+/**
+ * A mutable two-dimensional double vector.
+ */
+public class Vector2d implements Vectord<Vector2d> {
+    /**
+     * The x component of this vector.
+     */
+    public double x;
+
+    /**
+     * The y component of this vector.
+     */
+    public double y;
+
+    /**
+     * @return A zero vector.
+     */
+    public static Vector2d zero() {
+        return new Vector2d();
+    }
+
+    /**
+     * @return An x unit vector.
+     */
+    public static Vector2d unitX() {
+        return new Vector2d(1.0, 0.0);
+    }
+
+    /**
+     * @return A y unit vector.
+     */
+    public static Vector2d unitY() {
+        return new Vector2d(0.0, 1.0);
+    }
+
+    /**
+     * Constructs a zero vector.
+     */
+    public Vector2d() { }
+
+    /**
+     * Constructs a vector from the given double array. The array must have at least two values.
+     *
+     * @param values The array of doubles.
+     */
+    public Vector2d(double[] values) {
+        this.x = values[0];
+        this.y = values[1];
+    }
+
+    /**
+     * Constructs a vector from the given vector.
+     *
+     * @param v The vector.
+     */
+    public Vector2d(Vector2d v) {
+        this.x = v.x;
+        this.y = v.y;
+    }
+
+    /**
+     * Constructs a vector with the given components.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     */
+    public Vector2d(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Constructs a vector from the given 4D vector. The z and w components are discarded.
+     *
+     * @param v The vector.
+     */
+    public Vector2d(Vector4d v) {
+        this.x = v.x;
+        this.y = v.y;
+    }
+
+    /**
+     * Constructs a vector from the given 4D vector. The z component is discarded.
+     *
+     * @param v The vector.
+     */
+    public Vector2d(Vector3d v) {
+        this.x = v.x;
+        this.y = v.y;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Vector2d v = (Vector2d) o;
+        return this.idt(v);
+    }
+
+    @Override
+    public boolean epsEquals(Vector2d v, double epsilon) {
+        if (this == v) return true;
+        if (v == null) return false;
+        if (Math.abs(this.x - v.x) > epsilon) return false;
+        return Math.abs(this.y - v.y) <= epsilon;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, y);
+    }
+
+    @Override
+    public String toString() {
+        return "v2d(x=" + x + ", y=" + y + ")";
+    }
+
+    @Override
+    public boolean idt(Vector2d v) {
+        return epsIdt(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean epsIdt(Vector2d v, double epsilon) {
+        if (Math.abs(this.x - v.x) > epsilon) return false;
+        return Math.abs(this.y - v.y) <= epsilon;
+    }
+
+    @Override
+    public Vector2d cpy() {
+        return new Vector2d(this.x, this.y);
+    }
+
+    @Override
+    public double[] toArray() {
+        double[] result = new double[2];
+        result[0] = x;
+        result[1] = y;
+        return result;
+    }
+
+    /**
+     * Sets the components of this vector to the specified values.
+     *
+     * @param x The new x component of this vector.
+     * @param y The new y component of this vector.
+     * @return This vector for chaining.
+     */
+    public Vector2d set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given double array. The array must have at least two values.
+     *
+     * @param values The array of doubles.
+     * @return This vector for chaining.
+     */
+    public Vector2d set(double[] values) {
+        this.x = values[0];
+        this.y = values[1];
+        return this;
+    }
+
+    @Override
+    public Vector2d set(Vector2d v) {
+        this.x = v.x;
+        this.y = v.y;
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given 4D vector. The z component is discarded.
+     *
+     * @param v The vector.
+     * @return This vector for chaining.
+     */
+    public Vector2d set(Vector3d v) {
+        this.x = v.x;
+        this.y = v.y;
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given 4D vector. The z and w components are discarded.
+     *
+     * @param v The vector.
+     * @return This vector for chaining.
+     */
+    public Vector2d set(Vector4d v) {
+        this.x = v.x;
+        this.y = v.y;
+        return this;
+    }
+
+    @Override
+    public Vector2d set(double v) {
+        this.x = v;
+        this.y = v;
+        return this;
+    }
+
+    /**
+     * Sets this vector to the components of the given float vector.
+     *
+     * @param v The float vector.
+     * @return This vector for chaining.
+     */
+    public Vector2d set(Vector2f v) {
+        this.x = v.x;
+        this.y = v.y;
+        return this;
+    }
+
+    /**
+     * Writes the components of this vector rounded to float precision into the given vector.
+     *
+     * @param out The vector to write to.
+     * @return The provided vector.
+     */
+    public Vector2f get(Vector2f out) {
+        out.x = (float) x;
+        out.y = (float) y;
+        return out;
+    }
+
+    @Override
+    public Vector2d setZero() {
+        this.x = 0;
+        this.y = 0;
+        return this;
+    }
+
+    @Override
+    public Vector2d nor() {
+        if (x == 0.0 && y == 0.0) return this;
+
+        double len = len();
+        this.x /= len;
+        this.y /= len;
+        return this;
+    }
+
+    /**
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @return The length of the given vector.
+     */
+    public static double len(double x, double y) {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @return The square of the length of the given vector.
+     */
+    public static double len2(double x, double y) {
+        return x * x + y * y;
+    }
+
+    @Override
+    public double len() {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    @Override
+    public double len2() {
+        return x * x + y * y;
+    }
+
+    @Override
+    public Vector2d limit(double limit) {
+        double len2 = x * x + y * y;
+        if (len2 > limit * limit) {
+            double alpha = limit / Math.sqrt(len2);
+            this.x *= alpha;
+            this.y *= alpha;
+        }
+        return this;
+    }
+
+    @Override
+    public Vector2d limit2(double limit2) {
+        double len2 = x * x + y * y;
+        if (len2 > limit2) {
+            double alpha = Math.sqrt(limit2 / len2);
+            this.x *= alpha;
+            this.y *= alpha;
+        }
+        return this;
+    }
+
+    @Override
+    public Vector2d setLength(double length) {
+        double oldLen = Math.sqrt(x * x + y * y);
+        double alpha = length / oldLen;
+        this.x *= alpha;
+        this.y *= alpha;
+        return this;
+    }
+
+    @Override
+    public Vector2d setLength2(double length2) {
+        double oldLen2 = x * x + y * y;
+        double alpha = Math.sqrt(length2 / oldLen2);
+        this.x *= alpha;
+        this.y *= alpha;
+        return this;
+    }
+
+    @Override
+    public Vector2d clamp(double minLength, double maxLength) {
+        double len2 = len2();
+        if (len2 == 0.0) return this;
+
+        double max2 = maxLength * maxLength;
+        if (len2 > max2) {
+            double alpha = Math.sqrt(max2 / len2);
+            this.x *= alpha;
+            this.y *= alpha;
+            return this;
+        }
+
+        double min2 = minLength * minLength;
+        if (len2 < min2) {
+            double alpha = Math.sqrt(min2 / len2);
+            this.x *= alpha;
+            this.y *= alpha;
+            return this;
+        }
+
+        return this;
+    }
+
+    @Override
+    public Vector2d add(Vector2d v) {
+        this.x += v.x;
+        this.y += v.y;
+        return this;
+    }
+
+    @Override
+    public Vector2d add(double v) {
+        this.x += v;
+        this.y += v;
+        return this;
+    }
+
+    /**
+     * Adds the given vector to this vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector2d add(double x, double y) {
+        this.x += x;
+        this.y += y;
+        return this;
+    }
+
+    @Override
+    public Vector2d sub(Vector2d v) {
+        this.x -= v.x;
+        this.y -= v.y;
+        return this;
+    }
+
+    @Override
+    public Vector2d sub(double v) {
+        this.x -= v;
+        this.y -= v;
+        return this;
+    }
+
+    /**
+     * Subtracts the given vector from this vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector2d sub(double x, double y) {
+        this.x -= x;
+        this.y -= y;
+        return this;
+    }
+
+    @Override
+    public Vector2d scl(double scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        return this;
+    }
+
+    /**
+     * Performs a component-wise multiplication (Hadamard product) of this vector and the given vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector2d scl(double x, double y) {
+        this.x *= x;
+        this.y *= y;
+        return this;
+    }
+
+    @Override
+    public Vector2d scl(Vector2d v) {
+        this.x *= v.x;
+        this.y *= v.y;
+        return this;
+    }
+
+    @Override
+    public Vector2d div(double scalar) {
+        this.x /= scalar;
+        this.y /= scalar;
+        return this;
+    }
+
+    /**
+     * Performs a component-wise division of this vector and the given vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector2d div(double x, double y) {
+        this.x /= x;
+        this.y /= y;
+        return this;
+    }
+
+    @Override
+    public Vector2d div(Vector2d v) {
+        this.x /= v.x;
+        this.y /= v.y;
+        return this;
+    }
+
+    /**
+     * @param v1 The first vector.
+     * @param v2 The second vector.
+     * @return The distance between the two vectors.
+     */
+    public static double dst(Vector2d v1, Vector2d v2) {
+        double a = v2.x - v1.x;
+        double b = v2.y - v1.y;
+        return Math.sqrt(a * a + b * b);
+    }
+
+    /**
+     * @return The distance between the two vectors.
+     */
+    public static double dst(
+            double x1, double y1,
+            double x2, double y2
+    ) {
+        double a = x2 - x1;
+        double b = y2 - y1;
+        return Math.sqrt(a * a + b * b);
+    }
+
+    /**
+     * @param v1 The first vector.
+     * @param v2 The second vector.
+     * @return The square of the distance between the two vectors.
+     */
+    public static double dst2(Vector2d v1, Vector2d v2) {
+        double a = v2.x - v1.x;
+        double b = v2.y - v1.y;
+        return a * a + b * b;
+    }
+
+    /**
+     * @return The square of the distance between the two vectors.
+     */
+    public static double dst2(double x1, double y1, double x2, double y2) {
+        double a = x2 - x1;
+        double b = y2 - y1;
+        return a * a + b * b;
+    }
+
+    @Override
+    public double dst(Vector2d v) {
+        double a = v.x - this.x;
+        double b = v.y - this.y;
+        return Math.sqrt(a * a + b * b);
+    }
+
+    /**
+     * @return The distance between the two vectors.
+     */
+    public double dst(double x, double y) {
+        double a = x - this.x;
+        double b = y - this.y;
+        return Math.sqrt(a * a + b * b);
+    }
+
+    @Override
+    public double dst2(Vector2d v) {
+        double a = v.x - this.x;
+        double b = v.y - this.y;
+        return a * a + b * b;
+    }
+
+    /**
+     * @return The square of the distance between the two vectors.
+     */
+    public double dst2(double x, double y) {
+        double a = x - this.x;
+        double b = y - this.y;
+        return a * a + b * b;
+    }
+
+    /**
+     * Linearly interpolates between the first vector and the second vector based on the alpha coefficient.
+     *
+     * @param v1    The first vector.
+     * @param v2    The second vector.
+     * @param alpha The alpha coefficient.
+     * @return The result of the linear interpolation.
+     */
+    public static Vector2d lerp(Vector2d v1, Vector2d v2, double alpha) {
+        double x = v1.x + alpha * (v2.x - v1.x);
+        double y = v1.y + alpha * (v2.y - v1.y);
+        return new Vector2d(x, y);
+    }
+
+    @Override
+    public Vector2d lerp(Vector2d v, double alpha) {
+        this.x += alpha * (v.x - this.x);
+        this.y += alpha * (v.y - this.y);
+        return this;
+    }
+
+    @Override
+    public Vector2d addMul(Vector2d v, double scalar) {
+        this.x += v.x * scalar;
+        this.y += v.y * scalar;
+        return this;
+    }
+
+    @Override
+    public Vector2d addMul(Vector2d v, Vector2d v2) {
+        this.x += v.x * v2.x;
+        this.y += v.y * v2.y;
+        return this;
+    }
+
+    @Override
+    public double dot(Vector2d v) {
+        return this.x * v.x + this.y * v.y;
+    }
+
+    /**
+     * @param v The other vector.
+     * @return The 2D cross product (wedge product) of the two vectors.
+     */
+    public double crs(Vector2d v) {
+        return this.x * v.y - this.y * v.x;
+    }
+
+    /**
+     * Sets this vector to the vector from this vector to the specified vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector2d to(double x, double y) {
+        this.x = x - this.x;
+        this.y = y - this.y;
+        return this;
+    }
+
+    @Override
+    public Vector2d to(Vector2d v) {
+        this.x = v.x - this.x;
+        this.y = v.y - this.y;
+        return this;
+    }
+
+    @Override
+    public boolean isOnLine(Vector2d v) {
+        return isOnLine(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isOnLine(Vector2d v, double epsilon) {
+        return Math.abs(this.x * v.y - this.y * v.x) <= epsilon;
+    }
+
+    @Override
+    public boolean isCollinear(Vector2d v) {
+        return isCollinear(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isCollinear(Vector2d v, double epsilon) {
+        return Math.abs(this.x * v.y - this.y * v.x) < epsilon && (this.x * v.x + this.y * v.y > 0);
+    }
+
+    @Override
+    public boolean isCollinearOpposite(Vector2d v) {
+        return isCollinearOpposite(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isCollinearOpposite(Vector2d v, double epsilon) {
+        return Math.abs(this.x * v.y - this.y * v.x) < epsilon && (this.x * v.x + this.y * v.y < 0);
+    }
+
+    @Override
+    public boolean isOrthogonal(Vector2d v) {
+        return isOrthogonal(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isOrthogonal(Vector2d v, double epsilon) {
+        return Math.abs(this.x * v.x + this.y * v.y) < epsilon;
+    }
+
+    @Override
+    public boolean hasSameDirection(Vector2d v) {
+        return this.x * v.x + this.y * v.y > 0;
+    }
+
+    @Override
+    public boolean hasOppositeDirection(Vector2d v) {
+        return this.x * v.x + this.y * v.y < 0;
+    }
+
+    @Override
+    public boolean isUnit() {
+        return isUnit(MathUtils.EPSILON_D);
+    }
+
+    public boolean isUnit(double epsilon) {
+        return MathUtils.epsEquals(x * x + y * y, 1.0, epsilon);
+    }
+
+    @Override
+    public boolean isZero() {
+        return isZero(MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isZero(double epsilon) {
+        return MathUtils.epsEquals(x * x + y * y, 0.0, epsilon);
+    }
+}
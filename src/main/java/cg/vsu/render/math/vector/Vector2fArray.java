@@ -0,0 +1,357 @@
+package cg.vsu.render.math.vector;
+
+/**
+ * A mutable fixed-size array of two-dimensional float vectors stored as a structure of arrays.
+ * The components of all vectors are kept in two packed columns, which avoids allocating a separate
+ * {@link Vector2f} for every element. The bulk operations mirror the ones found in {@link Vector} and
+ * are applied to every element of the array. Unless stated otherwise, the other array must have at least
+ * as many elements as this array.
+ */
+public class Vector2fArray {
+    /**
+     * The x components of the vectors.
+     */
+    public final float[] x;
+
+    /**
+     * The y components of the vectors.
+     */
+    public final float[] y;
+
+    /**
+     * The number of vectors in this array.
+     */
+    public final int size;
+
+    /**
+     * Constructs an array of the given number of zero vectors.
+     *
+     * @param size The number of vectors.
+     */
+    public Vector2fArray(int size) {
+        this.size = size;
+        this.x = new float[size];
+        this.y = new float[size];
+    }
+
+    /**
+     * Constructs a copy of the given array.
+     *
+     * @param a The array to copy.
+     */
+    public Vector2fArray(Vector2fArray a) {
+        this(a.size);
+        set(a);
+    }
+
+    /**
+     * @return A copy of this array.
+     */
+    public Vector2fArray cpy() {
+        return new Vector2fArray(this);
+    }
+
+    /**
+     * Copies the vector at the given index into the provided vector.
+     *
+     * @param index The index of the vector.
+     * @param out   The vector to write to.
+     * @return The changed provided vector.
+     */
+    public Vector2f get(int index, Vector2f out) {
+        out.x = x[index];
+        out.y = y[index];
+        return out;
+    }
+
+    /**
+     * Sets the vector at the given index.
+     *
+     * @param index The index of the vector.
+     * @param v     The new value of the vector.
+     * @return This array for chaining.
+     */
+    public Vector2fArray set(int index, Vector2f v) {
+        x[index] = v.x;
+        y[index] = v.y;
+        return this;
+    }
+
+    /**
+     * Sets the vector at the given index.
+     *
+     * @param index The index of the vector.
+     * @param x     The x component of the vector.
+     * @param y     The y component of the vector.
+     * @return This array for chaining.
+     */
+    public Vector2fArray set(int index, float x, float y) {
+        this.x[index] = x;
+        this.y[index] = y;
+        return this;
+    }
+
+    /**
+     * Copies the vectors of the given array into this array.
+     *
+     * @param a The other array.
+     * @return This array for chaining.
+     */
+    public Vector2fArray set(Vector2fArray a) {
+        System.arraycopy(a.x, 0, x, 0, size);
+        System.arraycopy(a.y, 0, y, 0, size);
+        return this;
+    }
+
+    /**
+     * Sets every vector of this array to the given vector.
+     *
+     * @param v The vector.
+     * @return This array for chaining.
+     */
+    public Vector2fArray set(Vector2f v) {
+        float vx = v.x;
+        float vy = v.y;
+        for (int i = 0; i < size; i++) {
+            x[i] = vx;
+            y[i] = vy;
+        }
+        return this;
+    }
+
+    /**
+     * Sets every vector of this array to zero.
+     *
+     * @return This array for chaining.
+     */
+    public Vector2fArray setZero() {
+        for (int i = 0; i < size; i++) {
+            x[i] = 0.0f;
+            y[i] = 0.0f;
+        }
+        return this;
+    }
+
+    /**
+     * Adds the vectors of the given array to the vectors of this array.
+     *
+     * @param a The other array.
+     * @return This array for chaining.
+     */
+    public Vector2fArray add(Vector2fArray a) {
+        float[] ax = a.x;
+        float[] ay = a.y;
+        for (int i = 0; i < size; i++) {
+            x[i] += ax[i];
+            y[i] += ay[i];
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given vector to every vector of this array.
+     *
+     * @param v The vector to add.
+     * @return This array for chaining.
+     */
+    public Vector2fArray add(Vector2f v) {
+        float vx = v.x;
+        float vy = v.y;
+        for (int i = 0; i < size; i++) {
+            x[i] += vx;
+            y[i] += vy;
+        }
+        return this;
+    }
+
+    /**
+     * Subtracts the vectors of the given array from the vectors of this array.
+     *
+     * @param a The other array.
+     * @return This array for chaining.
+     */
+    public Vector2fArray sub(Vector2fArray a) {
+        float[] ax = a.x;
+        float[] ay = a.y;
+        for (int i = 0; i < size; i++) {
+            x[i] -= ax[i];
+            y[i] -= ay[i];
+        }
+        return this;
+    }
+
+    /**
+     * Subtracts the given vector from every vector of this array.
+     *
+     * @param v The vector to subtract.
+     * @return This array for chaining.
+     */
+    public Vector2fArray sub(Vector2f v) {
+        float vx = v.x;
+        float vy = v.y;
+        for (int i = 0; i < size; i++) {
+            x[i] -= vx;
+            y[i] -= vy;
+        }
+        return this;
+    }
+
+    /**
+     * Scales every vector of this array by the given scalar.
+     *
+     * @param scalar The scalar.
+     * @return This array for chaining.
+     */
+    public Vector2fArray scl(float scalar) {
+        for (int i = 0; i < size; i++) {
+            x[i] *= scalar;
+            y[i] *= scalar;
+        }
+        return this;
+    }
+
+    /**
+     * Performs a component-wise multiplication (Hadamard product) of the vectors of this array
+     * and the vectors of the given array.
+     *
+     * @param a The other array.
+     * @return This array for chaining.
+     */
+    public Vector2fArray scl(Vector2fArray a) {
+        float[] ax = a.x;
+        float[] ay = a.y;
+        for (int i = 0; i < size; i++) {
+            x[i] *= ax[i];
+            y[i] *= ay[i];
+        }
+        return this;
+    }
+
+    /**
+     * Normalizes every vector of this array. Vectors of zero length are left unchanged.
+     *
+     * @return This array for chaining.
+     */
+    public Vector2fArray nor() {
+        for (int i = 0; i < size; i++) {
+            float vx = x[i];
+            float vy = y[i];
+            float len2 = vx * vx + vy * vy;
+            if (len2 == 0.0f) continue;
+
+            float len = (float) Math.sqrt(len2);
+            x[i] = vx / len;
+            y[i] = vy / len;
+        }
+        return this;
+    }
+
+    /**
+     * Calculates the lengths of the vectors of this array.
+     *
+     * @param out The array to write the lengths to. Must have at least {@link #size} values.
+     * @return The provided array.
+     */
+    public float[] len(float[] out) {
+        for (int i = 0; i < size; i++) {
+            out[i] = (float) Math.sqrt(x[i] * x[i] + y[i] * y[i]);
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the squared lengths of the vectors of this array.
+     *
+     * @param out The array to write the squared lengths to. Must have at least {@link #size} values.
+     * @return The provided array.
+     */
+    public float[] len2(float[] out) {
+        for (int i = 0; i < size; i++) {
+            out[i] = x[i] * x[i] + y[i] * y[i];
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the dot products between the vectors of this array and the vectors of the given array.
+     *
+     * @param a   The other array.
+     * @param out The array to write the dot products to. Must have at least {@link #size} values.
+     * @return The provided array.
+     */
+    public float[] dot(Vector2fArray a, float[] out) {
+        float[] ax = a.x;
+        float[] ay = a.y;
+        for (int i = 0; i < size; i++) {
+            out[i] = x[i] * ax[i] + y[i] * ay[i];
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the dot products between the vectors of this array and the given vector.
+     *
+     * @param v   The vector.
+     * @param out The array to write the dot products to. Must have at least {@link #size} values.
+     * @return The provided array.
+     */
+    public float[] dot(Vector2f v, float[] out) {
+        float vx = v.x;
+        float vy = v.y;
+        for (int i = 0; i < size; i++) {
+            out[i] = x[i] * vx + y[i] * vy;
+        }
+        return out;
+    }
+
+    /**
+     * Linearly interpolates between the vectors of this array and the vectors of the given array
+     * based on the alpha coefficient.
+     *
+     * @param a     The other array.
+     * @param alpha The alpha coefficient.
+     * @return This array for chaining.
+     */
+    public Vector2fArray lerp(Vector2fArray a, float alpha) {
+        float[] ax = a.x;
+        float[] ay = a.y;
+        for (int i = 0; i < size; i++) {
+            x[i] += alpha * (ax[i] - x[i]);
+            y[i] += alpha * (ay[i] - y[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Scales the vectors of the given array and adds them to the vectors of this array.
+     *
+     * @param a      The other array.
+     * @param scalar The scale of the vectors of the other array.
+     * @return This array for chaining.
+     */
+    public Vector2fArray addMul(Vector2fArray a, float scalar) {
+        float[] ax = a.x;
+        float[] ay = a.y;
+        for (int i = 0; i < size; i++) {
+            x[i] += ax[i] * scalar;
+            y[i] += ay[i] * scalar;
+        }
+        return this;
+    }
+
+    /**
+     * Performs a component-wise multiplication of the vectors of the two given arrays
+     * and adds the results to the vectors of this array.
+     *
+     * @param a  The first array.
+     * @param a2 The second array.
+     * @return This array for chaining.
+     */
+    public Vector2fArray addMul(Vector2fArray a, Vector2fArray a2) {
+        for (int i = 0; i < size; i++) {
+            x[i] += a.x[i] * a2.x[i];
+            y[i] += a.y[i] * a2.y[i];
+        }
+        return this;
+    }
+}
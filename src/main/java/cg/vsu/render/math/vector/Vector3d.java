@@ -0,0 +1,777 @@
+package cg.vsu.render.math.vector;
+
+import cg.vsu.render.math.MathUtils;
+
+import java.util.Objects;
+
+/**
+ * A mutable three-dimensional double vector.
+ */
+public class Vector3d implements Vectord<Vector3d> {
+    /**
+     * The x component of this vector.
+     */
+    public double x;
+
+    /**
+     * The y component of this vector.
+     */
+    public double y;
+
+    /**
+     * The z component of this vector.
+     */
+    public double z;
+
+    /**
+     * @return A zero vector.
+     */
+    public static Vector3d zero() {
+        return new Vector3d();
+    }
+
+    /**
+     * @return An x unit vector.
+     */
+    public static Vector3d unitX() {
+        return new Vector3d(1.0, 0.0, 0.0);
+    }
+
+    /**
+     * @return A y unit vector.
+     */
+    public static Vector3d unitY() {
+        return new Vector3d(0.0, 1.0, 0.0);
+    }
+
+    /**
+     * @return A z unit vector.
+     */
+    public static Vector3d unitZ() {
+        return new Vector3d(0.0, 0.0, 1.0);
+    }
+
+    /**
+     * Constructs a zero vector.
+     */
+    public Vector3d() { }
+
+    /**
+     * Constructs a vector from the given double array. The array must have at least three values.
+     *
+     * @param values The array of doubles.
+     */
+    public Vector3d(double[] values) {
+        this.x = values[0];
+        this.y = values[1];
+        this.z = values[2];
+    }
+
+    /**
+     * Constructs a vector from the given vector.
+     *
+     * @param v The vector.
+     */
+    public Vector3d(Vector3d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+    }
+
+    /**
+     * Constructs a vector with the given components.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     */
+    public Vector3d(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Constructs a vector from the given 2D vector. The z component is set to zero.
+     *
+     * @param v The vector.
+     */
+    public Vector3d(Vector2d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = 0.0;
+    }
+
+    /**
+     * Constructs a vector from the given 2D vector with the provided z component.
+     *
+     * @param v The vector.
+     * @param z The z component of the vector.
+     */
+    public Vector3d(Vector2d v, double z) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = z;
+    }
+
+    /**
+     * Constructs a vector from the given 4D vector. The w component is discarded.
+     *
+     * @param v The vector.
+     */
+    public Vector3d(Vector4d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Vector3d v = (Vector3d) o;
+        return this.idt(v);
+    }
+
+    @Override
+    public boolean epsEquals(Vector3d v, double epsilon) {
+        if (this == v) return true;
+        if (v == null) return false;
+        if (Math.abs(this.x - v.x) > epsilon) return false;
+        if (Math.abs(this.y - v.y) > epsilon) return false;
+        return Math.abs(this.z - v.z) <= epsilon;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, y, z);
+    }
+
+    @Override
+    public String toString() {
+        return "v3d(x=" + x + ", y=" + y + ", z=" + z + ")";
+    }
+
+    @Override
+    public boolean idt(Vector3d v) {
+        return epsIdt(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean epsIdt(Vector3d v, double epsilon) {
+        if (Math.abs(this.x - v.x) > epsilon) return false;
+        if (Math.abs(this.y - v.y) > epsilon) return false;
+        return Math.abs(this.z - v.z) <= epsilon;
+    }
+
+    @Override
+    public Vector3d cpy() {
+        return new Vector3d(this.x, this.y, this.z);
+    }
+
+    @Override
+    public double[] toArray() {
+        double[] result = new double[3];
+        result[0] = x;
+        result[1] = y;
+        result[2] = z;
+        return result;
+    }
+
+    /**
+     * Sets the components of this vector to the specified values.
+     *
+     * @param x The new x component of this vector.
+     * @param y The new y component of this vector.
+     * @param z The new z component of this vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given double array. The array must have at least three values.
+     *
+     * @param values The array of doubles.
+     * @return This vector for chaining.
+     */
+    public Vector3d set(double[] values) {
+        this.x = values[0];
+        this.y = values[1];
+        this.z = values[2];
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given 2D vector. The z component is set to zero.
+     *
+     * @param v The vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d set(Vector2d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = 0.0;
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given 2D vector with the specified z component.
+     *
+     * @param v The vector.
+     * @param z The z component of this vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d set(Vector2d v, double z) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = z;
+        return this;
+    }
+
+    @Override
+    public Vector3d set(Vector3d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given 4D vector. The w component is discarded.
+     *
+     * @param v The vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d set(Vector4d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+        return this;
+    }
+
+    @Override
+    public Vector3d set(double v) {
+        this.x = v;
+        this.y = v;
+        this.z = v;
+        return this;
+    }
+
+    /**
+     * Sets this vector to the components of the given float vector.
+     *
+     * @param v The float vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d set(Vector3f v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+        return this;
+    }
+
+    /**
+     * Writes the components of this vector rounded to float precision into the given vector.
+     *
+     * @param out The vector to write to.
+     * @return The provided vector.
+     */
+    public Vector3f get(Vector3f out) {
+        out.x = (float) x;
+        out.y = (float) y;
+        out.z = (float) z;
+        return out;
+    }
+
+    @Override
+    public Vector3d setZero() {
+        this.x = 0;
+        this.y = 0;
+        this.z = 0;
+        return this;
+    }
+
+    @Override
+    public Vector3d nor() {
+        if (x == 0.0 && y == 0.0 && z == 0.0) return this;
+
+        double len = len();
+        this.x /= len;
+        this.y /= len;
+        this.z /= len;
+        return this;
+    }
+
+    /**
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @return The length of the given vector.
+     */
+    public static double len(double x, double y, double z) {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @return The square of the length of the given vector.
+     */
+    public static double len2(double x, double y, double z) {
+        return x * x + y * y + z * z;
+    }
+
+    @Override
+    public double len() {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    @Override
+    public double len2() {
+        return x * x + y * y + z * z;
+    }
+
+    @Override
+    public Vector3d limit(double limit) {
+        double len2 = x * x + y * y + z * z;
+        if (len2 > limit * limit) {
+            double alpha = limit / Math.sqrt(len2);
+            this.x *= alpha;
+            this.y *= alpha;
+            this.z *= alpha;
+        }
+        return this;
+    }
+
+    @Override
+    public Vector3d limit2(double limit2) {
+        double len2 = x * x + y * y + z * z;
+        if (len2 > limit2) {
+            double alpha = Math.sqrt(limit2 / len2);
+            this.x *= alpha;
+            this.y *= alpha;
+            this.z *= alpha;
+        }
+        return this;
+    }
+
+    @Override
+    public Vector3d setLength(double length) {
+        double oldLen = Math.sqrt(x * x + y * y + z * z);
+        double alpha = length / oldLen;
+        this.x *= alpha;
+        this.y *= alpha;
+        this.z *= alpha;
+        return this;
+    }
+
+    @Override
+    public Vector3d setLength2(double length2) {
+        double oldLen2 = x * x + y * y + z * z;
+        double alpha = Math.sqrt(length2 / oldLen2);
+        this.x *= alpha;
+        this.y *= alpha;
+        this.z *= alpha;
+        return this;
+    }
+
+    @Override
+    public Vector3d clamp(double minLength, double maxLength) {
+        double len2 = len2();
+        if (len2 == 0.0) return this;
+
+        double max2 = maxLength * maxLength;
+        if (len2 > max2) {
+            double alpha = Math.sqrt(max2 / len2);
+            this.x *= alpha;
+            this.y *= alpha;
+            this.z *= alpha;
+            return this;
+        }
+
+        double min2 = minLength * minLength;
+        if (len2 < min2) {
+            double alpha = Math.sqrt(min2 / len2);
+            this.x *= alpha;
+            this.y *= alpha;
+            this.z *= alpha;
+            return this;
+        }
+
+        return this;
+    }
+
+    @Override
+    public Vector3d add(Vector3d v) {
+        this.x += v.x;
+        this.y += v.y;
+        this.z += v.z;
+        return this;
+    }
+
+    @Override
+    public Vector3d add(double v) {
+        this.x += v;
+        this.y += v;
+        this.z += v;
+        return this;
+    }
+
+    /**
+     * Adds the given vector to this vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d add(double x, double y, double z) {
+        this.x += x;
+        this.y += y;
+        this.z += z;
+        return this;
+    }
+
+    @Override
+    public Vector3d sub(Vector3d v) {
+        this.x -= v.x;
+        this.y -= v.y;
+        this.z -= v.z;
+        return this;
+    }
+
+    @Override
+    public Vector3d sub(double v) {
+        this.x -= v;
+        this.y -= v;
+        this.z -= v;
+        return this;
+    }
+
+    /**
+     * Subtracts the given vector from this vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d sub(double x, double y, double z) {
+        this.x -= x;
+        this.y -= y;
+        this.z -= z;
+        return this;
+    }
+
+    @Override
+    public Vector3d scl(double scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        this.z *= scalar;
+        return this;
+    }
+
+    /**
+     * Performs a component-wise multiplication (Hadamard product) of this vector and the given vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d scl(double x, double y, double z) {
+        this.x *= x;
+        this.y *= y;
+        this.z *= z;
+        return this;
+    }
+
+    @Override
+    public Vector3d scl(Vector3d v) {
+        this.x *= v.x;
+        this.y *= v.y;
+        this.z *= v.z;
+        return this;
+    }
+
+    @Override
+    public Vector3d div(double scalar) {
+        this.x /= scalar;
+        this.y /= scalar;
+        this.z /= scalar;
+        return this;
+    }
+
+    /**
+     * Performs a component-wise division of this vector and the given vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d div(double x, double y, double z) {
+        this.x /= x;
+        this.y /= y;
+        this.z /= z;
+        return this;
+    }
+
+    @Override
+    public Vector3d div(Vector3d v) {
+        this.x /= v.x;
+        this.y /= v.y;
+        this.z /= v.z;
+        return this;
+    }
+
+    /**
+     * @param v1 The first vector.
+     * @param v2 The second vector.
+     * @return The distance between the two vectors.
+     */
+    public static double dst(Vector3d v1, Vector3d v2) {
+        double a = v2.x - v1.x;
+        double b = v2.y - v1.y;
+        double c = v2.z - v1.z;
+        return Math.sqrt(a * a + b * b + c * c);
+    }
+
+    /**
+     * @return The distance between the two vectors.
+     */
+    public static double dst(
+            double x1, double y1, double z1,
+            double x2, double y2, double z2
+    ) {
+        double a = x2 - x1;
+        double b = y2 - y1;
+        double c = z2 - z1;
+        return Math.sqrt(a * a + b * b + c * c);
+    }
+
+    /**
+     * @param v1 The first vector.
+     * @param v2 The second vector.
+     * @return The square of the distance between the two vectors.
+     */
+    public static double dst2(Vector3d v1, Vector3d v2) {
+        double a = v2.x - v1.x;
+        double b = v2.y - v1.y;
+        double c = v2.z - v1.z;
+        return a * a + b * b + c * c;
+    }
+
+    /**
+     * @return The square of the distance between the two vectors.
+     */
+    public static double dst2(
+            double x1, double y1, double z1,
+            double x2, double y2, double z2
+    ) {
+        double a = x2 - x1;
+        double b = y2 - y1;
+        double c = z2 - z1;
+        return a * a + b * b + c * c;
+    }
+
+    @Override
+    public double dst(Vector3d v) {
+        double a = v.x - this.x;
+        double b = v.y - this.y;
+        double c = v.z - this.z;
+        return Math.sqrt(a * a + b * b + c * c);
+    }
+
+    /**
+     * @return The distance between the two vectors.
+     */
+    public double dst(double x, double y, double z) {
+        double a = x - this.x;
+        double b = y - this.y;
+        double c = z - this.z;
+        return Math.sqrt(a * a + b * b + c * c);
+    }
+
+    @Override
+    public double dst2(Vector3d v) {
+        double a = v.x - this.x;
+        double b = v.y - this.y;
+        double c = v.z - this.z;
+        return a * a + b * b + c * c;
+    }
+
+    /**
+     * @return The square of the distance between the two vectors.
+     */
+    public double dst2(double x, double y, double z) {
+        double a = x - this.x;
+        double b = y - this.y;
+        double c = z - this.z;
+        return a * a + b * b + c * c;
+    }
+
+    /**
+     * Linearly interpolates between the first vector and the second vector based on the alpha coefficient.
+     *
+     * @param v1    The first vector.
+     * @param v2    The second vector.
+     * @param alpha The alpha coefficient.
+     * @return The result of the linear interpolation.
+     */
+    public static Vector3d lerp(Vector3d v1, Vector3d v2, double alpha) {
+        double x = v1.x + alpha * (v2.x - v1.x);
+        double y = v1.y + alpha * (v2.y - v1.y);
+        double z = v1.z + alpha * (v2.z - v1.z);
+        return new Vector3d(x, y, z);
+    }
+
+    @Override
+    public Vector3d lerp(Vector3d v, double alpha) {
+        this.x += alpha * (v.x - this.x);
+        this.y += alpha * (v.y - this.y);
+        this.z += alpha * (v.z - this.z);
+        return this;
+    }
+
+    @Override
+    public Vector3d addMul(Vector3d v, double scalar) {
+        this.x += v.x * scalar;
+        this.y += v.y * scalar;
+        this.z += v.z * scalar;
+        return this;
+    }
+
+    @Override
+    public Vector3d addMul(Vector3d v, Vector3d v2) {
+        this.x += v.x * v2.x;
+        this.y += v.y * v2.y;
+        this.z += v.z * v2.z;
+        return this;
+    }
+
+    @Override
+    public double dot(Vector3d v) {
+        return this.x * v.x + this.y * v.y + this.z * v.z;
+    }
+
+    /**
+     * Sets this vector to the cross product of the two vectors.
+     *
+     * @param v The other vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d crs(Vector3d v) {
+        double ax = this.x;
+        double ay = this.y;
+        double az = this.z;
+        this.x = ay * v.z - az * v.y;
+        this.y = az * v.x - ax * v.z;
+        this.z = ax * v.y - ay * v.x;
+        return this;
+    }
+
+    /**
+     * Sets this vector to the vector from this vector to the specified vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector3d to(double x, double y, double z) {
+        this.x = x - this.x;
+        this.y = y - this.y;
+        this.z = z - this.z;
+        return this;
+    }
+
+    @Override
+    public Vector3d to(Vector3d v) {
+        this.x = v.x - this.x;
+        this.y = v.y - this.y;
+        this.z = v.z - this.z;
+        return this;
+    }
+
+    @Override
+    public boolean isOnLine(Vector3d v) {
+        return isOnLine(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isOnLine(Vector3d v, double epsilon) {
+        double a = v.x / this.x;
+        double b = v.y / this.y;
+        double c = v.z / this.z;
+        return Math.abs(a - b) <= epsilon
+                && Math.abs(b - c) <= epsilon
+                && Math.abs(c - a) <= epsilon;
+    }
+
+    @Override
+    public boolean isCollinear(Vector3d v) {
+        return isCollinear(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isCollinear(Vector3d v, double epsilon) {
+        return isOnLine(v, epsilon) && (this.x * v.x + this.y * v.y + this.z * v.z > 0);
+    }
+
+    @Override
+    public boolean isCollinearOpposite(Vector3d v) {
+        return isCollinearOpposite(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isCollinearOpposite(Vector3d v, double epsilon) {
+        return isOnLine(v, epsilon) && (this.x * v.x + this.y * v.y + this.z * v.z < 0);
+    }
+
+    @Override
+    public boolean isOrthogonal(Vector3d v) {
+        return isOrthogonal(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isOrthogonal(Vector3d v, double epsilon) {
+        return Math.abs(this.x * v.x + this.y * v.y + this.z * v.z) < epsilon;
+    }
+
+    @Override
+    public boolean hasSameDirection(Vector3d v) {
+        return this.x * v.x + this.y * v.y + this.z * v.z > 0;
+    }
+
+    @Override
+    public boolean hasOppositeDirection(Vector3d v) {
+        return this.x * v.x + this.y * v.y + this.z * v.z < 0;
+    }
+
+    @Override
+    public boolean isUnit() {
+        return isUnit(MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isUnit(double epsilon) {
+        return MathUtils.epsEquals(x * x + y * y + z * z, 1.0, epsilon);
+    }
+
+    @Override
+    public boolean isZero() {
+        return isZero(MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isZero(double epsilon) {
+        return MathUtils.epsEquals(x * x + y * y + z * z, 0.0, epsilon);
+    }
+}
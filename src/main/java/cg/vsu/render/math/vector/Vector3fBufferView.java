@@ -0,0 +1,387 @@
+package cg.vsu.render.math.vector;
+
+import java.nio.FloatBuffer;
+
+/**
+ * A mutable three-dimensional float vector whose components live in a {@link FloatBuffer} at a given offset
+ * instead of fields. Results of the operations are written straight into the buffer, so vertex data can be
+ * produced in place in a buffer handed to native code or shared memory. Use a direct {@link java.nio.ByteBuffer}
+ * in native byte order (<code>ByteBuffer.allocateDirect(n).order(ByteOrder.nativeOrder()).asFloatBuffer()</code>)
+ * for off-heap data.
+ * <p>
+ * The view supports the same operations as {@link Vector3f} and computes them with the same code: the components
+ * are read into a private scratch vector, transformed and written back, so no operation allocates. The view can
+ * be moved along the buffer with {@link #at(int)} to walk over interleaved vertex data with one object.
+ */
+public class Vector3fBufferView implements Vector<Vector3fBufferView> {
+    /**
+     * The buffer holding the components of this vector.
+     */
+    public final FloatBuffer buffer;
+
+    private int offset;
+    private final Vector3f tmp = new Vector3f();
+
+    /**
+     * Constructs a view of the vector stored at the start of the given buffer.
+     *
+     * @param buffer The buffer.
+     */
+    public Vector3fBufferView(FloatBuffer buffer) {
+        this(buffer, 0);
+    }
+
+    /**
+     * Constructs a view of the vector stored at the given offset of the buffer.
+     *
+     * @param buffer The buffer.
+     * @param offset The absolute index of the x component in the buffer.
+     */
+    public Vector3fBufferView(FloatBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * @return The absolute index of the x component of this vector in the buffer.
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Moves this view to another vector of the same buffer.
+     *
+     * @param offset The absolute index of the x component in the buffer.
+     * @return This view for chaining.
+     */
+    public Vector3fBufferView at(int offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * @return The x component of this vector.
+     */
+    public float x() {
+        return buffer.get(offset);
+    }
+
+    /**
+     * @return The y component of this vector.
+     */
+    public float y() {
+        return buffer.get(offset + 1);
+    }
+
+    /**
+     * @return The z component of this vector.
+     */
+    public float z() {
+        return buffer.get(offset + 2);
+    }
+
+    /**
+     * Copies the components of this vector into the given vector.
+     *
+     * @param out The vector to write to.
+     * @return The provided vector.
+     */
+    public Vector3f get(Vector3f out) {
+        out.x = buffer.get(offset);
+        out.y = buffer.get(offset + 1);
+        out.z = buffer.get(offset + 2);
+        return out;
+    }
+
+    /**
+     * Sets the components of this vector to the specified values.
+     *
+     * @param x The new x component of this vector.
+     * @param y The new y component of this vector.
+     * @param z The new z component of this vector.
+     * @return This view for chaining.
+     */
+    public Vector3fBufferView set(float x, float y, float z) {
+        buffer.put(offset, x);
+        buffer.put(offset + 1, y);
+        buffer.put(offset + 2, z);
+        return this;
+    }
+
+    /**
+     * Copies the components of the given vector into this vector.
+     *
+     * @param v The vector.
+     * @return This view for chaining.
+     */
+    public Vector3fBufferView set(Vector3f v) {
+        return store(v);
+    }
+
+    /**
+     * Sets this vector to the cross product of the two vectors.
+     *
+     * @param v The other vector.
+     * @return This view for chaining.
+     */
+    public Vector3fBufferView crs(Vector3f v) {
+        return store(load().crs(v));
+    }
+
+    /**
+     * Sets this vector to the cross product of the two vectors.
+     *
+     * @param v The other vector.
+     * @return This view for chaining.
+     */
+    public Vector3fBufferView crs(Vector3fBufferView v) {
+        return store(load().crs(v.load()));
+    }
+
+    private Vector3f load() {
+        return get(tmp);
+    }
+
+    private Vector3fBufferView store(Vector3f v) {
+        return set(v.x, v.y, v.z);
+    }
+
+    @Override
+    public String toString() {
+        return "v3f(x=" + x() + ", y=" + y() + ", z=" + z() + ")";
+    }
+
+    @Override
+    public boolean idt(Vector3fBufferView v) {
+        return load().idt(v.load());
+    }
+
+    @Override
+    public boolean epsIdt(Vector3fBufferView v, float epsilon) {
+        return load().epsIdt(v.load(), epsilon);
+    }
+
+    @Override
+    public boolean epsEquals(Vector3fBufferView v, float epsilon) {
+        return load().epsEquals(v.load(), epsilon);
+    }
+
+    /**
+     * Creates a view over a new heap buffer holding a copy of this vector.
+     *
+     * @return The copy.
+     */
+    @Override
+    public Vector3fBufferView cpy() {
+        return new Vector3fBufferView(FloatBuffer.wrap(toArray()));
+    }
+
+    @Override
+    public float[] toArray() {
+        return load().toArray();
+    }
+
+    @Override
+    public Vector3fBufferView set(Vector3fBufferView v) {
+        return store(v.load());
+    }
+
+    @Override
+    public Vector3fBufferView set(float v) {
+        return store(tmp.set(v));
+    }
+
+    @Override
+    public Vector3fBufferView nor() {
+        return store(load().nor());
+    }
+
+    @Override
+    public Vector3fBufferView limit(float limit) {
+        return store(load().limit(limit));
+    }
+
+    @Override
+    public Vector3fBufferView limit2(float limit2) {
+        return store(load().limit2(limit2));
+    }
+
+    @Override
+    public Vector3fBufferView setLength(float length) {
+        return store(load().setLength(length));
+    }
+
+    @Override
+    public Vector3fBufferView setLength2(float length2) {
+        return store(load().setLength2(length2));
+    }
+
+    @Override
+    public Vector3fBufferView clamp(float minLength, float maxLength) {
+        return store(load().clamp(minLength, maxLength));
+    }
+
+    @Override
+    public Vector3fBufferView add(float v) {
+        return store(load().add(v));
+    }
+
+    @Override
+    public Vector3fBufferView sub(float v) {
+        return store(load().sub(v));
+    }
+
+    @Override
+    public Vector3fBufferView scl(float scalar) {
+        return store(load().scl(scalar));
+    }
+
+    @Override
+    public Vector3fBufferView div(float divisor) {
+        return store(load().div(divisor));
+    }
+
+    @Override
+    public Vector3fBufferView add(Vector3fBufferView v) {
+        return store(load().add(v.load()));
+    }
+
+    @Override
+    public Vector3fBufferView sub(Vector3fBufferView v) {
+        return store(load().sub(v.load()));
+    }
+
+    @Override
+    public Vector3fBufferView scl(Vector3fBufferView v) {
+        return store(load().scl(v.load()));
+    }
+
+    @Override
+    public Vector3fBufferView div(Vector3fBufferView v) {
+        return store(load().div(v.load()));
+    }
+
+    @Override
+    public Vector3fBufferView to(Vector3fBufferView v) {
+        return store(load().to(v.load()));
+    }
+
+    @Override
+    public float len() {
+        return load().len();
+    }
+
+    @Override
+    public float len2() {
+        return load().len2();
+    }
+
+    @Override
+    public float dst(Vector3fBufferView v) {
+        return load().dst(v.load());
+    }
+
+    @Override
+    public float dst2(Vector3fBufferView v) {
+        return load().dst2(v.load());
+    }
+
+    @Override
+    public Vector3fBufferView lerp(Vector3fBufferView v, float alpha) {
+        return store(load().lerp(v.load(), alpha));
+    }
+
+    @Override
+    public Vector3fBufferView addMul(Vector3fBufferView v, float scalar) {
+        return store(load().addMul(v.load(), scalar));
+    }
+
+    @Override
+    public Vector3fBufferView addMul(Vector3fBufferView v, Vector3fBufferView v2) {
+        float x = v.x() * v2.x();
+        float y = v.y() * v2.y();
+        float z = v.z() * v2.z();
+        return store(load().add(x, y, z));
+    }
+
+    @Override
+    public float dot(Vector3fBufferView v) {
+        return load().dot(v.load());
+    }
+
+    @Override
+    public boolean isOnLine(Vector3fBufferView v) {
+        return load().isOnLine(v.load());
+    }
+
+    @Override
+    public boolean isOnLine(Vector3fBufferView v, float epsilon) {
+        return load().isOnLine(v.load(), epsilon);
+    }
+
+    @Override
+    public boolean isCollinear(Vector3fBufferView v) {
+        return load().isCollinear(v.load());
+    }
+
+    @Override
+    public boolean isCollinear(Vector3fBufferView v, float epsilon) {
+        return load().isCollinear(v.load(), epsilon);
+    }
+
+    @Override
+    public boolean isCollinearOpposite(Vector3fBufferView v) {
+        return load().isCollinearOpposite(v.load());
+    }
+
+    @Override
+    public boolean isCollinearOpposite(Vector3fBufferView v, float epsilon) {
+        return load().isCollinearOpposite(v.load(), epsilon);
+    }
+
+    @Override
+    public boolean isOrthogonal(Vector3fBufferView v) {
+        return load().isOrthogonal(v.load());
+    }
+
+    @Override
+    public boolean isOrthogonal(Vector3fBufferView v, float epsilon) {
+        return load().isOrthogonal(v.load(), epsilon);
+    }
+
+    @Override
+    public boolean hasSameDirection(Vector3fBufferView v) {
+        return load().hasSameDirection(v.load());
+    }
+
+    @Override
+    public boolean hasOppositeDirection(Vector3fBufferView v) {
+        return load().hasOppositeDirection(v.load());
+    }
+
+    @Override
+    public boolean isUnit() {
+        return load().isUnit();
+    }
+
+    @Override
+    public boolean isUnit(float epsilon) {
+        return load().isUnit(epsilon);
+    }
+
+    @Override
+    public boolean isZero() {
+        return load().isZero();
+    }
+
+    @Override
+    public boolean isZero(float epsilon) {
+        return load().isZero(epsilon);
+    }
+
+    @Override
+    public Vector3fBufferView setZero() {
+        return store(tmp.setZero());
+    }
+}
@@ -0,0 +1,268 @@
+package cg.vsu.render.math.vector;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+import java.lang.ref.Cleaner;
+import java.util.Objects;
+
+/**
+ * A fixed-size off-heap store of three-dimensional float vectors indexed by <code>long</code>, so it can hold
+ * more than 2<sup>31</sup> floats. The vectors are packed as <code>x, y, z</code> triples into one native
+ * {@link MemorySegment} of the incubating <code>jdk.incubator.foreign</code> module, which has to be added with
+ * <code>--add-modules jdk.incubator.foreign</code>.
+ * <p>
+ * {@link #close()} releases the memory at once; afterwards every access to the store or to its
+ * {@link #segment()} throws {@link IllegalStateException}. A store that is never closed is released once it
+ * becomes unreachable. On JDK 17 native segments still count against <code>-XX:MaxDirectMemorySize</code>, which
+ * defaults to about the maximum heap size (<code>-Xmx</code>); a store larger than the heap, e.g. of 30 GB,
+ * needs that flag to be set accordingly, or the constructor throws {@link OutOfMemoryError}.
+ * <p>
+ * The bulk operations copy blocks of vectors into a scratch array, process them there and copy them back.
+ * The stores are transformed by {@link cg.vsu.render.math.matrix.Matrix4f#transformPoints(Vector3fStore)} and
+ * {@link cg.vsu.render.math.matrix.Matrix4f#transformDirections(Vector3fStore)}, and other kernels can be run the
+ * same way by {@link #forEachBlock(BlockKernel)}. Like the other classes of this package, a store must not be
+ * used by several threads at once.
+ */
+public class Vector3fStore implements AutoCloseable {
+    private static final int BLOCK = 4096;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * The number of vectors in this store.
+     */
+    public final long size;
+
+    private final ResourceScope scope;
+    private final MemorySegment segment;
+    private final float[] block = new float[BLOCK * 3];
+    private final MemorySegment blockSegment = MemorySegment.ofArray(block);
+
+    /**
+     * Allocates a store of the given number of zero vectors.
+     *
+     * @param size The number of vectors.
+     * @throws OutOfMemoryError if the native memory cannot be allocated.
+     */
+    public Vector3fStore(long size) {
+        if (size < 0) throw new IllegalArgumentException("Negative size: " + size);
+
+        this.size = size;
+        this.scope = ResourceScope.newSharedScope(CLEANER);
+        // Empty segments cannot be allocated.
+        this.segment = MemorySegment.allocateNative(Math.max(size * 3 * Float.BYTES, 1), Float.BYTES, scope);
+    }
+
+    /**
+     * Returns the memory backing this store, e.g. to pass it to native code. It holds the vectors as packed
+     * <code>x, y, z</code> float triples in native byte order.
+     *
+     * @return The segment. It is closed together with this store.
+     */
+    public MemorySegment segment() {
+        return checkOpen();
+    }
+
+    /**
+     * Copies the vector at the given index into the provided vector.
+     *
+     * @param index The index of the vector.
+     * @param out   The vector to write to.
+     * @return The changed provided vector.
+     */
+    public Vector3f get(long index, Vector3f out) {
+        Objects.checkIndex(index, size);
+        MemorySegment segment = checkOpen();
+        long i = index * 3;
+        out.x = MemoryAccess.getFloatAtIndex(segment, i);
+        out.y = MemoryAccess.getFloatAtIndex(segment, i + 1);
+        out.z = MemoryAccess.getFloatAtIndex(segment, i + 2);
+        return out;
+    }
+
+    /**
+     * Sets the vector at the given index.
+     *
+     * @param index The index of the vector.
+     * @param x     The x component of the vector.
+     * @param y     The y component of the vector.
+     * @param z     The z component of the vector.
+     * @return This store for chaining.
+     */
+    public Vector3fStore set(long index, float x, float y, float z) {
+        Objects.checkIndex(index, size);
+        MemorySegment segment = checkOpen();
+        long i = index * 3;
+        MemoryAccess.setFloatAtIndex(segment, i, x);
+        MemoryAccess.setFloatAtIndex(segment, i + 1, y);
+        MemoryAccess.setFloatAtIndex(segment, i + 2, z);
+        return this;
+    }
+
+    /**
+     * Sets the vector at the given index.
+     *
+     * @param index The index of the vector.
+     * @param v     The new value of the vector.
+     * @return This store for chaining.
+     */
+    public Vector3fStore set(long index, Vector3f v) {
+        return set(index, v.x, v.y, v.z);
+    }
+
+    /**
+     * Runs the given kernel over all vectors of this store, block by block. Every block is copied into a scratch
+     * array of this store, passed to the kernel to be changed in place and copied back, which is much faster than
+     * element-wise access.
+     *
+     * @param kernel The kernel.
+     * @return This store for chaining.
+     */
+    public Vector3fStore forEachBlock(BlockKernel kernel) {
+        checkOpen();
+        for (long start = 0; start < size * 3; start += block.length) {
+            int length = load(start);
+            kernel.apply(block, length / 3);
+            segment.asSlice(start * Float.BYTES, (long) length * Float.BYTES)
+                    .copyFrom(blockSegment.asSlice(0, (long) length * Float.BYTES));
+        }
+        return this;
+    }
+
+    /**
+     * Normalizes every vector of this store. Vectors of zero length are left unchanged.
+     *
+     * @return This store for chaining.
+     */
+    public Vector3fStore nor() {
+        return forEachBlock((block, count) -> {
+            for (int i = 0; i < count * 3; i += 3) {
+                float x = block[i];
+                float y = block[i + 1];
+                float z = block[i + 2];
+                float len2 = x * x + y * y + z * z;
+                if (len2 == 0.0f) continue;
+
+                float len = (float) Math.sqrt(len2);
+                block[i] = x / len;
+                block[i + 1] = y / len;
+                block[i + 2] = z / len;
+            }
+        });
+    }
+
+    /**
+     * Calculates the sum of all vectors of this store. The sum is accumulated in double precision,
+     * so that it stays accurate for billions of vectors.
+     *
+     * @param out The vector to write the sum to.
+     * @return The provided vector.
+     */
+    public Vector3f sum(Vector3f out) {
+        checkOpen();
+        double x = 0.0;
+        double y = 0.0;
+        double z = 0.0;
+        for (long start = 0; start < size * 3; start += block.length) {
+            int length = load(start);
+            // Sum each block in float first, which is both faster and accurate enough for 4096 values.
+            float bx = 0.0f;
+            float by = 0.0f;
+            float bz = 0.0f;
+            for (int i = 0; i < length; i += 3) {
+                bx += block[i];
+                by += block[i + 1];
+                bz += block[i + 2];
+            }
+            x += bx;
+            y += by;
+            z += bz;
+        }
+        return out.set((float) x, (float) y, (float) z);
+    }
+
+    /**
+     * Calculates the mean of all vectors of this store (the centroid of a point cloud).
+     *
+     * @param out The vector to write the mean to.
+     * @return The provided vector; unchanged if the store is empty.
+     */
+    public Vector3f mean(Vector3f out) {
+        if (size == 0) return out;
+
+        sum(out);
+        return out.div(size);
+    }
+
+    /**
+     * Calculates the component-wise minimum and maximum of all vectors of this store (the bounding box
+     * of a point cloud).
+     *
+     * @param min The vector to write the minimum to.
+     * @param max The vector to write the maximum to.
+     */
+    public void bounds(Vector3f min, Vector3f max) {
+        checkOpen();
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float maxZ = Float.NEGATIVE_INFINITY;
+        for (long start = 0; start < size * 3; start += block.length) {
+            int length = load(start);
+            for (int i = 0; i < length; i += 3) {
+                minX = Math.min(minX, block[i]);
+                minY = Math.min(minY, block[i + 1]);
+                minZ = Math.min(minZ, block[i + 2]);
+                maxX = Math.max(maxX, block[i]);
+                maxY = Math.max(maxY, block[i + 1]);
+                maxZ = Math.max(maxZ, block[i + 2]);
+            }
+        }
+        min.set(minX, minY, minZ);
+        max.set(maxX, maxY, maxZ);
+    }
+
+    /**
+     * @return Whether this store has been closed.
+     */
+    public boolean isClosed() {
+        return !scope.isAlive();
+    }
+
+    /**
+     * Releases the memory of this store. Closing a closed store does nothing.
+     */
+    @Override
+    public void close() {
+        if (scope.isAlive()) scope.close();
+    }
+
+    private MemorySegment checkOpen() {
+        if (!scope.isAlive()) throw new IllegalStateException("The store is closed.");
+        return segment;
+    }
+
+    // Copies the block of floats starting at the given index into the scratch array and returns its length.
+    private int load(long start) {
+        int length = (int) Math.min(block.length, size * 3 - start);
+        blockSegment.copyFrom(segment.asSlice(start * Float.BYTES, (long) length * Float.BYTES));
+        return length;
+    }
+
+    /**
+     * A kernel run by {@link #forEachBlock(BlockKernel)}.
+     */
+    @FunctionalInterface
+    public interface BlockKernel {
+        /**
+         * Processes a block of vectors in place.
+         *
+         * @param block The vectors packed as <code>x, y, z</code> triples from index 0.
+         * @param count The number of vectors in the block; the array may be longer.
+         */
+        void apply(float[] block, int count);
+    }
+}
@@ -0,0 +1,866 @@
+package cg.vsu.render.math.vector;
+
+import cg.vsu.render.math.MathUtils;
+
+import java.util.Objects;
+
+/**
+ * A mutable three-dimensional double vector.
+ */
+public class Vector4d implements Vectord<Vector4d> {
+    /**
+     * The x component of this vector.
+     */
+    public double x;
+
+    /**
+     * The y component of this vector.
+     */
+    public double y;
+
+    /**
+     * The z component of this vector.
+     */
+    public double z;
+
+    /**
+     * The w component of this vector.
+     */
+    public double w;
+
+    /**
+     * @return A zero vector.
+     */
+    public static Vector4d zero() {
+        return new Vector4d();
+    }
+
+    /**
+     * @return An x unit vector.
+     */
+    public static Vector4d unitX() {
+        return new Vector4d(1.0, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * @return A y unit vector.
+     */
+    public static Vector4d unitY() {
+        return new Vector4d(0.0, 1.0, 0.0, 0.0);
+    }
+
+    /**
+     * @return A z unit vector.
+     */
+    public static Vector4d unitZ() {
+        return new Vector4d(0.0, 0.0, 1.0, 0.0);
+    }
+
+    /**
+     * @return A w unit vector.
+     */
+    public static Vector4d unitW() {
+        return new Vector4d(0.0, 0.0, 0.0, 1.0);
+    }
+
+    /**
+     * Constructs a zero vector.
+     */
+    public Vector4d() { }
+
+    /**
+     * Constructs a vector from the given double array. The array must have at least four values.
+     *
+     * @param values The array of doubles.
+     */
+    public Vector4d(double[] values) {
+        this.x = values[0];
+        this.y = values[1];
+        this.z = values[2];
+        this.w = values[3];
+    }
+
+    /**
+     * Constructs a vector from the given vector.
+     *
+     * @param v The vector.
+     */
+    public Vector4d(Vector4d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+        this.w = v.w;
+    }
+
+    /**
+     * Constructs a vector with the given components.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @param w The w component of the vector.
+     */
+    public Vector4d(double x, double y, double z, double w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+    /**
+     * Constructs a vector from the given 2D vector. The z and w components are set to zero.
+     *
+     * @param v The vector.
+     */
+    public Vector4d(Vector2d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = 0.0;
+        this.w = 0.0;
+    }
+
+    /**
+     * Constructs a vector from the given 2D vector with the provided z and w components.
+     *
+     * @param v The vector.
+     * @param z The z component of the vector.
+     * @param w The w component of the vector.
+     */
+    public Vector4d(Vector2d v, double z, double w) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = z;
+        this.w = w;
+    }
+
+    /**
+     * Constructs a vector from the given 3D vector. The w component is set to one.
+     *
+     * @param v The vector.
+     */
+    public Vector4d(Vector3d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+        this.w = 1.0;
+    }
+
+    /**
+     * Constructs a vector from the given 3D vector with the provided w component.
+     *
+     * @param v The vector.
+     * @param w The w component of the vector.
+     */
+    public Vector4d(Vector3d v, double w) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+        this.w = w;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Vector4d v = (Vector4d) o;
+        return this.idt(v);
+    }
+
+    @Override
+    public boolean epsEquals(Vector4d v, double epsilon) {
+        if (this == v) return true;
+        if (v == null) return false;
+        if (Math.abs(this.x - v.x) > epsilon) return false;
+        if (Math.abs(this.y - v.y) > epsilon) return false;
+        if (Math.abs(this.z - v.z) > epsilon) return false;
+        return Math.abs(this.w - v.w) <= epsilon;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, y, z, w);
+    }
+
+    @Override
+    public String toString() {
+        return "v4d(x=" + x + ", y=" + y + ", z=" + z + ", w=" + w + ")";
+    }
+
+    @Override
+    public boolean idt(Vector4d v) {
+        return epsIdt(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean epsIdt(Vector4d v, double epsilon) {
+        if (Math.abs(this.x - v.x) > epsilon) return false;
+        if (Math.abs(this.y - v.y) > epsilon) return false;
+        if (Math.abs(this.z - v.z) > epsilon) return false;
+        return Math.abs(this.w - v.w) <= epsilon;
+    }
+
+    @Override
+    public Vector4d cpy() {
+        return new Vector4d(this.x, this.y, this.z, this.w);
+    }
+
+    @Override
+    public double[] toArray() {
+        double[] result = new double[4];
+        result[0] = x;
+        result[1] = y;
+        result[2] = z;
+        result[3] = w;
+        return result;
+    }
+
+    /**
+     * Sets the components of this vector to the specified values.
+     *
+     * @param x The new x component of this vector.
+     * @param y The new y component of this vector.
+     * @param z The new z component of this vector.
+     * @param w The new z component of this vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d set(double x, double y, double z, double w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        return this;
+    }
+
+    @Override
+    public Vector4d set(Vector4d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+        this.w = v.w;
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given double array. The array must have at least four values.
+     *
+     * @param values The array of doubles.
+     * @return This vector for chaining.
+     */
+    public Vector4d set(double[] values) {
+        this.x = values[0];
+        this.y = values[1];
+        this.z = values[2];
+        this.w = values[3];
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given 2D vector. The z and w components are set to zero.
+     *
+     * @param v The vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d set(Vector2d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = 0.0;
+        this.w = 0.0;
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given 2D vector with the specified z and w components.
+     *
+     * @param v The vector.
+     * @param z The z component of this vector.
+     * @param w The w component of this vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d set(Vector2d v, double z, double w) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = z;
+        this.w = w;
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given 3D vector. The w component is set to one.
+     *
+     * @param v The vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d set(Vector3d v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+        this.w = 1.0;
+        return this;
+    }
+
+    /**
+     * Sets this vector from the given 2D vector with the specified w component.
+     *
+     * @param v The vector.
+     * @param w The w component of this vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d set(Vector3d v, double w) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+        this.w = w;
+        return this;
+    }
+
+    @Override
+    public Vector4d set(double v) {
+        this.x = v;
+        this.y = v;
+        this.z = v;
+        this.w = v;
+        return this;
+    }
+
+    /**
+     * Sets this vector to the components of the given float vector.
+     *
+     * @param v The float vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d set(Vector4f v) {
+        this.x = v.x;
+        this.y = v.y;
+        this.z = v.z;
+        this.w = v.w;
+        return this;
+    }
+
+    /**
+     * Writes the components of this vector rounded to float precision into the given vector.
+     *
+     * @param out The vector to write to.
+     * @return The provided vector.
+     */
+    public Vector4f get(Vector4f out) {
+        out.x = (float) x;
+        out.y = (float) y;
+        out.z = (float) z;
+        out.w = (float) w;
+        return out;
+    }
+
+    @Override
+    public Vector4d setZero() {
+        this.x = 0;
+        this.y = 0;
+        this.z = 0;
+        this.w = 0;
+        return this;
+    }
+
+    @Override
+    public Vector4d nor() {
+        if (x == 0.0 && y == 0.0 && z == 0.0 && w == 0.0) return this;
+
+        double len = len();
+        this.x /= len;
+        this.y /= len;
+        this.z /= len;
+        this.w /= len;
+        return this;
+    }
+
+    /**
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @param w The w component of the vector.
+     * @return The length of the given vector.
+     */
+    public static double len(double x, double y, double z, double w) {
+        return Math.sqrt(x * x + y * y + z * z + w * w);
+    }
+
+    /**
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @param w The w component of the vector.
+     * @return The square of the length of the given vector.
+     */
+    public static double len2(double x, double y, double z, double w) {
+        return x * x + y * y + z * z + w * w;
+    }
+
+    @Override
+    public double len() {
+        return Math.sqrt(x * x + y * y + z * z + w * w);
+    }
+
+    @Override
+    public double len2() {
+        return x * x + y * y + z * z + w * w;
+    }
+
+    @Override
+    public Vector4d limit(double limit) {
+        double len2 = x * x + y * y + z * z + w * w;
+        if (len2 > limit * limit) {
+            double alpha = limit / Math.sqrt(len2);
+            this.x *= alpha;
+            this.y *= alpha;
+            this.z *= alpha;
+            this.w *= alpha;
+        }
+        return this;
+    }
+
+    @Override
+    public Vector4d limit2(double limit2) {
+        double len2 = x * x + y * y + z * z + w * w;
+        if (len2 > limit2) {
+            double alpha = Math.sqrt(limit2 / len2);
+            this.x *= alpha;
+            this.y *= alpha;
+            this.z *= alpha;
+            this.w *= alpha;
+        }
+        return this;
+    }
+
+    @Override
+    public Vector4d setLength(double length) {
+        double oldLen = Math.sqrt(x * x + y * y + z * z + w * w);
+        double alpha = length / oldLen;
+        this.x *= alpha;
+        this.y *= alpha;
+        this.z *= alpha;
+        this.w *= alpha;
+        return this;
+    }
+
+    @Override
+    public Vector4d setLength2(double length2) {
+        double oldLen2 = x * x + y * y + z * z + w * w;
+        double alpha = Math.sqrt(length2 / oldLen2);
+        this.x *= alpha;
+        this.y *= alpha;
+        this.z *= alpha;
+        this.w *= alpha;
+        return this;
+    }
+
+    @Override
+    public Vector4d clamp(double minLength, double maxLength) {
+        double len2 = len2();
+        if (len2 == 0.0) return this;
+
+        double max2 = maxLength * maxLength;
+        if (len2 > max2) {
+            double alpha = Math.sqrt(max2 / len2);
+            this.x *= alpha;
+            this.y *= alpha;
+            this.z *= alpha;
+            this.w *= alpha;
+            return this;
+        }
+
+        double min2 = minLength * minLength;
+        if (len2 < min2) {
+            double alpha = Math.sqrt(min2 / len2);
+            this.x *= alpha;
+            this.y *= alpha;
+            this.z *= alpha;
+            this.w *= alpha;
+            return this;
+        }
+
+        return this;
+    }
+
+    @Override
+    public Vector4d add(Vector4d v) {
+        this.x += v.x;
+        this.y += v.y;
+        this.z += v.z;
+        this.w += v.w;
+        return this;
+    }
+
+    @Override
+    public Vector4d add(double v) {
+        this.x += v;
+        this.y += v;
+        this.z += v;
+        this.w += v;
+        return this;
+    }
+
+    /**
+     * Adds the given vector to this vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @param w The w component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d add(double x, double y, double z, double w) {
+        this.x += x;
+        this.y += y;
+        this.z += z;
+        this.w += w;
+        return this;
+    }
+
+    @Override
+    public Vector4d sub(Vector4d v) {
+        this.x -= v.x;
+        this.y -= v.y;
+        this.z -= v.z;
+        this.w -= v.w;
+        return this;
+    }
+
+    @Override
+    public Vector4d sub(double v) {
+        this.x -= v;
+        this.y -= v;
+        this.z -= v;
+        this.w -= v;
+        return this;
+    }
+
+    /**
+     * Subtracts the given vector from this vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @param w The w component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d sub(double x, double y, double z, double w) {
+        this.x -= x;
+        this.y -= y;
+        this.z -= z;
+        this.w -= w;
+        return this;
+    }
+
+    @Override
+    public Vector4d scl(double scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        this.z *= scalar;
+        this.w *= scalar;
+        return this;
+    }
+
+    /**
+     * Performs a component-wise multiplication (Hadamard product) of this vector and the given vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @param w The w component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d scl(double x, double y, double z, double w) {
+        this.x *= x;
+        this.y *= y;
+        this.z *= z;
+        this.w *= w;
+        return this;
+    }
+
+    @Override
+    public Vector4d scl(Vector4d v) {
+        this.x *= v.x;
+        this.y *= v.y;
+        this.z *= v.z;
+        this.w *= v.w;
+        return this;
+    }
+
+    @Override
+    public Vector4d div(double scalar) {
+        this.x /= scalar;
+        this.y /= scalar;
+        this.z /= scalar;
+        this.w /= scalar;
+        return this;
+    }
+
+    /**
+     * Performs a component-wise division of this vector and the given vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @param w The w component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d div(double x, double y, double z, double w) {
+        this.x /= x;
+        this.y /= y;
+        this.z /= z;
+        this.w /= w;
+        return this;
+    }
+
+    @Override
+    public Vector4d div(Vector4d v) {
+        this.x /= v.x;
+        this.y /= v.y;
+        this.z /= v.z;
+        this.w /= v.w;
+        return this;
+    }
+
+    /**
+     * @param v1 The first vector.
+     * @param v2 The second vector.
+     * @return The distance between the two vectors.
+     */
+    public static double dst(Vector4d v1, Vector4d v2) {
+        double a = v2.x - v1.x;
+        double b = v2.y - v1.y;
+        double c = v2.z - v1.z;
+        double d = v2.w - v1.w;
+        return Math.sqrt(a * a + b * b + c * c + d * d);
+    }
+
+    /**
+     * @return The distance between the two vectors.
+     */
+    public static double dst(
+            double x1, double y1, double z1, double w1,
+            double x2, double y2, double z2, double w2
+    ) {
+        double a = x2 - x1;
+        double b = y2 - y1;
+        double c = z2 - z1;
+        double d = w2 - w1;
+        return Math.sqrt(a * a + b * b + c * c + d * d);
+    }
+
+    /**
+     * @param v1 The first vector.
+     * @param v2 The second vector.
+     * @return The square of the distance between the two vectors.
+     */
+    public static double dst2(Vector4d v1, Vector4d v2) {
+        double a = v2.x - v1.x;
+        double b = v2.y - v1.y;
+        double c = v2.z - v1.z;
+        double d = v2.w - v1.w;
+        return a * a + b * b + c * c + d * d;
+    }
+
+    /**
+     * @return The square of the distance between the two vectors.
+     */
+    public static double dst2(
+            double x1, double y1, double z1, double w1,
+            double x2, double y2, double z2, double w2
+    ) {
+        double a = x2 - x1;
+        double b = y2 - y1;
+        double c = z2 - z1;
+        double d = w2 - w1;
+        return a * a + b * b + c * c + d * d;
+    }
+
+    @Override
+    public double dst(Vector4d v) {
+        double a = v.x - this.x;
+        double b = v.y - this.y;
+        double c = v.z - this.z;
+        double d = v.w - this.w;
+        return Math.sqrt(a * a + b * b + c * c + d * d);
+    }
+
+    /**
+     * @return The distance between the two vectors.
+     */
+    public double dst(double x, double y, double z, double w) {
+        double a = x - this.x;
+        double b = y - this.y;
+        double c = z - this.z;
+        double d = w - this.w;
+        return Math.sqrt(a * a + b * b + c * c + d * d);
+    }
+
+    @Override
+    public double dst2(Vector4d v) {
+        double a = v.x - this.x;
+        double b = v.y - this.y;
+        double c = v.z - this.z;
+        double d = v.w - this.w;
+        return a * a + b * b + c * c + d * d;
+    }
+
+    /**
+     * @return The square of the distance between the two vectors.
+     */
+    public double dst2(double x, double y, double z, double w) {
+        double a = x - this.x;
+        double b = y - this.y;
+        double c = z - this.z;
+        double d = w - this.w;
+        return a * a + b * b + c * c + d * d;
+    }
+
+    /**
+     * Linearly interpolates between the first vector and the second vector based on the alpha coefficient.
+     *
+     * @param v1    The first vector.
+     * @param v2    The second vector.
+     * @param alpha The alpha coefficient.
+     * @return The result of the linear interpolation.
+     */
+    public static Vector4d lerp(Vector4d v1, Vector4d v2, double alpha) {
+        double x = v1.x + alpha * (v2.x - v1.x);
+        double y = v1.y + alpha * (v2.y - v1.y);
+        double z = v1.z + alpha * (v2.z - v1.z);
+        double w = v1.w + alpha * (v2.w - v1.w);
+        return new Vector4d(x, y, z, w);
+    }
+
+    @Override
+    public Vector4d lerp(Vector4d v, double alpha) {
+        this.x += alpha * (v.x - this.x);
+        this.y += alpha * (v.y - this.y);
+        this.z += alpha * (v.z - this.z);
+        this.w += alpha * (v.w - this.w);
+        return this;
+    }
+
+    @Override
+    public Vector4d addMul(Vector4d v, double scalar) {
+        this.x += v.x * scalar;
+        this.y += v.y * scalar;
+        this.z += v.z * scalar;
+        this.w += v.w * scalar;
+        return this;
+    }
+
+    @Override
+    public Vector4d addMul(Vector4d v, Vector4d v2) {
+        this.x += v.x * v2.x;
+        this.y += v.y * v2.y;
+        this.z += v.z * v2.z;
+        this.w += v.w * v2.w;
+        return this;
+    }
+
+    @Override
+    public double dot(Vector4d v) {
+        return this.x * v.x + this.y * v.y + this.z * v.z + this.w * v.w;
+    }
+
+    @Override
+    public Vector4d to(Vector4d v) {
+        this.x = v.x - this.x;
+        this.y = v.y - this.y;
+        this.z = v.z - this.z;
+        this.w = v.w - this.w;
+        return this;
+    }
+
+    /**
+     * Sets this vector to the vector from this vector to the specified vector.
+     *
+     * @param x The x component of the vector.
+     * @param y The y component of the vector.
+     * @param z The z component of the vector.
+     * @param w The w component of the vector.
+     * @return This vector for chaining.
+     */
+    public Vector4d to(double x, double y, double z, double w) {
+        this.x = x - this.x;
+        this.y = y - this.y;
+        this.z = z - this.z;
+        this.w = w - this.w;
+        return this;
+    }
+
+    @Override
+    public boolean isOnLine(Vector4d v) {
+        return isOnLine(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isOnLine(Vector4d v, double epsilon) {
+        double a = v.x / this.x;
+        double b = v.y / this.y;
+        double c = v.z / this.z;
+        double d = v.w / this.w;
+        return Math.abs(a - b) <= epsilon
+                && Math.abs(b - c) <= epsilon
+                && Math.abs(c - d) <= epsilon
+                && Math.abs(a - d) <= epsilon;
+    }
+
+    @Override
+    public boolean isCollinear(Vector4d v) {
+        return isCollinear(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isCollinear(Vector4d v, double epsilon) {
+        return isOnLine(v, epsilon) && (this.x * v.x + this.y * v.y + this.z * v.z + this.w * v.w > 0);
+    }
+
+    @Override
+    public boolean isCollinearOpposite(Vector4d v) {
+        return isCollinearOpposite(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isCollinearOpposite(Vector4d v, double epsilon) {
+        return isOnLine(v, epsilon) && (this.x * v.x + this.y * v.y + this.z * v.z + this.w * v.w < 0);
+    }
+
+    @Override
+    public boolean isOrthogonal(Vector4d v) {
+        return isOrthogonal(v, MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isOrthogonal(Vector4d v, double epsilon) {
+        return Math.abs(this.x * v.x + this.y * v.y + this.z * v.z + this.w * v.w) < epsilon;
+    }
+
+    @Override
+    public boolean hasSameDirection(Vector4d v) {
+        return this.x * v.x + this.y * v.y + this.z * v.z + this.w * v.w > 0;
+    }
+
+    @Override
+    public boolean hasOppositeDirection(Vector4d v) {
+        return this.x * v.x + this.y * v.y + this.z * v.z + this.w * v.w < 0;
+    }
+
+    @Override
+    public boolean isUnit() {
+        return isUnit(MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isUnit(double epsilon) {
+        return MathUtils.epsEquals(x * x + y * y + z * z + w * w, 1.0, epsilon);
+    }
+
+    @Override
+    public boolean isZero() {
+        return isZero(MathUtils.EPSILON_D);
+    }
+
+    @Override
+    public boolean isZero(double epsilon) {
+        return MathUtils.epsEquals(x * x + y * y + z * z + w * w, 0.0, epsilon);
+    }
+}
@@ -0,0 +1,135 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The tests run with assertions enabled, i.e. with the pool in debug mode.
+class MathTempTest {
+    @Test
+    void slotsAreReusedAfterClose() {
+        try (MathTemp t = MathTemp.open()) {
+            t.v3();
+            t.m4();
+        }
+        MathTemp.resetCounters();
+        try (MathTemp t = MathTemp.open()) {
+            t.v3();
+            t.m4();
+        }
+
+        assertEquals(2, MathTemp.hits());
+        assertEquals(0, MathTemp.misses());
+    }
+
+    @Test
+    void objectsAreReset() {
+        try (MathTemp t = MathTemp.open()) {
+            t.v3().set(1.0f, 2.0f, 3.0f);
+            t.m4().setTranslation(1.0f, 2.0f, 3.0f);
+        }
+        try (MathTemp t = MathTemp.open()) {
+            assertEquals(new Vector3f(), t.v3());
+            assertEquals(Matrix4f.identity(), t.m4());
+            assertEquals(new Quaternionf(), t.q());
+        }
+    }
+
+    @Test
+    void nestedScopesHandOutDifferentObjects() {
+        try (MathTemp outer = MathTemp.open()) {
+            Vector3f a = outer.v3();
+            try (MathTemp inner = MathTemp.open()) {
+                assertEquals(2, MathTemp.depth());
+                assertNotSame(a, inner.v3());
+            }
+            assertNotSame(a, outer.v3());
+        }
+        assertEquals(0, MathTemp.depth());
+    }
+
+    @Test
+    void missesAreCountedWhenPoolGrows() {
+        MathTemp.resetCounters();
+        try (MathTemp t = MathTemp.open()) {
+            for (int i = 0; i < 100; i++) t.v2();
+        }
+
+        assertTrue(MathTemp.misses() > 0);
+        assertEquals(100, MathTemp.hits() + MathTemp.misses());
+    }
+
+    @Test
+    void escapedObjectsArePoisoned() {
+        Vector3f escaped;
+        try (MathTemp t = MathTemp.open()) {
+            escaped = t.v3().set(1.0f, 2.0f, 3.0f);
+        }
+
+        assertTrue(Float.isNaN(escaped.x));
+    }
+
+    @Test
+    void escapedObjectsStayPoisonedAfterReopen() {
+        Vector3f escaped;
+        Matrix4f escapedMatrix;
+        try (MathTemp t = MathTemp.open()) {
+            escaped = t.v3();
+            escapedMatrix = t.m4();
+        }
+        try (MathTemp t = MathTemp.open()) {
+            assertNotSame(escaped, t.v3().set(1.0f, 2.0f, 3.0f));
+            assertNotSame(escapedMatrix, t.m4());
+        }
+
+        assertTrue(Float.isNaN(escaped.x));
+        assertTrue(Float.isNaN(escapedMatrix.val[0]));
+    }
+
+    @Test
+    void takingFromOuterScopeThrows() {
+        try (MathTemp outer = MathTemp.open()) {
+            try (MathTemp inner = MathTemp.open()) {
+                inner.v3();
+                assertThrows(AssertionError.class, outer::v3);
+            }
+        }
+    }
+
+    @Test
+    void closingOuterScopeFirstThrows() {
+        MathTemp outer = MathTemp.open();
+        MathTemp inner = MathTemp.open();
+
+        assertThrows(AssertionError.class, outer::close);
+        inner.close();
+        outer.close();
+        assertEquals(0, MathTemp.depth());
+    }
+
+    @Test
+    void takingFromClosedScopeThrows() {
+        MathTemp t = MathTemp.open();
+        t.close();
+
+        assertThrows(AssertionError.class, t::m4);
+    }
+
+    @Test
+    void takingFromStaleScopeAfterReopenThrows() {
+        MathTemp stale = MathTemp.open();
+        stale.close();
+        try (MathTemp t = MathTemp.open()) {
+            t.v3();
+            assertThrows(AssertionError.class, stale::v3);
+            // Closing the stale scope must not close the live one.
+            stale.close();
+            assertEquals(1, MathTemp.depth());
+        }
+    }
+}
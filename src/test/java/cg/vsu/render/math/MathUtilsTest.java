@@ -48,4 +48,120 @@ class MathUtilsTest {
         assertEquals(0.5f, MathUtils.map(0.0f, -1.0f, 1.0f, 0.0f, 1.0f));
         assertEquals(1.0f, MathUtils.map(1.0f, -1.0f, 1.0f, 0.0f, 1.0f));
     }
+
+    @Test
+    void sinFastAndCosFastAreAccurate() {
+        for (float x = -100.0f; x <= 100.0f; x += 0.0137f) {
+            assertEquals(Math.sin(x), MathUtils.sinFast(x), 2E-7);
+            assertEquals(Math.cos(x), MathUtils.cosFast(x), 2E-7);
+        }
+    }
+
+    @Test
+    void sinCosFastMatchesSeparateFunctions() {
+        float[] out = new float[2];
+        for (float x = -10.0f; x <= 10.0f; x += 0.1f) {
+            MathUtils.sinCosFast(x, out);
+            assertEquals(MathUtils.sinFast(x), out[0]);
+            assertEquals(MathUtils.cosFast(x), out[1]);
+        }
+    }
+
+    @Test
+    void degreeVariantsAreAccurateAndExactAtRightAngles() {
+        float[] out = new float[2];
+        for (float x = -3600.0f; x <= 3600.0f; x += 0.73f) {
+            assertEquals(Math.sin(Math.toRadians(x)), MathUtils.sinDegFast(x), 2E-7);
+            assertEquals(Math.cos(Math.toRadians(x)), MathUtils.cosDegFast(x), 2E-7);
+            MathUtils.sinCosDegFast(x, out);
+            assertEquals(MathUtils.sinDegFast(x), out[0]);
+            assertEquals(MathUtils.cosDegFast(x), out[1]);
+        }
+        float[] sin = {0.0f, 1.0f, 0.0f, -1.0f};
+        float[] cos = {1.0f, 0.0f, -1.0f, 0.0f};
+        for (int k = -1000; k <= 1000; k++) {
+            assertEquals(sin[Math.floorMod(k, 4)], MathUtils.sinDegFast(k * 90.0f), 0.0f);
+            assertEquals(cos[Math.floorMod(k, 4)], MathUtils.cosDegFast(k * 90.0f), 0.0f);
+        }
+    }
+
+    @Test
+    void bulkTrigMatchesScalarFunctions() {
+        float[] angles = new float[37];
+        for (int i = 0; i < angles.length; i++) angles[i] = i * 0.3f - 5.0f;
+        float[] sin = new float[angles.length + 1];
+        float[] cos = new float[angles.length + 1];
+        MathUtils.sinFast(angles, 0, sin, 1, angles.length);
+        MathUtils.cosFast(angles, 0, cos, 1, angles.length);
+
+        for (int i = 0; i < angles.length; i++) {
+            assertEquals(MathUtils.sinFast(angles[i]), sin[i + 1]);
+            assertEquals(MathUtils.cosFast(angles[i]), cos[i + 1]);
+        }
+        float[] s = new float[angles.length];
+        float[] c = new float[angles.length];
+        MathUtils.sinCosFast(angles, 0, s, c, 0, angles.length);
+        assertArrayEquals(sin, prepend(s));
+        assertArrayEquals(cos, prepend(c));
+    }
+
+    private static float[] prepend(float[] values) {
+        float[] result = new float[values.length + 1];
+        System.arraycopy(values, 0, result, 1, values.length);
+        return result;
+    }
+
+    @Test
+    void lookupIsAccurateWithinOneTurn() {
+        for (float x = -MathUtils.PI2; x <= MathUtils.PI2; x += 0.001f) {
+            assertEquals(Math.sin(x), MathUtils.sinLookup(x), 1E-6);
+            assertEquals(Math.cos(x), MathUtils.cosLookup(x), 1E-6);
+        }
+    }
+
+    @Test
+    void atan2FastIsAccurateInAllQuadrants() {
+        for (float y = -2.0f; y <= 2.0f; y += 0.05f) {
+            for (float x = -2.0f; x <= 2.0f; x += 0.05f) {
+                assertEquals(Math.atan2(y, x), MathUtils.atan2Fast(y, x), 5E-7);
+            }
+        }
+        assertEquals(0.0f, MathUtils.atan2Fast(0.0f, 0.0f));
+    }
+
+    @Test
+    void acosFastIsAccurate() {
+        for (float v = -1.0f; v <= 1.0f; v += 0.001f) {
+            assertEquals(Math.acos(v), MathUtils.acosFast(v), 5E-7);
+        }
+        assertEquals(0.0f, MathUtils.acosFast(1.0f), 5E-7);
+        assertEquals(MathUtils.PI, MathUtils.acosFast(-1.0f), 5E-7);
+    }
+
+    @Test
+    void bulkConversionsBetweenFloatAndDouble() {
+        double[] doubles = {0.0, 1.0 / 3.0, -2.5, 1E10};
+        float[] floats = new float[5];
+        MathUtils.toFloat(doubles, 1, floats, 2, 3);
+        double[] back = new double[3];
+        MathUtils.toDouble(floats, 2, back, 0, 3);
+
+        assertEquals(0.0f, floats[1]);
+        assertEquals(1.0f / 3.0f, floats[2]);
+        assertEquals(-2.5f, floats[3]);
+        assertEquals(1E10f, floats[4]);
+        assertEquals((double) (1.0f / 3.0f), back[0]);
+        assertEquals(1E10, back[2]);
+    }
+
+    @Test
+    void splitIntoHighAndLowFloats() {
+        double v = 12345678.901234;
+        float high = MathUtils.splitHigh(v);
+        float low = MathUtils.splitLow(v);
+
+        assertEquals((float) v, high);
+        assertTrue(Math.abs(low) <= Math.ulp(high));
+        assertEquals(v, (double) high + low, 1E-6);
+    }
 }
@@ -0,0 +1,120 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix3f;
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelKernelsTest {
+    // A small threshold, so that a few thousand vectors are split into many tasks.
+    private static final int THRESHOLD = 64;
+    private static final int COUNT = 5000;
+
+    // The worker threads of a pool are daemons, so the pools do not need to be shut down.
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private final ParallelKernels kernels = new ParallelKernels(POOL, THRESHOLD);
+
+    private static float[] randomValues(int length, long seed) {
+        Random random = new Random(seed);
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextFloat() * 200.0f - 100.0f;
+        }
+        return values;
+    }
+
+    private static Vector3fArray randomArray(long seed) {
+        float[] values = randomValues(COUNT * 3, seed);
+        Vector3fArray a = new Vector3fArray(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            a.set(i, values[i * 3], values[i * 3 + 1], values[i * 3 + 2]);
+        }
+        return a;
+    }
+
+    @Test
+    void packedTransformsMatchSingleThreadedKernels() {
+        Matrix4f m4 = new Matrix4f().setRotation(1.0f, 2.0f, 3.0f, 0.7f).translate(1.0f, -2.0f, 3.0f);
+        Matrix3f m3 = new Matrix3f(new float[]{0.0f, 1.0f, 0.0f, -1.0f, 0.0f, 0.0f, 5.0f, -3.0f, 1.0f});
+        float[] src = randomValues(COUNT * 4, 1);
+
+        float[] expected = new float[src.length];
+        float[] actual = new float[src.length];
+        m4.transformPoints(src, 1, expected, 1, COUNT - 1, 4);
+        kernels.transformPoints(m4, src, 1, actual, 1, COUNT - 1, 4);
+        assertArrayEquals(expected, actual);
+
+        m4.transformDirections(src, 0, expected, 0, COUNT, 4);
+        kernels.transformDirections(m4, src, 0, actual, 0, COUNT, 4);
+        assertArrayEquals(expected, actual);
+
+        m3.transformPoints(src, 0, expected, 0, COUNT * 2, 2);
+        kernels.transformPoints(m3, src, 0, actual, 0, COUNT * 2, 2);
+        assertArrayEquals(expected, actual);
+
+        m3.transformDirections(src, 0, expected, 0, COUNT * 2, 2);
+        kernels.transformDirections(m3, src, 0, actual, 0, COUNT * 2, 2);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void vectorKernelsMatchSingleThreadedKernels() {
+        Vector3fArray a = randomArray(2);
+        Vector3fArray b = randomArray(3);
+
+        assertArrayEquals(a.dot(b, new float[COUNT]), kernels.dot(a, b, new float[COUNT]));
+
+        Vector3fArray crs = kernels.crs(a.cpy(), b);
+        Vector3fArray expectedCrs = a.cpy().crs(b);
+        assertArrayEquals(expectedCrs.x, crs.x);
+        assertArrayEquals(expectedCrs.y, crs.y);
+        assertArrayEquals(expectedCrs.z, crs.z);
+
+        Vector3fArray nor = kernels.nor(a.cpy());
+        Vector3fArray expectedNor = a.cpy().nor();
+        assertArrayEquals(expectedNor.x, nor.x);
+        assertArrayEquals(expectedNor.y, nor.y);
+        assertArrayEquals(expectedNor.z, nor.z);
+    }
+
+    @Test
+    void boundsCoverAllVectors() {
+        Vector3fArray a = randomArray(4);
+        a.set(COUNT - 1, 150.0f, -150.0f, 0.0f);
+        Vector3f min = new Vector3f();
+        Vector3f max = new Vector3f();
+        kernels.bounds(a, min, max);
+
+        assertEquals(-150.0f, min.y);
+        assertEquals(150.0f, max.x);
+        for (int i = 0; i < COUNT; i++) {
+            assertTrue(a.x[i] >= min.x && a.x[i] <= max.x);
+            assertTrue(a.z[i] >= min.z && a.z[i] <= max.z);
+        }
+    }
+
+    @Test
+    void sumDoesNotDependOnPool() {
+        Vector3fArray a = randomArray(5);
+        Vector3f expected = new ParallelKernels(new ForkJoinPool(1), THRESHOLD).sum(a, new Vector3f());
+
+        for (int run = 0; run < 10; run++) {
+            assertEquals(expected, kernels.sum(a, new Vector3f()));
+        }
+    }
+
+    @Test
+    void nonPositiveThresholdThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelKernels(POOL, 0));
+    }
+}
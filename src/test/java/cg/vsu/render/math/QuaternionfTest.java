@@ -0,0 +1,126 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix3f;
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuaternionfTest {
+    private static final Vector3f AXIS = new Vector3f(1.0f, 2.0f, -2.0f).nor();
+
+    private final Quaternionf q1 = new Quaternionf(AXIS, 1.2f);
+    private final Quaternionf q2 = new Quaternionf(Vector3f.unitY(), -0.7f);
+
+    @Test
+    void identityDoesNotRotate() {
+        Vector3f v = new Vector3f(1.5f, -2.0f, 3.0f);
+
+        assertEquals(new Vector3f(1.5f, -2.0f, 3.0f), Quaternionf.identity().rotate(v));
+    }
+
+    @Test
+    void rotationAroundZ() {
+        Quaternionf q = new Quaternionf(Vector3f.unitZ(), MathUtils.HALF_PI);
+
+        assertEquals(Vector3f.unitY(), q.rotate(Vector3f.unitX()));
+    }
+
+    @Test
+    void rotateMatchesSandwichProduct() {
+        Vector3f v = new Vector3f(0.3f, -1.0f, 2.0f);
+        Quaternionf p = q1.cpy().mul(new Quaternionf(v.x, v.y, v.z, 0.0f)).mul(q1.cpy().conjugate());
+
+        assertTrue(q1.rotate(v).epsEquals(new Vector3f(p.x, p.y, p.z), MathUtils.EPSILON));
+    }
+
+    @Test
+    void mulComposesRotations() {
+        Vector3f v = new Vector3f(0.3f, -1.0f, 2.0f);
+        Vector3f expected = q1.rotate(q2.rotate(v.cpy()));
+
+        assertTrue(q1.cpy().mul(q2).rotate(v.cpy()).epsEquals(expected, MathUtils.EPSILON));
+        assertTrue(q2.cpy().mulLeft(q1).rotate(v).epsEquals(expected, MathUtils.EPSILON));
+    }
+
+    @Test
+    void conjugateIsInverseRotation() {
+        assertTrue(q1.cpy().mul(q1.cpy().conjugate()).epsEquals(Quaternionf.identity(), MathUtils.EPSILON));
+    }
+
+    @Test
+    void matrixConversionRoundTrips() {
+        Matrix3f m3 = new Matrix3f().set(q1);
+        Matrix4f m4 = new Matrix4f().set(q1);
+        Vector3f v = new Vector3f(0.3f, -1.0f, 2.0f);
+
+        assertTrue(m3.mul(v.cpy()).epsEquals(q1.rotate(v.cpy()), MathUtils.EPSILON));
+        assertTrue(new Quaternionf().set(m3).epsEquals(q1, MathUtils.EPSILON));
+        assertTrue(new Quaternionf().set(m4).epsEquals(q1, MathUtils.EPSILON));
+        assertTrue(m4.isRigid());
+    }
+
+    @Test
+    void matrixConversionHandlesHalfTurns() {
+        Quaternionf[] halfTurns = {
+                new Quaternionf(Vector3f.unitX(), MathUtils.PI),
+                new Quaternionf(Vector3f.unitY(), MathUtils.PI),
+                new Quaternionf(Vector3f.unitZ(), MathUtils.PI)
+        };
+        for (Quaternionf q : halfTurns) {
+            Quaternionf r = new Quaternionf().set(new Matrix3f().set(q));
+            assertTrue(Math.abs(r.dot(q)) > 1.0f - MathUtils.EPSILON);
+        }
+    }
+
+    @Test
+    void slerpEndpointsAndMidpoint() {
+        Quaternionf a = Quaternionf.identity();
+        Quaternionf b = new Quaternionf(Vector3f.unitZ(), 1.0f);
+
+        assertTrue(a.cpy().slerp(b, 0.0f).epsEquals(a, MathUtils.EPSILON));
+        assertTrue(a.cpy().slerp(b, 1.0f).epsEquals(b, MathUtils.EPSILON));
+        assertTrue(a.cpy().slerp(b, 0.5f).epsEquals(new Quaternionf(Vector3f.unitZ(), 0.5f), MathUtils.EPSILON));
+    }
+
+    @Test
+    void slerpTakesShorterArc() {
+        Quaternionf b = new Quaternionf(Vector3f.unitZ(), 1.0f);
+        Quaternionf negated = new Quaternionf(-b.x, -b.y, -b.z, -b.w);
+
+        assertTrue(Quaternionf.identity().slerp(negated, 0.5f)
+                .epsEquals(new Quaternionf(Vector3f.unitZ(), 0.5f), MathUtils.EPSILON));
+    }
+
+    @Test
+    void nlerpIsNormalized() {
+        assertEquals(1.0f, q1.cpy().nlerp(q2, 0.3f).len(), MathUtils.EPSILON);
+    }
+
+    @Test
+    void bulkSlerpMatchesSlerp() {
+        Quaternionf[] from = {q1, q2, Quaternionf.identity()};
+        Quaternionf[] to = {q2, new Quaternionf(-q2.x, -q2.y, -q2.z, -q2.w), q1};
+        float[] a = new float[from.length * 4 + 4];
+        float[] b = new float[to.length * 4];
+        for (int i = 0; i < from.length; i++) {
+            a[4 + i * 4] = from[i].x;
+            a[4 + i * 4 + 1] = from[i].y;
+            a[4 + i * 4 + 2] = from[i].z;
+            a[4 + i * 4 + 3] = from[i].w;
+            b[i * 4] = to[i].x;
+            b[i * 4 + 1] = to[i].y;
+            b[i * 4 + 2] = to[i].z;
+            b[i * 4 + 3] = to[i].w;
+        }
+        Quaternionf.slerp(a, 4, b, 0, a, 4, from.length, 0.4f);
+
+        for (int i = 0; i < from.length; i++) {
+            Quaternionf expected = from[i].cpy().slerp(to[i], 0.4f);
+            Quaternionf actual = new Quaternionf(a[4 + i * 4], a[4 + i * 4 + 1], a[4 + i * 4 + 2], a[4 + i * 4 + 3]);
+            assertTrue(expected.epsEquals(actual, MathUtils.EPSILON));
+        }
+    }
+}
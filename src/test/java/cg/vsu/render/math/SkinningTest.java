@@ -0,0 +1,120 @@
+package cg.vsu.render.math;
+
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.matrix.Matrix4fArray;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import cg.vsu.render.math.vector.Vector4f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkinningTest {
+    private static final int VERTICES = 300;
+    private static final int BONES = 6;
+    private static final int INFLUENCES = 3;
+
+    private final Random random = new Random(11);
+    private final Matrix4fArray bones = new Matrix4fArray(BONES);
+    private final Skinning skinning;
+
+    SkinningTest() {
+        for (int i = 0; i < BONES; i++) {
+            bones.set(i, new Matrix4f().setRotation(1.0f, i, -2.0f, 0.4f * i).translate(i, 2.0f, -1.0f));
+        }
+
+        Vector3fArray positions = new Vector3fArray(VERTICES);
+        Vector3fArray normals = new Vector3fArray(VERTICES);
+        int[] indices = new int[VERTICES * INFLUENCES];
+        float[] weights = new float[VERTICES * INFLUENCES];
+        for (int v = 0; v < VERTICES; v++) {
+            positions.set(v, random.nextFloat() * 4.0f - 2.0f, random.nextFloat() * 4.0f, random.nextFloat() - 0.5f);
+            normals.set(v, new Vector3f(random.nextFloat() - 0.5f, 1.0f, random.nextFloat() - 0.5f).nor());
+            float w0 = random.nextFloat();
+            float w1 = (1.0f - w0) * random.nextFloat();
+            float[] w = {w0, w1, 1.0f - w0 - w1};
+            for (int j = 0; j < INFLUENCES; j++) {
+                indices[v * INFLUENCES + j] = random.nextInt(BONES);
+                weights[v * INFLUENCES + j] = w[j];
+            }
+        }
+        skinning = new Skinning(positions, normals, indices, weights, INFLUENCES);
+    }
+
+    // The blended matrix computed the straightforward way, with a temporary matrix per influence.
+    private Matrix4f blendedMatrix(int v) {
+        Matrix4f blended = new Matrix4f().setZero();
+        for (int j = 0; j < INFLUENCES; j++) {
+            int k = v * INFLUENCES + j;
+            Matrix4f bone = bones.get(skinning.boneIndices[k], new Matrix4f());
+            blended.add(bone.mul(skinning.boneWeights[k]));
+        }
+        return blended;
+    }
+
+    @Test
+    void skinMatchesBlendedMatrices() {
+        Vector3fArray outPositions = new Vector3fArray(VERTICES);
+        Vector3fArray outNormals = new Vector3fArray(VERTICES);
+        skinning.skin(bones, outPositions, outNormals);
+
+        for (int v = 0; v < VERTICES; v++) {
+            Matrix4f m = blendedMatrix(v);
+            Vector3f p = skinning.positions.get(v, new Vector3f());
+            Vector3f n = skinning.normals.get(v, new Vector3f());
+            Vector4f expectedP = m.mul(new Vector4f(p.x, p.y, p.z, 1.0f));
+            Vector4f expectedN = m.mul(new Vector4f(n.x, n.y, n.z, 0.0f));
+
+            assertTrue(outPositions.get(v, new Vector3f())
+                    .epsEquals(new Vector3f(expectedP.x, expectedP.y, expectedP.z), MathUtils.EPSILON * 10));
+            assertTrue(outNormals.get(v, new Vector3f())
+                    .epsEquals(new Vector3f(expectedN.x, expectedN.y, expectedN.z).nor(), MathUtils.EPSILON));
+        }
+    }
+
+    @Test
+    void singleInfluenceMatchesTransformPoints() {
+        float[] packed = {1.0f, 2.0f, 3.0f, -4.0f, 0.5f, 2.0f};
+        Vector3fArray positions = new Vector3fArray(2);
+        positions.set(0, 1.0f, 2.0f, 3.0f);
+        positions.set(1, -4.0f, 0.5f, 2.0f);
+        Skinning rigid = new Skinning(positions, null, new int[]{4, 4}, new float[]{1.0f, 1.0f}, 1);
+        Vector3fArray out = new Vector3fArray(2);
+        rigid.skin(bones, out, new Vector3fArray(2));
+        bones.get(4, new Matrix4f()).transformPoints(packed, 0, packed, 0, 2, 3);
+
+        for (int v = 0; v < 2; v++) {
+            Vector3f expected = new Vector3f(packed[v * 3], packed[v * 3 + 1], packed[v * 3 + 2]);
+            assertTrue(out.get(v, new Vector3f()).epsEquals(expected, MathUtils.EPSILON));
+        }
+    }
+
+    @Test
+    void parallelSkinMatchesSequentialSkin() {
+        Vector3fArray positions = new Vector3fArray(VERTICES);
+        Vector3fArray normals = new Vector3fArray(VERTICES);
+        Vector3fArray parallelPositions = new Vector3fArray(VERTICES);
+        Vector3fArray parallelNormals = new Vector3fArray(VERTICES);
+        skinning.skin(bones, positions, normals);
+        new ParallelKernels(new ForkJoinPool(3), 32).skin(skinning, bones, parallelPositions, parallelNormals);
+
+        assertArrayEquals(positions.x, parallelPositions.x);
+        assertArrayEquals(positions.z, parallelPositions.z);
+        assertArrayEquals(normals.y, parallelNormals.y);
+    }
+
+    @Test
+    void mismatchedInfluencesThrow() {
+        Vector3fArray positions = new Vector3fArray(2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new Skinning(positions, null, new int[3], new float[3], 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Skinning(positions, new Vector3fArray(3), new int[2], new float[2], 1));
+    }
+}
@@ -0,0 +1,108 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector4f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Aabb3fTest {
+    private final Aabb3f box = new Aabb3f(-1.0f, 0.0f, 2.0f, 3.0f, 1.0f, 4.0f);
+
+    // The bounds of the eight transformed corners.
+    private static Aabb3f transformCorners(Aabb3f b, Matrix4f m) {
+        Aabb3f result = new Aabb3f();
+        for (int i = 0; i < 8; i++) {
+            Vector4f corner = new Vector4f(
+                    (i & 1) == 0 ? b.min.x : b.max.x,
+                    (i & 2) == 0 ? b.min.y : b.max.y,
+                    (i & 4) == 0 ? b.min.z : b.max.z,
+                    1.0f
+            );
+            m.mul(corner);
+            result.merge(corner.x, corner.y, corner.z);
+        }
+        return result;
+    }
+
+    @Test
+    void newBoxIsEmptyAndMergeIntoItIsExact() {
+        Aabb3f b = new Aabb3f();
+
+        assertTrue(b.isEmpty());
+        assertEquals(box, b.merge(box));
+        Aabb3f point = new Aabb3f().merge(new Vector3f(1.0f, 2.0f, 3.0f));
+        assertEquals(new Aabb3f(1.0f, 2.0f, 3.0f, 1.0f, 2.0f, 3.0f), point);
+    }
+
+    @Test
+    void centerExtentAndSize() {
+        assertEquals(new Vector3f(1.0f, 0.5f, 3.0f), box.center(new Vector3f()));
+        assertEquals(new Vector3f(2.0f, 0.5f, 1.0f), box.extent(new Vector3f()));
+        assertEquals(new Vector3f(4.0f, 1.0f, 2.0f), box.size(new Vector3f()));
+    }
+
+    @Test
+    void mergeContainsBothBoxes() {
+        Aabb3f other = new Aabb3f(0.0f, -2.0f, 0.0f, 1.0f, 0.5f, 5.0f);
+        Aabb3f merged = box.cpy().merge(other);
+
+        assertEquals(new Aabb3f(-1.0f, -2.0f, 0.0f, 3.0f, 1.0f, 5.0f), merged);
+        assertTrue(merged.contains(box));
+        assertTrue(merged.contains(other));
+        assertEquals(box, box.cpy().merge(new Aabb3f()));
+    }
+
+    @Test
+    void intersectionOfOverlappingAndDisjointBoxes() {
+        Aabb3f other = new Aabb3f(0.0f, 0.5f, 3.0f, 5.0f, 5.0f, 5.0f);
+
+        assertTrue(box.intersects(other));
+        assertEquals(new Aabb3f(0.0f, 0.5f, 3.0f, 3.0f, 1.0f, 4.0f), box.cpy().intersect(other));
+
+        Aabb3f far = new Aabb3f(10.0f, 10.0f, 10.0f, 11.0f, 11.0f, 11.0f);
+        assertFalse(box.intersects(far));
+        assertTrue(box.cpy().intersect(far).isEmpty());
+        assertFalse(box.intersects(new Aabb3f()));
+    }
+
+    @Test
+    void containsPointsOnTheBoundary() {
+        assertTrue(box.contains(-1.0f, 0.0f, 2.0f));
+        assertTrue(box.contains(new Vector3f(1.0f, 0.5f, 3.0f)));
+        assertFalse(box.contains(3.5f, 0.5f, 3.0f));
+        assertFalse(box.contains(new Aabb3f(0.0f, 0.0f, 2.0f, 4.0f, 1.0f, 4.0f)));
+    }
+
+    @Test
+    void transformMatchesTransformedCorners() {
+        Matrix4f m = new Matrix4f().setRotation(1.0f, 2.0f, -0.5f, 0.8f)
+                .translate(5.0f, -3.0f, 1.0f)
+                .scale(2.0f, 1.0f, 0.5f);
+
+        assertTrue(box.cpy().transform(m).epsEquals(transformCorners(box, m), MathUtils.EPSILON));
+        Matrix4f t = new Matrix4f().setTranslation(1.0f, 2.0f, 3.0f);
+        assertEquals(new Aabb3f(0.0f, 2.0f, 5.0f, 4.0f, 3.0f, 7.0f), box.transform(t, new Aabb3f()));
+        assertTrue(new Aabb3f().transform(m).isEmpty());
+    }
+
+    @Test
+    void packedTransformMatchesSingleBoxes() {
+        Matrix4f m = new Matrix4f().setRotationY(0.4f).translate(0.0f, 7.0f, 0.0f);
+        Aabb3f[] boxes = {box, new Aabb3f(), new Aabb3f(0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f)};
+        float[] packed = new float[1 + boxes.length * Aabb3f.LEN];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i].get(packed, 1 + i * Aabb3f.LEN);
+        }
+
+        Aabb3f.transform(m, packed, 1, packed, 1, boxes.length);
+
+        for (int i = 0; i < boxes.length; i++) {
+            assertEquals(boxes[i].transform(m, new Aabb3f()), new Aabb3f().set(packed, 1 + i * Aabb3f.LEN));
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.vector.Vector3fArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BvhTest {
+    // Small random triangles scattered through a cube around the origin.
+    private static Vector3fArray[] randomTriangles(Random random, int count) {
+        Vector3fArray[] v = {new Vector3fArray(count), new Vector3fArray(count), new Vector3fArray(count)};
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * 20.0f - 10.0f;
+            float y = random.nextFloat() * 20.0f - 10.0f;
+            float z = random.nextFloat() * 20.0f - 10.0f;
+            for (Vector3fArray vertices : v) {
+                vertices.set(i, x + random.nextFloat() * 3.0f - 1.5f, y + random.nextFloat() * 3.0f - 1.5f,
+                        z + random.nextFloat() * 3.0f - 1.5f);
+            }
+        }
+        return v;
+    }
+
+    private static Ray3f randomRay(Random random, Ray3f ray) {
+        return ray.set(
+                random.nextFloat() * 30.0f - 15.0f, random.nextFloat() * 30.0f - 15.0f, 15.0f,
+                random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, -1.0f
+        );
+    }
+
+    // Compares closest and any-hit queries with testing every triangle.
+    private static void assertMatchesBruteForce(Bvh bvh, Vector3fArray[] v, Random random) {
+        Ray3f ray = new Ray3f();
+        RayHit expected = new RayHit();
+        RayHit actual = new RayHit();
+        int hits = 0;
+        for (int i = 0; i < 200; i++) {
+            randomRay(random, ray);
+            boolean hit = ray.intersect(v[0], v[1], v[2], expected.reset());
+            assertEquals(hit, bvh.intersect(ray, actual.reset()));
+            assertEquals(expected.t, actual.t);
+            assertEquals(expected.u, actual.u);
+            assertEquals(expected.v, actual.v);
+            assertEquals(expected.triangle, actual.triangle);
+
+            float maxT = random.nextFloat() * 30.0f;
+            assertEquals(ray.intersectsAny(v[0], v[1], v[2], maxT), bvh.intersectsAny(ray, maxT));
+            if (hit) hits++;
+        }
+        assertTrue(hits > 20);
+    }
+
+    @Test
+    void raysMatchBruteForce() {
+        Random random = new Random(1);
+        Vector3fArray[] v = randomTriangles(random, 1000);
+        Bvh bvh = new Bvh(v[0], v[1], v[2]);
+        assertMatchesBruteForce(bvh, v, random);
+
+        // Axis-aligned rays starting on the bound planes of the nodes, where the slab test divides zero by zero.
+        Ray3f ray = new Ray3f();
+        RayHit expected = new RayHit();
+        RayHit actual = new RayHit();
+        int hits = 0;
+        for (int i = 0; i < 1000; i++) {
+            float x = v[i % 3].x[i];
+            float y = v[(i + 1) % 3].y[i];
+            float z = v[(i + 2) % 3].z[i];
+            for (int axis = 0; axis < 3; axis++) {
+                float d = i % 2 == 0 ? 1.0f : -1.0f;
+                ray.set(axis == 0 ? x - 20.0f * d : x, axis == 1 ? y - 20.0f * d : y, axis == 2 ? z - 20.0f * d : z,
+                        axis == 0 ? d : 0.0f, axis == 1 ? d : 0.0f, axis == 2 ? d : 0.0f);
+                boolean hit = ray.intersect(v[0], v[1], v[2], expected.reset());
+                assertEquals(hit, bvh.intersect(ray, actual.reset()));
+                assertEquals(expected.triangle, actual.triangle);
+                assertEquals(expected.t, actual.t);
+                assertEquals(hit, bvh.intersectsAny(ray, Float.POSITIVE_INFINITY));
+                if (hit) hits++;
+            }
+        }
+        assertTrue(hits > 100);
+    }
+
+    @Test
+    void axisAlignedRayAlongTheEdgeOfAWallHitsIt() {
+        Vector3fArray[] v = {new Vector3fArray(2), new Vector3fArray(2), new Vector3fArray(2)};
+        v[0].set(0, 5.0f, 0.0f, 0.0f);
+        v[1].set(0, 5.0f, 10.0f, 0.0f);
+        v[2].set(0, 5.0f, 0.0f, 1.0f);
+        v[0].set(1, 8.0f, 0.0f, 0.0f);
+        v[1].set(1, 8.0f, 10.0f, 0.0f);
+        v[2].set(1, 8.0f, 0.0f, 1.0f);
+        Bvh bvh = new Bvh(v[0], v[1], v[2], 1, ForkJoinPool.commonPool());
+        Ray3f ray = new Ray3f().set(0.0f, 0.0f, 0.5f, 1.0f, 0.0f, 0.0f);
+        RayHit hit = new RayHit();
+
+        assertTrue(bvh.intersect(ray, hit));
+        assertEquals(5.0f, hit.t);
+        assertEquals(0, hit.triangle);
+        assertTrue(bvh.intersectsAny(ray, Float.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void parallelBuildMatchesBruteForce() {
+        Random random = new Random(2);
+        Vector3fArray[] v = randomTriangles(random, 20000);
+        Bvh bvh = new Bvh(v[0], v[1], v[2], 4, new ForkJoinPool(4));
+
+        assertMatchesBruteForce(bvh, v, random);
+        assertEquals(20000, bvh.size());
+    }
+
+    @Test
+    void hitKeepsACloserPresetHit() {
+        Random random = new Random(3);
+        Vector3fArray[] v = randomTriangles(random, 100);
+        Bvh bvh = new Bvh(v[0], v[1], v[2]);
+        Ray3f ray = new Ray3f().set(0.0f, 0.0f, 15.0f, 0.0f, 0.0f, -1.0f);
+        RayHit hit = new RayHit().reset(0.5f);
+        hit.triangle = 1234;
+
+        assertFalse(bvh.intersect(ray, hit));
+        assertEquals(0.5f, hit.t);
+        assertEquals(1234, hit.triangle);
+    }
+
+    @Test
+    void statisticsDescribeTheTree() {
+        Random random = new Random(4);
+        Vector3fArray[] v = randomTriangles(random, 500);
+        Bvh bvh = new Bvh(v[0], v[1], v[2], 2, ForkJoinPool.commonPool());
+
+        assertEquals(bvh.nodeCount(), 2 * bvh.leafCount() - 1);
+        assertTrue(bvh.largestLeaf() <= 2);
+        assertTrue(bvh.depth() > 8);
+        assertTrue(bvh.buildNanos() > 0);
+
+        // Every triangle is in exactly one leaf.
+        int triangles = 0;
+        for (int node = 0; node < bvh.nodeCount(); node++) {
+            triangles += bvh.nodes[node * 2 + 1];
+        }
+        assertEquals(500, triangles);
+
+        Aabb3f expected = new Aabb3f();
+        for (int i = 0; i < 500; i++) {
+            expected.merge(v[0].x[i], v[0].y[i], v[0].z[i]);
+            expected.merge(v[1].x[i], v[1].y[i], v[1].z[i]);
+            expected.merge(v[2].x[i], v[2].y[i], v[2].z[i]);
+        }
+        assertEquals(expected, bvh.bounds(new Aabb3f()));
+    }
+
+    @Test
+    void coincidingCentroidsBecomeOneLeaf() {
+        Vector3fArray[] v = {new Vector3fArray(10), new Vector3fArray(10), new Vector3fArray(10)};
+        for (int i = 0; i < 10; i++) {
+            v[0].set(i, -1.0f, -1.0f, i);
+            v[1].set(i, 1.0f, -1.0f, -i);
+            v[2].set(i, 0.0f, 2.0f, 0.0f);
+        }
+        Bvh bvh = new Bvh(v[0], v[1], v[2], 2, ForkJoinPool.commonPool());
+
+        assertEquals(1, bvh.nodeCount());
+        assertEquals(10, bvh.largestLeaf());
+    }
+
+    @Test
+    void emptyTreeHitsNothing() {
+        Vector3fArray empty = new Vector3fArray(0);
+        Bvh bvh = new Bvh(empty, empty, empty);
+        Ray3f ray = new Ray3f().set(0.0f, 0.0f, 1.0f, 0.0f, 0.0f, -1.0f);
+
+        assertFalse(bvh.intersect(ray, new RayHit()));
+        assertFalse(bvh.intersectsAny(ray, Float.POSITIVE_INFINITY));
+        assertEquals(0, bvh.overlapping(new Aabb3f(-1.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f), i -> { }));
+        assertTrue(bvh.bounds(new Aabb3f()).isEmpty());
+    }
+
+    @Test
+    void overlappingMatchesBruteForce() {
+        Random random = new Random(5);
+        Vector3fArray[] v = randomTriangles(random, 1000);
+        Bvh bvh = new Bvh(v[0], v[1], v[2]);
+        Aabb3f box = new Aabb3f();
+        Aabb3f triangle = new Aabb3f();
+        for (int k = 0; k < 50; k++) {
+            float x = random.nextFloat() * 20.0f - 10.0f;
+            float y = random.nextFloat() * 20.0f - 10.0f;
+            float z = random.nextFloat() * 20.0f - 10.0f;
+            float r = random.nextFloat() * 4.0f;
+            box.set(x - r, y - r, z - r, x + r, y + r, z + r);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                triangle.setEmpty();
+                triangle.merge(v[0].x[i], v[0].y[i], v[0].z[i]);
+                triangle.merge(v[1].x[i], v[1].y[i], v[1].z[i]);
+                triangle.merge(v[2].x[i], v[2].y[i], v[2].z[i]);
+                if (box.intersects(triangle)) expected.add(i);
+            }
+            List<Integer> actual = new ArrayList<>();
+            // A query nested in the action must not disturb the traversal of the outer one.
+            assertEquals(expected.size(), bvh.overlapping(box, i -> {
+                actual.add(i);
+                bvh.overlapping(triangle.set(-1.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f), j -> { });
+            }));
+            actual.sort(null);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void refitFollowsMovedVertices() {
+        Random random = new Random(6);
+        Vector3fArray[] v = randomTriangles(random, 1000);
+        Bvh bvh = new Bvh(v[0], v[1], v[2]);
+        int nodes = bvh.nodeCount();
+        for (int i = 0; i < 1000; i++) {
+            float dx = random.nextFloat() * 4.0f - 2.0f;
+            for (Vector3fArray vertices : v) {
+                vertices.x[i] += dx;
+                vertices.z[i] *= 1.5f;
+            }
+        }
+        bvh.refit(v[0], v[1], v[2]);
+
+        assertEquals(nodes, bvh.nodeCount());
+        assertMatchesBruteForce(bvh, v, random);
+    }
+
+    @Test
+    void nonPositiveLeafSizeThrows() {
+        Vector3fArray empty = new Vector3fArray(0);
+        assertThrows(IllegalArgumentException.class, () -> new Bvh(empty, empty, empty, 0, ForkJoinPool.commonPool()));
+    }
+}
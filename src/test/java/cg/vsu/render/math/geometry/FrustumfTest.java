@@ -0,0 +1,153 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.matrix.Matrix4f;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import cg.vsu.render.math.vector.Vector4f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrustumfTest {
+    private static final int COUNT = 100;
+
+    // A camera at the origin looking along -z with a 90 degree field of view, from z = -1 to z = -100.
+    private final Frustumf frustum = new Frustumf(new Matrix4f().setPerspective(MathUtils.HALF_PI, 1.0f, 1.0f, 100.0f));
+
+    private static Vector3fArray randomVectors(Random random, float offset) {
+        Vector3fArray a = new Vector3fArray(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            a.set(i, random.nextFloat() * 60.0f - 30.0f + offset, random.nextFloat() * 60.0f - 30.0f + offset,
+                    random.nextFloat() * -60.0f + offset);
+        }
+        return a;
+    }
+
+    @Test
+    void planesAreNormalizedAndPointInward() {
+        Vector4f near = frustum.plane(Frustumf.NEAR, new Vector4f());
+
+        assertTrue(near.epsEquals(new Vector4f(0.0f, 0.0f, -1.0f, -1.0f), MathUtils.EPSILON));
+        for (int p = 0; p < Frustumf.PLANES; p++) {
+            Vector4f plane = frustum.plane(p, new Vector4f());
+            assertEquals(1.0f, Vector3f.len(plane.x, plane.y, plane.z), MathUtils.EPSILON);
+        }
+    }
+
+    @Test
+    void pointTests() {
+        assertTrue(frustum.contains(0.0f, 0.0f, -10.0f));
+        assertTrue(frustum.contains(new Vector3f(9.0f, -9.0f, -10.0f)));
+        assertFalse(frustum.contains(0.0f, 0.0f, 10.0f));
+        assertFalse(frustum.contains(0.0f, 0.0f, -0.5f));
+        assertFalse(frustum.contains(0.0f, 0.0f, -101.0f));
+        assertFalse(frustum.contains(20.0f, 0.0f, -10.0f));
+    }
+
+    @Test
+    void sphereTestsUseTheRadius() {
+        // The sphere center is 2 / sqrt(2) away from the right plane.
+        assertFalse(frustum.intersectsSphere(12.0f, 0.0f, -10.0f, 1.0f));
+        assertTrue(frustum.intersectsSphere(new Vector3f(12.0f, 0.0f, -10.0f), 2.0f));
+        assertEquals(Frustumf.RIGHT, frustum.rejectingPlane(12.0f, 0.0f, -10.0f, 1.0f, Frustumf.FAR));
+        assertEquals(-1, frustum.rejectingPlane(0.0f, 0.0f, -10.0f, 1.0f, -1));
+    }
+
+    @Test
+    void boxTests() {
+        assertTrue(frustum.intersects(new Aabb3f(-1.0f, -1.0f, -11.0f, 1.0f, 1.0f, -9.0f)));
+        assertTrue(frustum.intersects(new Aabb3f(9.0f, 0.0f, -11.0f, 15.0f, 1.0f, -9.0f)));
+        assertFalse(frustum.intersects(new Aabb3f(12.0f, 0.0f, -11.0f, 15.0f, 1.0f, -10.0f)));
+        assertEquals(Frustumf.NEAR, frustum.rejectingPlane(new Aabb3f(-1.0f, -1.0f, -0.9f, 1.0f, 1.0f, 5.0f), 3));
+    }
+
+    @Test
+    void frustumOfViewProjectionFollowsCamera() {
+        Matrix4f view = new Matrix4f().setLookAt(
+                new Vector3f(100.0f, 0.0f, 0.0f), new Vector3f(100.0f, 0.0f, -1.0f), Vector3f.unitY()
+        );
+        Frustumf f = new Frustumf(new Matrix4f().setPerspective(MathUtils.HALF_PI, 1.0f, 1.0f, 100.0f).mul(view));
+
+        assertTrue(f.contains(100.0f, 0.0f, -10.0f));
+        assertFalse(f.contains(0.0f, 0.0f, -10.0f));
+    }
+
+    @Test
+    void bulkSphereCullingMatchesSingleTests() {
+        Random random = new Random(1);
+        Vector3fArray centers = randomVectors(random, 0.0f);
+        float[] radii = new float[COUNT];
+        for (int i = 0; i < COUNT; i++) radii[i] = random.nextFloat() * 5.0f;
+        long[] visible = new long[Frustumf.words(COUNT)];
+        Arrays.fill(visible, -1L);
+
+        int n = frustum.cullSpheres(centers, radii, visible);
+
+        int expected = 0;
+        for (int i = 0; i < COUNT; i++) {
+            boolean v = frustum.intersectsSphere(centers.x[i], centers.y[i], centers.z[i], radii[i]);
+            if (v) expected++;
+            assertEquals(v, (visible[i >>> 6] & (1L << i)) != 0);
+        }
+        assertEquals(expected, n);
+        assertTrue(n > 0 && n < COUNT);
+        assertEquals(0L, visible[1] >>> (COUNT - 64));
+    }
+
+    @Test
+    void bulkBoxCullingMatchesSingleTests() {
+        Random random = new Random(2);
+        Vector3fArray min = randomVectors(random, 0.0f);
+        Vector3fArray max = min.cpy().add(new Vector3f(3.0f, 3.0f, 3.0f));
+        long[] visible = new long[Frustumf.words(COUNT)];
+
+        int n = frustum.cullAabbs(min, max, visible);
+
+        Aabb3f b = new Aabb3f();
+        int expected = 0;
+        for (int i = 0; i < COUNT; i++) {
+            b.set(min.x[i], min.y[i], min.z[i], max.x[i], max.y[i], max.z[i]);
+            boolean v = frustum.intersects(b);
+            if (v) expected++;
+            assertEquals(v, (visible[i >>> 6] & (1L << i)) != 0);
+        }
+        assertEquals(expected, n);
+    }
+
+    @Test
+    void coherentCullingMatchesPlainCullingAcrossFrames() {
+        Random random = new Random(3);
+        Vector3fArray min = randomVectors(random, 0.0f);
+        Vector3fArray max = min.cpy().add(new Vector3f(1.0f, 1.0f, 1.0f));
+        float[] radii = new float[COUNT];
+        Arrays.fill(radii, 1.5f);
+        byte[] boxPlanes = new byte[COUNT];
+        byte[] spherePlanes = new byte[COUNT];
+        Arrays.fill(boxPlanes, (byte) -1);
+        Arrays.fill(spherePlanes, (byte) -1);
+        long[] expected = new long[Frustumf.words(COUNT)];
+        long[] actual = new long[Frustumf.words(COUNT)];
+
+        for (int frame = 0; frame < 3; frame++) {
+            min.add(new Vector3f(2.0f, 0.0f, 0.0f));
+            max.add(new Vector3f(2.0f, 0.0f, 0.0f));
+
+            assertEquals(frustum.cullAabbs(min, max, expected), frustum.cullAabbs(min, max, actual, boxPlanes));
+            assertArrayEquals(expected, actual);
+            int n = frustum.cullSpheres(min, radii, expected);
+            assertEquals(n, frustum.cullSpheres(min, radii, actual, spherePlanes));
+            assertArrayEquals(expected, actual);
+        }
+        for (int i = 0; i < COUNT; i++) {
+            boolean v = (actual[i >>> 6] & (1L << i)) != 0;
+            assertEquals(v, spherePlanes[i] < 0);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Ray3fTest {
+    private static final int COUNT = 37;
+
+    private final Vector3f a = new Vector3f(0.0f, 0.0f, 0.0f);
+    private final Vector3f b = new Vector3f(1.0f, 0.0f, 0.0f);
+    private final Vector3f c = new Vector3f(0.0f, 1.0f, 0.0f);
+    private final RayHit hit = new RayHit();
+
+    // Random triangles in front of the origin, facing the z axis on average.
+    private static Vector3fArray[] randomTriangles(Random random) {
+        Vector3fArray[] v = {new Vector3fArray(COUNT), new Vector3fArray(COUNT), new Vector3fArray(COUNT)};
+        for (int i = 0; i < COUNT; i++) {
+            float x = random.nextFloat() * 2.0f - 1.0f;
+            float y = random.nextFloat() * 2.0f - 1.0f;
+            float z = -1.0f - random.nextFloat() * 10.0f;
+            for (Vector3fArray vertices : v) {
+                vertices.set(i, x + random.nextFloat() * 2.0f - 1.0f, y + random.nextFloat() * 2.0f - 1.0f,
+                        z + random.nextFloat() * 0.5f);
+            }
+        }
+        return v;
+    }
+
+    @Test
+    void hitReportsDistanceAndBarycentrics() {
+        Ray3f ray = new Ray3f(new Vector3f(0.2f, 0.3f, 5.0f), new Vector3f(0.0f, 0.0f, -1.0f));
+
+        assertTrue(ray.intersect(a, b, c, hit));
+        assertEquals(5.0f, hit.t, MathUtils.EPSILON);
+        assertEquals(0.2f, hit.u, MathUtils.EPSILON);
+        assertEquals(0.3f, hit.v, MathUtils.EPSILON);
+        assertEquals(0, hit.triangle);
+        assertTrue(ray.at(hit.t, new Vector3f()).epsEquals(new Vector3f(0.2f, 0.3f, 0.0f), MathUtils.EPSILON));
+    }
+
+    @Test
+    void backSideIsHitButNotBehindTheOrigin() {
+        Ray3f ray = new Ray3f().set(0.2f, 0.3f, -2.0f, 0.0f, 0.0f, 2.0f);
+
+        assertTrue(ray.intersect(a, b, c, hit));
+        assertEquals(1.0f, hit.t, MathUtils.EPSILON);
+        assertFalse(ray.set(0.2f, 0.3f, 2.0f, 0.0f, 0.0f, 1.0f).intersect(a, b, c, hit.reset()));
+        assertFalse(ray.set(0.2f, 0.3f, 0.0f, 0.0f, 0.0f, 1.0f).intersect(a, b, c, hit));
+        assertFalse(hit.isHit());
+    }
+
+    @Test
+    void missesOutsideParallelAndBeyondMaxT() {
+        Ray3f ray = new Ray3f().set(0.6f, 0.6f, 1.0f, 0.0f, 0.0f, -1.0f);
+        assertFalse(ray.intersect(a, b, c, hit));
+
+        ray.set(-1.0f, 0.2f, 0.0f, 1.0f, 0.0f, 0.0f);
+        assertFalse(ray.intersect(a, b, c, hit));
+
+        ray.set(0.2f, 0.2f, 1.0f, 0.0f, 0.0f, -1.0f);
+        assertFalse(ray.intersect(a, b, c, hit.reset(0.5f)));
+        assertTrue(ray.intersect(a, b, c, hit.reset(1.5f)));
+    }
+
+    @Test
+    void bufferFindsTheClosestTriangle() {
+        Vector3fArray[] v = randomTriangles(new Random(1));
+        Vector3f p0 = new Vector3f();
+        Vector3f p1 = new Vector3f();
+        Vector3f p2 = new Vector3f();
+        Random random = new Random(2);
+        int hits = 0;
+        for (int r = 0; r < 50; r++) {
+            Ray3f ray = new Ray3f().set(0.0f, 0.0f, 1.0f, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, -1.0f);
+            RayHit expected = new RayHit();
+            for (int i = 0; i < COUNT; i++) {
+                if (ray.intersect(v[0].get(i, p0), v[1].get(i, p1), v[2].get(i, p2), expected)) {
+                    expected.triangle = i;
+                }
+            }
+
+            boolean found = ray.intersect(v[0], v[1], v[2], hit.reset());
+
+            assertEquals(expected.isHit(), found);
+            assertEquals(expected.triangle, hit.triangle);
+            assertEquals(expected.t, hit.t);
+            assertEquals(expected.u, hit.u);
+            assertEquals(expected.v, hit.v);
+            assertEquals(found, ray.intersectsAny(v[0], v[1], v[2], Float.POSITIVE_INFINITY));
+            if (found) hits++;
+        }
+        assertTrue(hits > 10);
+    }
+
+    @Test
+    void rangesAndAnyHitRespectTheirLimits() {
+        Vector3fArray[] v = randomTriangles(new Random(3));
+        Ray3f ray = new Ray3f().set(0.0f, 0.0f, 1.0f, 0.0f, 0.0f, -1.0f);
+        assertTrue(ray.intersect(v[0], v[1], v[2], hit.reset()));
+        int closest = hit.triangle;
+        float t = hit.t;
+
+        assertFalse(ray.intersectsAny(v[0], v[1], v[2], t));
+        assertTrue(ray.intersectsAny(v[0], v[1], v[2], closest, closest + 1, Float.POSITIVE_INFINITY));
+        assertFalse(ray.intersect(v[0], v[1], v[2], closest, closest, hit.reset()));
+        assertTrue(ray.intersect(v[0], v[1], v[2], closest, COUNT, hit.reset()));
+        assertEquals(closest, hit.triangle);
+
+        // A closer hit recorded before is kept.
+        hit.reset(t * 0.5f);
+        assertFalse(ray.intersect(v[0], v[1], v[2], hit));
+        assertFalse(hit.isHit());
+    }
+}
@@ -0,0 +1,251 @@
+package cg.vsu.render.math.geometry;
+
+import cg.vsu.render.math.vector.Vector2f;
+import cg.vsu.render.math.vector.Vector2fArray;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialHashGridTest {
+    private static Vector3fArray randomPoints(Random random, int count) {
+        Vector3fArray points = new Vector3fArray(count);
+        for (int i = 0; i < count; i++) {
+            points.set(i, random.nextFloat() * 40.0f - 20.0f, random.nextFloat() * 40.0f - 20.0f,
+                    random.nextFloat() * 10.0f - 5.0f);
+        }
+        return points;
+    }
+
+    private static List<Integer> withinRadius(SpatialHashGrid grid, Vector3f p, float radius) {
+        List<Integer> found = new ArrayList<>();
+        assertEquals(grid.withinRadius(p, radius, found::add), found.size());
+        found.sort(null);
+        return found;
+    }
+
+    private static List<Integer> bruteForceWithinRadius(Vector3fArray points, Vector3f p, float radius) {
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < points.size; i++) {
+            if (p.dst2(points.x[i], points.y[i], points.z[i]) <= radius * radius) found.add(i);
+        }
+        return found;
+    }
+
+    // The indices of the k nearest points within the radius, ordered by distance and then index.
+    private static int[] bruteForceNearest(Vector3fArray points, Vector3f p, float maxRadius, int k) {
+        return IntStream.range(0, points.size)
+                .boxed()
+                .filter(i -> p.dst2(points.x[i], points.y[i], points.z[i]) <= maxRadius * maxRadius)
+                .sorted(Comparator.comparingDouble((Integer i) -> p.dst2(points.x[i], points.y[i], points.z[i]))
+                        .thenComparingInt(i -> i))
+                .limit(k)
+                .mapToInt(i -> i)
+                .toArray();
+    }
+
+    @Test
+    void withinRadiusMatchesBruteForce() {
+        Random random = new Random(1);
+        Vector3fArray points = randomPoints(random, 2000);
+        SpatialHashGrid grid = new SpatialHashGrid(1.5f).build(points);
+        Vector3f p = new Vector3f();
+        int found = 0;
+        for (int k = 0; k < 100; k++) {
+            p.set(random.nextFloat() * 44.0f - 22.0f, random.nextFloat() * 44.0f - 22.0f,
+                    random.nextFloat() * 12.0f - 6.0f);
+            float radius = random.nextFloat() * 3.0f;
+            List<Integer> expected = bruteForceWithinRadius(points, p, radius);
+            assertEquals(expected, withinRadius(grid, p, radius));
+            found += expected.size();
+        }
+        assertTrue(found > 100);
+        assertEquals(2000, grid.size());
+        assertFalse(grid.isPlanar());
+    }
+
+    @Test
+    void largeRadiusScansAllPoints() {
+        Random random = new Random(2);
+        Vector3fArray points = randomPoints(random, 300);
+        SpatialHashGrid grid = new SpatialHashGrid(0.5f).build(points);
+        Vector3f p = new Vector3f(1.0f, 2.0f, 0.0f);
+
+        assertEquals(bruteForceWithinRadius(points, p, 15.0f), withinRadius(grid, p, 15.0f));
+        assertEquals(300, withinRadius(grid, p, 100.0f).size());
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(3);
+        Vector3fArray points = randomPoints(random, 2000);
+        SpatialHashGrid grid = new SpatialHashGrid(1.0f).build(points);
+        Vector3f p = new Vector3f();
+        for (int k = 1; k < 40; k++) {
+            p.set(random.nextFloat() * 60.0f - 30.0f, random.nextFloat() * 60.0f - 30.0f,
+                    random.nextFloat() * 20.0f - 10.0f);
+            float maxRadius = k % 3 == 0 ? Float.POSITIVE_INFINITY : random.nextFloat() * 5.0f;
+            int[] indices = new int[k];
+            float[] dst2 = new float[k];
+            int[] expected = bruteForceNearest(points, p, maxRadius, k);
+
+            assertEquals(expected.length, grid.nearest(p, maxRadius, indices, dst2));
+            assertEquals(Arrays.toString(expected), Arrays.toString(Arrays.copyOf(indices, expected.length)));
+            for (int i = 0; i < expected.length; i++) {
+                int j = expected[i];
+                assertEquals(p.dst2(points.x[j], points.y[j], points.z[j]), dst2[i]);
+            }
+        }
+    }
+
+    @Test
+    void nearestReturnsAllPointsWhenFewer() {
+        Vector3fArray points = new Vector3fArray(3);
+        points.set(0, 10.0f, 0.0f, 0.0f);
+        points.set(1, -1.0f, 0.0f, 0.0f);
+        points.set(2, 0.0f, 50.0f, 0.0f);
+        SpatialHashGrid grid = new SpatialHashGrid(1.0f).build(points);
+        int[] indices = new int[5];
+        float[] dst2 = new float[5];
+
+        assertEquals(3, grid.nearest(new Vector3f(), Float.POSITIVE_INFINITY, indices, dst2));
+        assertEquals(1, indices[0]);
+        assertEquals(0, indices[1]);
+        assertEquals(2, indices[2]);
+        assertEquals(100.0f, dst2[1]);
+        assertEquals(1, grid.nearest(new Vector3f(), 5.0f, indices, dst2));
+    }
+
+    @Test
+    void nearestInASparseCloudScansInsteadOfWalkingCells() {
+        Random random = new Random(7);
+        Vector3fArray points = new Vector3fArray(2000);
+        for (int i = 0; i < 2000; i++) {
+            points.set(i, random.nextFloat() * 1000.0f, random.nextFloat() * 1000.0f, random.nextFloat() * 1000.0f);
+        }
+        SpatialHashGrid grid = new SpatialHashGrid(1.0f).build(points);
+        Vector3f p = new Vector3f();
+        for (int n = 0; n < 20; n++) {
+            p.set(random.nextFloat() * 1000.0f, random.nextFloat() * 1000.0f, random.nextFloat() * 1000.0f);
+            int k = n % 2 == 0 ? 16 : 2500;
+            int[] indices = new int[k];
+            float[] dst2 = new float[k];
+            int[] expected = bruteForceNearest(points, p, Float.POSITIVE_INFINITY, k);
+
+            assertEquals(expected.length, grid.nearest(p, Float.POSITIVE_INFINITY, indices, dst2));
+            assertEquals(Arrays.toString(expected), Arrays.toString(Arrays.copyOf(indices, expected.length)));
+        }
+    }
+
+    @Test
+    void planarGridIgnoresZ() {
+        Random random = new Random(4);
+        Vector2fArray points = new Vector2fArray(1000);
+        Vector3fArray lifted = new Vector3fArray(1000);
+        for (int i = 0; i < 1000; i++) {
+            points.set(i, random.nextFloat() * 20.0f, random.nextFloat() * 20.0f);
+            lifted.set(i, points.x[i], points.y[i], 0.0f);
+        }
+        SpatialHashGrid grid = new SpatialHashGrid(1.0f).build(points);
+        assertTrue(grid.isPlanar());
+
+        for (int k = 0; k < 50; k++) {
+            Vector2f p = new Vector2f(random.nextFloat() * 20.0f, random.nextFloat() * 20.0f);
+            List<Integer> found = new ArrayList<>();
+            grid.withinRadius(p, 1.5f, found::add);
+            found.sort(null);
+            assertEquals(bruteForceWithinRadius(lifted, new Vector3f(p.x, p.y, 0.0f), 1.5f), found);
+
+            List<Integer> lifted3 = new ArrayList<>();
+            grid.withinRadius(p.x, p.y, 100.0f, 1.5f, lifted3::add);
+            assertEquals(found.size(), lifted3.size());
+
+            int[] indices = new int[4];
+            float[] dst2 = new float[4];
+            assertEquals(4, grid.nearest(p, Float.POSITIVE_INFINITY, indices, dst2));
+            assertEquals(Arrays.toString(bruteForceNearest(lifted, new Vector3f(p.x, p.y, 0.0f), 100.0f, 4)),
+                    Arrays.toString(indices));
+        }
+    }
+
+    @Test
+    void parallelBuildMatchesSequential() {
+        Random random = new Random(5);
+        Vector3fArray points = randomPoints(random, 50000);
+        SpatialHashGrid sequential = new SpatialHashGrid(0.7f).build(points);
+        SpatialHashGrid parallel = new SpatialHashGrid(0.7f).build(points, new ForkJoinPool(4));
+        Vector3f p = new Vector3f();
+        for (int k = 0; k < 50; k++) {
+            p.set(random.nextFloat() * 40.0f - 20.0f, random.nextFloat() * 40.0f - 20.0f, 0.0f);
+            List<Integer> seq = new ArrayList<>();
+            List<Integer> par = new ArrayList<>();
+            sequential.withinRadius(p, 1.0f, seq::add);
+            parallel.withinRadius(p, 1.0f, par::add);
+            assertEquals(seq, par);
+            assertEquals(bruteForceWithinRadius(points, p, 1.0f), withinRadius(parallel, p, 1.0f));
+        }
+    }
+
+    @Test
+    void parallelRebuildMatchesSequential() {
+        Random random = new Random(9);
+        SpatialHashGrid grid = new SpatialHashGrid(0.7f).build(randomPoints(random, 60000), new ForkJoinPool(4));
+        Vector3fArray points = randomPoints(random, 20000);
+        grid.build(points, new ForkJoinPool(3));
+        SpatialHashGrid sequential = new SpatialHashGrid(0.7f).build(points);
+        Vector3f p = new Vector3f();
+        for (int k = 0; k < 50; k++) {
+            p.set(random.nextFloat() * 40.0f - 20.0f, random.nextFloat() * 40.0f - 20.0f, 0.0f);
+            List<Integer> seq = new ArrayList<>();
+            List<Integer> par = new ArrayList<>();
+            sequential.withinRadius(p, 1.5f, seq::add);
+            grid.withinRadius(p, 1.5f, par::add);
+            assertEquals(seq, par);
+        }
+    }
+
+    @Test
+    void rebuildFollowsMovedAndFewerPoints() {
+        Random random = new Random(6);
+        Vector3fArray points = randomPoints(random, 500);
+        SpatialHashGrid grid = new SpatialHashGrid(1.0f).build(points);
+        Vector3fArray fewer = randomPoints(random, 100);
+        grid.build(fewer);
+        Vector3f p = new Vector3f(0.0f, 0.0f, 0.0f);
+
+        assertEquals(100, grid.size());
+        assertEquals(bruteForceWithinRadius(fewer, p, 6.0f), withinRadius(grid, p, 6.0f));
+    }
+
+    @Test
+    void emptyGridFindsNothing() {
+        SpatialHashGrid grid = new SpatialHashGrid(1.0f);
+        assertEquals(0, grid.withinRadius(new Vector3f(), 10.0f, i -> { }));
+        assertEquals(0, grid.nearest(new Vector3f(), 10.0f, new int[3], new float[3]));
+
+        grid.build(new Vector3fArray(0));
+        assertEquals(0, grid.size());
+        assertEquals(0, grid.withinRadius(new Vector3f(), 10.0f, i -> { }));
+    }
+
+    @Test
+    void invalidArgumentsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHashGrid(0.0f));
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHashGrid(Float.NaN));
+        SpatialHashGrid grid = new SpatialHashGrid(1.0f);
+        assertThrows(IllegalArgumentException.class, () -> grid.nearest(new Vector3f(), 1.0f, new int[2],
+                new float[1]));
+    }
+}
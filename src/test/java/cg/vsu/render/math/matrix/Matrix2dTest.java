@@ -0,0 +1,209 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.vector.Vector2d;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Matrix2dTest {
+    private static final double[] VALUES_1 = {
+            3.0, 5.0,
+            -2.0, 1.0
+    };
+
+    private static final double[] VALUES_2 = {
+            2.0, 4.0,
+            -3.0, 5.0
+    };
+
+    private static final double[] SUM_VALUES = {
+            5.0, 9.0,
+            -5.0, 6.0
+    };
+
+    private static final double[] SUB_VALUES = {
+            1.0, 1.0,
+            1.0, -4.0
+    };
+
+    private static final double[] MUL_VALUES = {
+            -2.0, 14.0,
+            -19.0, -10.0
+    };
+
+    private static final double DET_1 = 13.0;
+    private static final double DET_2 = 22.0;
+
+    private Matrix2d m1 = new Matrix2d();
+    private Matrix2d m2 = new Matrix2d();
+
+    @Test
+    void unitMatrixDeterminantIsOne() {
+        m1.setIdentity();
+
+        assertEquals(1.0, m1.det());
+    }
+
+    @Test
+    void detReturnsExpectedValue() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+
+        assertEquals(DET_1, m1.det());
+        assertEquals(DET_2, m2.det());
+    }
+
+    @Test
+    void transposeDoesNotAffectDeterminant() {
+        m1.set(VALUES_1);
+        m2.set(m1.cpy().tra());
+
+        assertEquals(m1.det(), m2.det());
+    }
+
+    @Test
+    void transposedMultiplication() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+
+        Matrix2d r1 = m1.cpy().mul(m2).tra();
+        Matrix2d r2 = m2.cpy().tra().mul(m1.cpy().tra());
+
+        assertEquals(r1, r2);
+    }
+
+    @Test
+    void inverseMatrixProperties() {
+        m1.set(VALUES_1);
+        m2 = m1.cpy().inv();
+
+        Matrix2d r1 = m1.cpy().mul(m2);
+        Matrix2d r2 = m2.cpy().mul(m1);
+
+        assertTrue(r1.epsEquals(r2, MathUtils.EPSILON_D));
+        assertTrue(r1.epsEquals(Matrix2d.identity(), MathUtils.EPSILON_D));
+        assertTrue(r2.epsEquals(Matrix2d.identity(), MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void sumHasExpectedResults() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.add(m2);
+
+        assertEquals(new Matrix2d(SUM_VALUES), m1);
+    }
+
+    @Test
+    void additionIsCommutative() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+
+        var r1 = m2.cpy().add(m1);
+        var r2 = m1.cpy().add(m2);
+
+        assertEquals(r1, r2);
+    }
+
+    @Test
+    void subHasExpectedResults() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.sub(m2);
+
+        assertEquals(new Matrix2d(SUB_VALUES), m1);
+    }
+
+    @Test
+    void mulHasExpectedResults() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.mul(m2);
+
+        assertEquals(new Matrix2d(MUL_VALUES), m1);
+    }
+
+    @Test
+    void compMulAndDivGivesOriginalMatrix() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.comMul(m2).comDiv(m2);
+
+        assertEquals(new Matrix2d(VALUES_1), m1);
+    }
+
+    @Test
+    void identityDoesNotChangeVector() {
+        m1.setIdentity();
+        Vector2d v = new Vector2d(-21.256, 18.444);
+        var r = m1.mul(v);
+
+        assertEquals(v, r);
+    }
+
+    @Test
+    void testMatrixTimesVector() {
+        m1.set(new double[]{
+                0.0, 3.0,
+                2.0, -4.0,
+        });
+        Vector2d v = new Vector2d(3.0, -4.0);
+        m1.mul(v);
+
+        assertEquals(
+                new Vector2d(-8.0, 25.0),
+                v
+        );
+    }
+
+    @Test
+    void mulIntoDestinationKeepsOperands() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix2d dest = new Matrix2d();
+
+        assertEquals(dest, Matrix2d.mul(m1, m2, dest));
+        assertEquals(new Matrix2d(MUL_VALUES), dest);
+        assertEquals(new Matrix2d(VALUES_1), m1);
+        assertEquals(new Matrix2d(VALUES_2), m2);
+    }
+
+    @Test
+    void mulIntoOperandMatchesInPlaceMul() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix2d.mul(m1, m2, m2);
+
+        assertEquals(new Matrix2d(MUL_VALUES), m2);
+    }
+
+    @Test
+    void traAndInvIntoDestinationMatchInPlaceVersions() {
+        m1.set(VALUES_1);
+        Matrix2d tra = m1.tra(new Matrix2d());
+        Matrix2d inv = m1.inv(new Matrix2d());
+
+        assertEquals(new Matrix2d(VALUES_1), m1);
+        assertEquals(m1.cpy().tra(), tra);
+        assertEquals(m1.cpy().inv(), inv);
+    }
+
+    @Test
+    void arrayKernelsWorkAtOffsets() {
+        double[] shared = new double[Matrix2d.LEN * 4];
+        System.arraycopy(VALUES_1, 0, shared, Matrix2d.LEN, Matrix2d.LEN);
+        System.arraycopy(VALUES_2, 0, shared, Matrix2d.LEN * 2, Matrix2d.LEN);
+        Matrix2d.mul(shared, Matrix2d.LEN, shared, Matrix2d.LEN * 2, shared, Matrix2d.LEN * 3);
+        Matrix2d.tra(shared, Matrix2d.LEN, shared, 0);
+
+        double[] product = new double[Matrix2d.LEN];
+        System.arraycopy(shared, Matrix2d.LEN * 3, product, 0, Matrix2d.LEN);
+        double[] transposed = new double[Matrix2d.LEN];
+        System.arraycopy(shared, 0, transposed, 0, Matrix2d.LEN);
+        assertEquals(new Matrix2d(MUL_VALUES), new Matrix2d(product));
+        assertEquals(new Matrix2d(VALUES_1).tra(), new Matrix2d(transposed));
+        assertEquals(DET_1, Matrix2d.det(shared, Matrix2d.LEN));
+    }
+}
@@ -157,4 +157,20 @@ class Matrix2fTest {
                 v
         );
     }
+
+    @Test
+    void arrayKernelsMayWriteOverTheirInput() {
+        float[] shared = new float[Matrix2f.LEN * 2];
+        System.arraycopy(VALUES_1, 0, shared, 0, Matrix2f.LEN);
+        System.arraycopy(VALUES_2, 0, shared, Matrix2f.LEN, Matrix2f.LEN);
+        Matrix2f.mul(shared, 0, shared, Matrix2f.LEN, shared, Matrix2f.LEN);
+        Matrix2f.tra(shared, 0, shared, 0);
+
+        float[] product = new float[Matrix2f.LEN];
+        System.arraycopy(shared, Matrix2f.LEN, product, 0, Matrix2f.LEN);
+        float[] transposed = new float[Matrix2f.LEN];
+        System.arraycopy(shared, 0, transposed, 0, Matrix2f.LEN);
+        assertEquals(new Matrix2f(MUL_VALUES), new Matrix2f(product));
+        assertEquals(new Matrix2f(VALUES_1).tra(), new Matrix2f(transposed));
+    }
 }
@@ -0,0 +1,255 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.vector.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Matrix3dTest {
+    private static final double[] VALUES_1 = {
+            3.0, 5.0, 7.0,
+            -2.0, 1.0, 4.0,
+            -4.0, -2.0, 5.0
+    };
+
+    private static final double[] VALUES_2 = {
+            2.0, 4.0, 1.0,
+            -3.0, 5.0, 2.0,
+            -1.0, -2.0, -3.0
+    };
+
+    private static final double[] SUM_VALUES = {
+            5.0, 9.0, 8.0,
+            -5.0, 6.0, 6.0,
+            -5.0, -4.0, 2.0
+    };
+
+    private static final double[] SUB_VALUES = {
+            1.0, 1.0, 6.0,
+            1.0, -4.0, 2.0,
+            -3.0, 0.0, 8.0
+    };
+
+    private static final double[] MUL_VALUES = {
+            -6.0, 12.0, 35.0,
+            -27.0, -14.0, 9.0,
+            13.0, -1.0, -30.0
+    };
+
+    private static final double DET_1 = 65.0;
+    private static final double DET_2 = -55.0;
+
+    private Matrix3d m1 = new Matrix3d();
+    private Matrix3d m2 = new Matrix3d();
+
+    @Test
+    void unitMatrixDeterminantIsOne() {
+        m1.setIdentity();
+
+        assertEquals(1.0, m1.det());
+    }
+
+    @Test
+    void detReturnsExpectedValue() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+
+        assertEquals(DET_1, m1.det());
+        assertEquals(DET_2, m2.det());
+    }
+
+    @Test
+    void transposeDoesNotAffectDeterminant() {
+        m1.set(VALUES_1);
+        m2.set(m1.cpy().tra());
+
+        assertEquals(m1.det(), m2.det());
+    }
+
+    @Test
+    void transposedMultiplication() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+
+        Matrix3d r1 = m1.cpy().mul(m2).tra();
+        Matrix3d r2 = m2.cpy().tra().mul(m1.cpy().tra());
+
+        assertEquals(r1, r2);
+    }
+
+    @Test
+    void inverseMatrixProperties() {
+        m1.set(VALUES_1);
+        m2 = m1.cpy().inv();
+
+        Matrix3d r1 = m1.cpy().mul(m2);
+        Matrix3d r2 = m2.cpy().mul(m1);
+
+        assertTrue(r1.epsEquals(r2, MathUtils.EPSILON_D));
+        assertTrue(r1.epsEquals(Matrix3d.identity(), MathUtils.EPSILON_D));
+        assertTrue(r2.epsEquals(Matrix3d.identity(), MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void sumHasExpectedResults() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.add(m2);
+
+        assertEquals(new Matrix3d(SUM_VALUES), m1);
+    }
+
+    @Test
+    void additionIsCommutative() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+
+        var r1 = m2.cpy().add(m1);
+        var r2 = m1.cpy().add(m2);
+
+        assertEquals(r1, r2);
+    }
+
+    @Test
+    void subHasExpectedResults() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.sub(m2);
+
+        assertEquals(new Matrix3d(SUB_VALUES), m1);
+    }
+
+    @Test
+    void mulHasExpectedResults() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.mul(m2);
+
+        assertEquals(new Matrix3d(MUL_VALUES), m1);
+    }
+
+    @Test
+    void compMulAndDivGivesOriginalMatrix() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.comMul(m2).comDiv(m2);
+
+        assertEquals(new Matrix3d(VALUES_1), m1);
+    }
+
+    @Test
+    void identityDoesNotChangeVector() {
+        m1.setIdentity();
+        Vector3d v = new Vector3d(-21.256, 18.444, -134.523);
+        var r = m1.mul(v);
+
+        assertEquals(v, r);
+    }
+
+    @Test
+    void testMatrixTimesVector() {
+        m1.set(new double[]{
+                0.0, 3.0, 7.0,
+                2.0, -4.0, 0.0,
+                3.0, -2.0, 1.0,
+        });
+        Vector3d v = new Vector3d(3.0, -4.0, 5.0);
+        m1.mul(v);
+
+        assertEquals(
+                new Vector3d(7.0, 15.0, 26.f),
+                v
+        );
+    }
+
+    @Test
+    void transformPointsMatchesMatrixTimesVector() {
+        m1.set(VALUES_1);
+        float[] src = {1.0f, 2.0f, -3.0f, 0.5f};
+        float[] dst = new float[src.length];
+        m1.transformPoints(src, 0, dst, 0, 2, 2);
+
+        for (int i = 0; i < 2; i++) {
+            Vector3d v = m1.mul(new Vector3d(src[i * 2], src[i * 2 + 1], 1.0));
+            assertEquals((float) v.x, dst[i * 2]);
+            assertEquals((float) v.y, dst[i * 2 + 1]);
+        }
+    }
+
+    @Test
+    void transformDirectionsMatchesMatrixTimesVector() {
+        m1.set(VALUES_1);
+        float[] values = {1.0f, 2.0f, -3.0f, 0.5f};
+        m1.transformDirections(values, 2, values, 2, 1, 2);
+
+        Vector3d v = m1.mul(new Vector3d(-3.0, 0.5, 0.0));
+        assertEquals(1.0f, values[0]);
+        assertEquals((float) v.x, values[2]);
+        assertEquals((float) v.y, values[3]);
+    }
+
+    @Test
+    void mulIntoDestinationKeepsOperands() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix3d dest = new Matrix3d();
+
+        assertEquals(dest, Matrix3d.mul(m1, m2, dest));
+        assertEquals(new Matrix3d(MUL_VALUES), dest);
+        assertEquals(new Matrix3d(VALUES_1), m1);
+        assertEquals(new Matrix3d(VALUES_2), m2);
+    }
+
+    @Test
+    void mulIntoOperandMatchesInPlaceMul() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix3d.mul(m1, m2, m2);
+
+        assertEquals(new Matrix3d(MUL_VALUES), m2);
+    }
+
+    @Test
+    void traAndInvIntoDestinationMatchInPlaceVersions() {
+        m1.set(VALUES_1);
+        Matrix3d tra = m1.tra(new Matrix3d());
+        Matrix3d inv = m1.inv(new Matrix3d());
+
+        assertEquals(new Matrix3d(VALUES_1), m1);
+        assertEquals(m1.cpy().tra(), tra);
+        assertEquals(m1.cpy().inv(), inv);
+    }
+
+    @Test
+    void arrayKernelsWorkAtOffsets() {
+        double[] shared = new double[Matrix3d.LEN * 4];
+        System.arraycopy(VALUES_1, 0, shared, Matrix3d.LEN, Matrix3d.LEN);
+        System.arraycopy(VALUES_2, 0, shared, Matrix3d.LEN * 2, Matrix3d.LEN);
+        Matrix3d.mul(shared, Matrix3d.LEN, shared, Matrix3d.LEN * 2, shared, Matrix3d.LEN * 3);
+        Matrix3d.tra(shared, Matrix3d.LEN, shared, 0);
+
+        double[] product = new double[Matrix3d.LEN];
+        System.arraycopy(shared, Matrix3d.LEN * 3, product, 0, Matrix3d.LEN);
+        double[] transposed = new double[Matrix3d.LEN];
+        System.arraycopy(shared, 0, transposed, 0, Matrix3d.LEN);
+        assertEquals(new Matrix3d(MUL_VALUES), new Matrix3d(product));
+        assertEquals(new Matrix3d(VALUES_1).tra(), new Matrix3d(transposed));
+        assertEquals(DET_1, Matrix3d.det(shared, Matrix3d.LEN));
+    }
+
+    @Test
+    void transform2dBuildersMatchMatrixProducts() {
+        m1.set(VALUES_1);
+        double cos = Math.cos(0.6);
+        double sin = Math.sin(0.6);
+        Matrix3d t = new Matrix3d(new double[]{1.0, 0.0, 0.0, 0.0, 1.0, 0.0, 2.0, -3.0, 1.0});
+        Matrix3d r = new Matrix3d(new double[]{cos, sin, 0.0, -sin, cos, 0.0, 0.0, 0.0, 1.0});
+        Matrix3d s = new Matrix3d(new double[]{4.0, 0.0, 0.0, 0.0, 0.5, 0.0, 0.0, 0.0, 1.0});
+
+        assertTrue(m1.cpy().translate(2.0, -3.0).epsEquals(m1.cpy().mul(t), MathUtils.EPSILON_D));
+        assertTrue(m1.cpy().rotate(0.6).epsEquals(m1.cpy().mul(r), MathUtils.EPSILON_D));
+        assertTrue(m1.cpy().scale(4.0, 0.5).epsEquals(m1.cpy().mul(s), MathUtils.EPSILON_D));
+    }
+}
@@ -0,0 +1,37 @@
+package cg.vsu.render.math.matrix;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Matrix3fStackTest {
+    private final Matrix3fStack stack = new Matrix3fStack(1);
+
+    @Test
+    void popRestoresPushedMatrices() {
+        stack.translate(5.0f, 1.0f).push().rotate(0.4f).push().scale(2.0f, 3.0f);
+
+        assertEquals(2, stack.depth());
+        assertEquals(new Matrix3f().translate(5.0f, 1.0f).rotate(0.4f).scale(2.0f, 3.0f), stack.top());
+        assertEquals(new Matrix3f().translate(5.0f, 1.0f).rotate(0.4f), stack.pop().top());
+        assertEquals(new Matrix3f().translate(5.0f, 1.0f), stack.pop().top());
+    }
+
+    @Test
+    void mulTopMultipliesTopEntry() {
+        Matrix3f m = new Matrix3f().rotate(1.2f).translate(-1.0f, 2.0f);
+        stack.translate(1.0f, 1.0f).push().mulTop(m);
+
+        assertEquals(new Matrix3f().translate(1.0f, 1.0f).mul(m), stack.top());
+    }
+
+    @Test
+    void clearResetsStack() {
+        stack.push().push().translate(1.0f, 0.0f).clear();
+
+        assertEquals(0, stack.depth());
+        assertEquals(Matrix3f.identity(), stack.top());
+        assertThrows(IllegalStateException.class, stack::pop);
+    }
+}
@@ -5,6 +5,7 @@ import cg.vsu.render.math.vector.Vector3f;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class Matrix3fTest {
@@ -163,4 +164,97 @@ class Matrix3fTest {
                 v
         );
     }
+
+    @Test
+    void transformPointsMatchesMatrixTimesVector() {
+        m1.set(VALUES_1);
+        float[] src = {1.0f, 2.0f, -3.0f, 0.5f};
+        float[] dst = new float[src.length];
+        m1.transformPoints(src, 0, dst, 0, 2, 2);
+
+        for (int i = 0; i < 2; i++) {
+            Vector3f v = m1.mul(new Vector3f(src[i * 2], src[i * 2 + 1], 1.0f));
+            assertEquals(v.x, dst[i * 2]);
+            assertEquals(v.y, dst[i * 2 + 1]);
+        }
+    }
+
+    @Test
+    void transformDirectionsMatchesMatrixTimesVector() {
+        m1.set(VALUES_1);
+        float[] values = {1.0f, 2.0f, -3.0f, 0.5f};
+        m1.transformDirections(values, 2, values, 2, 1, 2);
+
+        Vector3f v = m1.mul(new Vector3f(-3.0f, 0.5f, 0.0f));
+        assertEquals(1.0f, values[0]);
+        assertEquals(v.x, values[2]);
+        assertEquals(v.y, values[3]);
+    }
+
+    @Test
+    void mulIntoLeftOperandAtAnOffset() {
+        float[] shared = new float[Matrix3f.LEN * 2];
+        System.arraycopy(VALUES_1, 0, shared, Matrix3f.LEN, Matrix3f.LEN);
+        System.arraycopy(VALUES_2, 0, shared, 0, Matrix3f.LEN);
+        Matrix3f.mul(shared, Matrix3f.LEN, shared, 0, shared, Matrix3f.LEN);
+
+        float[] product = new float[Matrix3f.LEN];
+        System.arraycopy(shared, Matrix3f.LEN, product, 0, Matrix3f.LEN);
+        assertEquals(new Matrix3f(MUL_VALUES), new Matrix3f(product));
+        assertEquals(DET_1 * new Matrix3f(VALUES_2).det(), Matrix3f.det(shared, Matrix3f.LEN), 1e-2f);
+    }
+
+    @Test
+    void invIntoDestinationOfDegenerateMatrixThrows() {
+        m1.set(new float[Matrix3f.LEN]);
+
+        assertThrows(ArithmeticException.class, () -> m1.inv(new Matrix3f()));
+    }
+
+    @Test
+    void transform2dBuildersMatchMatrixProducts() {
+        m1.set(VALUES_1);
+        float cos = (float) Math.cos(0.6f);
+        float sin = (float) Math.sin(0.6f);
+        Matrix3f t = new Matrix3f(new float[]{1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 2.0f, -3.0f, 1.0f});
+        Matrix3f r = new Matrix3f(new float[]{cos, sin, 0.0f, -sin, cos, 0.0f, 0.0f, 0.0f, 1.0f});
+        Matrix3f s = new Matrix3f(new float[]{4.0f, 0.0f, 0.0f, 0.0f, 0.5f, 0.0f, 0.0f, 0.0f, 1.0f});
+
+        assertTrue(m1.cpy().translate(2.0f, -3.0f).epsEquals(m1.cpy().mul(t), MathUtils.EPSILON));
+        assertTrue(m1.cpy().rotate(0.6f).epsEquals(m1.cpy().mul(r), MathUtils.EPSILON));
+        assertTrue(m1.cpy().scale(4.0f, 0.5f).epsEquals(m1.cpy().mul(s), MathUtils.EPSILON));
+    }
+
+    @Test
+    void invAndDetMatchesInvAndDet() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_1).inv();
+
+        assertEquals(DET_1, m1.invAndDet());
+        assertTrue(m1.epsEquals(m2, MathUtils.EPSILON));
+
+        m1.setZero();
+        assertEquals(0.0f, m1.invAndDet());
+        assertEquals(new Matrix3f().setZero(), m1);
+    }
+
+    @Test
+    void batchedInvAndDetSkipsDegenerateMatrices() {
+        float[] packed = new float[3 * Matrix3f.LEN];
+        System.arraycopy(VALUES_1, 0, packed, 0, Matrix3f.LEN);
+        System.arraycopy(VALUES_2, 0, packed, 2 * Matrix3f.LEN, Matrix3f.LEN);
+        float[] inverted = new float[packed.length];
+        float[] dets = new float[3];
+
+        assertEquals(1, Matrix3f.invAndDet(packed, 0, inverted, 0, dets, 0, 3));
+        assertEquals(DET_1, dets[0]);
+        assertEquals(0.0f, dets[1]);
+        assertEquals(DET_2, dets[2]);
+
+        m1.set(VALUES_2).inv();
+        for (int i = 0; i < Matrix3f.LEN; i++) {
+            assertEquals(0.0f, inverted[Matrix3f.LEN + i]);
+            assertEquals(m1.val[i], inverted[2 * Matrix3f.LEN + i], MathUtils.EPSILON);
+        }
+    }
 }
@@ -0,0 +1,636 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.Quaternionf;
+import cg.vsu.render.math.vector.Vector3d;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import cg.vsu.render.math.vector.Vector4d;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Matrix4dTest {
+    private static final double[] VALUES_1 = {
+            1.0, 2.0, 3.0, 4.0,
+            5.0, 3.0, 4.0, 3.0,
+            -2.0, 4.0, 6.0, -4.0,
+            -3.0, 2.0, -1.0, 3.0
+    };
+
+    private static final double DET_1 = 476.0;
+
+    private static final double[] VALUES_2 = {
+            3.0, 5.0, -1.0, 2.0,
+            4.0, 7.0, -4.0, 3.0,
+            -1.0, 2.0, 8.0, 6.0,
+            -3.0, 5.0, 4.0, 9.0
+    };
+
+    private static final double[] MULTIPLY_VALUES = {
+            24.0, 21.0, 21.0, 37.0,
+            38.0, 19.0, 13.0, 62.0,
+            -25.0, 48.0, 47.0, -12.0,
+            -13.0, 43.0, 26.0, 14.0
+    };
+
+    private static final double[] SUM_VALUES = {
+            4.0, 7.0, 2.0, 6.0,
+            9.0, 10.0, 0.0, 6.0,
+            -3.0, 6.0, 14.0, 2.0,
+            -6.0, 7.0, 3.0, 12.0
+    };
+
+    private static final double[] SUBTRACT_VALUES = {
+            -2.0, -3.0, 4.0, 2.0,
+            1.0, -4.0, 8.0, 0.0,
+            -1.0, 2.0, -2.0, -10.0,
+            0.0, -3.0, -5.0, -6.0
+    };
+
+    private static final double DET_2 = -212.0;
+
+    private static final double[] LINEAR_DEPENDENT_VALUES = {
+            1.0, 2.0, 3.0, 4.0,
+            -2.0, 4.0, 6.0, -4.0,
+            2.0, 4.0, 6.0, 8.0,
+            -3.0, 2.0, -1.0, 3.0
+    };
+
+    private static final double[] ZERO_VECTOR_VALUES = {
+            1.0, 0.0, 3.0, 4.0,
+            -2.0, 0.0, 6.0, -4.0,
+            2.0, 0.0, 6.0, 8.0,
+            -3.0, 0.0, -1.0, 3.0
+    };
+
+    private static final double[] AFFINE_VALUES = {
+            2.0, 1.0, 0.0, 0.0,
+            0.0, 3.0, 1.0, 0.0,
+            1.0, 0.0, 2.0, 0.0,
+            4.0, -2.0, 5.0, 1.0
+    };
+
+    private static final double[] RIGID_VALUES = {
+            0.0, 1.0, 0.0, 0.0,
+            -1.0, 0.0, 0.0, 0.0,
+            0.0, 0.0, 1.0, 0.0,
+            3.0, -2.0, 7.0, 1.0
+    };
+
+    private Matrix4d m1 = new Matrix4d();
+    private Matrix4d m2 = new Matrix4d();
+
+    @Test
+    void zeroMatrixHasZeroDeterminant() {
+        m1.setZero();
+
+        assertEquals(0.0, m1.det());
+    }
+
+    @Test
+    void identityMatrixHasUnitDeterminant() {
+        m1.setIdentity();
+
+        assertEquals(1.0, m1.det());
+    }
+
+    @Test
+    void transposeDoesNotChangeDeterminant() {
+        m1.set(VALUES_1);
+        m2.set(m1.cpy().tra());
+
+        assertEquals(m1.det(), m2.det());
+    }
+
+    @Test
+    void linearDependentVectorsGiveZeroDeterminant() {
+        m1.set(LINEAR_DEPENDENT_VALUES);
+
+        assertEquals(0.0, m1.det());
+    }
+
+    @Test
+    void zeroVectorGivesZeroDeterminant() {
+        m1.set(ZERO_VECTOR_VALUES);
+
+        assertEquals(0.0, m1.det());
+    }
+
+    @Test
+    void equalMatricesAreEqual() {
+        m1 = new Matrix4d(VALUES_1);
+        m2 = new Matrix4d(VALUES_1);
+
+        assertEquals(m1, m2);
+        assertEquals(m2, m1);
+    }
+
+    @Test
+    void determinantHasExpectedValue() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+
+        assertEquals(DET_1, m1.det());
+        assertEquals(DET_2, m2.det());
+    }
+
+    @Test
+    void doublyTransposedMatrixIsEqualToTheOriginal() {
+        m1.set(VALUES_1);
+        m2.set(m1.cpy().tra().tra());
+
+        assertEquals(m1, m2);
+    }
+
+    @Test
+    void mulHasExpectedResults() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.mul(m2);
+
+        assertEquals(m1, new Matrix4d(MULTIPLY_VALUES));
+    }
+
+    @Test
+    void multiplicationIsAssociative() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix4d m3 = new Matrix4d(SUM_VALUES);
+
+        Matrix4d r1 = m1.cpy().mul(m2).mul(m3);
+        Matrix4d r2 = m1.cpy().mul(m2.cpy().mul(m3));
+
+        assertEquals(r1, r2);
+    }
+
+    @Test
+    void multiplicationTransposed() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+
+        Matrix4d r1 = m1.cpy().mul(m2).tra();
+        Matrix4d r2 = m2.cpy().tra().mul(m1.cpy().tra());
+
+        assertEquals(r1, r2);
+    }
+
+    @Test
+    void sumHasExpectedResults() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.add(m2);
+
+        assertEquals(m1, new Matrix4d(SUM_VALUES));
+    }
+
+    @Test
+    void subHasExpectedResults() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        m1.sub(m2);
+
+        assertEquals(m1, new Matrix4d(SUBTRACT_VALUES));
+    }
+
+    @Test
+    void componentMultiplicationIsCommutative() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix4d r1 = m1.cpy().comMul(m2);
+        Matrix4d r2 = m2.cpy().comMul(m1);
+
+        assertEquals(r1, r2);
+    }
+
+    @Test
+    void componentMultiplicationIsAssociative() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix4d m3 = new Matrix4d(SUM_VALUES);
+
+        Matrix4d r1 = m1.cpy().comMul(m2).comMul(m3);
+        Matrix4d r2 = m1.cpy().comMul(m2.comMul(m3));
+
+        assertEquals(r1, r2);
+    }
+
+    @Test
+    void componentMultiplicationIdentity() {
+        m1.set(VALUES_1);
+        m2.fill(1.0);
+        Matrix4d r = m1.cpy().comMul(m2);
+
+        assertEquals(r, m1);
+    }
+
+    @Test
+    void componentMultiplicationIsDistributive() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix4d m3 = new Matrix4d(SUM_VALUES);
+
+        Matrix4d r1 = m1.cpy().comMul(m2.cpy().add(m3));
+        Matrix4d r2 = m1.cpy().comMul(m2).add(m1.cpy().comMul(m3));
+
+        assertEquals(r1, r2);
+    }
+
+    @Test
+    void componentMulAndDivAreInverse() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix4d r = m1.cpy().comDiv(m2).comMul(m2);
+
+        assertEquals(r, m1);
+    }
+
+    @Test
+    void mulAndDivByScalarDoesNotChangeTheMatrix() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_1);
+        m1.mul(22.435).div(22.435);
+
+        assertEquals(m1, m2);
+    }
+
+    @Test
+    void identityReturnsIdentity() {
+        m1 = Matrix4d.identity();
+        m2 = new Matrix4d();
+
+        assertEquals(m1, m2);
+    }
+
+    @Test
+    void zeroReturnsZero() {
+        m1 = Matrix4d.zero();
+        m2 = new Matrix4d().setZero();
+
+        assertEquals(m1, m2);
+    }
+
+    @Test
+    void identityMatrixProperties() {
+        m1.set(VALUES_1);
+        m2.set(m1.cpy()).inv();
+
+        Matrix4d r1 = m1.cpy().mul(m2);
+        Matrix4d r2 = m2.cpy().mul(m1);
+
+        assertTrue(r1.epsEquals(r2, MathUtils.EPSILON_D));
+        assertTrue(r1.epsEquals(Matrix4d.identity(), MathUtils.EPSILON_D));
+        assertTrue(r2.epsEquals(Matrix4d.identity(), MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void identityFromUnitVectors() {
+        m1 = new Matrix4d(Vector4d.unitX(), Vector4d.unitY(), Vector4d.unitZ(), Vector4d.unitW());
+
+        assertEquals(m1, Matrix4d.identity());
+    }
+
+    @Test
+    void identityDoesNotChangeVector() {
+        m1.setIdentity();
+        Vector4d v1 = new Vector4d(55.0, -29.43, 17.21, -192.526);
+        Vector4d v2 = m1.mul(v1.cpy());
+
+        assertEquals(v1, v2);
+    }
+
+    @Test
+    void testMatrixTimesVector() {
+        m1.set(new double[]{
+                0.0, 3.0, 7.0, -2.0,
+                2.0, -4.0, 0.0, 8.0,
+                3.0, -2.0, 1.0, 3.0,
+                9.0, 4.0, 2.0, 1.0
+        });
+        Vector4d v = new Vector4d(3.0, -4.0, 5.0, 7.0);
+        m1.mul(v);
+
+        assertEquals(
+                new Vector4d(70.0, 43.0, 40.f, -16.0),
+                v
+        );
+    }
+
+    @Test
+    void additionIsCommutative() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+
+        var r1 = m2.cpy().add(m1);
+        var r2 = m1.cpy().add(m2);
+
+        assertEquals(r1, r2);
+    }
+
+    @Test
+    void transformPointsMatchesMatrixTimesVector() {
+        m1.set(VALUES_1);
+        float[] src = {
+                1.0f, 2.0f, 3.0f, -7.0f,
+                -4.0f, 0.5f, 6.0f, -7.0f
+        };
+        float[] dst = new float[src.length];
+        m1.transformPoints(src, 0, dst, 0, 2, 4);
+
+        for (int i = 0; i < 2; i++) {
+            Vector4d v = m1.mul(new Vector4d(src[i * 4], src[i * 4 + 1], src[i * 4 + 2], 1.0));
+            assertEquals((float) v.x, dst[i * 4]);
+            assertEquals((float) v.y, dst[i * 4 + 1]);
+            assertEquals((float) v.z, dst[i * 4 + 2]);
+            assertEquals(0.0f, dst[i * 4 + 3]);
+        }
+    }
+
+    @Test
+    void transformDirectionsIgnoresTranslation() {
+        m1.set(VALUES_1);
+        float[] values = {0.0f, 1.0f, 2.0f, 3.0f};
+        m1.transformDirections(values, 1, values, 1, 1, 3);
+
+        Vector4d v = m1.mul(new Vector4d(1.0, 2.0, 3.0, 0.0));
+        assertEquals(0.0f, values[0]);
+        assertEquals((float) v.x, values[1]);
+        assertEquals((float) v.y, values[2]);
+        assertEquals((float) v.z, values[3]);
+    }
+
+    @Test
+    void transformArrayMatchesPackedTransform() {
+        m1.set(VALUES_1);
+        Vector3fArray points = new Vector3fArray(3)
+                .set(0, 1.0f, 2.0f, 3.0f)
+                .set(1, -4.0f, 0.5f, 6.0f)
+                .set(2, 0.0f, 0.0f, 0.0f);
+        Vector3fArray directions = points.cpy();
+        float[] packed = {1.0f, 2.0f, 3.0f, -4.0f, 0.5f, 6.0f, 0.0f, 0.0f, 0.0f};
+        float[] packedDirections = packed.clone();
+        m1.transformPoints(points, points);
+        m1.transformDirections(directions, directions);
+        m1.transformPoints(packed, 0, packed, 0, 3, 3);
+        m1.transformDirections(packedDirections, 0, packedDirections, 0, 3, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(packed[i * 3], points.x[i]);
+            assertEquals(packed[i * 3 + 1], points.y[i]);
+            assertEquals(packed[i * 3 + 2], points.z[i]);
+            assertEquals(packedDirections[i * 3], directions.x[i]);
+            assertEquals(packedDirections[i * 3 + 1], directions.y[i]);
+            assertEquals(packedDirections[i * 3 + 2], directions.z[i]);
+        }
+    }
+
+    @Test
+    void mulIntoDestinationKeepsOperands() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix4d dest = new Matrix4d();
+
+        assertEquals(dest, Matrix4d.mul(m1, m2, dest));
+        assertEquals(new Matrix4d(MULTIPLY_VALUES), dest);
+        assertEquals(new Matrix4d(VALUES_1), m1);
+        assertEquals(new Matrix4d(VALUES_2), m2);
+    }
+
+    @Test
+    void mulIntoOperandMatchesInPlaceMul() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_2);
+        Matrix4d.mul(m1, m2, m2);
+
+        assertEquals(new Matrix4d(MULTIPLY_VALUES), m2);
+    }
+
+    @Test
+    void traAndInvIntoDestinationMatchInPlaceVersions() {
+        m1.set(VALUES_1);
+        Matrix4d tra = m1.tra(new Matrix4d());
+        Matrix4d inv = m1.inv(new Matrix4d());
+
+        assertEquals(new Matrix4d(VALUES_1), m1);
+        assertEquals(m1.cpy().tra(), tra);
+        assertEquals(m1.cpy().inv(), inv);
+    }
+
+    @Test
+    void arrayKernelsWorkAtOffsets() {
+        double[] shared = new double[Matrix4d.LEN * 4];
+        System.arraycopy(VALUES_1, 0, shared, Matrix4d.LEN, Matrix4d.LEN);
+        System.arraycopy(VALUES_2, 0, shared, Matrix4d.LEN * 2, Matrix4d.LEN);
+        Matrix4d.mul(shared, Matrix4d.LEN, shared, Matrix4d.LEN * 2, shared, Matrix4d.LEN * 3);
+        Matrix4d.tra(shared, Matrix4d.LEN, shared, 0);
+
+        double[] product = new double[Matrix4d.LEN];
+        System.arraycopy(shared, Matrix4d.LEN * 3, product, 0, Matrix4d.LEN);
+        double[] transposed = new double[Matrix4d.LEN];
+        System.arraycopy(shared, 0, transposed, 0, Matrix4d.LEN);
+        assertEquals(new Matrix4d(MULTIPLY_VALUES), new Matrix4d(product));
+        assertEquals(new Matrix4d(VALUES_1).tra(), new Matrix4d(transposed));
+        assertEquals(DET_1, Matrix4d.det(shared, Matrix4d.LEN));
+    }
+
+    @Test
+    void affineAndRigidMatricesAreDetected() {
+        assertTrue(new Matrix4d(AFFINE_VALUES).isAffine());
+        assertFalse(new Matrix4d(AFFINE_VALUES).isRigid());
+        assertTrue(new Matrix4d(RIGID_VALUES).isRigid());
+        assertFalse(new Matrix4d(VALUES_1).isAffine());
+    }
+
+    @Test
+    void mulAffineMatchesMul() {
+        m1.set(AFFINE_VALUES);
+        m2.set(RIGID_VALUES);
+
+        Matrix4d expected = m1.cpy().mul(m2);
+        assertTrue(expected.epsEquals(m1.cpy().mulAffine(m2), MathUtils.EPSILON_D));
+        assertTrue(expected.epsEquals(Matrix4d.mulAffine(m1, m2, m2), MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void invAffineMatchesInv() {
+        m1.set(AFFINE_VALUES);
+        Matrix4d inv = m1.invAffine(new Matrix4d());
+
+        assertTrue(m1.cpy().inv().epsEquals(inv, MathUtils.EPSILON_D));
+        assertTrue(m1.mulAffine(inv).epsEquals(Matrix4d.identity(), MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void invRigidMatchesInv() {
+        m1.set(RIGID_VALUES);
+        Matrix4d inv = m1.invRigid(new Matrix4d());
+
+        assertTrue(m1.cpy().inv().epsEquals(inv, MathUtils.EPSILON_D));
+        assertEquals(Matrix4d.identity(), m1.invRigid().mulAffine(new Matrix4d(RIGID_VALUES)));
+    }
+
+    @Test
+    void specializedOperationsCheckPreconditionsWithAssertions() {
+        m1.set(VALUES_1);
+        m2.set(AFFINE_VALUES);
+
+        assertThrows(AssertionError.class, () -> m1.mulAffine(m2));
+        assertThrows(AssertionError.class, () -> m1.invAffine());
+        assertThrows(AssertionError.class, () -> m2.invRigid());
+    }
+
+    @Test
+    void propertiesFollowOperations() {
+        assertEquals(Matrix4d.PROPERTY_IDENTITY | Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE,
+                m1.properties());
+        m1.setTranslation(1.0, 2.0, 3.0);
+        assertEquals(Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE, m1.properties());
+        m1.mul(new Matrix4d(AFFINE_VALUES).determineProperties());
+        assertEquals(Matrix4d.PROPERTY_AFFINE, m1.properties());
+        m1.mul(new Matrix4d(VALUES_1));
+        assertEquals(0, m1.properties());
+        m1.setIdentity().val[Matrix4d.M14] = 5.0;
+        assertEquals(0, m1.invalidateProperties().properties());
+        assertEquals(Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE, m1.determineProperties().properties());
+    }
+
+    @Test
+    void shortcutsMatchGeneralPath() {
+        Matrix4d[] matrices = {
+                new Matrix4d(),
+                new Matrix4d().setTranslation(1.5, -2.0, 4.0),
+                new Matrix4d(AFFINE_VALUES).determineProperties(),
+                new Matrix4d(RIGID_VALUES).determineProperties(),
+                new Matrix4d(VALUES_1)
+        };
+        for (Matrix4d a : matrices) {
+            Matrix4d general = new Matrix4d(a.val);
+            assertEquals(general.det(), a.det());
+            assertTrue(general.cpy().inv().epsEquals(a.cpy().inv(), MathUtils.EPSILON_D));
+            assertEquals(general.mul(new Vector4d(1.0, -2.0, 3.0, 1.0)), a.mul(new Vector4d(1.0, -2.0, 3.0, 1.0)));
+            for (Matrix4d b : matrices) {
+                Matrix4d expected = new Matrix4d(a.val).mul(new Matrix4d(b.val));
+                assertTrue(expected.epsEquals(a.cpy().mul(b), MathUtils.EPSILON_D));
+            }
+        }
+    }
+
+    @Test
+    void translationMovesPoints() {
+        m1.setTranslation(1.0, -2.0, 3.0);
+
+        assertEquals(new Vector4d(2.0, 0.0, 6.0, 1.0), m1.mul(new Vector4d(1.0, 2.0, 3.0, 1.0)));
+        assertEquals(new Vector4d(1.0, 2.0, 3.0, 0.0), m1.mul(new Vector4d(1.0, 2.0, 3.0, 0.0)));
+    }
+
+    @Test
+    void axisRotationsMatchGeneralRotation() {
+        double angle = 0.7;
+
+        assertTrue(m1.setRotationX(angle).epsEquals(m2.setRotation(Vector3d.unitX(), angle), MathUtils.EPSILON_D));
+        assertTrue(m1.setRotationY(angle).epsEquals(m2.setRotation(Vector3d.unitY(), angle), MathUtils.EPSILON_D));
+        assertTrue(m1.setRotationZ(angle).epsEquals(m2.setRotation(Vector3d.unitZ(), angle), MathUtils.EPSILON_D));
+        assertEquals(new Vector4d(0.0, 1.0, 0.0, 0.0),
+                m1.setRotationZ(MathUtils.HALF_PI).mul(new Vector4d(1.0, 0.0, 0.0, 0.0)));
+    }
+
+    @Test
+    void rotationMatchesQuaternion() {
+        Vector3d axis = new Vector3d(1.0, 2.0, -2.0).nor();
+        m1.setRotation(axis, 1.2);
+        m2.set(new Quaternionf(axis.get(new Vector3f()), 1.2f));
+
+        assertTrue(m1.epsEquals(m2, MathUtils.EPSILON));
+        assertTrue(m1.isRigid());
+    }
+
+    @Test
+    void postMultiplyVariantsMatchMul() {
+        Vector3d axis = new Vector3d(1.0, 2.0, -2.0).nor();
+        Matrix4d[] matrices = {new Matrix4d(), new Matrix4d(AFFINE_VALUES), new Matrix4d(VALUES_1)};
+        for (Matrix4d m : matrices) {
+            assertTrue(m.cpy().mul(new Matrix4d().setTranslation(1.0, -2.0, 3.0))
+                    .epsEquals(m.cpy().translate(1.0, -2.0, 3.0), MathUtils.EPSILON_D));
+            assertTrue(m.cpy().mul(new Matrix4d().setRotation(axis, 0.4))
+                    .epsEquals(m.cpy().rotate(axis, 0.4), MathUtils.EPSILON_D));
+            assertTrue(m.cpy().mul(new Matrix4d().setScale(2.0, -1.0, 0.5))
+                    .epsEquals(m.cpy().scale(2.0, -1.0, 0.5), MathUtils.EPSILON_D));
+        }
+    }
+
+    @Test
+    void chainedBuildersKeepProperties() {
+        m1.setTranslation(1.0, 2.0, 3.0).translate(1.0, 1.0, 1.0);
+        assertEquals(Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE, m1.properties());
+        assertEquals(new Matrix4d().setTranslation(2.0, 3.0, 4.0), m1);
+
+        m1.rotate(Vector3d.unitY(), 0.3).scale(2.0);
+        assertEquals(Matrix4d.PROPERTY_AFFINE, m1.properties());
+    }
+
+    @Test
+    void perspectiveMapsNearAndFarPlanes() {
+        m1.setPerspective(MathUtils.HALF_PI, 2.0, 1.0, 10.0);
+
+        Vector4d near = m1.mul(new Vector4d(2.0, 1.0, -1.0, 1.0));
+        Vector4d far = m1.mul(new Vector4d(0.0, 0.0, -10.0, 1.0));
+        assertTrue(MathUtils.epsEquals(1.0, near.x / near.w));
+        assertTrue(MathUtils.epsEquals(1.0, near.y / near.w));
+        assertTrue(MathUtils.epsEquals(-1.0, near.z / near.w));
+        assertTrue(MathUtils.epsEquals(1.0, far.z / far.w));
+    }
+
+    @Test
+    void orthoMapsBoxToUnitCube() {
+        m1.setOrtho(-2.0, 6.0, -1.0, 3.0, 1.0, 11.0);
+
+        assertEquals(new Vector4d(-1.0, -1.0, -1.0, 1.0), m1.mul(new Vector4d(-2.0, -1.0, -1.0, 1.0)));
+        assertEquals(new Vector4d(1.0, 1.0, 1.0, 1.0), m1.mul(new Vector4d(6.0, 3.0, -11.0, 1.0)));
+    }
+
+    @Test
+    void lookAtMovesTargetOntoNegativeZ() {
+        Vector3d eye = new Vector3d(3.0, 4.0, 5.0);
+        m1.setLookAt(eye, new Vector3d(3.0, 4.0, 0.0), Vector3d.unitY());
+
+        assertEquals(new Vector4d(0.0, 0.0, 0.0, 1.0), m1.mul(new Vector4d(3.0, 4.0, 5.0, 1.0)));
+        assertEquals(new Vector4d(0.0, 0.0, -5.0, 1.0), m1.mul(new Vector4d(3.0, 4.0, 0.0, 1.0)));
+        assertEquals(new Vector4d(1.0, 0.0, -5.0, 1.0), m1.mul(new Vector4d(4.0, 4.0, 0.0, 1.0)));
+        assertTrue(m1.isRigid());
+    }
+
+    @Test
+    void floatConversionKeepsValuesAndProperties() {
+        Matrix4f f = new Matrix4f().setTranslation(1.0f, 2.0f, 3.0f);
+        m1.set(f);
+
+        assertEquals(Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE, m1.properties());
+        assertEquals(f, m1.get(new Matrix4f()));
+        assertEquals(f.properties(), m1.get(new Matrix4f()).properties());
+    }
+
+    @Test
+    void transformKeepsPrecisionFarFromOrigin() {
+        // A camera 100 km away looking at a vertex 1 cm from it: the float matrix loses the centimeter.
+        m1.setTranslation(-100000.0, 0.0, 0.0);
+        float[] points = {100000.01f, 0.0f, 0.0f};
+        float[] local = {0.0f, 0.0f, 0.0f};
+        m1.transformPoints(points, 0, local, 0, 1, 3);
+
+        assertEquals(100000.01f - 100000.0, local[0], 1E-6);
+    }
+
+    @Test
+    void relativeFloatMatrixKeepsPrecisionNearCamera() {
+        m1.setRotationZ(0.5).translate(0.0, 1.0, 0.0);
+        m1.val[Matrix4d.M14] += 50000000.0;
+        Matrix4f f = m1.getRelative(50000000.0, 0.0, 0.0, new Matrix4f());
+
+        Matrix4d expected = new Matrix4d().setRotationZ(0.5).translate(0.0, 1.0, 0.0);
+        assertEquals(expected.get(new Matrix4f()), f);
+        assertEquals(Matrix4f.PROPERTY_AFFINE, f.properties());
+    }
+}
@@ -0,0 +1,108 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Matrix4fArrayTest {
+    private static final int SIZE = 5;
+
+    private static Matrix4f matrix(int i) {
+        return new Matrix4f().setRotation(1.0f, i, 2.0f, 0.3f * i).translate(i, -1.0f, 2.0f * i).scale(1.0f + i);
+    }
+
+    private static Matrix4fArray filledArray() {
+        Matrix4fArray a = new Matrix4fArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            a.set(i, matrix(i));
+        }
+        return a;
+    }
+
+    @Test
+    void newArrayHoldsIdentityMatrices() {
+        Matrix4fArray a = new Matrix4fArray(SIZE);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(Matrix4f.identity(), a.get(i, new Matrix4f()));
+        }
+    }
+
+    @Test
+    void getReturnsStoredMatrix() {
+        Matrix4fArray a = filledArray();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(matrix(i), a.get(i, new Matrix4f()));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> a.get(SIZE, new Matrix4f()));
+    }
+
+    @Test
+    void batchedOperationsMatchMatrix4f() {
+        Matrix4f m = matrix(7);
+        Matrix4fArray other = filledArray().tra();
+        Matrix4fArray mul = filledArray().mul(other);
+        Matrix4fArray mulRight = filledArray().mul(m);
+        Matrix4fArray mulLeft = filledArray().mulLeft(m);
+        Matrix4fArray inv = filledArray().inv();
+        Matrix4fArray tra = filledArray().tra();
+
+        for (int i = 0; i < SIZE; i++) {
+            Matrix4f r = new Matrix4f();
+            assertEquals(matrix(i).mul(matrix(i).tra()), mul.get(i, r));
+            assertEquals(matrix(i).mul(m), mulRight.get(i, r));
+            assertEquals(m.cpy().mul(matrix(i)), mulLeft.get(i, r));
+            assertEquals(matrix(i).tra(), tra.get(i, r));
+            assertTrue(matrix(i).inv().epsEquals(inv.get(i, r), MathUtils.EPSILON));
+        }
+    }
+
+    @Test
+    void mulByItselfSquaresEveryMatrix() {
+        Matrix4fArray a = filledArray();
+        a.mul(a);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(matrix(i).mul(matrix(i)), a.get(i, new Matrix4f()));
+        }
+    }
+
+    @Test
+    void invOfDegenerateMatrixThrows() {
+        Matrix4fArray a = filledArray();
+        a.set(2, new Matrix4f().setZero());
+
+        assertThrows(ArithmeticException.class, a::inv);
+        assertEquals(new Matrix4f().setZero(), a.get(2, new Matrix4f()));
+        assertEquals(matrix(3), a.get(3, new Matrix4f()));
+    }
+
+    @Test
+    void copyIsIndependent() {
+        Matrix4fArray a = filledArray();
+        Matrix4fArray b = a.cpy().setIdentity();
+
+        assertEquals(matrix(1), a.get(1, new Matrix4f()));
+        assertEquals(Matrix4f.identity(), b.get(1, new Matrix4f()));
+    }
+
+    @Test
+    void invAndDetContinuesPastDegenerateMatrix() {
+        Matrix4fArray a = filledArray();
+        a.set(2, new Matrix4f().setZero());
+        float[] dets = new float[SIZE];
+
+        assertEquals(1, a.invAndDet(dets));
+        assertEquals(0.0f, dets[2]);
+        assertEquals(new Matrix4f().setZero(), a.get(2, new Matrix4f()));
+        for (int i = 0; i < SIZE; i++) {
+            if (i == 2) continue;
+            assertEquals(matrix(i).det(), dets[i], Math.abs(dets[i]) * MathUtils.EPSILON);
+            assertTrue(a.get(i, new Matrix4f()).epsEquals(matrix(i).inv(), MathUtils.EPSILON));
+        }
+    }
+}
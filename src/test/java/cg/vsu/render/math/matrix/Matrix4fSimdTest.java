@@ -0,0 +1,129 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.Simd;
+import cg.vsu.render.math.vector.Vector3fArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class Matrix4fSimdTest {
+    private static final float[] VALUES_1 = {
+            1.0f, 2.0f, 3.0f, 4.0f,
+            5.0f, 3.0f, 4.0f, 3.0f,
+            -2.0f, 4.0f, 6.0f, -4.0f,
+            -3.0f, 2.0f, -1.0f, 3.0f
+    };
+
+    private static final float[] VALUES_2 = {
+            3.0f, 5.0f, -1.0f, 2.0f,
+            4.0f, 7.0f, -4.0f, 3.0f,
+            -1.0f, 2.0f, 8.0f, 6.0f,
+            -3.0f, 5.0f, 4.0f, 9.0f
+    };
+
+    private static final float[] MULTIPLY_VALUES = {
+            24.0f, 21.0f, 21.0f, 37.0f,
+            38.0f, 19.0f, 13.0f, 62.0f,
+            -25.0f, 48.0f, 47.0f, -12.0f,
+            -13.0f, 43.0f, 26.0f, 14.0f
+    };
+
+    private final Random random = new Random(42);
+
+    private Matrix4f randomMatrix() {
+        Matrix4f m = new Matrix4f();
+        for (int i = 0; i < Matrix4f.LEN; i++) m.val[i] = random.nextFloat() * 4.0f - 2.0f;
+        return m.invalidateProperties();
+    }
+
+    @Test
+    void mulHasExpectedResults() {
+        assumeTrue(Simd.AVAILABLE);
+        float[] out = new float[Matrix4f.LEN];
+        Matrix4fSimd.mul(VALUES_1, 0, VALUES_2, 0, out, 0);
+
+        assertEquals(new Matrix4f(MULTIPLY_VALUES), new Matrix4f(out));
+    }
+
+    @Test
+    void mulMatchesNaiveProduct() {
+        assumeTrue(Simd.AVAILABLE);
+        for (int n = 0; n < 100; n++) {
+            Matrix4f a = randomMatrix();
+            Matrix4f b = randomMatrix();
+            float[] out = new float[Matrix4f.LEN];
+            Matrix4fSimd.mul(a.val, 0, b.val, 0, out, 0);
+
+            for (int row = 0; row < 4; row++) {
+                for (int col = 0; col < 4; col++) {
+                    float expected = 0.0f;
+                    for (int k = 0; k < 4; k++) expected += a.val[k * 4 + row] * b.val[col * 4 + k];
+                    assertTrue(MathUtils.epsEquals(expected, out[col * 4 + row], 1E-5f));
+                }
+            }
+        }
+    }
+
+    @Test
+    void mulCanWriteToEitherOperand() {
+        assumeTrue(Simd.AVAILABLE);
+        float[] a = VALUES_1.clone();
+        float[] b = VALUES_2.clone();
+        Matrix4fSimd.mul(a, 0, VALUES_2, 0, a, 0);
+        Matrix4fSimd.mul(VALUES_1, 0, b, 0, b, 0);
+
+        assertArrayEquals(MULTIPLY_VALUES, a);
+        assertArrayEquals(MULTIPLY_VALUES, b);
+    }
+
+    @Test
+    void invReturnsDeterminantAndInverse() {
+        assumeTrue(Simd.AVAILABLE);
+        for (int n = 0; n < 100; n++) {
+            Matrix4f m = randomMatrix();
+            Matrix4f inv = new Matrix4f();
+            float det = Matrix4fSimd.inv(m.val, 0, inv.val, 0);
+            inv.invalidateProperties();
+
+            assertTrue(MathUtils.epsEquals(m.det(), det, 1E-4f));
+            assertTrue(m.cpy().mul(inv).epsEquals(Matrix4f.identity(), 1E-3f));
+        }
+    }
+
+    @Test
+    void invOfSingularMatrixLeavesOutputUnchanged() {
+        assumeTrue(Simd.AVAILABLE);
+        float[] out = new float[Matrix4f.LEN];
+
+        assertEquals(0.0f, Matrix4fSimd.inv(new float[Matrix4f.LEN], 0, out, 0));
+        assertArrayEquals(new float[Matrix4f.LEN], out);
+    }
+
+    @Test
+    void transformMatchesPackedTransform() {
+        assumeTrue(Simd.AVAILABLE);
+        Matrix4f m = randomMatrix();
+        int count = 37;
+        Vector3fArray src = new Vector3fArray(count);
+        float[] packed = new float[count * 3];
+        for (int i = 0; i < count; i++) {
+            src.set(i, random.nextFloat(), random.nextFloat(), random.nextFloat());
+            packed[i * 3] = src.x[i];
+            packed[i * 3 + 1] = src.y[i];
+            packed[i * 3 + 2] = src.z[i];
+        }
+        Vector3fArray dst = new Vector3fArray(count);
+        Matrix4fSimd.transform(m.val, 1.0f, src.x, src.y, src.z, dst.x, dst.y, dst.z, count);
+        m.transformPoints(packed, 0, packed, 0, count, 3);
+
+        for (int i = 0; i < count; i++) {
+            assertTrue(MathUtils.epsEquals(packed[i * 3], dst.x[i]));
+            assertTrue(MathUtils.epsEquals(packed[i * 3 + 1], dst.y[i]));
+            assertTrue(MathUtils.epsEquals(packed[i * 3 + 2], dst.z[i]));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cg.vsu.render.math.matrix;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Matrix4fStackTest {
+    private final Matrix4fStack stack = new Matrix4fStack(1);
+
+    @Test
+    void newStackHoldsIdentity() {
+        assertEquals(Matrix4f.identity(), stack.top());
+        assertEquals(0, stack.depth());
+    }
+
+    @Test
+    void popRestoresPushedMatrices() {
+        Matrix4f parent = new Matrix4f().setRotation(0.0f, 1.0f, 0.0f, 0.5f);
+        stack.set(parent).push().translate(1.0f, 2.0f, 3.0f).push().scale(2.0f).push().rotate(1.0f, 0.0f, 0.0f, 0.3f);
+
+        assertEquals(3, stack.depth());
+        assertEquals(parent.cpy().translate(1.0f, 2.0f, 3.0f).scale(2.0f).rotate(1.0f, 0.0f, 0.0f, 0.3f), stack.top());
+        assertEquals(parent.cpy().translate(1.0f, 2.0f, 3.0f).scale(2.0f), stack.pop().top());
+        assertEquals(parent.cpy().translate(1.0f, 2.0f, 3.0f), stack.pop().top());
+        assertEquals(parent, stack.pop().top());
+        assertEquals(0, stack.depth());
+    }
+
+    @Test
+    void popRestoresProperties() {
+        stack.push().mulTop(new Matrix4f().setPerspective(1.0f, 1.5f, 0.1f, 10.0f));
+        stack.pop();
+
+        assertEquals(Matrix4f.PROPERTY_IDENTITY | Matrix4f.PROPERTY_TRANSLATION | Matrix4f.PROPERTY_AFFINE,
+                stack.top().properties());
+    }
+
+    @Test
+    void topIsTheSameObject() {
+        Matrix4f top = stack.top();
+        stack.push().push().pop().clear();
+
+        assertSame(top, stack.top());
+    }
+
+    @Test
+    void popOfEmptyStackThrows() {
+        assertThrows(IllegalStateException.class, stack::pop);
+    }
+}
@@ -1,10 +1,15 @@
 package cg.vsu.render.math.matrix;
 
 import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.Quaternionf;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
 import cg.vsu.render.math.vector.Vector4f;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class Matrix4fTest {
@@ -61,6 +66,20 @@ class Matrix4fTest {
             -3.0f, 0.0f, -1.0f, 3.0f
     };
 
+    private static final float[] AFFINE_VALUES = {
+            2.0f, 1.0f, 0.0f, 0.0f,
+            0.0f, 3.0f, 1.0f, 0.0f,
+            1.0f, 0.0f, 2.0f, 0.0f,
+            4.0f, -2.0f, 5.0f, 1.0f
+    };
+
+    private static final float[] RIGID_VALUES = {
+            0.0f, 1.0f, 0.0f, 0.0f,
+            -1.0f, 0.0f, 0.0f, 0.0f,
+            0.0f, 0.0f, 1.0f, 0.0f,
+            3.0f, -2.0f, 7.0f, 1.0f
+    };
+
     private Matrix4f m1 = new Matrix4f();
     private Matrix4f m2 = new Matrix4f();
 
@@ -309,4 +328,348 @@ class Matrix4fTest {
 
         assertEquals(r1, r2);
     }
+
+    @Test
+    void transformPointsMatchesMatrixTimesVector() {
+        m1.set(VALUES_1);
+        float[] src = {
+                1.0f, 2.0f, 3.0f, -7.0f,
+                -4.0f, 0.5f, 6.0f, -7.0f
+        };
+        float[] dst = new float[src.length];
+        m1.transformPoints(src, 0, dst, 0, 2, 4);
+
+        for (int i = 0; i < 2; i++) {
+            Vector4f v = m1.mul(new Vector4f(src[i * 4], src[i * 4 + 1], src[i * 4 + 2], 1.0f));
+            assertEquals(v.x, dst[i * 4]);
+            assertEquals(v.y, dst[i * 4 + 1]);
+            assertEquals(v.z, dst[i * 4 + 2]);
+            assertEquals(0.0f, dst[i * 4 + 3]);
+        }
+    }
+
+    @Test
+    void transformDirectionsIgnoresTranslation() {
+        m1.set(VALUES_1);
+        float[] values = {0.0f, 1.0f, 2.0f, 3.0f};
+        m1.transformDirections(values, 1, values, 1, 1, 3);
+
+        Vector4f v = m1.mul(new Vector4f(1.0f, 2.0f, 3.0f, 0.0f));
+        assertEquals(0.0f, values[0]);
+        assertEquals(v.x, values[1]);
+        assertEquals(v.y, values[2]);
+        assertEquals(v.z, values[3]);
+    }
+
+    @Test
+    void transformArrayMatchesPackedTransform() {
+        m1.set(VALUES_1);
+        Vector3fArray points = new Vector3fArray(3)
+                .set(0, 1.0f, 2.0f, 3.0f)
+                .set(1, -4.0f, 0.5f, 6.0f)
+                .set(2, 0.0f, 0.0f, 0.0f);
+        Vector3fArray directions = points.cpy();
+        float[] packed = {1.0f, 2.0f, 3.0f, -4.0f, 0.5f, 6.0f, 0.0f, 0.0f, 0.0f};
+        float[] packedDirections = packed.clone();
+        m1.transformPoints(points, points);
+        m1.transformDirections(directions, directions);
+        m1.transformPoints(packed, 0, packed, 0, 3, 3);
+        m1.transformDirections(packedDirections, 0, packedDirections, 0, 3, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(packed[i * 3], points.x[i]);
+            assertEquals(packed[i * 3 + 1], points.y[i]);
+            assertEquals(packed[i * 3 + 2], points.z[i]);
+            assertEquals(packedDirections[i * 3], directions.x[i]);
+            assertEquals(packedDirections[i * 3 + 1], directions.y[i]);
+            assertEquals(packedDirections[i * 3 + 2], directions.z[i]);
+        }
+    }
+
+    @Test
+    void mulIntoDestinationCombinesProperties() {
+        m1.setTranslation(1.0f, 2.0f, 3.0f);
+        m2.setRotation(1.0f, 2.0f, 3.0f, 0.7f);
+        Matrix4f dest = Matrix4f.mul(m1, m2, new Matrix4f(VALUES_1));
+
+        assertEquals(Matrix4f.PROPERTY_AFFINE, dest.properties());
+        assertEquals(new Matrix4f(m1.val).mul(new Matrix4f(m2.val)), dest);
+        assertEquals(Matrix4f.PROPERTY_TRANSLATION | Matrix4f.PROPERTY_AFFINE, m1.properties());
+
+        Matrix4f.mul(m1, new Matrix4f().setTranslation(4.0f, 5.0f, 6.0f), m1);
+        assertEquals(new Matrix4f().setTranslation(5.0f, 7.0f, 9.0f), m1);
+        assertEquals(Matrix4f.PROPERTY_TRANSLATION | Matrix4f.PROPERTY_AFFINE, m1.properties());
+    }
+
+    @Test
+    void traAndInvIntoDestinationSetItsProperties() {
+        m1.setTranslation(1.0f, 2.0f, 3.0f);
+        m2.setRotation(1.0f, 2.0f, 3.0f, 0.7f).translate(4.0f, 5.0f, 6.0f);
+        Matrix4f dest = new Matrix4f();
+
+        assertEquals(0, m1.tra(dest).properties());
+        assertEquals(new Matrix4f(m1.val).tra(), dest);
+        assertEquals(Matrix4f.PROPERTY_AFFINE, m2.inv(dest).properties());
+        Matrix4f general = new Matrix4f(m2.val).invalidateProperties().inv();
+        for (int i = 0; i < Matrix4f.LEN; i++) {
+            assertEquals(general.val[i], dest.val[i], 1e-5f);
+        }
+    }
+
+    @Test
+    void arrayKernelsWorkAtOffsets() {
+        float[] shared = new float[Matrix4f.LEN * 4];
+        System.arraycopy(VALUES_1, 0, shared, Matrix4f.LEN, Matrix4f.LEN);
+        System.arraycopy(VALUES_2, 0, shared, Matrix4f.LEN * 2, Matrix4f.LEN);
+        Matrix4f.mul(shared, Matrix4f.LEN, shared, Matrix4f.LEN * 2, shared, Matrix4f.LEN * 3);
+        Matrix4f.tra(shared, Matrix4f.LEN, shared, 0);
+
+        float[] product = new float[Matrix4f.LEN];
+        System.arraycopy(shared, Matrix4f.LEN * 3, product, 0, Matrix4f.LEN);
+        float[] transposed = new float[Matrix4f.LEN];
+        System.arraycopy(shared, 0, transposed, 0, Matrix4f.LEN);
+        assertEquals(new Matrix4f(MULTIPLY_VALUES), new Matrix4f(product));
+        assertEquals(new Matrix4f(VALUES_1).tra(), new Matrix4f(transposed));
+        assertEquals(DET_1, Matrix4f.det(shared, Matrix4f.LEN));
+    }
+
+    @Test
+    void affineAndRigidMatricesAreDetected() {
+        assertTrue(new Matrix4f(AFFINE_VALUES).isAffine());
+        assertFalse(new Matrix4f(AFFINE_VALUES).isRigid());
+        assertTrue(new Matrix4f(RIGID_VALUES).isRigid());
+        assertFalse(new Matrix4f(VALUES_1).isAffine());
+    }
+
+    @Test
+    void mulAffineMatchesMul() {
+        m1.set(AFFINE_VALUES);
+        m2.set(RIGID_VALUES);
+
+        Matrix4f expected = m1.cpy().mul(m2);
+        assertTrue(expected.epsEquals(m1.cpy().mulAffine(m2), MathUtils.EPSILON));
+        assertTrue(expected.epsEquals(Matrix4f.mulAffine(m1, m2, m2), MathUtils.EPSILON));
+    }
+
+    @Test
+    void invAffineMatchesInv() {
+        m1.set(AFFINE_VALUES);
+        Matrix4f inv = m1.invAffine(new Matrix4f());
+
+        assertTrue(m1.cpy().inv().epsEquals(inv, MathUtils.EPSILON));
+        assertTrue(m1.mulAffine(inv).epsEquals(Matrix4f.identity(), MathUtils.EPSILON));
+    }
+
+    @Test
+    void invRigidMatchesInv() {
+        m1.set(RIGID_VALUES);
+        Matrix4f inv = m1.invRigid(new Matrix4f());
+
+        assertTrue(m1.cpy().inv().epsEquals(inv, MathUtils.EPSILON));
+        assertEquals(Matrix4f.identity(), m1.invRigid().mulAffine(new Matrix4f(RIGID_VALUES)));
+    }
+
+    @Test
+    void specializedOperationsCheckPreconditionsWithAssertions() {
+        m1.set(VALUES_1);
+        m2.set(AFFINE_VALUES);
+
+        assertThrows(AssertionError.class, () -> m1.mulAffine(m2));
+        assertThrows(AssertionError.class, () -> m1.invAffine());
+        assertThrows(AssertionError.class, () -> m2.invRigid());
+    }
+
+    @Test
+    void propertiesFollowOperations() {
+        assertEquals(Matrix4f.PROPERTY_IDENTITY | Matrix4f.PROPERTY_TRANSLATION | Matrix4f.PROPERTY_AFFINE,
+                m1.properties());
+        m1.setTranslation(1.0f, 2.0f, 3.0f);
+        assertEquals(Matrix4f.PROPERTY_TRANSLATION | Matrix4f.PROPERTY_AFFINE, m1.properties());
+        m1.mul(new Matrix4f(AFFINE_VALUES).determineProperties());
+        assertEquals(Matrix4f.PROPERTY_AFFINE, m1.properties());
+        m1.mul(new Matrix4f(VALUES_1));
+        assertEquals(0, m1.properties());
+        m1.setIdentity().val[Matrix4f.M14] = 5.0f;
+        assertEquals(0, m1.invalidateProperties().properties());
+        assertEquals(Matrix4f.PROPERTY_TRANSLATION | Matrix4f.PROPERTY_AFFINE, m1.determineProperties().properties());
+    }
+
+    @Test
+    void shortcutsMatchGeneralPath() {
+        Matrix4f[] matrices = {
+                new Matrix4f(),
+                new Matrix4f().setTranslation(1.5f, -2.0f, 4.0f),
+                new Matrix4f(AFFINE_VALUES).determineProperties(),
+                new Matrix4f(RIGID_VALUES).determineProperties(),
+                new Matrix4f(VALUES_1)
+        };
+        for (Matrix4f a : matrices) {
+            Matrix4f general = new Matrix4f(a.val);
+            assertEquals(general.det(), a.det());
+            assertTrue(general.cpy().inv().epsEquals(a.cpy().inv(), MathUtils.EPSILON));
+            assertEquals(general.mul(new Vector4f(1.0f, -2.0f, 3.0f, 1.0f)), a.mul(new Vector4f(1.0f, -2.0f, 3.0f, 1.0f)));
+            for (Matrix4f b : matrices) {
+                Matrix4f expected = new Matrix4f(a.val).mul(new Matrix4f(b.val));
+                assertTrue(expected.epsEquals(a.cpy().mul(b), MathUtils.EPSILON));
+            }
+        }
+    }
+
+    @Test
+    void translationMovesPoints() {
+        m1.setTranslation(1.0f, -2.0f, 3.0f);
+
+        assertEquals(new Vector4f(2.0f, 0.0f, 6.0f, 1.0f), m1.mul(new Vector4f(1.0f, 2.0f, 3.0f, 1.0f)));
+        assertEquals(new Vector4f(1.0f, 2.0f, 3.0f, 0.0f), m1.mul(new Vector4f(1.0f, 2.0f, 3.0f, 0.0f)));
+    }
+
+    @Test
+    void axisRotationsMatchGeneralRotation() {
+        float angle = 0.7f;
+
+        assertTrue(m1.setRotationX(angle).epsEquals(m2.setRotation(Vector3f.unitX(), angle), MathUtils.EPSILON));
+        assertTrue(m1.setRotationY(angle).epsEquals(m2.setRotation(Vector3f.unitY(), angle), MathUtils.EPSILON));
+        assertTrue(m1.setRotationZ(angle).epsEquals(m2.setRotation(Vector3f.unitZ(), angle), MathUtils.EPSILON));
+        assertEquals(new Vector4f(0.0f, 1.0f, 0.0f, 0.0f),
+                m1.setRotationZ(MathUtils.HALF_PI).mul(new Vector4f(1.0f, 0.0f, 0.0f, 0.0f)));
+    }
+
+    @Test
+    void rotationMatchesQuaternion() {
+        Vector3f axis = new Vector3f(1.0f, 2.0f, -2.0f).nor();
+        m1.setRotation(axis, 1.2f);
+        m2.set(new Quaternionf(axis, 1.2f));
+
+        assertTrue(m1.epsEquals(m2, MathUtils.EPSILON));
+        assertTrue(m1.isRigid());
+    }
+
+    @Test
+    void postMultiplyVariantsMatchMul() {
+        Vector3f axis = new Vector3f(1.0f, 2.0f, -2.0f).nor();
+        Matrix4f[] matrices = {new Matrix4f(), new Matrix4f(AFFINE_VALUES), new Matrix4f(VALUES_1)};
+        for (Matrix4f m : matrices) {
+            assertTrue(m.cpy().mul(new Matrix4f().setTranslation(1.0f, -2.0f, 3.0f))
+                    .epsEquals(m.cpy().translate(1.0f, -2.0f, 3.0f), MathUtils.EPSILON));
+            assertTrue(m.cpy().mul(new Matrix4f().setRotation(axis, 0.4f))
+                    .epsEquals(m.cpy().rotate(axis, 0.4f), MathUtils.EPSILON));
+            assertTrue(m.cpy().mul(new Matrix4f().setScale(2.0f, -1.0f, 0.5f))
+                    .epsEquals(m.cpy().scale(2.0f, -1.0f, 0.5f), MathUtils.EPSILON));
+        }
+    }
+
+    @Test
+    void chainedBuildersKeepProperties() {
+        m1.setTranslation(1.0f, 2.0f, 3.0f).translate(1.0f, 1.0f, 1.0f);
+        assertEquals(Matrix4f.PROPERTY_TRANSLATION | Matrix4f.PROPERTY_AFFINE, m1.properties());
+        assertEquals(new Matrix4f().setTranslation(2.0f, 3.0f, 4.0f), m1);
+
+        m1.rotate(Vector3f.unitY(), 0.3f).scale(2.0f);
+        assertEquals(Matrix4f.PROPERTY_AFFINE, m1.properties());
+    }
+
+    @Test
+    void perspectiveMapsNearAndFarPlanes() {
+        m1.setPerspective(MathUtils.HALF_PI, 2.0f, 1.0f, 10.0f);
+
+        Vector4f near = m1.mul(new Vector4f(2.0f, 1.0f, -1.0f, 1.0f));
+        Vector4f far = m1.mul(new Vector4f(0.0f, 0.0f, -10.0f, 1.0f));
+        assertTrue(MathUtils.epsEquals(1.0f, near.x / near.w));
+        assertTrue(MathUtils.epsEquals(1.0f, near.y / near.w));
+        assertTrue(MathUtils.epsEquals(-1.0f, near.z / near.w));
+        assertTrue(MathUtils.epsEquals(1.0f, far.z / far.w));
+    }
+
+    @Test
+    void orthoMapsBoxToUnitCube() {
+        m1.setOrtho(-2.0f, 6.0f, -1.0f, 3.0f, 1.0f, 11.0f);
+
+        assertEquals(new Vector4f(-1.0f, -1.0f, -1.0f, 1.0f), m1.mul(new Vector4f(-2.0f, -1.0f, -1.0f, 1.0f)));
+        assertEquals(new Vector4f(1.0f, 1.0f, 1.0f, 1.0f), m1.mul(new Vector4f(6.0f, 3.0f, -11.0f, 1.0f)));
+    }
+
+    @Test
+    void lookAtMovesTargetOntoNegativeZ() {
+        Vector3f eye = new Vector3f(3.0f, 4.0f, 5.0f);
+        m1.setLookAt(eye, new Vector3f(3.0f, 4.0f, 0.0f), Vector3f.unitY());
+
+        assertEquals(new Vector4f(0.0f, 0.0f, 0.0f, 1.0f), m1.mul(new Vector4f(3.0f, 4.0f, 5.0f, 1.0f)));
+        assertEquals(new Vector4f(0.0f, 0.0f, -5.0f, 1.0f), m1.mul(new Vector4f(3.0f, 4.0f, 0.0f, 1.0f)));
+        assertEquals(new Vector4f(1.0f, 0.0f, -5.0f, 1.0f), m1.mul(new Vector4f(4.0f, 4.0f, 0.0f, 1.0f)));
+        assertTrue(m1.isRigid());
+    }
+
+    @Test
+    void modelViewRelativeMatchesDoubleComposition() {
+        Matrix4f view = new Matrix4f().setRotation(0.0f, 1.0f, 0.0f, 0.3f);
+        Matrix4f model = new Matrix4f().setRotation(1.0f, 0.0f, 0.0f, 0.5f).scale(2.0f);
+        Matrix4f expected = new Matrix4f(view).translate(0.25f, -0.5f, 1.0f).mul(model);
+
+        Matrix4f m = new Matrix4f().setModelViewRelative(
+                view, model, 1000000.25, 2000000.0, -3000000.0, 1000000.0, 2000000.5, -3000001.0
+        );
+        assertTrue(m.epsEquals(expected, MathUtils.EPSILON));
+
+        // The view may be the destination as well.
+        Matrix4f w = new Matrix4f(view);
+        w.setModelViewRelative(w, model, 1000000.25, 2000000.0, -3000000.0, 1000000.0, 2000000.5, -3000001.0);
+        assertTrue(w.epsEquals(expected, MathUtils.EPSILON));
+    }
+
+    @Test
+    void modelViewRelativeFromSplitFloatsKeepsPrecision() {
+        double modelX = 12345678.125;
+        double eyeX = 12345677.0;
+        Vector3f modelHigh = new Vector3f(MathUtils.splitHigh(modelX), 0.0f, 0.0f);
+        Vector3f modelLow = new Vector3f(MathUtils.splitLow(modelX), 0.0f, 0.0f);
+        Vector3f eyeHigh = new Vector3f(MathUtils.splitHigh(eyeX), 0.0f, 0.0f);
+        Vector3f eyeLow = new Vector3f(MathUtils.splitLow(eyeX), 0.0f, 0.0f);
+
+        Matrix4f m = new Matrix4f().setModelViewRelative(
+                new Matrix4f(), new Matrix4f(), modelHigh, modelLow, eyeHigh, eyeLow
+        );
+
+        assertEquals(1.125f, m.val[Matrix4f.M14]);
+        assertEquals(Matrix4f.PROPERTY_TRANSLATION | Matrix4f.PROPERTY_AFFINE, m.properties());
+        // Plain floats cannot even represent the positions.
+        assertFalse((float) modelX - (float) eyeX == 1.125f);
+    }
+
+    @Test
+    void invAndDetMatchesInvAndDet() {
+        m1.set(VALUES_1);
+        m2.set(VALUES_1).inv();
+
+        assertEquals(DET_1, m1.invAndDet(), DET_1 * MathUtils.EPSILON);
+        assertTrue(m1.epsEquals(m2, MathUtils.EPSILON));
+    }
+
+    @Test
+    void invAndDetLeavesDegenerateMatrixUnchanged() {
+        m1.set(LINEAR_DEPENDENT_VALUES);
+
+        assertEquals(0.0f, m1.invAndDet());
+        assertEquals(new Matrix4f(LINEAR_DEPENDENT_VALUES), m1);
+    }
+
+    @Test
+    void batchedInvAndDetSkipsDegenerateMatrices() {
+        float[] packed = new float[3 * Matrix4f.LEN];
+        System.arraycopy(VALUES_1, 0, packed, 0, Matrix4f.LEN);
+        System.arraycopy(LINEAR_DEPENDENT_VALUES, 0, packed, Matrix4f.LEN, Matrix4f.LEN);
+        System.arraycopy(VALUES_2, 0, packed, 2 * Matrix4f.LEN, Matrix4f.LEN);
+        float[] dets = new float[4];
+
+        assertEquals(1, Matrix4f.invAndDet(packed, 0, packed, 0, dets, 1, 3));
+        assertEquals(0.0f, dets[0]);
+        assertEquals(DET_1, dets[1], DET_1 * MathUtils.EPSILON);
+        assertEquals(0.0f, dets[2]);
+        assertEquals(DET_2, dets[3], -DET_2 * MathUtils.EPSILON);
+
+        m1.set(VALUES_2).inv();
+        for (int i = 0; i < Matrix4f.LEN; i++) {
+            assertEquals(LINEAR_DEPENDENT_VALUES[i], packed[Matrix4f.LEN + i]);
+            assertEquals(m1.val[i], packed[2 * Matrix4f.LEN + i], MathUtils.EPSILON);
+        }
+    }
 }
@@ -0,0 +1,115 @@
+package cg.vsu.render.math.matrix;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.vector.Vector3f;
+import cg.vsu.render.math.vector.Vector3fArray;
+import cg.vsu.render.math.vector.Vector4f;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Matrix4fViewTest {
+    private static final float[] VALUES_1 = {
+            1.0f, 2.0f, 3.0f, 4.0f,
+            5.0f, 3.0f, 4.0f, 3.0f,
+            -2.0f, 4.0f, 6.0f, -4.0f,
+            -3.0f, 2.0f, -1.0f, 3.0f
+    };
+
+    private static final float[] VALUES_2 = {
+            3.0f, 5.0f, -1.0f, 2.0f,
+            4.0f, 7.0f, -4.0f, 3.0f,
+            -1.0f, 2.0f, 8.0f, 6.0f,
+            -3.0f, 5.0f, 4.0f, 9.0f
+    };
+
+    private final FloatBuffer buffer = ByteBuffer.allocateDirect(Matrix4f.LEN * 3 * Float.BYTES)
+            .order(ByteOrder.nativeOrder())
+            .asFloatBuffer();
+
+    @Test
+    void valuesAreStoredAtOffset() {
+        Matrix4fView view = new Matrix4fView(buffer, Matrix4f.LEN).set(new Matrix4f(VALUES_1));
+
+        assertEquals(0.0f, buffer.get(Matrix4f.LEN - 1));
+        assertEquals(VALUES_1[Matrix4f.M12], buffer.get(Matrix4f.LEN + Matrix4f.M12));
+        assertEquals(VALUES_1[Matrix4f.M44], view.get(Matrix4f.M44));
+        assertEquals(0.0f, buffer.get(Matrix4f.LEN * 2));
+        assertEquals(new Matrix4f(VALUES_1), view.get(new Matrix4f()));
+    }
+
+    @Test
+    void operationsMatchMatrix4f() {
+        Matrix4fView a = new Matrix4fView(buffer, 0).set(VALUES_1);
+        Matrix4fView b = new Matrix4fView(buffer, Matrix4f.LEN).set(VALUES_2);
+        Matrix4f m1 = new Matrix4f(VALUES_1);
+        Matrix4f m2 = new Matrix4f(VALUES_2);
+
+        assertEquals(m1.det(), a.det());
+        assertEquals(m1.cpy().mul(m2), a.cpy().mul(b).get(new Matrix4f()));
+        assertEquals(m1.cpy().add(m2), a.cpy().add(b).get(new Matrix4f()));
+        assertEquals(m1.cpy().tra(), a.cpy().tra().get(new Matrix4f()));
+        assertTrue(a.cpy().inv().epsEquals(m1.cpy().inv(), MathUtils.EPSILON));
+        assertEquals(m1.mul(new Vector4f(1.0f, 2.0f, 3.0f, 1.0f)), a.mul(new Vector4f(1.0f, 2.0f, 3.0f, 1.0f)));
+    }
+
+    @Test
+    void productIsWrittenIntoBuffer() {
+        Matrix4f m1 = new Matrix4f(VALUES_1);
+        Matrix4f m2 = new Matrix4f(VALUES_2);
+        Matrix4fView view = new Matrix4fView(buffer).at(Matrix4f.LEN * 2).mul(m1, m2);
+
+        assertEquals(Matrix4f.LEN * 2, view.offset());
+        assertEquals(m1.cpy().mul(m2), new Matrix4fView(buffer, Matrix4f.LEN * 2).get(new Matrix4f()));
+    }
+
+    @Test
+    void invIntoDestinationKeepsSource() {
+        Matrix4fView a = new Matrix4fView(buffer, 0).set(VALUES_1);
+        Matrix4fView b = new Matrix4fView(buffer, Matrix4f.LEN);
+        a.inv(b);
+
+        assertEquals(new Matrix4f(VALUES_1), a.get(new Matrix4f()));
+        assertTrue(b.epsEquals(new Matrix4f(VALUES_1).inv(), MathUtils.EPSILON));
+    }
+
+    @Test
+    void buildersAndTransformsMatchMatrix4f() {
+        Matrix4f lookAt = new Matrix4f()
+                .setLookAt(new Vector3f(1.0f, 2.0f, 3.0f), new Vector3f(), new Vector3f(0.0f, 1.0f, 0.0f));
+        Matrix4fView view = new Matrix4fView(buffer, Matrix4f.LEN)
+                .setPerspective(1.0f, 1.5f, 0.1f, 100.0f)
+                .mul(lookAt)
+                .translate(1.0f, -2.0f, 0.5f)
+                .rotate(0.0f, 0.6f, 0.8f, 0.3f)
+                .scale(2.0f);
+        Matrix4f m = new Matrix4f()
+                .setPerspective(1.0f, 1.5f, 0.1f, 100.0f)
+                .mul(lookAt)
+                .translate(1.0f, -2.0f, 0.5f)
+                .rotate(0.0f, 0.6f, 0.8f, 0.3f)
+                .scale(2.0f);
+        assertEquals(m, view.get(new Matrix4f()));
+
+        Vector3fArray points = new Vector3fArray(5);
+        Vector3fArray expected = new Vector3fArray(5);
+        for (int i = 0; i < points.size; i++) {
+            points.set(i, i, 2.0f * i, -i);
+            expected.set(i, i, 2.0f * i, -i);
+        }
+        view.transformPoints(points, points);
+        m.transformPoints(expected, expected);
+        for (int i = 0; i < points.size; i++) {
+            assertEquals(expected.x[i], points.x[i]);
+            assertEquals(expected.y[i], points.y[i]);
+            assertEquals(expected.z[i], points.z[i]);
+        }
+        assertEquals(new Matrix4f().setTranslation(1.0f, 2.0f, 3.0f),
+                view.setTranslation(1.0f, 2.0f, 3.0f).get(new Matrix4f()));
+    }
+}
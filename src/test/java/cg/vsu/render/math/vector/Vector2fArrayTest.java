@@ -0,0 +1,46 @@
+package cg.vsu.render.math.vector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Vector2fArrayTest {
+    private final Vector2fArray a = new Vector2fArray(2)
+            .set(0, 3.0f, 4.0f)
+            .set(1, -1.0f, 2.0f);
+    private final Vector2fArray b = new Vector2fArray(2)
+            .set(0, 1.0f, -2.0f)
+            .set(1, 0.5f, 0.5f);
+    private final Vector2f cursor = new Vector2f();
+
+    @Test
+    void addAndSubAreInverse() {
+        Vector2fArray copy = a.cpy();
+        a.add(b).sub(b);
+
+        for (int i = 0; i < a.size; i++) assertTrue(copy.get(i, new Vector2f()).idt(a.get(i, cursor)));
+    }
+
+    @Test
+    void norProducesUnitVectors() {
+        a.nor();
+
+        for (int i = 0; i < a.size; i++) assertTrue(a.get(i, cursor).isUnit());
+    }
+
+    @Test
+    void dotHasExpectedValues() {
+        float[] out = a.dot(b, new float[a.size]);
+
+        assertEquals(-5.0f, out[0]);
+        assertEquals(0.5f, out[1]);
+    }
+
+    @Test
+    void addMulWithArraysHasExpectedValues() {
+        a.addMul(b, b);
+
+        assertEquals(new Vector2f(4.0f, 8.0f), a.get(0, cursor));
+        assertEquals(new Vector2f(-0.75f, 2.25f), a.get(1, cursor));
+    }
+}
@@ -0,0 +1,820 @@
+package cg.vsu.render.math.vector;
+
+import cg.vsu.render.math.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Vector3dTest {
+    private Vector3d v = new Vector3d();
+
+    @Test
+    void zeroVectorHasZeroLength() {
+        v = Vector3d.zero();
+
+        assertEquals(0.0, v.len(), MathUtils.EPSILON_D);
+        assertEquals(0.0, v.len2(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void zeroVectorIsZero() {
+        v = Vector3d.zero();
+
+        assertTrue(v.isZero());
+    }
+
+    @Test
+    void zeroConstructorConstructsZeroVector() {
+        v = new Vector3d();
+
+        assertTrue(v.isZero());
+    }
+
+    @Test
+    void unitVectorsHaveUnitLength() {
+        Vector3d i = Vector3d.unitX();
+        Vector3d j = Vector3d.unitY();
+        Vector3d k = Vector3d.unitZ();
+
+        assertEquals(1.0, i.len());
+        assertEquals(1.0, i.len2());
+        assertEquals(1.0, j.len());
+        assertEquals(1.0, j.len2());
+        assertEquals(1.0, k.len());
+        assertEquals(1.0, k.len2());
+    }
+
+    @Test
+    void unitVectorsAreUnit() {
+        Vector3d i = Vector3d.unitX();
+        Vector3d j = Vector3d.unitY();
+        Vector3d k = Vector3d.unitZ();
+
+        assertTrue(i.isUnit());
+        assertTrue(j.isUnit());
+        assertTrue(k.isUnit());
+    }
+
+    @Test
+    void testComponentConstructor() {
+        v = new Vector3d(5.0, -2.0, 1.0);
+
+        assertEquals(5.0, v.x);
+        assertEquals(-2.0, v.y);
+        assertEquals(1.0, v.z);
+    }
+
+    @Test
+    void testArrayConstructor() {
+        double[] vector = {1.0, 2.0, 3.0, 4.0, 5.0};
+        v = new Vector3d(vector);
+
+        assertEquals(1.0, v.x);
+        assertEquals(2.0, v.y);
+        assertEquals(3.0, v.z);
+    }
+
+    @Test
+    void testCopyConstructor() {
+        Vector3d other = new Vector3d(5.0, -2.0, 1.0);
+        v = new Vector3d(other);
+
+        assertEquals(5.0, v.x);
+        assertEquals(-2.0, v.y);
+        assertEquals(1.0, v.z);
+    }
+
+    @Test
+    void testConstructorFromV2f() {
+        Vector2d v2f = new Vector2d(2.0, 3.0);
+        v = new Vector3d(v2f);
+        Vector3d v1 = new Vector3d(v2f, 5.0);
+
+        assertEquals(2.0, v.x);
+        assertEquals(2.0, v1.x);
+        assertEquals(3.0, v.y);
+        assertEquals(3.0, v1.y);
+
+        assertEquals(0.0, v.z);
+        assertEquals(5.0, v1.z);
+    }
+
+    @Test
+    void equalVectorsAreEqual() {
+        Vector3d v1 = new Vector3d(2.0, 1.0, 3.0);
+        v.set(2.0, 1.0, 3.0);
+
+        assertEquals(v1, v);
+        assertEquals(v, v1);
+    }
+
+    @Test
+    void equalVectorsAreIdentical() {
+        Vector3d v1 = new Vector3d(2.0, 1.0, 3.0);
+        v.set(2.0, 1.0, 3.0);
+
+        assertTrue(v1.idt(v));
+        assertTrue(v.idt(v1));
+    }
+
+    @Test
+    void zeroVectorIsEqualToZeroVector() {
+        v = Vector3d.zero();
+        Vector3d z = new Vector3d(0.0, 0.0, 0.0);
+
+        assertEquals(v, z);
+    }
+
+    @Test
+    void nearlyEqualVectorsAreEpsEqual() {
+        v = new Vector3d();
+        v.x = 200.0;
+        Vector3d v1 = Vector3d.unitX();
+        Vector3d a = Vector3d.zero();
+        for (int i = 0; i < 200; i++) {
+            a.add(v1);
+        }
+
+        assertTrue(v.epsEquals(a, MathUtils.EPSILON_D));
+        assertTrue(a.epsEquals(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void nearlyEqualVectorsAreEpsIdt() {
+        v = new Vector3d();
+        v.x = 200.0;
+        Vector3d v1 = Vector3d.unitX();
+        Vector3d a = Vector3d.zero();
+        for (int i = 0; i < 200; i++) {
+            a.add(v1);
+        }
+
+        assertTrue(v.epsIdt(a, MathUtils.EPSILON_D));
+        assertTrue(a.epsIdt(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void testToString() {
+        v.set(1.0, 2.0, 3.0);
+
+        assertEquals("v3d(x=1.0, y=2.0, z=3.0)", v.toString());
+    }
+
+    @Test
+    void testCopy() {
+        Vector3d v1 = new Vector3d(1.0, 2.0, 3.0);
+        v = v1.cpy();
+
+        assertEquals(1.0, v.x);
+        assertEquals(2.0, v.y);
+        assertEquals(3.0, v.z);
+    }
+
+    @Test
+    void testSetZero() {
+        v = new Vector3d(33.0, 12.0, 42.0);
+        v.setZero();
+
+        assertTrue(v.isZero());
+    }
+
+    @Test
+    void testSetValue() {
+        v.set(10.0);
+
+        assertEquals(10.0, v.x);
+        assertEquals(10.0, v.y);
+        assertEquals(10.0, v.z);
+    }
+
+    @Test
+    void testSetValues() {
+        v.set(1.0, 2.0, 3.0);
+
+        assertEquals(1.0, v.x);
+        assertEquals(2.0, v.y);
+        assertEquals(3.0, v.z);
+    }
+
+    @Test
+    void testSetVector() {
+        Vector3d v1 = new Vector3d(11.0, 20.0, 35.0);
+        v.set(v1);
+
+        assertEquals(11.0, v.x);
+        assertEquals(20.0, v.y);
+        assertEquals(35.0, v.z);
+    }
+
+    @Test
+    void testSetFromArray() {
+        double[] vector = {1.0, 2.0, 3.0};
+        v.set(vector);
+
+        assertEquals(1.0, v.x);
+        assertEquals(2.0, v.y);
+        assertEquals(3.0, v.z);
+    }
+
+    @Test
+    void testSetFromV2f() {
+        Vector2d v2f = new Vector2d(3.0, -5.0);
+
+        v.set(v2f);
+        assertEquals(3.0, v.x);
+        assertEquals(-5.0, v.y);
+        assertEquals(0.0, v.z);
+
+        v.set(v2f, 2.0);
+        assertEquals(3.0, v.x);
+        assertEquals(-5.0, v.y);
+        assertEquals(2.0, v.z);
+    }
+
+    @Test
+    void testLength() {
+        v.set(2.0, 3.0, 6.0);
+
+        assertEquals(7.0, v.len(), MathUtils.EPSILON_D);
+        assertEquals(7.0, Vector3d.len(2.0, 3.0, 6.0));
+    }
+
+    @Test
+    void testLength2() {
+        v.set(2.0, 3.0, 6.0);
+
+        assertEquals(49.0, v.len2(), MathUtils.EPSILON_D);
+        assertEquals(49.0, Vector3d.len2(2.0, 3.0, 6.0));
+    }
+
+    @Test
+    void length2IsSquareOfLength() {
+        v.set(2.0, 3.0, 6.0);
+        double len = v.len();
+
+        assertEquals(len * len, v.len2());
+    }
+
+    @Test
+    void normalizeMakesVectorWithUnitLength() {
+        v.set(1.0, 1.0, 7.0);
+        v.nor();
+
+        assertEquals(1.0, v.len(), MathUtils.EPSILON_D);
+        assertEquals(1.0, v.len2(), MathUtils.EPSILON_D);
+        assertTrue(v.isUnit());
+    }
+
+    @Test
+    void testLimitEffective() {
+        v.set(420.0, -421.0, 1006.0);
+        v.limit(25.0);
+        assertTrue(MathUtils.epsEquals(25.0, v.len()));
+    }
+
+    @Test
+    void testLimitIneffective() {
+        v = new Vector3d(2.0, 3.0, 6.0);
+        v.limit(10.0);
+        assertEquals(7.0, v.len(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testLimit2Effective() {
+        v.set(420.0, -421.0, 1006.0);
+        v.limit2(25.0);
+        assertTrue(MathUtils.epsEquals(25.0, v.len2()));
+    }
+
+    @Test
+    void testLimit2Ineffective() {
+        v = new Vector3d(2.0, 3.0, 6.0);
+        v.limit2(80.0);
+        assertEquals(49.0, v.len2(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testSetLength() {
+        v.set(15.0, 39.0, -42.0);
+        v.setLength(14.0);
+
+        assertEquals(14.0, v.len(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testSetLength2() {
+        v.set(15.0, 39.0, -42.0);
+        v.setLength2(21.0);
+
+        assertEquals(21.0, v.len2(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testClampGreater() {
+        v.set(109.0, -31.0, 55.0);
+        v.clamp(20.0, 30.0);
+
+        assertTrue(MathUtils.epsEquals(30.0, v.len()));
+    }
+
+    @Test
+    void testClampLess() {
+        v.set(-2.0, 3.0, 4.0);
+        v.clamp(20.0, 30.0);
+
+        assertEquals(20.0, v.len(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testClampInBounds() {
+        v.set(25.0, 0.0, 0.0);
+        v.clamp(20.0, 30.0);
+
+        assertEquals(25.0, v.len(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testAddVector() {
+        v.set(1.0, 2.0, 3.0);
+        Vector3d v1 = new Vector3d(5.0, 6.0, 7.0);
+        v.add(v1);
+
+        assertEquals(6.0, v.x);
+        assertEquals(8.0, v.y);
+        assertEquals(10.0, v.z);
+    }
+
+    @Test
+    void testAddValue() {
+        v.set(1.0, 2.0, 3.0);
+        v.add(10.0);
+
+        assertEquals(11.0, v.x);
+        assertEquals(12.0, v.y);
+        assertEquals(13.0, v.z);
+    }
+
+    @Test
+    void testAddComponents() {
+        v.set(1.0, 2.0, 3.0);
+        v.add(3.0, 4.0, 5.0);
+
+        assertEquals(4.0, v.x);
+        assertEquals(6.0, v.y);
+        assertEquals(8.0, v.z);
+    }
+
+    @Test
+    void testSubVector() {
+        v.set(1.0, 2.0, 3.0);
+        Vector3d v1 = new Vector3d(5.0, 6.0, 7.0);
+        v.sub(v1);
+
+        assertEquals(-4.0, v.x);
+        assertEquals(-4.0, v.y);
+        assertEquals(-4.0, v.z);
+    }
+
+    @Test
+    void testSubValue() {
+        v.set(1.0, 2.0, 3.0);
+        v.sub(10.0);
+
+        assertEquals(-9.0, v.x);
+        assertEquals(-8.0, v.y);
+        assertEquals(-7.0, v.z);
+    }
+
+    @Test
+    void testSubComponents() {
+        v.set(1.0, 2.0, 3.0);
+        v.sub(3.0, 4.0, 5.0);
+
+        assertEquals(-2.0, v.x);
+        assertEquals(-2.0, v.y);
+        assertEquals(-2.0, v.z);
+    }
+
+    @Test
+    void testSclVector() {
+        v.set(1.0, 2.0, 3.0);
+        v.scl(new Vector3d(2.0, 5.0, 10.0));
+
+        assertEquals(2.0, v.x);
+        assertEquals(10.0, v.y);
+        assertEquals(30.0, v.z);
+    }
+
+    @Test
+    void testSclValue() {
+        v.set(1.0, 2.0, 3.0);
+        v.scl(10.0);
+
+        assertEquals(10.0, v.x);
+        assertEquals(20.0, v.y);
+        assertEquals(30.0, v.z);
+    }
+
+    @Test
+    void testSclComponents() {
+        v.set(1.0, 2.0, 3.0);
+        v.scl(3.0, 2.0, 9.0);
+
+        assertEquals(3.0, v.x);
+        assertEquals(4.0, v.y);
+        assertEquals(27.0, v.z);
+    }
+
+    @Test
+    void testDivVector() {
+        v.set(1.0, 2.0, 3.0);
+        v.div(new Vector3d(4.0, 8.0, 12.0));
+
+        assertEquals(0.25, v.x);
+        assertEquals(0.25, v.y);
+        assertEquals(0.25, v.z);
+    }
+
+    @Test
+    void testDivValue() {
+        v.set(1.0, 2.0, 3.0);
+        v.div(2.0);
+
+        assertEquals(0.5, v.x);
+        assertEquals(1.0, v.y);
+        assertEquals(1.5, v.z);
+    }
+
+    @Test
+    void testDivComponents() {
+        v.set(1.0, 2.0, 3.0);
+        v.div(4.0, 8.0, 12.0);
+
+        assertEquals(0.25, v.x);
+        assertEquals(0.25, v.y);
+        assertEquals(0.25, v.z);
+    }
+
+    @Test
+    void dstReturnsExpectedValue() {
+        v.set(3.0, 0.0, 0.0);
+        Vector3d v1 = new Vector3d(1.0, 0.0, 0.0);
+
+        assertEquals(2.0, v.dst(v1));
+        assertEquals(2.0, v.dst(1.0, 0.0, 0.0));
+        assertEquals(2.0, Vector3d.dst(v, v1));
+        assertEquals(2.0, Vector3d.dst(3.0, 0.0, 0.0, 1.0, 0.0, 0.0));
+    }
+
+    @Test
+    void dst2ReturnsExpectedValue() {
+        v.set(3.0, 0.0, 0.0);
+        Vector3d v1 = new Vector3d(1.0, 0.0, 0.0);
+
+        assertEquals(4.0, v.dst2(v1));
+        assertEquals(4.0, v.dst2(1.0, 0.0, 0.0));
+        assertEquals(4.0, Vector3d.dst2(v, v1));
+        assertEquals(4.0, Vector3d.dst2(3.0, 0.0, 0.0, 1.0, 0.0, 0.0));
+    }
+
+    @Test
+    void dstDoesNotDependOnOrder() {
+        v.set(3.0, 0.0, 0.0);
+        Vector3d v1 = new Vector3d(1.0, 0.0, 0.0);
+
+        assertEquals(2.0, v.dst(v1));
+        assertEquals(2.0, v1.dst(v));
+    }
+
+    @Test
+    void dst2DoesNotDependOnOrder() {
+        v.set(3.0, 0.0, 0.0);
+        Vector3d v1 = new Vector3d(1.0, 0.0, 0.0);
+
+        assertEquals(4.0, v.dst2(v1));
+        assertEquals(4.0, v1.dst2(v));
+    }
+
+    @Test
+    void dstToSelfIsZero() {
+        v.set(1.0, 2.0, 3.0);
+
+        assertEquals(0.0, v.dst(v));
+        assertEquals(0.0, v.dst2(v));
+    }
+
+    @Test
+    void testLerp() {
+        v.setZero();
+        Vector3d v1 = new Vector3d(1.0, 2.0, 4.0);
+
+        v.lerp(v1, 0.0);
+        assertEquals(0.0, v.x);
+        assertEquals(0.0, v.y);
+        assertEquals(0.0, v.z);
+
+        v.setZero();
+        v.lerp(v1, 0.5);
+        assertEquals(0.5, v.x);
+        assertEquals(1.0, v.y);
+        assertEquals(2.0, v.z);
+
+        v.setZero();
+        v.lerp(v1, 1.0);
+        assertEquals(1.0, v.x);
+        assertEquals(2.0, v.y);
+        assertEquals(4.0, v.z);
+    }
+
+    @Test
+    void testStaticLerp() {
+        v.setZero();
+        Vector3d v1 = new Vector3d(1.0, 2.0, 4.0);
+
+        Vector3d r = Vector3d.lerp(v, v1, 0.0);
+        assertEquals(0.0, r.x);
+        assertEquals(0.0, r.y);
+        assertEquals(0.0, r.z);
+
+        r = Vector3d.lerp(v, v1, 0.5);
+        assertEquals(0.5, r.x);
+        assertEquals(1.0, r.y);
+        assertEquals(2.0, r.z);
+
+        r = Vector3d.lerp(v, v1, 1.0);
+        assertEquals(1.0, r.x);
+        assertEquals(2.0, r.y);
+        assertEquals(4.0, r.z);
+    }
+
+    @Test
+    void testAddMulScalar() {
+        v.set(2.0, -3.0, 5.0);
+        Vector3d v1 = new Vector3d(4.0, 2.0, 1.0);
+        v.addMul(v1, -2.0);
+
+        assertEquals(-6.0, v.x);
+        assertEquals(-7.0, v.y);
+        assertEquals(3.0, v.z);
+    }
+
+    @Test
+    void testAddMulVector() {
+        v.set(2.0, -3.0, 5.0);
+        Vector3d v1 = new Vector3d(4.0, 2.0, 1.0);
+        Vector3d v2 = new Vector3d(0.0, 2.0, -1.0);
+        v.addMul(v1, v2);
+
+        assertEquals(2.0, v.x);
+        assertEquals(1.0, v.y);
+        assertEquals(4.0, v.z);
+    }
+
+    @Test
+    void testDotProduct() {
+        v.set(2.0, -3.0, 5.0);
+        Vector3d v1 = new Vector3d(4.0, 2.0, 1.0);
+
+        assertEquals(7.0, v.dot(v1));
+        assertEquals(7.0, v1.dot(v));
+    }
+
+    @Test
+    void testCrossProduct() {
+        v.set(2.0, -3.0, 5.0);
+        Vector3d v1 = new Vector3d(4.0, 2.0, 1.0);
+        v.crs(v1);
+
+        assertEquals(-13.0, v.x);
+        assertEquals(18.0, v.y);
+        assertEquals(16.0, v.z);
+    }
+
+    @Test
+    void testTo() {
+        v.set(1.0, 2.0, 3.0);
+        Vector3d v1 = new Vector3d(2.0, -1.0, 2.0);
+
+        Vector3d v2 = v.cpy().to(v1);
+        assertEquals(1.0, v2.x);
+        assertEquals(-3.0, v2.y);
+        assertEquals(-1.0, v2.z);
+
+        v2 = v.to(2.0, -1.0, 2.0);
+        assertEquals(1.0, v2.x);
+        assertEquals(-3.0, v2.y);
+        assertEquals(-1.0, v2.z);
+    }
+
+    @Test
+    void vectorIsOnLineWithSelf() {
+        v.set(255.0, -2410.3214, 542.4664);
+
+        assertTrue(v.isOnLine(v));
+        assertTrue(v.isOnLine(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void parallelVectorsAreOnLinePrecise() {
+        v.set(1.0, 2.0, 3.0);
+        Vector3d v1 = new Vector3d(-2.0, -4.0, -6.0);
+
+        assertTrue(v.isOnLine(v1));
+        assertTrue(v1.isOnLine(v));
+    }
+
+    @Test
+    void parallelVectorsAreOnLineApprox() {
+        v.set(5.0, -2.0, 17.0);
+        Vector3d v1 = new Vector3d(4.999996, -2.000003, 17.000004);
+
+        assertTrue(v.isOnLine(v1, MathUtils.EPSILON));
+        assertTrue(v1.isOnLine(v, MathUtils.EPSILON));
+    }
+
+    @Test
+    void nonParallelVectorsAreNotOnLinePrecise() {
+        v = Vector3d.unitX();
+
+        assertFalse(v.isOnLine(Vector3d.unitY()));
+        assertFalse(v.isOnLine(Vector3d.unitZ()));
+    }
+
+    @Test
+    void nonParallelVectorsAreNotOnLineApprox() {
+        v.set(5.0, -2.0, 17.0);
+        Vector3d v1 = new Vector3d(5.0, -2.0, 17.3);
+
+        assertFalse(v.isOnLine(v1, MathUtils.EPSILON_D));
+        assertFalse(v1.isOnLine(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void vectorIsCollinearWithSelf() {
+        v.set(255.0, -2410.3214, 542.4664);
+
+        assertTrue(v.isCollinear(v));
+        assertTrue(v.isCollinear(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void collVecsAreCollPrecise() {
+        v.set(5.0, -2.0, 17.0);
+        Vector3d v1 = v.cpy().scl(412.931);
+
+        assertTrue(v.isCollinear(v1));
+        assertTrue(v1.isCollinear(v));
+    }
+
+    @Test
+    void collVecsAreCollApprox() {
+        v.set(5.0, -2.0, 17.0);
+        Vector3d v1 = new Vector3d(95.000004, -38.0000007, 322.999996);
+
+        assertTrue(v.isCollinear(v1, MathUtils.EPSILON));
+        assertTrue(v1.isCollinear(v, MathUtils.EPSILON));
+    }
+
+    @Test
+    void nonParallelSameDirVecsAreNonColl() {
+        v.set(5.0, -2.0, 17.0);
+        Vector3d v1 = new Vector3d(5.5, -2.0, 17.0);
+
+        assertFalse(v.isCollinear(v1));
+        assertFalse(v1.isCollinear(v));
+    }
+
+    @Test
+    void parallelDiffDirVecsAreNonColl() {
+        v.set(5.0, -2.0, 17.0);
+        Vector3d v1 = new Vector3d(-5.0, 2.0, -17.0);
+
+        assertFalse(v.isCollinear(v1));
+        assertFalse(v1.isCollinear(v));
+    }
+
+    @Test
+    void collOppositeVecsAreCollOppositePrecise() {
+        v.set(5.0, -2.0, 17.0);
+        Vector3d v1 = v.cpy().scl(-5);
+
+        assertTrue(v.isCollinearOpposite(v1));
+        assertTrue(v1.isCollinearOpposite(v));
+    }
+
+    @Test
+    void collOppositeVecsAreCollOppositeApprox() {
+        v.set(5.0, -2.0, 17.0);
+        Vector3d v1 = new Vector3d(-95.000004, 38.0000007, -322.999996);
+
+        assertTrue(v.isCollinearOpposite(v1, MathUtils.EPSILON));
+        assertTrue(v1.isCollinearOpposite(v, MathUtils.EPSILON));
+    }
+
+    @Test
+    void nonParallelDiffDirVecsAreNonCollOpposite() {
+        v.set(5.0, -2.0, 17.0);
+        Vector3d v1 = new Vector3d(-5.5, 2.0, -17.0);
+
+        assertFalse(v.isCollinearOpposite(v1));
+        assertFalse(v1.isCollinearOpposite(v));
+    }
+
+    @Test
+    void parallelSameDirVecsAreNonCollOpposite() {
+        v.set(5.0, -2.0, 17.0);
+        Vector3d v1 = v.cpy().scl(22.421);
+
+        assertFalse(v.isCollinearOpposite(v1));
+        assertFalse(v1.isCollinearOpposite(v));
+    }
+
+    @Test
+    void vectorIsNotCollinearOppositeWithItself() {
+        v.set(255.0, -2410.3214, 542.4664);
+
+        assertFalse(v.isCollinearOpposite(v));
+        assertFalse(v.isCollinearOpposite(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void vectorIsNotOrthogonalToItself() {
+        v = Vector3d.unitX().scl(5.0);
+
+        assertFalse(v.isOrthogonal(v));
+    }
+
+    @Test
+    void zeroIsOrthogonalToItself() {
+        v.setZero();
+
+        assertTrue(v.isOrthogonal(v));
+    }
+
+    @Test
+    void vectorIsOrthogonalToZero() {
+        v.set(1.0, 2.0, 3.0);
+
+        assertTrue(v.isOrthogonal(Vector3d.zero()));
+        assertTrue(Vector3d.zero().isOrthogonal(v));
+    }
+
+    @Test
+    void orthogonalVecsAreOrthogonal() {
+        assertTrue(Vector3d.unitX().isOrthogonal(Vector3d.unitY()));
+        assertTrue(Vector3d.unitY().isOrthogonal(Vector3d.unitZ()));
+        assertTrue(Vector3d.unitX().isOrthogonal(Vector3d.unitZ()));
+    }
+
+    @Test
+    void testOrthogonalApprox() {
+        v.set(5.0, -1.0, 0.0);
+        Vector3d v1 = new Vector3d(1.0, 4.999992, 0.0);
+
+        assertTrue(v.isOrthogonal(v1, MathUtils.EPSILON));
+        assertTrue(v1.isOrthogonal(v, MathUtils.EPSILON));
+    }
+
+    @Test
+    void nonOrthogonalAreNonOrthogonal() {
+        v.set(5.0, 10.0, 15.0);
+        Vector3d v1 = new Vector3d(6.0, 11.0, 10.0);
+
+        assertFalse(v.isOrthogonal(v1));
+        assertFalse(v1.isOrthogonal(v));
+    }
+
+    @Test
+    void vectorHasSameDirectionWithItself() {
+        v.set(5.0, 10.0, -125.0);
+
+        assertTrue(v.hasSameDirection(v));
+    }
+
+    @Test
+    void sameDirectionVecsHaveSameDirection() {
+        v.set(1.0, 2.0, 3.0);
+        Vector3d v1 = new Vector3d(5.0, 7.0, 11.0);
+
+        assertTrue(v.hasSameDirection(v1));
+        assertTrue(v1.hasSameDirection(v));
+    }
+
+    @Test
+    void oppositeDirectionVecsHaveOppositeDirection() {
+        v.set(1.0, 2.0, 3.0);
+        Vector3d v1 = v.cpy().scl(-3);
+
+        assertTrue(v.hasOppositeDirection(v1));
+        assertTrue(v1.hasOppositeDirection(v));
+    }
+
+    @Test
+    void floatConversionRoundsToNearestFloat() {
+        v.set(new Vector3f(1.5f, -2.25f, 0.1f));
+        assertEquals(0.1f, (float) v.z);
+
+        v.set(100000.123456789, -0.5, 1.0 / 3.0);
+        assertEquals(new Vector3f(100000.125f, -0.5f, 1.0f / 3.0f), v.get(new Vector3f()));
+    }
+}
@@ -0,0 +1,144 @@
+package cg.vsu.render.math.vector;
+
+import cg.vsu.render.math.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Vector3fArrayTest {
+    private static final Vector3f[] VALUES_1 = {
+            new Vector3f(1.0f, 2.0f, 3.0f),
+            new Vector3f(-4.0f, 0.5f, 2.0f),
+            new Vector3f(0.0f, 0.0f, 0.0f),
+            new Vector3f(7.0f, -3.0f, 1.5f)
+    };
+
+    private static final Vector3f[] VALUES_2 = {
+            new Vector3f(-2.0f, 1.0f, 4.0f),
+            new Vector3f(3.0f, 3.0f, -1.0f),
+            new Vector3f(1.0f, -5.0f, 2.0f),
+            new Vector3f(0.5f, 2.0f, -6.0f)
+    };
+
+    private final Vector3fArray a = fromVectors(VALUES_1);
+    private final Vector3fArray b = fromVectors(VALUES_2);
+    private final Vector3f cursor = new Vector3f();
+
+    private static Vector3fArray fromVectors(Vector3f[] vectors) {
+        Vector3fArray result = new Vector3fArray(vectors.length);
+        for (int i = 0; i < vectors.length; i++) result.set(i, vectors[i]);
+        return result;
+    }
+
+    private void assertMatches(Vector3f[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            assertTrue(expected[i].idt(a.get(i, cursor)), "index " + i + ": " + cursor);
+        }
+    }
+
+    @Test
+    void newArrayContainsZeroVectors() {
+        Vector3fArray array = new Vector3fArray(3);
+
+        assertEquals(3, array.size);
+        for (int i = 0; i < array.size; i++) assertTrue(array.get(i, cursor).isZero());
+    }
+
+    @Test
+    void getReturnsTheCursor() {
+        assertSame(cursor, a.get(1, cursor));
+        assertEquals(VALUES_1[1], cursor);
+    }
+
+    @Test
+    void copyIsIndependent() {
+        Vector3fArray copy = a.cpy();
+        copy.set(0, 9.0f, 9.0f, 9.0f);
+
+        assertEquals(VALUES_1[0], a.get(0, cursor));
+        assertEquals(new Vector3f(9.0f, 9.0f, 9.0f), copy.get(0, cursor));
+    }
+
+    @Test
+    void addMatchesVectorAdd() {
+        a.add(b);
+
+        Vector3f[] expected = new Vector3f[VALUES_1.length];
+        for (int i = 0; i < expected.length; i++) expected[i] = VALUES_1[i].cpy().add(VALUES_2[i]);
+        assertMatches(expected);
+    }
+
+    @Test
+    void subMatchesVectorSub() {
+        a.sub(b);
+
+        Vector3f[] expected = new Vector3f[VALUES_1.length];
+        for (int i = 0; i < expected.length; i++) expected[i] = VALUES_1[i].cpy().sub(VALUES_2[i]);
+        assertMatches(expected);
+    }
+
+    @Test
+    void sclMatchesVectorScl() {
+        a.scl(-2.5f);
+
+        Vector3f[] expected = new Vector3f[VALUES_1.length];
+        for (int i = 0; i < expected.length; i++) expected[i] = VALUES_1[i].cpy().scl(-2.5f);
+        assertMatches(expected);
+    }
+
+    @Test
+    void norMatchesVectorNor() {
+        a.nor();
+
+        Vector3f[] expected = new Vector3f[VALUES_1.length];
+        for (int i = 0; i < expected.length; i++) expected[i] = VALUES_1[i].cpy().nor();
+        assertMatches(expected);
+    }
+
+    @Test
+    void dotMatchesVectorDot() {
+        float[] out = a.dot(b, new float[a.size]);
+
+        for (int i = 0; i < a.size; i++) {
+            assertTrue(MathUtils.epsEquals(VALUES_1[i].dot(VALUES_2[i]), out[i]));
+        }
+    }
+
+    @Test
+    void crsMatchesVectorCrs() {
+        a.crs(b);
+
+        Vector3f[] expected = new Vector3f[VALUES_1.length];
+        for (int i = 0; i < expected.length; i++) expected[i] = VALUES_1[i].cpy().crs(VALUES_2[i]);
+        assertMatches(expected);
+    }
+
+    @Test
+    void lerpMatchesVectorLerp() {
+        a.lerp(b, 0.3f);
+
+        Vector3f[] expected = new Vector3f[VALUES_1.length];
+        for (int i = 0; i < expected.length; i++) expected[i] = VALUES_1[i].cpy().lerp(VALUES_2[i], 0.3f);
+        assertMatches(expected);
+    }
+
+    @Test
+    void addMulMatchesVectorAddMul() {
+        a.addMul(b, 1.5f);
+
+        Vector3f[] expected = new Vector3f[VALUES_1.length];
+        for (int i = 0; i < expected.length; i++) expected[i] = VALUES_1[i].cpy().addMul(VALUES_2[i], 1.5f);
+        assertMatches(expected);
+    }
+
+    @Test
+    void lengthsMatchVectorLengths() {
+        float[] len = a.len(new float[a.size]);
+        float[] len2 = a.len2(new float[a.size]);
+
+        for (int i = 0; i < a.size; i++) {
+            assertEquals(VALUES_1[i].len(), len[i]);
+            assertEquals(VALUES_1[i].len2(), len2[i]);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package cg.vsu.render.math.vector;
+
+import cg.vsu.render.math.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.FloatBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Vector3fBufferViewTest {
+    // Two interleaved vertices: position (x, y, z) followed by a texture coordinate (u, v).
+    private final FloatBuffer buffer = FloatBuffer.wrap(new float[]{
+            1.0f, 2.0f, 3.0f, 0.25f, 0.75f,
+            -4.0f, 5.0f, 0.5f, 0.5f, 1.0f
+    });
+
+    @Test
+    void viewWalksInterleavedData() {
+        Vector3fBufferView view = new Vector3fBufferView(buffer);
+
+        assertEquals(new Vector3f(1.0f, 2.0f, 3.0f), view.get(new Vector3f()));
+        assertEquals(new Vector3f(-4.0f, 5.0f, 0.5f), view.at(5).get(new Vector3f()));
+    }
+
+    @Test
+    void resultsAreWrittenIntoBuffer() {
+        Vector3fBufferView view = new Vector3fBufferView(buffer, 5);
+        view.add(new Vector3fBufferView(buffer, 0)).scl(2.0f);
+
+        assertEquals(-6.0f, buffer.get(5));
+        assertEquals(14.0f, buffer.get(6));
+        assertEquals(7.0f, buffer.get(7));
+        assertEquals(0.5f, buffer.get(8));
+        assertEquals(1.0f, buffer.get(0));
+    }
+
+    @Test
+    void operationsMatchVector3f() {
+        Vector3fBufferView a = new Vector3fBufferView(buffer, 0);
+        Vector3fBufferView b = new Vector3fBufferView(buffer, 5);
+        Vector3f u = a.get(new Vector3f());
+        Vector3f v = b.get(new Vector3f());
+
+        assertEquals(u.dot(v), a.dot(b));
+        assertEquals(u.dst(v), a.dst(b));
+        assertEquals(u.cpy().crs(v), a.cpy().crs(b).get(new Vector3f()));
+        assertEquals(u.cpy().lerp(v, 0.3f), a.cpy().lerp(b, 0.3f).get(new Vector3f()));
+        assertEquals(u.cpy().addMul(v, v), a.cpy().addMul(b, b).get(new Vector3f()));
+        assertTrue(a.cpy().nor().isUnit());
+        assertTrue(a.cpy().nor().epsEquals(a.cpy().setLength(1.0f), MathUtils.EPSILON));
+    }
+}
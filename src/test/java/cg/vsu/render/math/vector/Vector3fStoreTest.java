@@ -0,0 +1,132 @@
+package cg.vsu.render.math.vector;
+
+import cg.vsu.render.math.MathUtils;
+import cg.vsu.render.math.matrix.Matrix4f;
+import org.junit.jupiter.api.Test;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Vector3fStoreTest {
+    private static final int SIZE = 10;
+
+    private static Vector3fStore filledStore() {
+        Vector3fStore store = new Vector3fStore(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            store.set(i, i, -2.0f * i, 0.5f + i);
+        }
+        return store;
+    }
+
+    @Test
+    void valuesSurviveBlockBoundaries() {
+        // More than two blocks of 4096 vectors, the last one partial.
+        int size = 10000;
+        try (Vector3fStore store = new Vector3fStore(size)) {
+            for (int i = 0; i < size; i++) {
+                store.set(i, i, 1.0f, -i);
+            }
+            store.forEachBlock((block, count) -> {
+                for (int i = 0; i < count * 3; i += 3) {
+                    block[i + 1] += block[i];
+                }
+            });
+
+            for (int i = 0; i < size; i++) {
+                assertEquals(new Vector3f(i, 1.0f + i, -i), store.get(i, new Vector3f()));
+            }
+        }
+    }
+    @Test
+    void indexOutsideStoreThrows() {
+        try (Vector3fStore store = filledStore()) {
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(SIZE, new Vector3f()));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.set(-1, new Vector3f()));
+        }
+    }
+
+    @Test
+    void transformsMatchMatrixTimesVector() {
+        Matrix4f m = new Matrix4f().setRotation(1.0f, 2.0f, 3.0f, 0.7f).translate(1.0f, -2.0f, 3.0f);
+        try (Vector3fStore points = filledStore(); Vector3fStore directions = filledStore()) {
+            m.transformPoints(points);
+            m.transformDirections(directions);
+
+            for (int i = 0; i < SIZE; i++) {
+                Vector4f p = m.mul(new Vector4f(i, -2.0f * i, 0.5f + i, 1.0f));
+                Vector4f d = m.mul(new Vector4f(i, -2.0f * i, 0.5f + i, 0.0f));
+                assertTrue(points.get(i, new Vector3f()).epsEquals(new Vector3f(p.x, p.y, p.z), MathUtils.EPSILON));
+                assertTrue(directions.get(i, new Vector3f()).epsEquals(new Vector3f(d.x, d.y, d.z), MathUtils.EPSILON));
+            }
+        }
+    }
+
+    @Test
+    void norLeavesZeroVectorsUnchanged() {
+        try (Vector3fStore store = new Vector3fStore(SIZE)) {
+            store.set(5, 3.0f, 0.0f, -4.0f);
+            store.nor();
+
+            assertEquals(new Vector3f(0.6f, 0.0f, -0.8f), store.get(5, new Vector3f()));
+            assertEquals(new Vector3f(), store.get(4, new Vector3f()));
+        }
+    }
+
+    @Test
+    void reductionsCoverAllVectors() {
+        try (Vector3fStore store = filledStore()) {
+            Vector3f min = new Vector3f();
+            Vector3f max = new Vector3f();
+            store.bounds(min, max);
+
+            assertEquals(new Vector3f(45.0f, -90.0f, 50.0f), store.sum(new Vector3f()));
+            assertEquals(new Vector3f(4.5f, -9.0f, 5.0f), store.mean(new Vector3f()));
+            assertEquals(new Vector3f(0.0f, -18.0f, 0.5f), min);
+            assertEquals(new Vector3f(9.0f, 0.0f, 9.5f), max);
+        }
+    }
+
+    @Test
+    void closedStoreThrows() {
+        Vector3fStore store = filledStore();
+        store.close();
+        store.close();
+
+        assertTrue(store.isClosed());
+        assertThrows(IllegalStateException.class, () -> store.get(0, new Vector3f()));
+        assertThrows(IllegalStateException.class, store::nor);
+    }
+
+    @Test
+    void segmentIsClosedWithTheStore() {
+        Vector3fStore store = filledStore();
+        MemorySegment segment = store.segment();
+        assertEquals(SIZE * 3 * Float.BYTES, segment.byteSize());
+        assertEquals(5.0f, MemoryAccess.getFloatAtIndex(segment, 15));
+        store.close();
+
+        assertThrows(IllegalStateException.class, () -> MemoryAccess.getFloatAtIndex(segment, 15));
+        assertThrows(IllegalStateException.class, store::segment);
+    }
+    @Test
+    void forEachBlockSeesEveryVectorOnce() {
+        try (Vector3fStore store = filledStore()) {
+            int[] seen = new int[1];
+            store.forEachBlock((block, count) -> {
+                for (int i = 0; i < count; i++) {
+                    block[i * 3 + 1] += 1.0f;
+                }
+                seen[0] += count;
+            });
+
+            assertEquals(SIZE, seen[0]);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(new Vector3f(i, -2.0f * i + 1.0f, 0.5f + i), store.get(i, new Vector3f()));
+            }
+        }
+    }
+}
@@ -0,0 +1,876 @@
+package cg.vsu.render.math.vector;
+
+import cg.vsu.render.math.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Vector4dTest {
+    private Vector4d v = new Vector4d();
+
+    @Test
+    void zeroVectorHasZeroLength() {
+        v = Vector4d.zero();
+
+        assertEquals(0.0, v.len(), MathUtils.EPSILON_D);
+        assertEquals(0.0, v.len2(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void zeroVectorIsZero() {
+        v = Vector4d.zero();
+
+        assertTrue(v.isZero());
+    }
+
+    @Test
+    void zeroConstructorConstructsZeroVector() {
+        v = new Vector4d();
+
+        assertTrue(v.isZero());
+    }
+
+    @Test
+    void unitVectorsHaveUnitLength() {
+        Vector4d i = Vector4d.unitX();
+        Vector4d j = Vector4d.unitY();
+        Vector4d k = Vector4d.unitZ();
+        Vector4d l = Vector4d.unitW();
+
+        assertEquals(1.0, i.len());
+        assertEquals(1.0, i.len2());
+        assertEquals(1.0, j.len());
+        assertEquals(1.0, j.len2());
+        assertEquals(1.0, k.len());
+        assertEquals(1.0, k.len2());
+        assertEquals(1.0, l.len());
+        assertEquals(1.0, l.len2());
+    }
+
+    @Test
+    void unitVectorsAreUnit() {
+        Vector4d i = Vector4d.unitX();
+        Vector4d j = Vector4d.unitY();
+        Vector4d k = Vector4d.unitZ();
+        Vector4d l = Vector4d.unitW();
+
+        assertTrue(i.isUnit());
+        assertTrue(j.isUnit());
+        assertTrue(k.isUnit());
+        assertTrue(l.isUnit());
+    }
+
+    @Test
+    void testComponentConstructor() {
+        v = new Vector4d(5.0, -2.0, 1.0, 9.0);
+
+        assertEquals(5.0, v.x);
+        assertEquals(-2.0, v.y);
+        assertEquals(1.0, v.z);
+        assertEquals(9.0, v.w);
+    }
+
+    @Test
+    void testArrayConstructor() {
+        double[] vector = {1.0, 2.0, 3.0, 4.0, 5.0};
+        v = new Vector4d(vector);
+
+        assertEquals(1.0, v.x);
+        assertEquals(2.0, v.y);
+        assertEquals(3.0, v.z);
+        assertEquals(4.0, v.w);
+    }
+
+    @Test
+    void testCopyConstructor() {
+        Vector4d other = new Vector4d(5.0, -2.0, 1.0, 9.0);
+        v = new Vector4d(other);
+
+        assertEquals(5.0, v.x);
+        assertEquals(-2.0, v.y);
+        assertEquals(1.0, v.z);
+        assertEquals(9.0, v.w);
+    }
+
+    @Test
+    void testConstructorFromV2f() {
+        Vector2d v2f = new Vector2d(2.0, 3.0);
+        v = new Vector4d(v2f);
+        Vector4d v1 = new Vector4d(v2f, 5.0, 6.0);
+
+        assertEquals(2.0, v.x);
+        assertEquals(2.0, v1.x);
+        assertEquals(3.0, v.y);
+        assertEquals(3.0, v1.y);
+
+        assertEquals(0.0, v.z);
+        assertEquals(0.0, v.w);
+
+        assertEquals(5.0, v1.z);
+        assertEquals(6.0, v1.w);
+    }
+
+    @Test
+    void testConstructorFromV3f() {
+        Vector3d v3f = new Vector3d(2.0, 3.0, 4.0);
+        v = new Vector4d(v3f);
+        Vector4d v1 = new Vector4d(v3f, 5.0);
+
+        assertEquals(2.0, v.x);
+        assertEquals(2.0, v1.x);
+        assertEquals(3.0, v.y);
+        assertEquals(3.0, v1.y);
+        assertEquals(4.0, v1.z);
+        assertEquals(4.0, v1.z);
+
+        assertEquals(1.0, v.w);
+        assertEquals(5.0, v1.w);
+    }
+
+    @Test
+    void equalVectorsAreEqual() {
+        Vector4d v1 = new Vector4d(2.0, 1.0, 3.0, 10.0);
+        v.set(2.0, 1.0, 3.0, 10.0);
+
+        assertEquals(v1, v);
+        assertEquals(v, v1);
+    }
+
+    @Test
+    void equalVectorsAreIdentical() {
+        Vector4d v1 = new Vector4d(2.0, 1.0, 3.0, 10.0);
+        v.set(2.0, 1.0, 3.0, 10.0);
+
+        assertTrue(v1.idt(v));
+        assertTrue(v.idt(v1));
+    }
+
+    @Test
+    void zeroVectorIsEqualToZeroVector() {
+        v = Vector4d.zero();
+        Vector4d z = new Vector4d(0.0, 0.0, 0.0, 0.0);
+
+        assertEquals(v, z);
+    }
+
+    @Test
+    void nearlyEqualVectorsAreEpsEqual() {
+        v = new Vector4d();
+        v.x = 200.0;
+        Vector4d v1 = Vector4d.unitX();
+        Vector4d a = Vector4d.zero();
+        for (int i = 0; i < 200; i++) {
+            a.add(v1);
+        }
+
+        assertTrue(v.epsEquals(a, MathUtils.EPSILON_D));
+        assertTrue(a.epsEquals(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void nearlyEqualVectorsAreEpsIdt() {
+        v = new Vector4d();
+        v.x = 200.0;
+        Vector4d v1 = Vector4d.unitX();
+        Vector4d a = Vector4d.zero();
+        for (int i = 0; i < 200; i++) {
+            a.add(v1);
+        }
+
+        assertTrue(v.epsIdt(a, MathUtils.EPSILON_D));
+        assertTrue(a.epsIdt(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void testToString() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+
+        assertEquals("v4d(x=1.0, y=2.0, z=3.0, w=4.0)", v.toString());
+    }
+
+    @Test
+    void testCopy() {
+        Vector4d v1 = new Vector4d(1.0, 2.0, 3.0, 4.0);
+        v = v1.cpy();
+
+        assertEquals(1.0, v.x);
+        assertEquals(2.0, v.y);
+        assertEquals(3.0, v.z);
+        assertEquals(4.0, v.w);
+    }
+
+    @Test
+    void testSetZero() {
+        v = new Vector4d(33.0, 12.0, 42.0, 14.0);
+        v.setZero();
+
+        assertTrue(v.isZero());
+    }
+
+    @Test
+    void testSetValue() {
+        v.set(10.0);
+
+        assertEquals(10.0, v.x);
+        assertEquals(10.0, v.y);
+        assertEquals(10.0, v.z);
+        assertEquals(10.0, v.w);
+    }
+
+    @Test
+    void testSetValues() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+
+        assertEquals(1.0, v.x);
+        assertEquals(2.0, v.y);
+        assertEquals(3.0, v.z);
+        assertEquals(4.0, v.w);
+    }
+
+    @Test
+    void testSetVector() {
+        Vector4d v1 = new Vector4d(11.0, 20.0, 35.0, 82.0);
+        v.set(v1);
+
+        assertEquals(11.0, v.x);
+        assertEquals(20.0, v.y);
+        assertEquals(35.0, v.z);
+        assertEquals(82.0, v.w);
+    }
+
+    @Test
+    void testSetFromArray() {
+        double[] vector = {1.0, 2.0, 3.0, 4.0};
+        v.set(vector);
+
+        assertEquals(1.0, v.x);
+        assertEquals(2.0, v.y);
+        assertEquals(3.0, v.z);
+        assertEquals(4.0, v.w);
+    }
+
+    @Test
+    void testSetFromV2f() {
+        Vector2d v2f = new Vector2d(3.0, -5.0);
+
+        v.set(v2f);
+        assertEquals(3.0, v.x);
+        assertEquals(-5.0, v.y);
+        assertEquals(0.0, v.z);
+        assertEquals(0.0, v.w);
+
+        v.set(v2f, 2.0, 9.0);
+        assertEquals(3.0, v.x);
+        assertEquals(-5.0, v.y);
+        assertEquals(2.0, v.z);
+        assertEquals(9.0, v.w);
+    }
+
+    @Test
+    void testSetFromV3f() {
+        Vector3d v3f = new Vector3d(3.0, -5.0, 4.0);
+
+        v.set(v3f);
+        assertEquals(3.0, v.x);
+        assertEquals(-5.0, v.y);
+        assertEquals(4.0, v.z);
+        assertEquals(1.0, v.w);
+
+        v.set(v3f, -11.0);
+        assertEquals(3.0, v.x);
+        assertEquals(-5.0, v.y);
+        assertEquals(4.0, v.z);
+        assertEquals(-11.0, v.w);
+    }
+
+    @Test
+    void testLength() {
+        v.set(1.0, 1.0, 3.0, 5.0);
+
+        assertEquals(6.0, v.len(), MathUtils.EPSILON_D);
+        assertEquals(6.0, Vector4d.len(1.0, 1.0, 3.0, 5.0));
+    }
+
+    @Test
+    void testLength2() {
+        v.set(1.0, 1.0, 3.0, 5.0);
+
+        assertEquals(36.0, v.len2(), MathUtils.EPSILON_D);
+        assertEquals(36.0, Vector4d.len2(1.0, 1.0, 3.0, 5.0));
+    }
+
+    @Test
+    void length2IsSquareOfLength() {
+        v.set(1.0, 1.0, 3.0, 5.0);
+        double len = v.len();
+
+        assertEquals(len * len, v.len2());
+    }
+
+    @Test
+    void normalizeMakesVectorWithUnitLength() {
+        v.set(1.0, 1.0, 7.0, 0.0);
+        v.nor();
+
+        assertEquals(1.0, v.len(), MathUtils.EPSILON_D);
+        assertEquals(1.0, v.len2(), MathUtils.EPSILON_D);
+        assertTrue(v.isUnit());
+    }
+
+    @Test
+    void testLimitEffective() {
+        v.set(420.0, -421.0, 1006.0, 96.0);
+        v.limit(25.0);
+        assertTrue(MathUtils.epsEquals(25.0, v.len()));
+    }
+
+    @Test
+    void testLimitIneffective() {
+        v = new Vector4d(1.0, 3.0, 5.0, 1.0);
+        v.limit(10.0);
+        assertEquals(6.0, v.len(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testLimit2Effective() {
+        v.set(420.0, -421.0, 1006.0, 96.0);
+        v.limit2(25.0);
+        assertTrue(MathUtils.epsEquals(25.0, v.len2()));
+    }
+
+    @Test
+    void testLimit2Ineffective() {
+        v = new Vector4d(3.0, 2.0, 0.0, 0.0);
+        v.limit2(200.0);
+        assertEquals(13.0, v.len2(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testSetLength() {
+        v.set(15.0, 39.0, -42.0, 13.0);
+        v.setLength(14.0);
+
+        assertEquals(14.0, v.len(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testSetLength2() {
+        v.set(15.0, 39.0, -42.0, 13.0);
+        v.setLength2(21.0);
+
+        assertEquals(21.0, v.len2(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testClampGreater() {
+        v.set(109.0, 4.0, 55.0, -31.0);
+        v.clamp(20.0, 30.0);
+
+        assertTrue(MathUtils.epsEquals(30.0, v.len()));
+    }
+
+    @Test
+    void testClampLess() {
+        v.set(-2.0, 3.0, 4.0, -3.0);
+        v.clamp(20.0, 30.0);
+
+        assertEquals(20.0, v.len(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testClampInBounds() {
+        v.set(25.0, 0.0, 0.0, 0.0);
+        v.clamp(20.0, 30.0);
+
+        assertEquals(25.0, v.len(), MathUtils.EPSILON_D);
+    }
+
+    @Test
+    void testAddVector() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        Vector4d v1 = new Vector4d(5.0, 6.0, 7.0, 8.0);
+        v.add(v1);
+
+        assertEquals(6.0, v.x);
+        assertEquals(8.0, v.y);
+        assertEquals(10.0, v.z);
+        assertEquals(12.0, v.w);
+    }
+
+    @Test
+    void testAddValue() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        v.add(10.0);
+
+        assertEquals(11.0, v.x);
+        assertEquals(12.0, v.y);
+        assertEquals(13.0, v.z);
+        assertEquals(14.0, v.w);
+    }
+
+    @Test
+    void testAddComponents() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        v.add(3.0, 4.0, 5.0, 6.0);
+
+        assertEquals(4.0, v.x);
+        assertEquals(6.0, v.y);
+        assertEquals(8.0, v.z);
+        assertEquals(10.0, v.w);
+    }
+
+    @Test
+    void testSubVector() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        Vector4d v1 = new Vector4d(5.0, 6.0, 7.0, 8.0);
+        v.sub(v1);
+
+        assertEquals(-4.0, v.x);
+        assertEquals(-4.0, v.y);
+        assertEquals(-4.0, v.z);
+        assertEquals(-4.0, v.w);
+    }
+
+    @Test
+    void testSubValue() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        v.sub(10.0);
+
+        assertEquals(-9.0, v.x);
+        assertEquals(-8.0, v.y);
+        assertEquals(-7.0, v.z);
+        assertEquals(-6.0, v.w);
+    }
+
+    @Test
+    void testSubComponents() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        v.sub(3.0, 4.0, 5.0, 6.0);
+
+        assertEquals(-2.0, v.x);
+        assertEquals(-2.0, v.y);
+        assertEquals(-2.0, v.z);
+        assertEquals(-2.0, v.w);
+    }
+
+    @Test
+    void testSclVector() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        v.scl(new Vector4d(2.0, 5.0, 10.0, 100.0));
+
+        assertEquals(2.0, v.x);
+        assertEquals(10.0, v.y);
+        assertEquals(30.0, v.z);
+        assertEquals(400.0, v.w);
+    }
+
+    @Test
+    void testSclValue() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        v.scl(10.0);
+
+        assertEquals(10.0, v.x);
+        assertEquals(20.0, v.y);
+        assertEquals(30.0, v.z);
+        assertEquals(40.0, v.w);
+    }
+
+    @Test
+    void testSclComponents() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        v.scl(3.0, 2.0, 9.0, 4.0);
+
+        assertEquals(3.0, v.x);
+        assertEquals(4.0, v.y);
+        assertEquals(27.0, v.z);
+        assertEquals(16.0, v.w);
+    }
+
+    @Test
+    void testDivVector() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        v.div(new Vector4d(4.0, 8.0, 12.0, 16.0));
+
+        assertEquals(0.25, v.x);
+        assertEquals(0.25, v.y);
+        assertEquals(0.25, v.z);
+        assertEquals(0.25, v.w);
+    }
+
+    @Test
+    void testDivValue() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        v.div(2.0);
+
+        assertEquals(0.5, v.x);
+        assertEquals(1.0, v.y);
+        assertEquals(1.5, v.z);
+        assertEquals(2.0, v.w);
+    }
+
+    @Test
+    void testDivComponents() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        v.div(4.0, 8.0, 12.0, 16.0);
+
+        assertEquals(0.25, v.x);
+        assertEquals(0.25, v.y);
+        assertEquals(0.25, v.z);
+        assertEquals(0.25, v.w);
+    }
+
+    @Test
+    void dstReturnsExpectedValue() {
+        v.set(3.0, 0.0, 0.0, 0.0);
+        Vector4d v1 = new Vector4d(1.0, 0.0, 0.0, 0.0);
+
+        assertEquals(2.0, v.dst(v1));
+        assertEquals(2.0, v.dst(1.0, 0.0, 0.0, 0.0));
+        assertEquals(2.0, Vector4d.dst(v, v1));
+        assertEquals(2.0, Vector4d.dst(3.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0));
+    }
+
+    @Test
+    void dst2ReturnsExpectedValue() {
+        v.set(3.0, 0.0, 0.0, 0.0);
+        Vector4d v1 = new Vector4d(1.0, 0.0, 0.0, 0.0);
+
+        assertEquals(4.0, v.dst2(v1));
+        assertEquals(4.0, v.dst2(1.0, 0.0, 0.0, 0.0));
+        assertEquals(4.0, Vector4d.dst2(v, v1));
+        assertEquals(4.0, Vector4d.dst2(3.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0));
+    }
+
+    @Test
+    void dstDoesNotDependOnOrder() {
+        v.set(3.0, 0.0, 0.0, 0.0);
+        Vector4d v1 = new Vector4d(1.0, 0.0, 0.0, 0.0);
+
+        assertEquals(2.0, v.dst(v1));
+        assertEquals(2.0, v1.dst(v));
+    }
+
+    @Test
+    void dst2DoesNotDependOnOrder() {
+        v.set(3.0, 0.0, 0.0, 0.0);
+        Vector4d v1 = new Vector4d(1.0, 0.0, 0.0, 0.0);
+
+        assertEquals(4.0, v.dst2(v1));
+        assertEquals(4.0, v1.dst2(v));
+    }
+
+    @Test
+    void dstToSelfIsZero() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+
+        assertEquals(0.0, v.dst(v));
+        assertEquals(0.0, v.dst2(v));
+    }
+
+    @Test
+    void testLerp() {
+        v.setZero();
+        Vector4d v1 = new Vector4d(1.0, 2.0, 4.0, 8.0);
+
+        v.lerp(v1, 0.0);
+        assertEquals(0.0, v.x);
+        assertEquals(0.0, v.y);
+        assertEquals(0.0, v.z);
+        assertEquals(0.0, v.w);
+
+        v.setZero();
+        v.lerp(v1, 0.5);
+        assertEquals(0.5, v.x);
+        assertEquals(1.0, v.y);
+        assertEquals(2.0, v.z);
+        assertEquals(4.0, v.w);
+
+        v.setZero();
+        v.lerp(v1, 1.0);
+        assertEquals(1.0, v.x);
+        assertEquals(2.0, v.y);
+        assertEquals(4.0, v.z);
+        assertEquals(8.0, v.w);
+    }
+
+    @Test
+    void testStaticLerp() {
+        v.setZero();
+        Vector4d v1 = new Vector4d(1.0, 2.0, 4.0, 8.0);
+
+        Vector4d r = Vector4d.lerp(v, v1, 0.0);
+        assertEquals(0.0, r.x);
+        assertEquals(0.0, r.y);
+        assertEquals(0.0, r.z);
+        assertEquals(0.0, r.w);
+
+        r = Vector4d.lerp(v, v1, 0.5);
+        assertEquals(0.5, r.x);
+        assertEquals(1.0, r.y);
+        assertEquals(2.0, r.z);
+        assertEquals(4.0, r.w);
+
+        r = Vector4d.lerp(v, v1, 1.0);
+        assertEquals(1.0, r.x);
+        assertEquals(2.0, r.y);
+        assertEquals(4.0, r.z);
+        assertEquals(8.0, r.w);
+    }
+
+    @Test
+    void testAddMulScalar() {
+        v.set(2.0, -3.0, 5.0, 7.0);
+        Vector4d v1 = new Vector4d(4.0, 2.0, 1.0, -2.0);
+        v.addMul(v1, -2.0);
+
+        assertEquals(-6.0, v.x);
+        assertEquals(-7.0, v.y);
+        assertEquals(3.0, v.z);
+        assertEquals(11.0, v.w);
+    }
+
+    @Test
+    void testAddMulVector() {
+        v.set(2.0, -3.0, 5.0, 7.0);
+        Vector4d v1 = new Vector4d(4.0, 2.0, 1.0, -2.0);
+        Vector4d v2 = new Vector4d(0.0, 2.0, -1.0, 3.0);
+        v.addMul(v1, v2);
+
+        assertEquals(2.0, v.x);
+        assertEquals(1.0, v.y);
+        assertEquals(4.0, v.z);
+        assertEquals(1.0, v.w);
+    }
+
+    @Test
+    void testDotProduct() {
+        v.set(2.0, -3.0, 5.0, 7.0);
+        Vector4d v1 = new Vector4d(4.0, 2.0, 1.0, -2.0);
+
+        assertEquals(-7.0, v.dot(v1));
+        assertEquals(-7.0, v1.dot(v));
+    }
+
+    @Test
+    void testTo() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        Vector4d v1 = new Vector4d(2.0, -1.0, 2.0, 6.0);
+
+        Vector4d v2 = v.cpy().to(v1);
+        assertEquals(1.0, v2.x);
+        assertEquals(-3.0, v2.y);
+        assertEquals(-1.0, v2.z);
+        assertEquals(2.0, v2.w);
+
+        v2 = v.to(2.0, -1.0, 2.0, 6.0);
+        assertEquals(1.0, v2.x);
+        assertEquals(-3.0, v2.y);
+        assertEquals(-1.0, v2.z);
+        assertEquals(2.0, v2.w);
+    }
+
+    @Test
+    void vectorIsOnLineWithSelf() {
+        v.set(255.0, -2410.3214, 542.4664, 1546.0);
+
+        assertTrue(v.isOnLine(v));
+        assertTrue(v.isOnLine(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void parallelVectorsAreOnLinePrecise() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+        Vector4d v1 = new Vector4d(2.0, 4.0, 6.0, 8.0);
+
+        assertTrue(v.isOnLine(v1));
+        assertTrue(v1.isOnLine(v));
+    }
+
+    @Test
+    void parallelVectorsAreOnLineApprox() {
+        v.set(5.0, -2.0, 17.0, 29.0);
+        Vector4d v1 = new Vector4d(4.999996, -2.000003, 17.000004, 29.00008);
+
+        assertTrue(v.isOnLine(v1, MathUtils.EPSILON));
+        assertTrue(v1.isOnLine(v, MathUtils.EPSILON));
+    }
+
+    @Test
+    void nonParallelVectorsAreNotOnLinePrecise() {
+        v = Vector4d.unitX();
+
+        assertFalse(v.isOnLine(Vector4d.unitY()));
+        assertFalse(v.isOnLine(Vector4d.unitZ()));
+        assertFalse(v.isOnLine(Vector4d.unitW()));
+    }
+
+    @Test
+    void nonParallelVectorsAreNotOnLineApprox() {
+        v.set(5.0, -2.0, 17.0, 29.0);
+        Vector4d v1 = new Vector4d(5.0, -2.0, 17.0, 29.5);
+
+        assertFalse(v.isOnLine(v1, MathUtils.EPSILON_D));
+        assertFalse(v1.isOnLine(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void vectorIsCollinearWithSelf() {
+        v.set(255.0, -2410.3214, 542.4664, 1546.0);
+
+        assertTrue(v.isCollinear(v));
+        assertTrue(v.isCollinear(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void collVecsAreCollPrecise() {
+        v.set(5.0, -2.0, 17.0, 29.0);
+        Vector4d v1 = v.cpy().scl(412.931);
+
+        assertTrue(v.isCollinear(v1));
+        assertTrue(v1.isCollinear(v));
+    }
+
+    @Test
+    void collVecsAreCollApprox() {
+        v.set(5.0, -2.0, 17.0, 29.0);
+        Vector4d v1 = new Vector4d(95.000004, -38.0000007, 322.999996, 550.9999992);
+
+        assertTrue(v.isCollinear(v1, MathUtils.EPSILON));
+        assertTrue(v1.isCollinear(v, MathUtils.EPSILON));
+    }
+
+    @Test
+    void nonParallelSameDirVecsAreNonColl() {
+        v.set(5.0, -2.0, 17.0, 29.0);
+        Vector4d v1 = new Vector4d(5.5, -2.0, 17.0, 29.5);
+
+        assertFalse(v.isCollinear(v1));
+        assertFalse(v1.isCollinear(v));
+    }
+
+    @Test
+    void parallelDiffDirVecsAreNonColl() {
+        v.set(5.0, -2.0, 17.0, 29.0);
+        Vector4d v1 = new Vector4d(-5.0, 2.0, -17.0, -29.0);
+
+        assertFalse(v.isCollinear(v1));
+        assertFalse(v1.isCollinear(v));
+    }
+
+    @Test
+    void collOppositeVecsAreCollOppositePrecise() {
+        v.set(5.0, -2.0, 17.0, 29.0);
+        Vector4d v1 = v.cpy().scl(-5);
+
+        assertTrue(v.isCollinearOpposite(v1));
+        assertTrue(v1.isCollinearOpposite(v));
+    }
+
+    @Test
+    void collOppositeVecsAreCollOppositeApprox() {
+        v.set(5.0, -2.0, 17.0, 29.0);
+        Vector4d v1 = new Vector4d(-95.000004, 38.0000007, -322.999996, -550.9999992);
+
+        assertTrue(v.isCollinearOpposite(v1, MathUtils.EPSILON));
+        assertTrue(v1.isCollinearOpposite(v, MathUtils.EPSILON));
+    }
+
+    @Test
+    void nonParallelDiffDirVecsAreNonCollOpposite() {
+        v.set(5.0, -2.0, 17.0, 29.0);
+        Vector4d v1 = new Vector4d(-5.5, 2.0, -17.0, -29.5);
+
+        assertFalse(v.isCollinearOpposite(v1));
+        assertFalse(v1.isCollinearOpposite(v));
+    }
+
+    @Test
+    void parallelSameDirVecsAreNonCollOpposite() {
+        v.set(5.0, -2.0, 17.0, 29.0);
+        Vector4d v1 = v.cpy().scl(22.421);
+
+        assertFalse(v.isCollinearOpposite(v1));
+        assertFalse(v1.isCollinearOpposite(v));
+    }
+
+    @Test
+    void vectorIsNotCollinearOppositeWithItself() {
+        v.set(255.0, -2410.3214, 542.4664, 1546.0);
+
+        assertFalse(v.isCollinearOpposite(v));
+        assertFalse(v.isCollinearOpposite(v, MathUtils.EPSILON_D));
+    }
+
+    @Test
+    void vectorIsNotOrthogonalToItself() {
+        v = Vector4d.unitX().scl(5.0);
+
+        assertFalse(v.isOrthogonal(v));
+    }
+
+    @Test
+    void zeroIsOrthogonalToItself() {
+        v.setZero();
+
+        assertTrue(v.isOrthogonal(v));
+    }
+
+    @Test
+    void vectorIsOrthogonalToZero() {
+        v.set(1.0, 2.0, 3.0, 4.0);
+
+        assertTrue(v.isOrthogonal(Vector4d.zero()));
+        assertTrue(Vector4d.zero().isOrthogonal(v));
+    }
+
+    @Test
+    void orthogonalVecsAreOrthogonal() {
+        assertTrue(Vector4d.unitX().isOrthogonal(Vector4d.unitY()));
+        assertTrue(Vector4d.unitY().isOrthogonal(Vector4d.unitZ()));
+        assertTrue(Vector4d.unitX().isOrthogonal(Vector4d.unitZ()));
+        assertTrue(Vector4d.unitX().isOrthogonal(Vector4d.unitW()));
+    }
+
+    @Test
+    void testOrthogonalApprox() {
+        v.set(5.0, -1.0, 0.0, 0.0);
+        Vector4d v1 = new Vector4d(1.0, 4.999992, 0.0, 0.0);
+
+        assertTrue(v.isOrthogonal(v1, MathUtils.EPSILON));
+        assertTrue(v1.isOrthogonal(v, MathUtils.EPSILON));
+    }
+
+    @Test
+    void nonOrthogonalAreNonOrthogonal() {
+        v.set(5.0, 10.0, 15.0, 20.0);
+        Vector4d v1 = new Vector4d(6.0, 11.0, 10.0, 24.0);
+
+        assertFalse(v.isOrthogonal(v1));
+        assertFalse(v1.isOrthogonal(v));
+    }
+
+    @Test
+    void vectorHasSameDirectionWithItself() {
+        v.set(5.0, 10.0, -125.0, 42.0);
+
+        assertTrue(v.hasSameDirection(v));
+    }
+
+    @Test
+    void sameDirectionVecsHaveSameDirection() {
+        v.set(1.0, 2.0, 3.0, 10.0);
+        Vector4d v1 = new Vector4d(5.0, 7.0, 11.0, 29.0);
+
+        assertTrue(v.hasSameDirection(v1));
+        assertTrue(v1.hasSameDirection(v));
+    }
+
+    @Test
+    void oppositeDirectionVecsHaveOppositeDirection() {
+        v.set(1.0, 2.0, 3.0, 10.0);
+        Vector4d v1 = v.cpy().scl(-3);
+
+        assertTrue(v.hasOppositeDirection(v1));
+        assertTrue(v1.hasOppositeDirection(v));
+    }
+}
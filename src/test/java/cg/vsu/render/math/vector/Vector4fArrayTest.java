@@ -0,0 +1,46 @@
+package cg.vsu.render.math.vector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Vector4fArrayTest {
+    private final Vector4fArray a = new Vector4fArray(2)
+            .set(0, 1.0f, 2.0f, 2.0f, 4.0f)
+            .set(1, -1.0f, 0.0f, 3.0f, 1.0f);
+    private final Vector4fArray b = new Vector4fArray(2)
+            .set(0, 1.0f, -2.0f, 0.0f, 1.0f)
+            .set(1, 2.0f, 2.0f, 2.0f, 2.0f);
+    private final Vector4f cursor = new Vector4f();
+
+    @Test
+    void lengthsHaveExpectedValues() {
+        float[] len = a.len(new float[a.size]);
+
+        assertEquals(5.0f, len[0]);
+        assertEquals(new Vector4f(-1.0f, 0.0f, 3.0f, 1.0f).len(), len[1]);
+    }
+
+    @Test
+    void dotHasExpectedValues() {
+        float[] out = a.dot(b, new float[a.size]);
+
+        assertEquals(1.0f, out[0]);
+        assertEquals(6.0f, out[1]);
+    }
+
+    @Test
+    void lerpMatchesVectorLerp() {
+        Vector4f expected = a.get(1, new Vector4f()).lerp(b.get(1, new Vector4f()), 0.25f);
+        a.lerp(b, 0.25f);
+
+        assertTrue(expected.idt(a.get(1, cursor)));
+    }
+
+    @Test
+    void setVectorFillsTheArray() {
+        a.set(Vector4f.unitW());
+
+        for (int i = 0; i < a.size; i++) assertEquals(Vector4f.unitW(), a.get(i, cursor));
+    }
+}